@@ -0,0 +1,127 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.data.neural;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.data.neural.methods.RProp;
+import org.knime.core.node.CanceledExecutionException;
+
+/**
+ * Tests for {@link DenseNetwork} and the dense training of {@link RProp}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class DenseNetworkTest {
+
+    private static MultiLayerPerceptron createNetwork() {
+        return new MultiLayerPerceptron(new Architecture(4, 2, 6, 2), new Random(7));
+    }
+
+    /**
+     * Checks that the dense network computes the same outputs as the perceptron.
+     */
+    @Test
+    public void testOutput() {
+        final MultiLayerPerceptron mlp = createNetwork();
+        final DenseNetwork net = new DenseNetwork(mlp);
+        final Random rand = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            final double[] in = {rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian()};
+            assertArrayEquals(mlp.output(in), net.output(in), 0.0);
+        }
+    }
+
+    /**
+     * Checks that sequential dense training results in exactly the same network and errors as the training on the
+     * perceptron's object graph.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testDenseTrainingEqualsObjectTraining() throws CanceledExecutionException {
+        final Random rand = new Random(3);
+        final int n = 500;
+        final double[][] samples = new double[n][4];
+        final double[][] outputs = new double[n][2];
+        final Double[][] boxedSamples = new Double[n][4];
+        final Double[][] boxedOutputs = new Double[n][2];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < 4; j++) {
+                samples[i][j] = rand.nextGaussian();
+                boxedSamples[i][j] = samples[i][j];
+            }
+            final int c = samples[i][0] * samples[i][1] > 0 ? 0 : 1;
+            for (int j = 0; j < 2; j++) {
+                outputs[i][j] = j == c ? 1 : 0;
+                boxedOutputs[i][j] = outputs[i][j];
+            }
+        }
+        final MultiLayerPerceptron objectMlp = createNetwork();
+        final MultiLayerPerceptron denseMlp = createNetwork();
+        final RProp objectRProp = new RProp();
+        final RProp denseRProp = new RProp();
+        for (int it = 0; it < 20; it++) {
+            final double errorBefore = new RProp().error(objectMlp, samples, outputs, null);
+            objectRProp.train(objectMlp, boxedSamples, boxedOutputs);
+            assertEquals(errorBefore, denseRProp.train(denseMlp, samples, outputs, null), 0.0);
+        }
+        for (int l = 1; l < objectMlp.getNrLayers(); l++) {
+            for (int j = 0; j < objectMlp.getLayer(l).getPerceptrons().length; j++) {
+                final Perceptron expected = objectMlp.getLayer(l).getPerceptron(j);
+                final Perceptron actual = denseMlp.getLayer(l).getPerceptron(j);
+                assertArrayEquals(expected.getWeights(), actual.getWeights(), 0.0);
+                assertEquals(expected.getThreshold(), actual.getThreshold(), 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.stat.correlation.StorelessCovariance;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Tests that the {@link CovarianceAccumulator} computes the same pair-wise complete covariances as one
+ * {@link StorelessCovariance} per column pair, independent of the number of partial results that are merged.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class CovarianceAccumulatorTest {
+
+    private static final int NUM_COLS = 45;
+
+    private static final int NUM_ROWS = 3000;
+
+    private double[][] m_values;
+
+    private boolean[][] m_missings;
+
+    /** Creates random data with roughly 5% missing values. */
+    @Before
+    public void setUp() {
+        final Random random = new Random(47);
+        m_values = new double[NUM_ROWS][NUM_COLS];
+        m_missings = new boolean[NUM_ROWS][NUM_COLS];
+        for (int r = 0; r < NUM_ROWS; r++) {
+            for (int c = 0; c < NUM_COLS; c++) {
+                m_values[r][c] = 100 + random.nextGaussian() * (c + 1);
+                m_missings[r][c] = random.nextDouble() < 0.05;
+            }
+        }
+    }
+
+    /**
+     * Compares the sequential and the parallel computation against the storeless covariances.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testCovarianceMatchesStorelessCovariance() throws CanceledExecutionException {
+        final CovarianceAccumulator sequential = run(new CovarianceAccumulator(NUM_COLS, null, 1));
+        final CovarianceAccumulator parallel =
+            run(new CovarianceAccumulator(NUM_COLS, KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4), 4));
+        final double[] buffer = new double[2];
+        for (int i = 0; i < NUM_COLS; i++) {
+            for (int j = i; j < NUM_COLS; j++) {
+                final StorelessCovariance reference = new StorelessCovariance(2);
+                for (int r = 0; r < NUM_ROWS; r++) {
+                    if (!m_missings[r][i] && !m_missings[r][j]) {
+                        buffer[0] = m_values[r][i];
+                        buffer[1] = m_values[r][j];
+                        reference.increment(buffer);
+                    }
+                }
+                final double expected = reference.getCovariance(0, 1);
+                final double tolerance = 1e-10 * (i + 1) * (j + 1);
+                assertEquals("Wrong sequential covariance (" + i + "," + j + ")", expected,
+                    sequential.getCovariance(i, j), tolerance);
+                assertEquals("Wrong parallel covariance (" + i + "," + j + ")", expected,
+                    parallel.getCovariance(j, i), tolerance);
+                assertEquals("Wrong count (" + i + "," + j + ")", sequential.getCount(i, j), parallel.getCount(i, j));
+            }
+            assertEquals("Wrong mean " + i, sequential.getMean(i), parallel.getMean(i), 1e-10);
+        }
+    }
+
+    /**
+     * Checks that too few valid values are reported like by the storeless covariance.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test(expected = NumberIsTooSmallException.class)
+    public void testNotEnoughValidValues() throws CanceledExecutionException {
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        final CovarianceAccumulator acc = new CovarianceAccumulator(2, null, 1);
+        acc.addRow(new double[]{1, 2}, new boolean[]{false, true}, exec);
+        acc.addRow(new double[]{3, 4}, new boolean[]{false, false}, exec);
+        acc.finish(exec);
+        assertEquals("Wrong variance", 2.0, acc.getCovariance(0, 0), 0.0);
+        acc.getCovariance(0, 1);
+    }
+
+    private CovarianceAccumulator run(final CovarianceAccumulator acc) throws CanceledExecutionException {
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        for (int r = 0; r < NUM_ROWS; r++) {
+            acc.addRow(m_values[r], m_missings[r], exec);
+        }
+        acc.finish(exec);
+        return acc;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.meta.feature.selection.genetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FitnessCache}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FitnessCacheTest {
+
+    private static BitSet subset(final int... features) {
+        final BitSet subset = new BitSet();
+        for (final int feature : features) {
+            subset.set(feature);
+        }
+        return subset;
+    }
+
+    /**
+     * Tests that scores are found by equal bit sets and that the cached key is not affected by later changes of the
+     * bit set that has been stored.
+     */
+    @Test
+    public void testHit() {
+        final FitnessCache<Double> cache = new FitnessCache<>(10);
+        final BitSet stored = subset(1, 3);
+        cache.put(stored, 0.5);
+        assertEquals(Double.valueOf(0.5), cache.get(subset(1, 3)));
+        assertNull(cache.get(subset(1)));
+
+        stored.set(5);
+        assertEquals(Double.valueOf(0.5), cache.get(subset(1, 3)));
+        assertNull(cache.get(stored));
+    }
+
+    /**
+     * Tests that the least recently used subset is evicted, where a lookup counts as a use.
+     */
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final FitnessCache<Double> cache = new FitnessCache<>(2);
+        cache.put(subset(0), 0.0);
+        cache.put(subset(1), 1.0);
+        // subset 0 is now more recently used than subset 1
+        assertEquals(Double.valueOf(0.0), cache.get(subset(0)));
+        cache.put(subset(2), 2.0);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(subset(1)));
+        assertEquals(Double.valueOf(0.0), cache.get(subset(0)));
+        assertEquals(Double.valueOf(2.0), cache.get(subset(2)));
+    }
+
+    /**
+     * Tests that a cache of size 0 remembers nothing.
+     */
+    @Test
+    public void testDisabled() {
+        final FitnessCache<Double> cache = new FitnessCache<>(0);
+        cache.put(subset(0), 0.0);
+        assertEquals(0, cache.size());
+        assertNull(cache.get(subset(0)));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.cluster.fuzzycmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * Tests for {@link FCMAlgorithmMemory}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FCMAlgorithmMemoryTest {
+
+    private static final double[][] CENTERS = {{0, 0, 0}, {10, 10, 10}, {-10, 10, 0}};
+
+    private static double[][] createData(final int nrRows, final long seed) {
+        Random rand = new Random(seed);
+        double[][] data = new double[nrRows][];
+        for (int i = 0; i < nrRows; i++) {
+            double[] center = CENTERS[i % CENTERS.length];
+            data[i] = new double[center.length];
+            for (int j = 0; j < center.length; j++) {
+                data[i][j] = center[j] + rand.nextGaussian();
+            }
+        }
+        return data;
+    }
+
+    private static RowKey[] createKeys(final int nrRows) {
+        RowKey[] keys = new RowKey[nrRows];
+        for (int i = 0; i < nrRows; i++) {
+            keys[i] = RowKey.createRowKey(i);
+        }
+        return keys;
+    }
+
+    private static FCMAlgorithmMemory cluster(final FCMAlgorithmMemory algo, final double[][] data,
+        final int parallelism) throws Exception {
+        algo.setParallelism(parallelism);
+        algo.init(createKeys(data.length), data, new Random(42));
+        for (int i = 0; i < 20; i++) {
+            algo.doOneIteration(null);
+        }
+        return algo;
+    }
+
+    /**
+     * The result must not depend on the number of threads.
+     *
+     * @throws Exception if clustering fails
+     */
+    @Test
+    public void testParallelEqualsSequential() throws Exception {
+        double[][] data = createData(5 * FCMAlgorithmMemory.BLOCK_SIZE + 17, 1);
+        FCMAlgorithmMemory sequential = cluster(new FCMAlgorithmMemory(3, 2.0), data, 1);
+        FCMAlgorithmMemory parallel = cluster(new FCMAlgorithmMemory(3, 2.0), data, 4);
+        assertArrayEquals(sequential.getClusterCentres(), parallel.getClusterCentres());
+        assertArrayEquals(sequential.getweightMatrix(), parallel.getweightMatrix());
+
+        FCMAlgorithmMemory noiseSequential = cluster(new FCMAlgorithmMemory(3, 2.0, true, 0.1), data, 1);
+        FCMAlgorithmMemory noiseParallel = cluster(new FCMAlgorithmMemory(3, 2.0, true, 0.1), data, 4);
+        assertArrayEquals(noiseSequential.getClusterCentres(), noiseParallel.getClusterCentres());
+        assertEquals(noiseSequential.getDelta(), noiseParallel.getDelta(), 0.0);
+    }
+
+    /**
+     * Well separated clusters must be found, memberships must sum up to one.
+     *
+     * @throws Exception if clustering fails
+     */
+    @Test
+    public void testFindsClusters() throws Exception {
+        double[][] data = createData(3 * FCMAlgorithmMemory.BLOCK_SIZE, 2);
+        FCMAlgorithmMemory algo = cluster(new FCMAlgorithmMemory(3, 2.0), data, 4);
+        for (double[] center : CENTERS) {
+            double minDist = Double.MAX_VALUE;
+            for (double[] prototype : algo.getClusterCentres()) {
+                double dist = 0;
+                for (int j = 0; j < center.length; j++) {
+                    dist += (center[j] - prototype[j]) * (center[j] - prototype[j]);
+                }
+                minDist = Math.min(minDist, dist);
+            }
+            assertTrue("No prototype close to " + center[0] + "," + center[1], minDist < 0.1);
+        }
+        for (double[] weights : algo.getweightMatrix()) {
+            double sum = 0;
+            for (double w : weights) {
+                sum += w;
+            }
+            assertEquals(1.0, sum, 1e-9);
+        }
+        assertArrayEquals(data[7], algo.getConvertedData()[7], 0.0);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.decisiontree2.learner2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.node.mine.decisiontree2.model.DecisionTreeNode;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests that the decision tree learner induces the same tree with presorted attributes as with sorting the rows in
+ * every tree node.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class DecisionTreeLearnerPresortTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new String[]{"x", "y", "z", "color", "shape", "class"}, new DataType[]{DoubleCell.TYPE, DoubleCell.TYPE,
+            DoubleCell.TYPE, StringCell.TYPE, StringCell.TYPE, StringCell.TYPE});
+
+    private static final String[] COLORS = {"red", "green", "blue"};
+
+    private static final String[] SHAPES = {"circle", "square", "triangle", "star"};
+
+    private static final int ROWS = 1024;
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    /**
+     * @throws Exception if the execution context cannot be created
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node(new DecisionTreeLearnerNodeFactory3()), SingleNodeContainer.MemoryPolicy.CacheSmallInMemory,
+            new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Clears the execution context.
+     */
+    @AfterClass
+    public static void tearDownAfterClass() {
+        EXEC_CONTEXT = null;
+    }
+
+    /**
+     * Tests noisy data with numeric attributes, one of them with many equal values, and nominal attributes, so the
+     * trees are deep.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSameTree() throws Exception {
+        assertSameTrees(createTable(42, 0));
+    }
+
+    /**
+     * Tests random data with missing values in the numeric and the nominal attributes. The rows with a missing value
+     * are added to all partitions with fractional weights, so the class counts must also be equal in the last bit.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSameTreeWithMissingValues() throws Exception {
+        for (long seed = 0; seed < 5; seed++) {
+            assertSameTrees(createTable(seed, 0.15));
+        }
+    }
+
+    private static void assertSameTrees(final BufferedDataTable table) throws Exception {
+        for (String quality : new String[]{DecisionTreeLearnerNodeModel2.SPLIT_QUALITY_GINI,
+            DecisionTreeLearnerNodeModel2.SPLIT_QUALITY_GAIN_RATIO}) {
+            for (boolean binaryNominal : new boolean[]{false, true}) {
+                for (boolean splitAverage : new boolean[]{false, true}) {
+                    final String msg = quality + ", binary nominal: " + binaryNominal + ", split average: "
+                        + splitAverage;
+                    final String expected = learn(table, false, quality, binaryNominal, splitAverage);
+                    final String actual = learn(table, true, quality, binaryNominal, splitAverage);
+                    assertEquals(msg, expected, actual);
+                }
+            }
+        }
+    }
+
+    private static String learn(final BufferedDataTable table, final boolean presort, final String quality,
+        final boolean binaryNominal, final boolean splitAverage) throws Exception {
+        final DecisionTreeLearnerNodeModel2 model = new DecisionTreeLearnerNodeModel2(false);
+        final NodeSettings settings = new NodeSettings("learner");
+        model.saveSettingsTo(settings);
+        settings.addString(DecisionTreeLearnerNodeModel2.KEY_CLASSIFYCOLUMN, "class");
+        settings.addString(DecisionTreeLearnerNodeModel2.KEY_SPLIT_QUALITY_MEASURE, quality);
+        settings.addBoolean(DecisionTreeLearnerNodeModel2.KEY_BINARY_NOMINAL_SPLIT_MODE, binaryNominal);
+        settings.addBoolean(DecisionTreeLearnerNodeModel2.KEY_SPLIT_AVERAGE, splitAverage);
+        settings.addBoolean(DecisionTreeLearnerNodeModel2.KEY_SKIP_COLUMNS, false);
+        settings.addBoolean(DecisionTreeLearnerNodeModel2.KEY_PRESORT_ATTRIBUTES, presort);
+        // the node ids of the per node sorting mode depend on the thread timing
+        settings.addInt(DecisionTreeLearnerNodeModel2.KEY_NUM_PROCESSORS, presort ? 4 : 1);
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        model.execute(new PortObject[]{table}, EXEC_CONTEXT);
+        final StringBuilder sb = new StringBuilder();
+        appendNode(model.getDecisionTree().getRootNode(), sb, "");
+        return sb.toString();
+    }
+
+    /**
+     * Appends the node and its subtree.
+     */
+    private static void appendNode(final DecisionTreeNode node, final StringBuilder sb, final String indent) {
+        sb.append(indent).append(node.getOwnIndex()).append(' ').append(node.getMajorityClass());
+        for (Map.Entry<DataCell, Double> e : node.getClassCounts().entrySet()) {
+            sb.append(' ').append(e.getKey()).append('=').append(e.getValue());
+        }
+        if (!node.isLeaf()) {
+            sb.append(' ').append(node.getStringSummary());
+        }
+        sb.append('\n');
+        for (int i = 0; i < node.getChildCount(); i++) {
+            appendNode(node.getChildAt(i), sb, indent + " ");
+        }
+    }
+
+    /**
+     * Creates a table with the numeric attributes x, y, z and the nominal attributes color and shape. The attribute z
+     * has only ten distinct values.
+     *
+     * @param seed the seed of the random data
+     * @param missingRate the probability of a missing value in x, z and color
+     */
+    private static BufferedDataTable createTable(final long seed, final double missingRate) {
+        final Random random = new Random(seed);
+        final BufferedDataContainer container = EXEC_CONTEXT.createDataContainer(SPEC);
+        for (int i = 0; i < ROWS; i++) {
+            final double x = random.nextDouble();
+            final double y = random.nextDouble();
+            final double z = random.nextInt(10);
+            final String c = COLORS[random.nextInt(COLORS.length)];
+            final int shape = random.nextInt(SHAPES.length);
+            final double score = x + y / 2 + ("red".equals(c) ? 0.3 : 0) + 0.3 * random.nextGaussian();
+            final String clazz;
+            if (shape == 3 && z > 6) {
+                clazz = "maybe";
+            } else {
+                clazz = score > 0.9 ? "yes" : "no";
+            }
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), missingOr(random, missingRate,
+                new DoubleCell(x)), new DoubleCell(y), missingOr(random, missingRate, new DoubleCell(z)),
+                missingOr(random, missingRate, new StringCell(c)), new StringCell(SHAPES[shape]),
+                new StringCell(clazz)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static DataCell missingOr(final Random random, final double missingRate, final DataCell cell) {
+        return random.nextDouble() < missingRate ? DataType.getMissingCell() : cell;
+    }
+}
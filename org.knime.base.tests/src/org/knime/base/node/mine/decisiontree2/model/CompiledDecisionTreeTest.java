@@ -0,0 +1,254 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.decisiontree2.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+import org.knime.base.node.mine.decisiontree2.PMMLArrayType;
+import org.knime.base.node.mine.decisiontree2.PMMLBooleanOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLCompoundPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLMissingValueStrategy;
+import org.knime.base.node.mine.decisiontree2.PMMLNoTrueChildStrategy;
+import org.knime.base.node.mine.decisiontree2.PMMLOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSetOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLSimplePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSimpleSetPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLTruePredicate;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.util.Pair;
+
+/**
+ * Tests that the {@link CompiledDecisionTree} predicts the same as
+ * {@link DecisionTree#getWinnerAndClasscounts(DataRow, DataTableSpec)}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class CompiledDecisionTreeTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(new String[]{"x", "k", "s", "b"},
+        new DataType[]{DoubleCell.TYPE, IntCell.TYPE, StringCell.TYPE, BooleanCell.TYPE});
+
+    private static final String[] STRINGS = {"a", "b", "c", "d"};
+
+    private static final int ROWS = 1000;
+
+    private int m_nodeId;
+
+    /**
+     * Tests numeric, nominal set, compound and surrogate predicates with each missing value and no true child
+     * strategy. The unsupported missing value strategies must fail for the same rows.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSameAsDecisionTree() throws Exception {
+        final List<DataRow> rows = createRows(ROWS, 0.2);
+        for (PMMLMissingValueStrategy mvStrategy : PMMLMissingValueStrategy.values()) {
+            for (PMMLNoTrueChildStrategy ntcStrategy : PMMLNoTrueChildStrategy.values()) {
+                final DecisionTree tree = new DecisionTree(createRoot(), "class", mvStrategy, ntcStrategy);
+                final String msg = mvStrategy + ", " + ntcStrategy;
+                assertSamePredictions(msg, tree, rows);
+            }
+        }
+    }
+
+    /**
+     * Tests that a numeric comparison with a malformed threshold fails for the same rows as in the tree.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testMalformedThreshold() throws Exception {
+        final DecisionTreeNode root = split(null,
+            new PMMLPredicate[]{new PMMLSimplePredicate("s", PMMLOperator.EQUAL, "a"),
+                new PMMLSimplePredicate("x", PMMLOperator.LESS_THAN, "abc"), new PMMLTruePredicate()},
+            leaf("yes", 3, 1), leaf("no", 1, 2), leaf("yes", 2, 0));
+        final DecisionTree tree =
+            new DecisionTree(root, "class", PMMLMissingValueStrategy.NONE, PMMLNoTrueChildStrategy.getDefault());
+        assertSamePredictions("malformed threshold", tree, createRows(ROWS, 0.2));
+    }
+
+    private static void assertSamePredictions(final String msg, final DecisionTree tree, final List<DataRow> rows)
+        throws Exception {
+        final CompiledDecisionTree compiled = CompiledDecisionTree.compile(tree, SPEC);
+        assertNotNull(msg + ": the tree could not be compiled", compiled);
+        final CompiledDecisionTree.RowView view = compiled.createRowView();
+        for (DataRow row : rows) {
+            final Object expected = outcome(() -> tree.getWinnerAndClasscounts(row, SPEC));
+            final Object actual = outcome(() -> {
+                view.load(row);
+                return compiled.getWinnerAndClasscounts(compiled.predict(view));
+            });
+            assertEquals(msg + ", row " + row, expected, actual);
+        }
+    }
+
+    /**
+     * @return the winner and class counts or the class of the exception thrown
+     */
+    private static Object outcome(final Callable<Pair<DataCell, LinkedHashMap<DataCell, Double>>> prediction) {
+        try {
+            final Pair<DataCell, LinkedHashMap<DataCell, Double>> result = prediction.call();
+            return Arrays.asList(result.getFirst(), result.getSecond());
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    /**
+     * The root has no split attribute and branches on surrogate predicates. Its children split on a string set with
+     * a split attribute and on compound predicates over several columns.
+     */
+    private DecisionTreeNode createRoot() {
+        m_nodeId = 0;
+        final DecisionTreeNodeSplitPMML nominal = split("s",
+            new PMMLPredicate[]{stringSet(PMMLSetOperator.IS_IN, "a", "b"),
+                new PMMLSimplePredicate("s", PMMLOperator.EQUAL, "c")},
+            leaf("yes", 5, 1), leaf("no", 1, 4));
+
+        final DecisionTreeNodeSplitPMML compound = split(null,
+            new PMMLPredicate[]{
+                compound(PMMLBooleanOperator.AND, new PMMLSimplePredicate("x", PMMLOperator.LESS_THAN, "1.5"),
+                    stringSet(PMMLSetOperator.IS_NOT_IN, "a")),
+                compound(PMMLBooleanOperator.OR, new PMMLSimplePredicate("k", PMMLOperator.GREATER_OR_EQUAL, "4"),
+                    new PMMLSimplePredicate("b", PMMLOperator.EQUAL, "true")),
+                compound(PMMLBooleanOperator.XOR, new PMMLSimplePredicate("x", PMMLOperator.IS_MISSING, null),
+                    numberSet(PMMLArrayType.REAL, PMMLSetOperator.IS_IN, "0.0", "2.0")),
+                numberSet(PMMLArrayType.INT, PMMLSetOperator.IS_NOT_IN, "1", "3")},
+            leaf("yes", 7, 2), leaf("no", 2, 6), split("k",
+                new PMMLPredicate[]{new PMMLSimplePredicate("k", PMMLOperator.LESS_OR_EQUAL, "2"),
+                    new PMMLSimplePredicate("k", PMMLOperator.GREATER_THAN, "2")},
+                leaf("yes", 3, 0), leaf("no", 0, 3)), leaf("no", 1, 1));
+
+        return split(null,
+            new PMMLPredicate[]{
+                compound(PMMLBooleanOperator.SURROGATE, new PMMLSimplePredicate("x", PMMLOperator.LESS_OR_EQUAL, "0"),
+                    numberSet(PMMLArrayType.INT, PMMLSetOperator.IS_IN, "1", "3"), new PMMLTruePredicate()),
+                compound(PMMLBooleanOperator.SURROGATE, new PMMLSimplePredicate("x", PMMLOperator.GREATER_THAN, "0"),
+                    new PMMLSimplePredicate("k", PMMLOperator.NOT_EQUAL, "2"))},
+            nominal, compound);
+    }
+
+    /** The last child is the default child. */
+    private DecisionTreeNodeSplitPMML split(final String splitAttribute, final PMMLPredicate[] predicates,
+        final DecisionTreeNode... children) {
+        final LinkedHashMap<DataCell, Double> classCounts = new LinkedHashMap<>();
+        for (DecisionTreeNode child : children) {
+            child.getClassCounts().forEach((c, n) -> classCounts.merge(c, n, Double::sum));
+        }
+        return new DecisionTreeNodeSplitPMML(m_nodeId++, new StringCell("yes"), classCounts, splitAttribute,
+            predicates, children, children[children.length - 1].getOwnIndex());
+    }
+
+    private DecisionTreeNodeLeaf leaf(final String majorityClass, final double yes, final double no) {
+        final LinkedHashMap<DataCell, Double> classCounts = new LinkedHashMap<>();
+        classCounts.put(new StringCell("yes"), yes);
+        classCounts.put(new StringCell("no"), no);
+        return new DecisionTreeNodeLeaf(m_nodeId++, new StringCell(majorityClass), classCounts);
+    }
+
+    private static PMMLCompoundPredicate compound(final PMMLBooleanOperator operator,
+        final PMMLPredicate... predicates) {
+        final PMMLCompoundPredicate compound = new PMMLCompoundPredicate(operator);
+        compound.setPredicates(new LinkedList<>(Arrays.asList(predicates)));
+        return compound;
+    }
+
+    private static PMMLSimpleSetPredicate stringSet(final PMMLSetOperator operator, final String... values) {
+        final PMMLSimpleSetPredicate set = new PMMLSimpleSetPredicate("s", operator);
+        set.setArrayType(PMMLArrayType.STRING);
+        set.setValues(Arrays.asList(values));
+        return set;
+    }
+
+    private static PMMLSimpleSetPredicate numberSet(final PMMLArrayType type, final PMMLSetOperator operator,
+        final String... values) {
+        final PMMLSimpleSetPredicate set = new PMMLSimpleSetPredicate(type == PMMLArrayType.INT ? "k" : "x", operator);
+        set.setArrayType(type);
+        set.setValues(Arrays.asList(values));
+        return set;
+    }
+
+    private static List<DataRow> createRows(final int count, final double missingRatio) {
+        final Random random = new Random(42);
+        final List<DataRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final DataCell[] cells = new DataCell[4];
+            cells[0] = new DoubleCell(random.nextInt(9) * 0.5 - 1);
+            cells[1] = new IntCell(random.nextInt(6));
+            cells[2] = new StringCell(STRINGS[random.nextInt(STRINGS.length)]);
+            cells[3] = random.nextBoolean() ? BooleanCell.TRUE : BooleanCell.FALSE;
+            for (int c = 0; c < cells.length; c++) {
+                if (random.nextDouble() < missingRatio) {
+                    cells[c] = DataType.getMissingCell();
+                }
+            }
+            rows.add(new DefaultRow("Row" + i, cells));
+        }
+        return rows;
+    }
+}
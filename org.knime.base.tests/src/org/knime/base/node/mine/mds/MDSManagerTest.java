@@ -0,0 +1,377 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.mds;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.mds.distances.DistanceManager;
+import org.knime.base.node.mine.mds.distances.DistanceManagerFactory;
+import org.knime.base.node.mine.mds.mdsprojection.MDSProjectionManager;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests that the {@link MDSManager} and the {@link MDSProjectionManager}, which delegate to the {@link MDSEngine},
+ * compute the same points as the original row by row implementation, which is reimplemented here as reference.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class MDSManagerTest {
+
+    private static final int DIMENSION = 2;
+
+    private static final int FEATURES = 4;
+
+    private static final long SEED = 47;
+
+    private static final int EPOCHS = 20;
+
+    private static final double LEARNING_RATE = 1.0;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Tests that the sequential training computes the same points as the original implementation.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testSequentialMatchesReference() throws Exception {
+        final List<DataRow> rows = createRows(new Random(1), 40, "Row");
+        final MDSManager manager = new MDSManager(DIMENSION, DistanceManagerFactory.EUCLIDEAN_DIST, false,
+            createTable(rows, FEATURES), m_exec);
+        manager.init(SEED);
+        manager.train(EPOCHS, LEARNING_RATE);
+
+        final Map<RowKey, DataPoint> expected = reference(rows, new ArrayList<DataRow>(),
+            new HashMap<RowKey, DataPoint>(), true, Double.NEGATIVE_INFINITY);
+        assertPointsEqual(expected, manager.getDataPoints());
+    }
+
+    /**
+     * Tests that the sequential projection, with and without adjusting the points to each other, computes the same
+     * points as the original implementation, including points that are snapped to an equal fixed point.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testSequentialProjectionMatchesReference() throws Exception {
+        final Random random = new Random(2);
+        final List<DataRow> fixedRows = createRows(random, 10, "Fixed");
+        final Map<RowKey, DataPoint> fixedPoints = new HashMap<RowKey, DataPoint>();
+        final List<DataRow> fixedRowsWithPoints = new ArrayList<DataRow>();
+        for (DataRow row : fixedRows) {
+            final DataPoint p = new DataPoint(DIMENSION);
+            final DataCell[] cells = new DataCell[FEATURES + DIMENSION];
+            for (int i = 0; i < FEATURES; i++) {
+                cells[i] = row.getCell(i);
+            }
+            for (int d = 0; d < DIMENSION; d++) {
+                p.setElementAt(d, random.nextDouble());
+                cells[FEATURES + d] = new DoubleCell(p.getElementAt(d));
+            }
+            fixedPoints.put(row.getKey(), p);
+            fixedRowsWithPoints.add(new DefaultRow(row.getKey(), cells));
+        }
+        final List<DataRow> rows = createRows(random, 30, "Row");
+        // a row equal to a fixed row is snapped to its point
+        final DataCell[] copy = new DataCell[FEATURES];
+        for (int i = 0; i < FEATURES; i++) {
+            copy[i] = fixedRows.get(3).getCell(i);
+        }
+        rows.add(new DefaultRow(new RowKey("Copy"), copy));
+
+        for (boolean projectOnly : new boolean[]{true, false}) {
+            final MDSProjectionManager manager = new MDSProjectionManager(DIMENSION,
+                DistanceManagerFactory.EUCLIDEAN_DIST, false, createTable(rows, FEATURES),
+                createTable(fixedRowsWithPoints, FEATURES + DIMENSION), new int[]{FEATURES, FEATURES + 1}, m_exec);
+            manager.setProjectOnly(projectOnly);
+            manager.init(SEED);
+            manager.train(EPOCHS, LEARNING_RATE);
+
+            final Map<RowKey, DataPoint> expected =
+                reference(rows, fixedRows, fixedPoints, !projectOnly, MDSManager.DEF_MINDIST_THRESHOLD);
+            assertPointsEqual(expected, manager.getDataPoints());
+            assertArrayEquals(toArray(fixedPoints.get(fixedRows.get(3).getKey())),
+                toArray(manager.getDataPoints().get(new RowKey("Copy"))), 0);
+        }
+    }
+
+    /**
+     * Tests that the parallel training, which adjusts all points to the positions of the previous epoch, does not
+     * depend on the number of threads and is a proper layout of the data.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testParallelIndependentOfThreadCount() throws Exception {
+        final List<DataRow> rows = createRows(new Random(3), 40, "Row");
+        final BufferedDataTable table = createTable(rows, FEATURES);
+        final DistanceManager distMan = DistanceManagerFactory.createDistanceManager(
+            DistanceManagerFactory.EUCLIDEAN_DIST, false);
+
+        final Map<RowKey, DataPoint> first = trainEngine(table, distMan, 2);
+        final Map<RowKey, DataPoint> second = trainEngine(table, distMan, 4);
+        assertPointsEqual(first, second);
+
+        // the stress must be smaller than for the random initialization
+        final MDSEngine initial = new MDSEngine(table, distMan, d -> d, DIMENSION, 2, m_exec);
+        initial.init(SEED);
+        final Map<RowKey, DataPoint> initialPoints = new HashMap<RowKey, DataPoint>();
+        initial.copyTo(initialPoints);
+        assertTrue("Parallel training did not reduce the stress",
+            stress(rows, first, distMan) < stress(rows, initialPoints, distMan));
+    }
+
+    /**
+     * Tests that the sequential engine computes the same points whether or not the disparities are cached.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testUncachedMatchesCached() throws Exception {
+        final List<DataRow> rows = createRows(new Random(4), 25, "Row");
+        final BufferedDataTable table = createTable(rows, FEATURES);
+        final DistanceManager distMan = DistanceManagerFactory.createDistanceManager(
+            DistanceManagerFactory.EUCLIDEAN_DIST, false);
+        final MDSManager manager = new MDSManager(DIMENSION, distMan, table, m_exec);
+        manager.init(SEED);
+        manager.train(EPOCHS, LEARNING_RATE);
+
+        // without cached disparities
+        final MDSEngine engine = new MDSEngine(table, distMan, d -> d, DIMENSION, 1, m_exec);
+        engine.init(SEED);
+        double learningRate = LEARNING_RATE;
+        for (int e = 1; e <= EPOCHS; e++) {
+            engine.doEpoch(learningRate, m_exec);
+            learningRate = nextLearningRate(e);
+        }
+        final Map<RowKey, DataPoint> uncached = new HashMap<RowKey, DataPoint>();
+        engine.copyTo(uncached);
+        assertPointsEqual(uncached, manager.getDataPoints());
+    }
+
+    private Map<RowKey, DataPoint> trainEngine(final BufferedDataTable table, final DistanceManager distMan,
+        final int parallelism) throws Exception {
+        final MDSEngine engine = new MDSEngine(table, distMan, d -> d, DIMENSION, parallelism, m_exec);
+        engine.init(SEED);
+        engine.cacheDisparities(m_exec);
+        double learningRate = LEARNING_RATE;
+        for (int e = 1; e <= EPOCHS; e++) {
+            engine.doEpoch(learningRate, m_exec);
+            learningRate = nextLearningRate(e);
+        }
+        final Map<RowKey, DataPoint> points = new HashMap<RowKey, DataPoint>();
+        engine.copyTo(points);
+        return points;
+    }
+
+    /**
+     * The original implementation: each point is moved towards or away from the fixed points and then from all
+     * other points, one after the other.
+     */
+    private static Map<RowKey, DataPoint> reference(final List<DataRow> rows, final List<DataRow> fixedRows,
+        final Map<RowKey, DataPoint> fixedPoints, final boolean adjustToPoints, final double minDistThreshold) {
+        final DistanceManager distMan = DistanceManagerFactory.createDistanceManager(
+            DistanceManagerFactory.EUCLIDEAN_DIST, false);
+        final Set<DataPoint> unmodifiable = new HashSet<DataPoint>();
+        final Map<RowKey, DataPoint> points = new HashMap<RowKey, DataPoint>();
+        final Random rand = new Random(SEED);
+        for (DataRow row : rows) {
+            final DataPoint p = new DataPoint(DIMENSION);
+            for (int j = 0; j < DIMENSION; j++) {
+                p.setElementAt(j, rand.nextDouble());
+            }
+            points.put(row.getKey(), p);
+        }
+        double learningRate = LEARNING_RATE;
+        for (int e = 1; e <= EPOCHS; e++) {
+            for (DataRow r1 : rows) {
+                final DataPoint p1 = points.get(r1.getKey());
+                for (DataRow fixedRow : fixedRows) {
+                    adjust(p1, fixedPoints.get(fixedRow.getKey()), distMan.getDistance(r1, fixedRow), distMan,
+                        learningRate, minDistThreshold, unmodifiable);
+                }
+                if (adjustToPoints) {
+                    for (DataRow r2 : rows) {
+                        adjust(p1, points.get(r2.getKey()), distMan.getDistance(r1, r2), distMan, learningRate,
+                            minDistThreshold, unmodifiable);
+                    }
+                }
+            }
+            learningRate = nextLearningRate(e);
+        }
+        return points;
+    }
+
+    private static void adjust(final DataPoint p1, final DataPoint p2, final double disparity,
+        final DistanceManager distMan, final double learningRate, final double minDistThreshold,
+        final Set<DataPoint> unmodifiable) {
+        if (p1 == p2 || unmodifiable.contains(p1)) {
+            return;
+        }
+        final double distance = distMan.getDistance(p1, p2);
+        if (disparity <= minDistThreshold) {
+            for (int d = 0; d < DIMENSION; d++) {
+                p1.setElementAt(d, p2.getElementAt(d));
+            }
+            unmodifiable.add(p1);
+        } else if (distance != 0) {
+            for (int d = 0; d < DIMENSION; d++) {
+                final double value = p1.getElementAt(d);
+                final double delta = learningRate * (1 - (disparity / distance)) * (p2.getElementAt(d) - value);
+                p1.setElementAt(d, value + delta);
+            }
+        }
+    }
+
+    private static double nextLearningRate(final int epoch) {
+        return LEARNING_RATE * Math.pow((0.001 / LEARNING_RATE), epoch / (double)EPOCHS);
+    }
+
+    private static double stress(final List<DataRow> rows, final Map<RowKey, DataPoint> points,
+        final DistanceManager distMan) {
+        double stress = 0;
+        for (DataRow r1 : rows) {
+            for (DataRow r2 : rows) {
+                final double diff = distMan.getDistance(r1, r2)
+                    - distMan.getDistance(points.get(r1.getKey()), points.get(r2.getKey()));
+                stress += diff * diff;
+            }
+        }
+        return stress;
+    }
+
+    private static void assertPointsEqual(final Map<RowKey, DataPoint> expected,
+        final Map<RowKey, DataPoint> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<RowKey, DataPoint> e : expected.entrySet()) {
+            assertArrayEquals("Wrong point for " + e.getKey(), toArray(e.getValue()),
+                toArray(actual.get(e.getKey())), 0);
+        }
+    }
+
+    private static double[] toArray(final DataPoint p) {
+        final double[] values = new double[p.size()];
+        for (int d = 0; d < values.length; d++) {
+            values[d] = p.getElementAt(d);
+        }
+        return values;
+    }
+
+    private static List<DataRow> createRows(final Random random, final int count, final String prefix) {
+        final List<DataRow> rows = new ArrayList<DataRow>();
+        for (int r = 0; r < count; r++) {
+            final DataCell[] cells = new DataCell[FEATURES];
+            for (int i = 0; i < FEATURES; i++) {
+                cells[i] = new DoubleCell(random.nextGaussian());
+            }
+            rows.add(new DefaultRow(new RowKey(prefix + r), cells));
+        }
+        return rows;
+    }
+
+    private BufferedDataTable createTable(final List<DataRow> rows, final int columns) {
+        final DataTableSpec spec = new DataTableSpec(createSpecs(columns));
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        for (DataRow row : rows) {
+            container.addRowToTable(row);
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static DataColumnSpec[] createSpecs(final int columns) {
+        final DataColumnSpec[] specs = new DataColumnSpec[columns];
+        for (int i = 0; i < columns; i++) {
+            specs[i] = new DataColumnSpecCreator("col" + i, DoubleCell.TYPE).createSpec();
+        }
+        return specs;
+    }
+}
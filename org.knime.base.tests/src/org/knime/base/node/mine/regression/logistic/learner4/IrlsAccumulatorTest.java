@@ -0,0 +1,291 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Tests the passes of the {@link IrlsAccumulator} against a dense computation and checks that the parallel
+ * computation yields the same results as the sequential one.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class IrlsAccumulatorTest {
+
+    private static final int FEATURE_COUNT = 20;
+
+    private static final int CATEGORY_COUNT = 2;
+
+    private static final int NUM_ROWS = 4000;
+
+    private Data m_data;
+
+    private double[] m_beta;
+
+    /** Creates sparse random rows, roughly 30% of the features are non-zero. */
+    @Before
+    public void setUp() {
+        final Random random = new Random(47);
+        m_data = new Data();
+        for (int r = 0; r < NUM_ROWS; r++) {
+            final double[] features = new double[FEATURE_COUNT];
+            features[0] = 1;
+            for (int i = 1; i < FEATURE_COUNT; i++) {
+                features[i] = random.nextDouble() < 0.3 ? random.nextGaussian() : 0;
+            }
+            m_data.m_rows.add(new Row(features, random.nextInt(CATEGORY_COUNT + 1)));
+        }
+        m_beta = new double[FEATURE_COUNT * CATEGORY_COUNT];
+        for (int i = 0; i < m_beta.length; i++) {
+            m_beta[i] = random.nextGaussian() * 0.1;
+        }
+    }
+
+    /**
+     * Compares the hessian and the gradient term with a dense computation.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testHessianMatchesDenseComputation() throws CanceledExecutionException {
+        final int dim = FEATURE_COUNT * CATEGORY_COUNT;
+        final double[][] expectedHessian = new double[dim][dim];
+        final double[] expectedGradient = new double[dim];
+        for (Row row : m_data.m_rows) {
+            final double[] pi = new double[CATEGORY_COUNT];
+            double sum = 0;
+            for (int k = 0; k < CATEGORY_COUNT; k++) {
+                double z = 0;
+                for (int i = 0; i < FEATURE_COUNT; i++) {
+                    z += row.m_features[i] * m_beta[k * FEATURE_COUNT + i];
+                }
+                pi[k] = Math.exp(z);
+                sum += pi[k];
+            }
+            for (int k = 0; k < CATEGORY_COUNT; k++) {
+                pi[k] /= 1 + sum;
+            }
+            for (int k = 0; k < CATEGORY_COUNT; k++) {
+                for (int kk = 0; kk < CATEGORY_COUNT; kk++) {
+                    final double w = k == kk ? pi[k] * (1 - pi[k]) : -pi[k] * pi[kk];
+                    for (int i = 0; i < FEATURE_COUNT; i++) {
+                        for (int ii = 0; ii < FEATURE_COUNT; ii++) {
+                            expectedHessian[k * FEATURE_COUNT + i][kk * FEATURE_COUNT + ii] +=
+                                row.m_features[i] * w * row.m_features[ii];
+                        }
+                    }
+                }
+                for (int i = 0; i < FEATURE_COUNT; i++) {
+                    expectedGradient[k * FEATURE_COUNT + i] +=
+                        (row.getProbability(k) - pi[k]) * row.m_features[i];
+                }
+            }
+        }
+
+        final IrlsAccumulator acc = new IrlsAccumulator(FEATURE_COUNT, CATEGORY_COUNT, null, 1);
+        final double[] hessian = new double[dim * (dim + 1) / 2];
+        final double[] gradient = new double[dim];
+        assertEquals("Wrong row count", NUM_ROWS,
+            acc.computeHessian(m_data, m_beta, hessian, gradient, new ExecutionMonitor()));
+        for (int g = 0; g < dim; g++) {
+            for (int h = 0; h < dim; h++) {
+                assertEquals("Wrong hessian entry (" + g + "," + h + ")", expectedHessian[g][h],
+                    hessian[acc.index(g, h)], 1e-9);
+            }
+            assertEquals("Wrong gradient entry " + g, expectedGradient[g], gradient[g], 1e-9);
+        }
+    }
+
+    /**
+     * Checks that the parallel passes give the same results as the sequential ones.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testParallelMatchesSequential() throws CanceledExecutionException {
+        final int dim = FEATURE_COUNT * CATEGORY_COUNT;
+        final IrlsAccumulator sequential = new IrlsAccumulator(FEATURE_COUNT, CATEGORY_COUNT, null, 1);
+        final IrlsAccumulator parallel = new IrlsAccumulator(FEATURE_COUNT, CATEGORY_COUNT,
+            KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(3), 3);
+        final double[] seqHessian = new double[dim * (dim + 1) / 2];
+        final double[] seqGradient = new double[dim];
+        final double[] parHessian = new double[dim * (dim + 1) / 2];
+        final double[] parGradient = new double[dim];
+        sequential.computeHessian(m_data, m_beta, seqHessian, seqGradient, new ExecutionMonitor());
+        parallel.computeHessian(m_data, m_beta, parHessian, parGradient, new ExecutionMonitor());
+        for (int p = 0; p < seqHessian.length; p++) {
+            assertEquals("Wrong hessian entry " + p, seqHessian[p], parHessian[p], 1e-9);
+        }
+        for (int g = 0; g < dim; g++) {
+            assertEquals("Wrong gradient entry " + g, seqGradient[g], parGradient[g], 1e-9);
+        }
+        assertEquals("Wrong log-likelihood", sequential.computeLikelihood(m_data, m_beta, new ExecutionMonitor()),
+            parallel.computeLikelihood(m_data, m_beta, new ExecutionMonitor()), 1e-8);
+    }
+
+    private static final class Data implements TrainingData<ClassificationTrainingRow> {
+
+        private final List<Row> m_rows = new ArrayList<>();
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return new ArrayList<ClassificationTrainingRow>(m_rows).iterator();
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_rows.size();
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return FEATURE_COUNT;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return CATEGORY_COUNT;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** A sparse row that only iterates over its non-zero features. */
+    private static final class Row implements ClassificationTrainingRow {
+
+        private final double[] m_features;
+
+        private final int[] m_nonZero;
+
+        private final int m_category;
+
+        Row(final double[] features, final int category) {
+            m_features = features;
+            m_category = category;
+            int count = 0;
+            final int[] nonZero = new int[features.length];
+            for (int i = 0; i < features.length; i++) {
+                if (features[i] != 0) {
+                    nonZero[count++] = i;
+                }
+            }
+            m_nonZero = Arrays.copyOf(nonZero, count);
+        }
+
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public int getCategory() {
+            return m_category;
+        }
+
+        @Override
+        public double getProbability(final int classIdx) {
+            return classIdx == m_category ? 1.0 : 0.0;
+        }
+
+        @Override
+        public FeatureIterator getFeatureIterator() {
+            return new Iter(-1);
+        }
+
+        private final class Iter implements FeatureIterator {
+
+            private int m_idx;
+
+            Iter(final int idx) {
+                m_idx = idx;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return m_idx < m_nonZero.length - 1;
+            }
+
+            @Override
+            public boolean next() {
+                return ++m_idx < m_nonZero.length;
+            }
+
+            @Override
+            public int getFeatureIndex() {
+                return m_nonZero[m_idx];
+            }
+
+            @Override
+            public double getFeatureValue() {
+                return m_features[m_nonZero[m_idx]];
+            }
+
+            @Override
+            public FeatureIterator spawn() {
+                return new Iter(m_idx - 1);
+            }
+        }
+    }
+}
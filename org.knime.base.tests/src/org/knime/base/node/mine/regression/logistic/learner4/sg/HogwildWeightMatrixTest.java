@@ -0,0 +1,98 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the HogwildWeightMatrix.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class HogwildWeightMatrixTest extends AbstractWeightVectorTest {
+
+    @Override
+    protected HogwildWeightMatrix<MockClassificationTrainingRow> createTestVec(
+        final boolean fitIntercept, final int nRows, final int nCols) {
+        HogwildWeightMatrix<MockClassificationTrainingRow> vec = new HogwildWeightMatrix<>(nCols, nRows, fitIntercept);
+        assertEquals(nRows, vec.getNVectors());
+        assertEquals(nCols, vec.getNVariables());
+        return vec;
+    }
+
+    @Override
+    @Test
+    public void testScale() throws Exception {
+        HogwildWeightMatrix<MockClassificationTrainingRow> vec = createTestVec(false, 3, 3);
+        vec.update((v, c, i) -> 1.0, true);
+        vec.scale(3.0);
+        assertEquals(vec.getScale(), 1.0, EPSILON);
+        double[][] beta = vec.getWeightVector();
+        for (int i = 0; i < beta.length; i++) {
+            for (int j = 0; j < beta[i].length; j++) {
+                // the intercept is not fitted and hence never touched
+                assertEquals(j == 0 ? 0.0 : 3.0, beta[i][j], EPSILON);
+            }
+        }
+    }
+
+    /**
+     * Tests that the returned coefficients are a snapshot that does not write through.
+     */
+    @Test
+    public void testWeightVectorIsCopy() throws Exception {
+        HogwildWeightMatrix<MockClassificationTrainingRow> vec = createTestVec(true, 2, 3);
+        vec.update((v, c, i) -> c + i, true);
+        double[][] beta = vec.getWeightVector();
+        beta[1][2] = 42.0;
+        assertEquals(3.0, vec.getWeightVector()[1][2], EPSILON);
+    }
+
+}
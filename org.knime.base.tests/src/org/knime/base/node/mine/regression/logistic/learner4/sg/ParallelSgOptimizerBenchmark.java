@@ -0,0 +1,250 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.ParallelMode;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Compares the epochs per second of the SAG solver for the different {@link ParallelMode}s on synthetic sparse data.
+ * This is not a unit test, run the main method manually with enough heap (e.g. -Xmx4g).
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ParallelSgOptimizerBenchmark {
+
+    private static final int ROWS = 500_000;
+
+    private static final int FEATURES = 10_000;
+
+    private static final int NON_ZEROS = 20;
+
+    private static final int CLASSES = 3;
+
+    private static final int EPOCHS = 10;
+
+    private ParallelSgOptimizerBenchmark() {
+    }
+
+    /**
+     * @param args ignored
+     * @throws Exception if the training fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final SyntheticData data = new SyntheticData(new Random(42));
+        for (ParallelMode mode : ParallelMode.values()) {
+            final LogRegLearnerSettings settings = new LogRegLearnerSettings();
+            settings.setMaxEpoch(EPOCHS);
+            // never converge to always run the same number of epochs
+            settings.setEpsilon(0);
+            settings.setSeed(42L);
+            settings.setCalcCovMatrix(false);
+            settings.setParallelMode(mode);
+            final SagLogRegLearner learner = new SagLogRegLearner(settings);
+            // warm up
+            learner.learn(data, new ExecutionMonitor());
+            final long start = System.nanoTime();
+            final LogRegLearnerResult result = learner.learn(data, new ExecutionMonitor());
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-32s %8.2f epochs/s  log-likelihood %.1f%n", mode, result.getIter() / seconds,
+                result.getLogLike());
+        }
+    }
+
+    /**
+     * Rows with a few random non-zero features whose class is determined by a random linear model.
+     */
+    private static final class SyntheticData implements TrainingData<ClassificationTrainingRow> {
+
+        private final List<ClassificationTrainingRow> m_rows = new ArrayList<>(ROWS);
+
+        private final Random m_random;
+
+        SyntheticData(final Random random) {
+            m_random = random;
+            final double[][] model = new double[CLASSES][FEATURES + 1];
+            for (double[] coefficients : model) {
+                for (int i = 0; i < coefficients.length; i++) {
+                    coefficients[i] = random.nextGaussian();
+                }
+            }
+            for (int r = 0; r < ROWS; r++) {
+                final int[] indices = new int[NON_ZEROS + 1];
+                final double[] values = new double[NON_ZEROS + 1];
+                values[0] = 1.0;
+                // sorted distinct feature indices, the intercept is feature 0
+                int next = 1;
+                for (int k = 1; k <= NON_ZEROS; k++) {
+                    final int gap = (FEATURES - next) / (NON_ZEROS - k + 1);
+                    indices[k] = next + random.nextInt(Math.max(1, gap));
+                    values[k] = random.nextDouble();
+                    next = indices[k] + 1;
+                }
+                int category = 0;
+                double best = Double.NEGATIVE_INFINITY;
+                for (int c = 0; c < CLASSES; c++) {
+                    double score = random.nextGaussian();
+                    for (int k = 0; k < indices.length; k++) {
+                        score += model[c][indices[k]] * values[k];
+                    }
+                    if (score > best) {
+                        best = score;
+                        category = c;
+                    }
+                }
+                m_rows.add(new SyntheticRow(r, category, indices, values));
+            }
+        }
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return m_rows.iterator();
+        }
+
+        @Override
+        public int getRowCount() {
+            return ROWS;
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return FEATURES + 1;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return CLASSES - 1;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            return m_rows.get(m_random.nextInt(ROWS));
+        }
+    }
+
+    private static final class SyntheticRow implements ClassificationTrainingRow {
+
+        private final int m_id;
+
+        private final int m_category;
+
+        private final int[] m_indices;
+
+        private final double[] m_values;
+
+        SyntheticRow(final int id, final int category, final int[] indices, final double[] values) {
+            m_id = id;
+            m_category = category;
+            m_indices = indices;
+            m_values = values;
+        }
+
+        @Override
+        public int getId() {
+            return m_id;
+        }
+
+        @Override
+        public int getCategory() {
+            return m_category;
+        }
+
+        @Override
+        public double getProbability(final int classIdx) {
+            return m_category == classIdx ? 1.0 : 0.0;
+        }
+
+        @Override
+        public FeatureIterator getFeatureIterator() {
+            return new Iter(-1);
+        }
+
+        private final class Iter implements FeatureIterator {
+
+            private int m_idx;
+
+            Iter(final int idx) {
+                m_idx = idx;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return m_idx < m_indices.length - 1;
+            }
+
+            @Override
+            public boolean next() {
+                return ++m_idx < m_indices.length;
+            }
+
+            @Override
+            public int getFeatureIndex() {
+                return m_indices[m_idx];
+            }
+
+            @Override
+            public double getFeatureValue() {
+                return m_values[m_idx];
+            }
+
+            @Override
+            public FeatureIterator spawn() {
+                return new Iter(m_idx - 1);
+            }
+        }
+    }
+}
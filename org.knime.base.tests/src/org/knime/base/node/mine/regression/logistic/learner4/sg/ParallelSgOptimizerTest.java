@@ -0,0 +1,253 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.LearningRateStrategies;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.ParallelMode;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Prior;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Solver;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.core.node.CanceledExecutionException;
+
+/**
+ * Unit tests for the ParallelSgOptimizer.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ParallelSgOptimizerTest {
+
+    private static final int FEATURES = 5;
+
+    private static final int CLASSES = 3;
+
+    private static final int MAX_EPOCH = 20;
+
+    private static final Progress NO_PROGRESS = new Progress() {
+
+        @Override
+        public void setProgress(final double progress) {
+            // not needed
+        }
+
+        @Override
+        public void setProgress(final double progress, final String message) {
+            // not needed
+        }
+
+        @Override
+        public void checkCanceled() throws CanceledExecutionException {
+            // not needed
+        }
+    };
+
+    /**
+     * Tests that both parallel modes yield exactly the model of the sequential optimizer if the data is too small to
+     * be split into several shards.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testSingleShardMatchesSequential() throws Exception {
+        for (ParallelMode mode : new ParallelMode[]{ParallelMode.Hogwild, ParallelMode.Averaging}) {
+            for (boolean lazy : new boolean[]{true, false}) {
+                for (LearningRateStrategies lrs : new LearningRateStrategies[]{LearningRateStrategies.Fixed,
+                    LearningRateStrategies.LineSearch}) {
+                    final LogRegLearnerSettings settings = createSettings(lazy, lrs, 1.0);
+                    final SagLogRegLearner learner = new SagLogRegLearner(settings);
+                    final TestData data = new TestData(500, 1);
+                    final LogRegLearnerResult expected =
+                        learner.createOptimizer(settings, data, data.getRowCount(), false)
+                            .optimize(MAX_EPOCH, data, NO_PROGRESS);
+
+                    final LogRegLearnerResult actual = new ParallelSgOptimizer(mode, 4, 42L,
+                        (d, nRows, forceLazy) -> learner.createOptimizer(settings, d, nRows, forceLazy))
+                            .optimize(MAX_EPOCH, new TestData(500, 1), NO_PROGRESS);
+
+                    final String msg = mode + ", lazy: " + lazy + ", " + lrs;
+                    assertEquals(msg, expected.getIter(), actual.getIter());
+                    assertEquals(msg, expected.getLogLike(), actual.getLogLike(), 0);
+                    final double[][] expectedBeta = expected.getBeta().getData();
+                    for (int c = 0; c < expectedBeta.length; c++) {
+                        assertArrayEquals(msg, expectedBeta[c], actual.getBeta().getRow(c), 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that the shards normalize the prior by the row count of the complete data, i.e. that the strongly
+     * regularized coefficients have about the same size as the ones of the sequential optimizer. If the shards
+     * normalized by their own row count, the prior would be twice as strong.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testShardsNormalizeByTotalRowCount() throws Exception {
+        final int nRows = 2 * ParallelSgOptimizer.MIN_ROWS_PER_SHARD;
+        for (ParallelMode mode : new ParallelMode[]{ParallelMode.Hogwild, ParallelMode.Averaging}) {
+            for (boolean lazy : new boolean[]{true, false}) {
+                final LogRegLearnerSettings settings = createSettings(lazy, LearningRateStrategies.Fixed, 0.01);
+                final SagLogRegLearner learner = new SagLogRegLearner(settings);
+                final TestData data = new TestData(nRows, 2);
+                final double expected = norm(learner.createOptimizer(settings, data, nRows, false)
+                    .optimize(MAX_EPOCH, data, NO_PROGRESS));
+
+                final double actual = norm(new ParallelSgOptimizer(mode, 2, 42L,
+                    (d, n, forceLazy) -> learner.createOptimizer(settings, d, n, forceLazy))
+                        .optimize(MAX_EPOCH, new TestData(nRows, 2), NO_PROGRESS));
+                assertEquals(mode + ", lazy: " + lazy, expected, actual, 0.1 * expected);
+            }
+        }
+    }
+
+    private static LogRegLearnerSettings createSettings(final boolean lazy, final LearningRateStrategies lrs,
+        final double priorVariance) {
+        final LogRegLearnerSettings settings = new LogRegLearnerSettings();
+        settings.setSolver(Solver.SAG);
+        settings.setMaxEpoch(MAX_EPOCH);
+        settings.setPerformLazy(lazy);
+        settings.setLearningRateStrategy(lrs);
+        settings.setPrior(Prior.Gauss);
+        settings.setPriorVariance(priorVariance);
+        settings.setSeed(42L);
+        settings.setCalcCovMatrix(false);
+        return settings;
+    }
+
+    /**
+     * @return the Euclidean norm of the coefficients without the intercept terms
+     */
+    private static double norm(final LogRegLearnerResult result) {
+        final double[][] beta = result.getBeta().getData();
+        double sum = 0;
+        for (double[] coefficients : beta) {
+            for (int i = 1; i < coefficients.length; i++) {
+                sum += coefficients[i] * coefficients[i];
+            }
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Rows with dense random features whose class is determined by a random linear model. The random rows are
+     * drawn with a fixed seed.
+     */
+    private static final class TestData implements TrainingData<ClassificationTrainingRow> {
+
+        private final List<ClassificationTrainingRow> m_rows = new ArrayList<>();
+
+        private final Random m_random = new Random(7);
+
+        TestData(final int nRows, final long seed) {
+            final Random random = new Random(seed);
+            final double[][] model = new double[CLASSES][FEATURES];
+            for (double[] coefficients : model) {
+                for (int i = 0; i < FEATURES; i++) {
+                    coefficients[i] = random.nextGaussian();
+                }
+            }
+            for (int r = 0; r < nRows; r++) {
+                final double[] features = new double[FEATURES];
+                for (int i = 0; i < FEATURES; i++) {
+                    features[i] = random.nextGaussian();
+                }
+                int category = 0;
+                double best = Double.NEGATIVE_INFINITY;
+                for (int c = 0; c < CLASSES; c++) {
+                    double score = random.nextGaussian();
+                    for (int i = 0; i < FEATURES; i++) {
+                        score += model[c][i] * features[i];
+                    }
+                    if (score > best) {
+                        best = score;
+                        category = c;
+                    }
+                }
+                m_rows.add(new MockClassificationTrainingRow(features, r, category));
+            }
+        }
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return m_rows.iterator();
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_rows.size();
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return FEATURES + 1;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return CLASSES - 1;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            return m_rows.get(m_random.nextInt(m_rows.size()));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.scorer.accuracy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests for {@link ConfusionMatrixAccumulator}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ConfusionMatrixAccumulatorTest {
+
+    private static final DataCell[] VALUES = {new StringCell("a"), new StringCell("b"), new StringCell("c")};
+
+    /**
+     * Checks that the parallel accumulation results in the same counts and key store as a simple count.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testParallelCounts() throws CanceledExecutionException {
+        final Random rand = new Random(42);
+        final int rows = 3 * ConfusionMatrixAccumulator.CHUNK_ROWS + 17;
+        final long[][] expected = new long[VALUES.length][VALUES.length];
+        final List<RowKey> expectedKeys = new ArrayList<>();
+        final ConfusionMatrixAccumulator acc = new ConfusionMatrixAccumulator(VALUES, true, 4);
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        long missing = 0;
+        for (int r = 0; r < rows; r++) {
+            final RowKey key = new RowKey("Row" + r);
+            final int i = rand.nextInt(VALUES.length);
+            final int j = rand.nextInt(VALUES.length);
+            if (rand.nextInt(50) == 0) {
+                acc.addRow(key, new MissingCell(null), VALUES[j], exec);
+                missing++;
+                continue;
+            }
+            // use new cells so that they are only equal, not identical to the possible values
+            acc.addRow(key, new StringCell(VALUES[i].toString()), new StringCell(VALUES[j].toString()), exec);
+            expected[i][j]++;
+            if (i == 1 && j == 2) {
+                expectedKeys.add(key);
+            }
+        }
+        acc.finish(exec);
+        for (int i = 0; i < VALUES.length; i++) {
+            for (int j = 0; j < VALUES.length; j++) {
+                assertEquals(expected[i][j], acc.getCount(i, j));
+                assertEquals(expected[i][j], acc.getKeyStore()[i][j].size());
+            }
+        }
+        assertEquals(missing, acc.getMissingCount());
+        assertEquals(expectedKeys, acc.getKeyStore()[1][2]);
+    }
+
+    /**
+     * Checks that missing values are rejected if they are not ignored.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testMissingValuesNotIgnored() throws CanceledExecutionException {
+        final ConfusionMatrixAccumulator acc = new ConfusionMatrixAccumulator(VALUES, false, 2);
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        acc.addRow(new RowKey("Row0"), VALUES[0], VALUES[1], exec);
+        acc.addRow(new RowKey("Row1"), VALUES[0], new MissingCell(null), exec);
+        acc.finish(exec);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.knime.base.node.mine.subgroupminer.apriori.AprioriAlgorithmFactory.AlgorithmDataStructure;
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.data.vector.bitvector.DenseBitVectorCellFactory;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests that {@link FPGrowth} finds the same frequent item sets and association rules as {@link ArrayApriori} and
+ * {@link TIDApriori}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FPGrowthTest {
+
+    private static final int ITEMS = 12;
+
+    private static final int TRANSACTIONS = 200;
+
+    /** The item contained in every transaction. */
+    private static final int ALWAYS_FREQUENT_ITEM = 5;
+
+    private static final double MIN_SUPPORT = 0.1;
+
+    /**
+     * Tests the free, closed and maximal item sets, with and without a maximal depth.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSameItemSets() throws Exception {
+        for (FrequentItemSet.Type type : FrequentItemSet.Type.values()) {
+            for (int maxDepth : new int[]{3, ITEMS}) {
+                final String expected = toString(mine(AlgorithmDataStructure.ARRAY, type, maxDepth)
+                    .getFrequentItemSets(type));
+                final String msg = type + ", max depth " + maxDepth;
+                assertFalse(msg + ": no item sets found", expected.isEmpty());
+                if (maxDepth == ITEMS) {
+                    // the TIDApriori expands the sets one item beyond the maximal depth
+                    assertEquals(msg + ", TIDList", expected,
+                        toString(mine(AlgorithmDataStructure.TIDList, type, maxDepth).getFrequentItemSets(type)));
+                }
+                assertEquals(msg + ", FPGrowth", expected,
+                    toString(mine(AlgorithmDataStructure.FPGrowth, type, maxDepth).getFrequentItemSets(type)));
+            }
+        }
+    }
+
+    /**
+     * Tests the association rules, including their support and confidence.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSameAssociationRules() throws Exception {
+        for (double confidence : new double[]{0.3, 0.8}) {
+            final FrequentItemSet.Type type = FrequentItemSet.Type.CLOSED;
+            final String expected =
+                rulesToString(mine(AlgorithmDataStructure.ARRAY, type, ITEMS).getAssociationRules(confidence));
+            final String msg = "confidence " + confidence;
+            assertFalse(msg + ": no rules found", expected.isEmpty());
+            assertEquals(msg + ", TIDList", expected,
+                rulesToString(mine(AlgorithmDataStructure.TIDList, type, ITEMS).getAssociationRules(confidence)));
+            assertEquals(msg + ", FPGrowth", expected,
+                rulesToString(mine(AlgorithmDataStructure.FPGrowth, type, ITEMS).getAssociationRules(confidence)));
+        }
+    }
+
+    private static AprioriAlgorithm mine(final AlgorithmDataStructure algorithm, final FrequentItemSet.Type type,
+        final int maxDepth) throws Exception {
+        final List<BitVectorValue> transactions = createTransactions();
+        final AprioriAlgorithm apriori =
+            AprioriAlgorithmFactory.getAprioriAlgorithm(algorithm, ITEMS, transactions.size());
+        apriori.findFrequentItemSets(transactions, MIN_SUPPORT, maxDepth, type, new ExecutionMonitor());
+        return apriori;
+    }
+
+    /**
+     * The items have different frequencies, items 0 to 3 are correlated so that there are sets that are frequent but
+     * not closed.
+     */
+    private static List<BitVectorValue> createTransactions() {
+        final Random random = new Random(42);
+        final List<BitVectorValue> transactions = new ArrayList<>(TRANSACTIONS);
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            final DenseBitVectorCellFactory factory = new DenseBitVectorCellFactory(ITEMS);
+            final boolean group = random.nextDouble() < 0.4;
+            for (int i = 0; i < ITEMS; i++) {
+                final double probability = i < 4 && group ? 0.9 : 0.5 / (1 + i % 6);
+                if (i == ALWAYS_FREQUENT_ITEM || random.nextDouble() < probability) {
+                    factory.set(i);
+                }
+            }
+            transactions.add(factory.createDataCell());
+        }
+        return transactions;
+    }
+
+    /** @return the sorted item sets with their support, independent of the ids and the order of the items */
+    private static String toString(final List<FrequentItemSet> sets) {
+        final TreeSet<String> result = new TreeSet<>();
+        for (FrequentItemSet set : sets) {
+            result.add(items(set) + " " + round(set.getSupport()));
+        }
+        return String.join("\n", result);
+    }
+
+    private static String rulesToString(final List<AssociationRule> rules) {
+        final TreeSet<String> result = new TreeSet<>();
+        for (AssociationRule rule : rules) {
+            result.add(items(rule.getAntecedent()) + " -> " + items(rule.getConsequent()) + " support "
+                + round(rule.getSupport()) + " confidence " + round(rule.getConfidence()));
+        }
+        return String.join("\n", result);
+    }
+
+    private static String items(final FrequentItemSet set) {
+        return new TreeSet<>(set.getItems()).toString();
+    }
+
+    /** The implementations sum up the support in a different order. */
+    private static String round(final double value) {
+        return String.format("%.10f", value);
+    }
+}
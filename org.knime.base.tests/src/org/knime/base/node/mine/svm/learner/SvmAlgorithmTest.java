@@ -0,0 +1,182 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.svm.learner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.svm.Svm;
+import org.knime.base.node.mine.svm.kernel.Kernel;
+import org.knime.base.node.mine.svm.kernel.KernelFactory;
+import org.knime.base.node.mine.svm.kernel.KernelFactory.KernelType;
+import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.base.node.mine.svm.util.KernelCache;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests that neither the kernel cache nor the shrinking heuristic change the result of the {@link SvmAlgorithm}. The
+ * expected values were computed with the solver before the kernel cache was introduced, which evaluated the kernel
+ * on every access.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class SvmAlgorithmTest {
+
+    private static final double PARAM_C = 10.0;
+
+    /**
+     * Tests that the default, the cached and the shrinking solver find the same support vectors and alphas as the
+     * baseline solver on a small separable data set.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testSeparableMatchesBaseline() throws Exception {
+        final DoubleVector[] data = createSeparableData(20, 1);
+        final Kernel kernel = createLinearKernel();
+        final String[] keys = {"Row2", "Row7", "Row18"};
+        final double[] alphas = {0.05753290037947329, 0.12725529578673703, 0.06972239540726373};
+        final double threshold = -0.21608608479167218;
+
+        assertSvm(keys, alphas, threshold, new SvmAlgorithm(data, "A", kernel, PARAM_C).run(new ExecutionMonitor()));
+        for (boolean shrinking : new boolean[]{false, true}) {
+            final KernelCache cache = new KernelCache(kernel, data, KernelCache.DEFAULT_CACHE_SIZE_MB);
+            assertSvm(keys, alphas, threshold,
+                new SvmAlgorithm(cache, "A", PARAM_C, shrinking).run(new ExecutionMonitor()));
+        }
+    }
+
+    /**
+     * Tests the same on a data set whose kernel matrix does not fit into the smallest cache, so rows are evicted and
+     * computed again.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testEvictedRowsMatchBaseline() throws Exception {
+        final DoubleVector[] data = createSeparableData(400, 7);
+        final Kernel kernel = createLinearKernel();
+        final String[] keys = {"Row12", "Row269"};
+        final double[] alphas = {0.5511516087974454, 0.5511516087974454};
+        final double threshold = -0.20139422240817306;
+
+        for (boolean shrinking : new boolean[]{false, true}) {
+            final KernelCache cache = new KernelCache(kernel, data, 1);
+            assertSvm(keys, alphas, threshold,
+                new SvmAlgorithm(cache, "A", PARAM_C, shrinking).run(new ExecutionMonitor()));
+        }
+    }
+
+    /**
+     * Tests that the size of the cache does not change the result for a non-linear kernel on overlapping classes.
+     *
+     * @throws Exception if the training fails
+     */
+    @Test
+    public void testCacheSizeDoesNotChangeResult() throws Exception {
+        final DoubleVector[] data = createData(400, 7, 1.5);
+        final Kernel kernel = KernelFactory.getKernel(KernelType.RBF);
+        kernel.setParameter(0, 1.0);
+
+        final Svm expected = new SvmAlgorithm(data, "A", kernel, PARAM_C).run(new ExecutionMonitor());
+        final Svm actual =
+            new SvmAlgorithm(new KernelCache(kernel, data, 1), "A", PARAM_C, false).run(new ExecutionMonitor());
+        final String[] keys = new String[expected.getSupportVectors().length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = expected.getSupportVectors()[i].getKey().getString();
+        }
+        assertSvm(keys, expected.getAlphas(), expected.getThreshold(), actual);
+    }
+
+    private static void assertSvm(final String[] keys, final double[] alphas, final double threshold,
+        final Svm svm) {
+        final DoubleVector[] supportVectors = svm.getSupportVectors();
+        final String[] actualKeys = new String[supportVectors.length];
+        for (int i = 0; i < supportVectors.length; i++) {
+            actualKeys[i] = supportVectors[i].getKey().getString();
+        }
+        assertArrayEquals("Wrong support vectors", keys, actualKeys);
+        assertArrayEquals("Wrong alphas", alphas, svm.getAlphas(), 0);
+        assertEquals("Wrong threshold", threshold, svm.getThreshold(), 0);
+    }
+
+    private static Kernel createLinearKernel() {
+        final Kernel kernel = KernelFactory.getKernel(KernelType.Polynomial);
+        // bias, power, gamma
+        kernel.setParameter(0, 1.0);
+        kernel.setParameter(1, 1.0);
+        kernel.setParameter(2, 1.0);
+        return kernel;
+    }
+
+    private static DoubleVector[] createSeparableData(final int count, final long seed) {
+        return createData(count, seed, 2.5);
+    }
+
+    /**
+     * Creates two Gaussian clouds, class "A" around (shift, shift) and class "B" around (-shift, -shift).
+     */
+    private static DoubleVector[] createData(final int count, final long seed, final double shift) {
+        final Random random = new Random(seed);
+        final DoubleVector[] data = new DoubleVector[count];
+        for (int i = 0; i < count; i++) {
+            final boolean positive = i % 2 == 0;
+            final double offset = positive ? shift : -shift;
+            final ArrayList<Double> values = new ArrayList<Double>();
+            values.add(random.nextGaussian() + offset);
+            values.add(random.nextGaussian() + offset);
+            data[i] = new DoubleVector(new RowKey("Row" + i), values, positive ? "A" : "B");
+        }
+        return data;
+    }
+}
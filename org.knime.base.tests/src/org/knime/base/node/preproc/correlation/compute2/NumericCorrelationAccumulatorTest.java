@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.preproc.correlation.compute2;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Tests that the tiled, multi-threaded {@link NumericCorrelationAccumulator} computes exactly the same sums as a
+ * plain sequential scan with pair-wise complete missing value handling.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class NumericCorrelationAccumulatorTest {
+
+    private static final int NUM_COLS = 2 * NumericCorrelationAccumulator.TILE_SIZE + 13;
+
+    private static final int NUM_ROWS = 3000;
+
+    private double[][] m_values;
+
+    private boolean[][] m_missings;
+
+    /** Creates random data with roughly 5% missing values. */
+    @Before
+    public void setUp() {
+        final Random random = new Random(47);
+        m_values = new double[NUM_ROWS][NUM_COLS];
+        m_missings = new boolean[NUM_ROWS][NUM_COLS];
+        for (int r = 0; r < NUM_ROWS; r++) {
+            for (int c = 0; c < NUM_COLS; c++) {
+                m_values[r][c] = random.nextGaussian() * (c + 1);
+                m_missings[r][c] = random.nextDouble() < 0.05;
+            }
+        }
+    }
+
+    /**
+     * Compares the first pass against a sequential computation.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testStatisticsMatchSequentialScan() throws CanceledExecutionException {
+        final NumericCorrelationAccumulator acc = runStatistics(
+            new NumericCorrelationAccumulator(NUM_COLS, KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4), 4));
+
+        final double[][] sum = new double[NUM_COLS][NUM_COLS];
+        final double[][] sumSq = new double[NUM_COLS][NUM_COLS];
+        final int[][] count = new int[NUM_COLS][NUM_COLS];
+        for (int r = 0; r < NUM_ROWS; r++) {
+            for (int i = 0; i < NUM_COLS; i++) {
+                if (m_missings[r][i]) {
+                    continue;
+                }
+                final double v = m_values[r][i];
+                for (int j = 0; j < NUM_COLS; j++) {
+                    if (!m_missings[r][j]) {
+                        sum[i][j] += v;
+                        sumSq[i][j] += v * v;
+                        count[i][j]++;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < NUM_COLS; i++) {
+            assertArrayEquals("Wrong sums in row " + i, sum[i], acc.getSumMatrix()[i], 0.0);
+            assertArrayEquals("Wrong squared sums in row " + i, sumSq[i], acc.getSumSqMatrix()[i], 0.0);
+            for (int j = i; j < NUM_COLS; j++) {
+                assertEquals("Wrong valid count", count[i][j], acc.getValidCountMatrix()[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Compares the parallel second pass against the single-threaded one.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testNominatorIndependentOfParallelism() throws CanceledExecutionException {
+        final double[][] sequential =
+            runNominator(runStatistics(new NumericCorrelationAccumulator(NUM_COLS, null, 1)));
+        final double[][] parallel = runNominator(runStatistics(
+            new NumericCorrelationAccumulator(NUM_COLS, KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(3), 3)));
+        for (int i = 0; i < NUM_COLS; i++) {
+            assertArrayEquals("Wrong nominator in row " + i, sequential[i], parallel[i], 0.0);
+        }
+    }
+
+    private NumericCorrelationAccumulator runStatistics(final NumericCorrelationAccumulator acc)
+        throws CanceledExecutionException {
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        acc.startStatistics();
+        for (int r = 0; r < NUM_ROWS; r++) {
+            acc.addRow(m_values[r], m_missings[r], exec);
+        }
+        acc.finishPass(exec);
+        return acc;
+    }
+
+    private double[][] runNominator(final NumericCorrelationAccumulator acc) throws CanceledExecutionException {
+        final ExecutionMonitor exec = new ExecutionMonitor();
+        final double[][] mean = new double[NUM_COLS][NUM_COLS];
+        final double[][] stdDev = new double[NUM_COLS][NUM_COLS];
+        for (int i = 0; i < NUM_COLS; i++) {
+            for (int j = 0; j < NUM_COLS; j++) {
+                final int n = acc.getValidCountMatrix()[Math.min(i, j)][Math.max(i, j)];
+                mean[i][j] = acc.getSumMatrix()[i][j] / n;
+                stdDev[i][j] = Math.sqrt(acc.getSumSqMatrix()[i][j] / n - mean[i][j] * mean[i][j]);
+            }
+        }
+        acc.startNominator(mean, stdDev);
+        for (int r = 0; r < NUM_ROWS; r++) {
+            acc.addRow(m_values[r], m_missings[r], exec);
+        }
+        acc.finishPass(exec);
+        return acc.getNominatorMatrix();
+    }
+}
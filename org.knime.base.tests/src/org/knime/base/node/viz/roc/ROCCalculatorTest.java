@@ -0,0 +1,256 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.viz.roc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.viz.roc.ROCCalculator.ScoreCollector;
+import org.knime.base.node.viz.roc.ROCCalculator.ScoreHistogram;
+import org.knime.base.node.viz.roc.ROCCalculator.SortedScores;
+
+/**
+ * Tests that the curves computed by {@link ROCCalculator} from counts per distinct score and from score histograms are the
+ * same as the ones computed by walking the table sorted by the score, which is how the curves used to be computed.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ROCCalculatorTest {
+
+    /** A row of the input table, a <code>null</code> score is a missing value. */
+    private static final class Row {
+        private final Double m_score;
+
+        private final boolean m_positive;
+
+        Row(final Double score, final boolean positive) {
+            m_score = score;
+            m_positive = positive;
+        }
+    }
+
+    /**
+     * Computes the curve like the previous implementation: the rows are sorted by descending score with missing
+     * scores last, and a new point is added whenever the score changes.
+     */
+    private static ROCCurve sortedTableCurve(final List<Row> rows) {
+        final List<Row> sorted = new ArrayList<Row>(rows);
+        // stable like the table sorter, missing values are smaller than all numbers
+        sorted.sort(Comparator.comparing((Row r) -> r.m_score, Comparator.nullsFirst(Double::compare)).reversed());
+        final double[] xValues = new double[rows.size() + 1];
+        final double[] yValues = new double[rows.size() + 1];
+        int tp = 0;
+        int fp = 0;
+        int k = 0;
+        boolean first = true;
+        Double lastScore = null;
+        for (final Row row : sorted) {
+            if (row.m_positive) {
+                tp++;
+            } else {
+                fp++;
+            }
+            if (first || !equalScores(row.m_score, lastScore)) {
+                k++;
+                lastScore = row.m_score;
+                first = false;
+            }
+            xValues[k] = fp;
+            yValues[k] = tp;
+        }
+        return ROCCalculator.createCurve("curve", xValues, yValues, k, -1);
+    }
+
+    private static boolean equalScores(final Double a, final Double b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Double.compare(a, b) == 0;
+    }
+
+    private static ROCCurve collect(final ScoreCollector collector, final List<Row> rows) {
+        for (final Row row : rows) {
+            if (row.m_score == null) {
+                collector.addMissing(row.m_positive);
+            } else {
+                collector.add(row.m_score, row.m_positive);
+            }
+        }
+        return collector.createCurve("curve", -1);
+    }
+
+    private static void assertSameCurve(final ROCCurve expected, final ROCCurve actual) {
+        assertArrayEquals(expected.getX(), actual.getX(), 0);
+        assertArrayEquals(expected.getY(), actual.getY(), 0);
+        assertEquals(expected.getArea(), actual.getArea(), 0);
+    }
+
+    private static List<Row> randomRows(final long seed, final int count, final double[] specialScores,
+        final double positiveRate) {
+        final Random random = new Random(seed);
+        final List<Row> rows = new ArrayList<Row>();
+        for (int i = 0; i < count; i++) {
+            final double p = random.nextDouble();
+            final Double score;
+            if (p < 0.05) {
+                score = null;
+            } else if (p < 0.2 && specialScores.length > 0) {
+                score = specialScores[random.nextInt(specialScores.length)];
+            } else {
+                // few distinct values, so that there are many ties between positive and negative rows
+                score = (random.nextInt(10) + 0.5) / 10;
+            }
+            rows.add(new Row(score, random.nextDouble() < positiveRate));
+        }
+        return rows;
+    }
+
+    /**
+     * Tests the sorted arrays with tied scores and missing values.
+     */
+    @Test
+    public void testSortedScoresWithTies() {
+        for (long seed = 0; seed < 20; seed++) {
+            final List<Row> rows = randomRows(seed, 500, new double[0], 0.4);
+            assertSameCurve(sortedTableCurve(rows), collect(new SortedScores(Long.MAX_VALUE), rows));
+        }
+    }
+
+    /**
+     * Tests the sorted arrays with NaN scores, which are greater than all other scores, and with positive and negative
+     * zero, which are different scores.
+     */
+    @Test
+    public void testSortedScoresWithSpecialValues() {
+        final double[] special = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        for (long seed = 0; seed < 20; seed++) {
+            final List<Row> rows = randomRows(seed, 500, special, 0.4);
+            assertSameCurve(sortedTableCurve(rows), collect(new SortedScores(Long.MAX_VALUE), rows));
+        }
+    }
+
+    /**
+     * Tests the counts with mostly distinct scores, which let the hash table grow several times.
+     */
+    @Test
+    public void testSortedScoresWithDistinctScores() {
+        final Random random = new Random(7);
+        final List<Row> rows = new ArrayList<Row>();
+        for (int i = 0; i < 20000; i++) {
+            final Double score = i % 50 == 0 ? null : Double.valueOf(random.nextInt(5000) / 100.0 - 25);
+            rows.add(new Row(score, random.nextBoolean()));
+        }
+        assertSameCurve(sortedTableCurve(rows), collect(new SortedScores(Long.MAX_VALUE), rows));
+    }
+
+    /**
+     * Tests that the counts report if there are more distinct scores than allowed, and not if there are exactly as
+     * many.
+     */
+    @Test
+    public void testSortedScoresExceeded() {
+        final SortedScores exact = new SortedScores(100);
+        final SortedScores exceeded = new SortedScores(99);
+        for (int i = 0; i < 1000; i++) {
+            exact.add(i % 100, i % 3 == 0);
+            exceeded.add(i % 100, i % 3 == 0);
+        }
+        assertFalse(exact.isExceeded());
+        assertTrue(exceeded.isExceeded());
+        final List<Row> rows = new ArrayList<Row>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(new Row((double)(i % 100), i % 3 == 0));
+        }
+        assertSameCurve(sortedTableCurve(rows), exact.createCurve("curve", -1));
+    }
+
+    /**
+     * Tests that a positive class without any hits results in the same curve and area, even though the true positive
+     * rates are undefined.
+     */
+    @Test
+    public void testNoPositiveHits() {
+        final List<Row> rows = randomRows(42, 200, new double[]{Double.NaN, -0.0, 0.0}, 0);
+        assertSameCurve(sortedTableCurve(rows), collect(new SortedScores(Long.MAX_VALUE), rows));
+        final List<Row> finiteRows = randomRows(42, 200, new double[0], 0);
+        assertSameCurve(sortedTableCurve(finiteRows), collect(new ScoreHistogram(10, 0, 1), finiteRows));
+    }
+
+    /**
+     * Tests that the histograms give the exact curve if each distinct score falls into its own bin.
+     */
+    @Test
+    public void testHistogramWithOneScorePerBin() {
+        for (long seed = 0; seed < 20; seed++) {
+            final List<Row> rows = randomRows(seed, 500, new double[0], 0.4);
+            assertSameCurve(sortedTableCurve(rows), collect(new ScoreHistogram(10, 0, 1), rows));
+        }
+    }
+
+    /**
+     * Tests that the histograms merge the scores of a bin into a single point, treat NaN as the highest and both zeros
+     * as the same score.
+     */
+    @Test
+    public void testHistogramMergesScoresOfABin() {
+        final List<Row> rows = Arrays.asList(new Row(Double.NaN, true), new Row(0.97, false), new Row(0.9, true),
+            new Row(0.0, false), new Row(-0.0, true), new Row(null, false));
+        final List<Row> binned = Arrays.asList(new Row(0.95, true), new Row(0.95, false), new Row(0.95, true),
+            new Row(0.05, false), new Row(0.05, true), new Row(null, false));
+        assertSameCurve(sortedTableCurve(binned), collect(new ScoreHistogram(10, 0, 1), rows));
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.data.neural;
+
+/**
+ * A dense representation of a {@link MultiLayerPerceptron} whose neurons all use the sigmoid activation function of
+ * {@link SigmoidPerceptron}. The weights of each non-input layer are kept in a single row-major array, i.e. the weight
+ * of input <i>k</i> of neuron <i>j</i> in layer <i>l</i> is stored at position <i>j * n<sub>l-1</sub> + k</i> of the
+ * layer's array, where <i>n<sub>l-1</sub></i> is the number of neurons of the preceding layer.
+ *
+ * <p>
+ * The network is a snapshot of the perceptron's weights at creation time, later changes of the perceptron are not
+ * reflected. Instances are immutable and can be used by several threads concurrently; the {@link Gradient} objects
+ * created by a network must only be used by one thread at a time.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ */
+public final class DenseNetwork {
+
+    private final int[] m_sizes;
+
+    private final double[][] m_weights;
+
+    private final double[][] m_thresholds;
+
+    /**
+     * Creates a dense copy of the given perceptron.
+     *
+     * @param mlp the multi layer perceptron
+     * @throws IllegalArgumentException if a non-input neuron is not a {@link SigmoidPerceptron}
+     */
+    public DenseNetwork(final MultiLayerPerceptron mlp) {
+        final Layer[] layers = mlp.getLayers();
+        m_sizes = new int[layers.length];
+        m_weights = new double[layers.length][];
+        m_thresholds = new double[layers.length][];
+        m_sizes[0] = layers[0].getPerceptrons().length;
+        for (int l = 1; l < layers.length; l++) {
+            final Perceptron[] neurons = layers[l].getPerceptrons();
+            final int nrInputs = m_sizes[l - 1];
+            m_sizes[l] = neurons.length;
+            m_weights[l] = new double[neurons.length * nrInputs];
+            m_thresholds[l] = new double[neurons.length];
+            for (int j = 0; j < neurons.length; j++) {
+                if (!(neurons[j] instanceof SigmoidPerceptron)) {
+                    throw new IllegalArgumentException("Unsupported neuron type in layer " + l + ": "
+                        + neurons[j].getClass().getName());
+                }
+                System.arraycopy(neurons[j].getWeights(), 0, m_weights[l], j * nrInputs, nrInputs);
+                m_thresholds[l][j] = neurons[j].getThreshold();
+            }
+        }
+    }
+
+    /**
+     * @return the number of input neurons
+     */
+    public int getNrInputs() {
+        return m_sizes[0];
+    }
+
+    /**
+     * @return the number of output neurons
+     */
+    public int getNrOutputs() {
+        return m_sizes[m_sizes.length - 1];
+    }
+
+    /**
+     * Computes the outputs of the output neurons for the given input, like
+     * {@link MultiLayerPerceptron#output(double[])} does.
+     *
+     * @param in input for the net
+     * @return the output of the output neurons
+     */
+    public double[] output(final double[] in) {
+        if (in.length != m_sizes[0]) {
+            throw new IllegalArgumentException("Number of inputs must be " + m_sizes[0]);
+        }
+        final double[][] output = createLayerArrays();
+        forward(in, output);
+        return output[output.length - 1];
+    }
+
+    /**
+     * Creates an object that accumulates the error derivations of this network.
+     *
+     * @return a new gradient with all derivations being zero
+     */
+    public Gradient createGradient() {
+        return new Gradient();
+    }
+
+    private double[][] createLayerArrays() {
+        final double[][] arrays = new double[m_sizes.length][];
+        for (int l = 0; l < m_sizes.length; l++) {
+            arrays[l] = new double[m_sizes[l]];
+        }
+        return arrays;
+    }
+
+    private void forward(final double[] in, final double[][] output) {
+        System.arraycopy(in, 0, output[0], 0, m_sizes[0]);
+        for (int l = 1; l < m_sizes.length; l++) {
+            final double[] prev = output[l - 1];
+            final double[] w = m_weights[l];
+            final double[] out = output[l];
+            final int nrInputs = prev.length;
+            for (int j = 0, offset = 0; j < out.length; j++, offset += nrInputs) {
+                double sum = 0.0;
+                for (int k = 0; k < nrInputs; k++) {
+                    sum += prev[k] * w[offset + k];
+                }
+                out[j] = sigmoid(sum - m_thresholds[l][j]);
+            }
+        }
+    }
+
+    /** Same as {@link SigmoidPerceptron#activationFunction(double)}. */
+    private static double sigmoid(final double in) {
+        if (in < -37) {
+            return 0;
+        } else if (in > 37) {
+            return 1;
+        } else {
+            return 1 / (1 + Math.exp(-in));
+        }
+    }
+
+    /**
+     * Sums up the derivations of the squared error with respect to the weights and thresholds over a set of samples,
+     * as it is done by the batch learning of {@link org.knime.base.data.neural.methods.RProp}. The layer indices of
+     * the derivations refer to the layers of the perceptron, i.e. the first non-input layer has index 1.
+     */
+    public final class Gradient {
+        private final double[][] m_weightDers = new double[m_sizes.length][];
+
+        private final double[][] m_thresholdDers = new double[m_sizes.length][];
+
+        private final double[][] m_output = createLayerArrays();
+
+        private final double[][] m_delta = createLayerArrays();
+
+        private double m_error;
+
+        private long m_count;
+
+        private Gradient() {
+            for (int l = 1; l < m_sizes.length; l++) {
+                m_weightDers[l] = new double[m_weights[l].length];
+                m_thresholdDers[l] = new double[m_sizes[l]];
+            }
+        }
+
+        /**
+         * Adds the error derivations of a sample.
+         *
+         * @param sample the input values
+         * @param target the desired output values
+         */
+        public void add(final double[] sample, final double[] target) {
+            forward(sample, m_output);
+            final int last = m_sizes.length - 1;
+            // backward wave
+            for (int j = 0; j < m_sizes[last]; j++) {
+                final double y = m_output[last][j];
+                final double diff = target[j] - y;
+                m_error += diff * diff;
+                m_delta[last][j] = diff * y * (1 - y);
+            }
+            for (int l = last - 1; l > 0; l--) {
+                final double[] nextDelta = m_delta[l + 1];
+                final double[] w = m_weights[l + 1];
+                final int nrNeurons = m_sizes[l];
+                for (int j = 0; j < nrNeurons; j++) {
+                    double sum = 0.0;
+                    for (int k = 0; k < nextDelta.length; k++) {
+                        sum += nextDelta[k] * w[k * nrNeurons + j];
+                    }
+                    final double y = m_output[l][j];
+                    m_delta[l][j] = y * (1 - y) * sum;
+                }
+            }
+            // error derivations
+            for (int l = 1; l <= last; l++) {
+                final double[] prev = m_output[l - 1];
+                final double[] ders = m_weightDers[l];
+                final int nrInputs = prev.length;
+                for (int j = 0, offset = 0; j < m_sizes[l]; j++, offset += nrInputs) {
+                    final double delta = m_delta[l][j];
+                    for (int k = 0; k < nrInputs; k++) {
+                        ders[offset + k] += prev[k] * -delta;
+                    }
+                    m_thresholdDers[l][j] += delta;
+                }
+            }
+            m_count++;
+        }
+
+        /**
+         * Only adds the squared error of a sample without computing the derivations.
+         *
+         * @param sample the input values
+         * @param target the desired output values
+         */
+        public void addError(final double[] sample, final double[] target) {
+            forward(sample, m_output);
+            final double[] out = m_output[m_sizes.length - 1];
+            for (int j = 0; j < out.length; j++) {
+                final double diff = out[j] - target[j];
+                m_error += diff * diff;
+            }
+            m_count++;
+        }
+
+        /**
+         * Adds the derivations and error of another gradient of the same network.
+         *
+         * @param other another gradient
+         */
+        public void merge(final Gradient other) {
+            for (int l = 1; l < m_sizes.length; l++) {
+                for (int i = 0; i < m_weightDers[l].length; i++) {
+                    m_weightDers[l][i] += other.m_weightDers[l][i];
+                }
+                for (int j = 0; j < m_thresholdDers[l].length; j++) {
+                    m_thresholdDers[l][j] += other.m_thresholdDers[l][j];
+                }
+            }
+            m_error += other.m_error;
+            m_count += other.m_count;
+        }
+
+        /**
+         * @param layer the index of a non-input layer
+         * @param neuron the index of the neuron in the layer
+         * @param input the index of the neuron's input
+         * @return the summed derivation of the error with respect to the weight
+         */
+        public double getWeightDerivation(final int layer, final int neuron, final int input) {
+            return m_weightDers[layer][neuron * m_sizes[layer - 1] + input];
+        }
+
+        /**
+         * @param layer the index of a non-input layer
+         * @param neuron the index of the neuron in the layer
+         * @return the summed derivation of the error with respect to the neuron's threshold
+         */
+        public double getThresholdDerivation(final int layer, final int neuron) {
+            return m_thresholdDers[layer][neuron];
+        }
+
+        /**
+         * @return the sum of the squared errors of all added samples
+         */
+        public double getError() {
+            return m_error;
+        }
+
+        /**
+         * @return the number of added samples
+         */
+        public long getCount() {
+            return m_count;
+        }
+    }
+}
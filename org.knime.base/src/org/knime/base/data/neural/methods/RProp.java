@@ -47,10 +47,18 @@
  */
 package org.knime.base.data.neural.methods;
 
+import java.util.concurrent.Callable;
+
 import org.knime.base.data.neural.Architecture;
+import org.knime.base.data.neural.DenseNetwork;
 import org.knime.base.data.neural.Layer;
 import org.knime.base.data.neural.MultiLayerPerceptron;
 import org.knime.base.data.neural.Perceptron;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
 
 /**
  * Implementation of the RProp Algorithm, as proposed by M. Riedmiller, H.Braun:
@@ -155,6 +163,15 @@ public class RProp {
      */
     private boolean m_newPhase = true;
 
+    /*
+     * Number of partitions of the samples that are processed concurrently.
+     */
+    private int m_parallelism = 1;
+
+    private ThreadPool m_pool;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while training neural network");
+
     /**
      * Constructor, uses default learning rate of 0.1, increase parameter 1.2
      * and decrease parameter 0.5 as proposed in the paper.
@@ -192,10 +209,6 @@ public void train(final MultiLayerPerceptron nn, final Double[][] samples,
 
         double sum = 0.0;
         double y = 0.0;
-        double errDer;
-        double thrErrDer;
-        double oldErrDer;
-        double oldThrErrDer;
 
         /*
          * For all samples
@@ -261,7 +274,135 @@ public void train(final MultiLayerPerceptron nn, final Double[][] samples,
                 }
             }
         }
-        // STEP 2: for all weights set delta_w
+        updateWeights();
+    }
+
+    /**
+     * Train the neural network once on a dense copy of the network. The error derivations are summed over all
+     * samples before the weights are updated, exactly like {@link #train(MultiLayerPerceptron, Double[][], Double[][])}
+     * does. If the parallelism is larger than one, the samples are split into that many contiguous partitions whose
+     * derivations are computed concurrently and summed up in the order of the partitions, hence the result only
+     * depends on the parallelism and not on the number of available processors.
+     *
+     * @param nn neural net to train
+     * @param samples the samples
+     * @param outputs the desired outputs for these samples
+     * @param exec for cancellation, may be <code>null</code>
+     * @return the sum of the squared errors of the network on the samples before the update
+     * @throws CanceledExecutionException if the training has been canceled
+     * @since 4.6
+     */
+    public double train(final MultiLayerPerceptron nn, final double[][] samples, final double[][] outputs,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_nn = nn;
+        init();
+        final DenseNetwork.Gradient gradient = computeGradient(new DenseNetwork(nn), samples, outputs, true, exec);
+        for (int i = 0; i < m_errDers.length; i++) {
+            for (int j = 0; j < m_errDers[i].length; j++) {
+                for (int k = 0; k < m_errDers[i][j].length; k++) {
+                    m_errDers[i][j][k] = gradient.getWeightDerivation(i + 1, j, k);
+                }
+                m_thrErrDers[i][j] = gradient.getThresholdDerivation(i + 1, j);
+            }
+        }
+        updateWeights();
+        return gradient.getError();
+    }
+
+    /**
+     * Computes the sum of the squared errors of the network on the given samples, using the same parallelism as the
+     * training.
+     *
+     * @param nn the neural net
+     * @param samples the samples
+     * @param outputs the desired outputs for these samples
+     * @param exec for cancellation, may be <code>null</code>
+     * @return the sum of the squared errors
+     * @throws CanceledExecutionException if the computation has been canceled
+     * @since 4.6
+     */
+    public double error(final MultiLayerPerceptron nn, final double[][] samples, final double[][] outputs,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        return computeGradient(new DenseNetwork(nn), samples, outputs, false, exec).getError();
+    }
+
+    /**
+     * Sets the number of partitions of the samples whose error derivations are computed concurrently by
+     * {@link #train(MultiLayerPerceptron, double[][], double[][], ExecutionMonitor)}. The default is 1, i.e. the
+     * samples are processed sequentially in the calling thread.
+     *
+     * @param parallelism the number of partitions, at least 1
+     * @since 4.6
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        m_parallelism = parallelism;
+    }
+
+    private DenseNetwork.Gradient computeGradient(final DenseNetwork net, final double[][] samples,
+        final double[][] outputs, final boolean derivations, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int partitions = Math.max(1, Math.min(m_parallelism, samples.length));
+        final DenseNetwork.Gradient[] gradients = new DenseNetwork.Gradient[partitions];
+        for (int p = 0; p < partitions; p++) {
+            gradients[p] = net.createGradient();
+        }
+        if (partitions == 1) {
+            addSamples(gradients[0], samples, outputs, 0, samples.length, derivations, exec);
+            return gradients[0];
+        }
+        if (m_pool == null) {
+            m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(
+                Math.min(m_parallelism, Runtime.getRuntime().availableProcessors()));
+        }
+        try {
+            for (int p = 0; p < partitions; p++) {
+                final DenseNetwork.Gradient gradient = gradients[p];
+                final int start = (int)((long)samples.length * p / partitions);
+                final int end = (int)((long)samples.length * (p + 1) / partitions);
+                m_pending.add(m_pool.enqueue((Callable<Void>)() -> {
+                    addSamples(gradient, samples, outputs, start, end, derivations, exec);
+                    return null;
+                }));
+            }
+            m_pending.await();
+        } finally {
+            m_pending.cancel();
+        }
+        for (int p = 1; p < partitions; p++) {
+            gradients[0].merge(gradients[p]);
+        }
+        return gradients[0];
+    }
+
+    private static void addSamples(final DenseNetwork.Gradient gradient, final double[][] samples,
+        final double[][] outputs, final int start, final int end, final boolean derivations,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        for (int s = start; s < end; s++) {
+            if ((exec != null) && ((s - start) % 1024 == 0)) {
+                exec.checkCanceled();
+            }
+            if (derivations) {
+                gradient.add(samples[s], outputs[s]);
+            } else {
+                gradient.addError(samples[s], outputs[s]);
+            }
+        }
+    }
+
+    /*
+     * Sets the weights and thresholds from the error derivations of the
+     * current and the former phase.
+     */
+    private void updateWeights() {
+        final MultiLayerPerceptron nn = m_nn;
+        double errDer;
+        double thrErrDer;
+        double oldErrDer;
+        double oldThrErrDer;
+        // for all weights set delta_w
         for (int i = 1; i < nn.getLayers().length; i++) {
             for (int j = 0; j < nn.getLayer(i).getPerceptrons().length; j++) {
                 for (int k = 0; 
@@ -0,0 +1,520 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.data.statistics;
+
+import java.util.concurrent.Callable;
+
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
+
+/**
+ * Computes the (bias corrected) covariance matrix of a set of numeric columns in a single pass over the data. The
+ * centered co-moments are accumulated in a packed upper triangular matrix of primitive values, i.e. the entry for the
+ * column pair <i>(i,j)</i> with <i>i &le; j</i> is stored at position <i>i * m - i * (i - 1) / 2 + (j - i)</i>.
+ *
+ * <p>
+ * Rows are buffered in chunks and each chunk is split into contiguous row ranges which are added to per worker
+ * partial results. The partial results are merged at the end using the pair-wise update formulas of Chan et al., hence
+ * the results of a parallel computation only differ from the ones of a sequential computation in the order of the
+ * floating point operations.
+ *
+ * <p>
+ * Missing values are handled pair-wise complete, like it is done when using one
+ * {@link org.apache.commons.math3.stat.correlation.StorelessCovariance StorelessCovariance} per column pair: a row only
+ * contributes to the entry <i>(i,j)</i> if neither the value of column <i>i</i> nor the one of column <i>j</i> is
+ * missing. Rows without any missing value are added to the packed matrix directly, the statistics of rows containing
+ * missing values are kept separately per column pair and are only allocated if such a row occurs.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ */
+public final class CovarianceAccumulator {
+
+    /** Minimum number of columns for which the rows are distributed across several threads. */
+    private static final int PARALLEL_COLUMN_THRESHOLD = 32;
+
+    /** Upper bound for the number of values held by the packed matrices of all partial results together. */
+    private static final long MAX_PARTIAL_VALUES = 1L << 24;
+
+    /** Targeted number of values in one row chunk. */
+    private static final int CHUNK_VALUE_COUNT = 1 << 20;
+
+    private final int m_numCols;
+
+    private final int m_chunkRows;
+
+    private final ThreadPool m_pool;
+
+    private final Partial[] m_partials;
+
+    private Chunk m_fillChunk;
+
+    private Chunk m_spareChunk;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while computing covariance matrix");
+
+    private Partial m_result;
+
+    /**
+     * Creates an accumulator that distributes the rows across the available processors if the number of columns is
+     * large enough to make this worthwhile.
+     *
+     * @param numCols the number of columns
+     */
+    public CovarianceAccumulator(final int numCols) {
+        this(numCols, null, numCols < PARALLEL_COLUMN_THRESHOLD ? 1 : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param numCols the number of columns
+     * @param pool the pool to run the workers in, if <code>null</code> and the parallelism is larger than one a sub
+     *            pool of the global thread pool is created
+     * @param parallelism the maximum number of partial results that are computed concurrently
+     */
+    CovarianceAccumulator(final int numCols, final ThreadPool pool, final int parallelism) {
+        final long packedSize = packedSize(numCols);
+        if (packedSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many columns to compute the covariance matrix: " + numCols);
+        }
+        m_numCols = numCols;
+        m_chunkRows = Math.max(16, Math.min(8192, CHUNK_VALUE_COUNT / Math.max(1, numCols)));
+        final int partials =
+            (int)Math.max(1, Math.min(parallelism, MAX_PARTIAL_VALUES / Math.max(1, packedSize)));
+        m_partials = new Partial[partials];
+        for (int w = 0; w < partials; w++) {
+            m_partials[w] = new Partial(numCols);
+        }
+        if (partials == 1) {
+            m_pool = null;
+        } else {
+            m_pool = pool != null ? pool : KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(partials);
+        }
+        m_fillChunk = new Chunk(m_chunkRows, numCols);
+        m_spareChunk = new Chunk(m_chunkRows, numCols);
+    }
+
+    private static long packedSize(final long numCols) {
+        return numCols * (numCols + 1) / 2;
+    }
+
+    /**
+     * Adds a row. The arrays are copied and can be reused by the caller.
+     *
+     * @param values the values of the columns (ignored where missing)
+     * @param missing flags marking the missing values
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled while waiting for the workers
+     * @throws IllegalStateException if {@link #finish(ExecutionMonitor)} has already been called
+     */
+    public void addRow(final double[] values, final boolean[] missing, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        if (m_result != null) {
+            throw new IllegalStateException("The covariance computation has already been finished");
+        }
+        m_fillChunk.add(values, missing);
+        if (m_fillChunk.m_rowCount == m_chunkRows) {
+            dispatch(exec);
+        }
+    }
+
+    /**
+     * Processes the remaining buffered rows, waits for all workers and merges their partial results. Afterwards no
+     * further rows can be added.
+     *
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled
+     */
+    public void finish(final ExecutionMonitor exec) throws CanceledExecutionException {
+        if (m_result != null) {
+            return;
+        }
+        if (m_fillChunk.m_rowCount > 0) {
+            dispatch(exec);
+        }
+        awaitPending(exec);
+        final Partial result = m_partials[0];
+        for (int w = 1; w < m_partials.length; w++) {
+            result.merge(m_partials[w]);
+            m_partials[w] = null;
+        }
+        m_fillChunk = null;
+        m_spareChunk = null;
+        m_result = result;
+    }
+
+    /** Cancels all running workers, e.g. if the computation failed. */
+    public void cancel() {
+        m_pending.cancel();
+    }
+
+    /**
+     * @param i the index of the first column
+     * @param j the index of the second column
+     * @return the number of rows in which neither column i nor column j is missing
+     */
+    public long getCount(final int i, final int j) {
+        final Partial result = getResult();
+        final int p = result.index(Math.min(i, j), Math.max(i, j));
+        return result.m_count + (result.m_pairCount == null ? 0 : result.m_pairCount[p]);
+    }
+
+    /**
+     * @param i the index of the column
+     * @return the mean of the non-missing values of column i, {@link Double#NaN} if there are none
+     */
+    public double getMean(final int i) {
+        final Partial result = getResult();
+        final int p = result.index(i, i);
+        if (result.m_pairCount == null || result.m_pairCount[p] == 0) {
+            return result.m_count == 0 ? Double.NaN : result.m_mean[i];
+        }
+        final long nb = result.m_pairCount[p];
+        final double n = result.m_count + nb;
+        return result.m_count == 0 ? result.m_pairMeanA[p]
+            : (result.m_mean[i] + (result.m_pairMeanA[p] - result.m_mean[i]) * (nb / n));
+    }
+
+    /**
+     * @return the means of the non-missing values of all columns
+     * @see #getMean(int)
+     */
+    public double[] getMeans() {
+        final double[] means = new double[m_numCols];
+        for (int i = 0; i < m_numCols; i++) {
+            means[i] = getMean(i);
+        }
+        return means;
+    }
+
+    /**
+     * @param i the index of the first column
+     * @param j the index of the second column
+     * @return the bias corrected covariance of the columns i and j, i.e. the variance of column i if i equals j
+     * @throws NumberIsTooSmallException if there are less than two rows in which neither column i nor column j is
+     *             missing
+     */
+    public double getCovariance(final int i, final int j) {
+        final Partial result = getResult();
+        final int a = Math.min(i, j);
+        final int b = Math.max(i, j);
+        final int p = result.index(a, b);
+        final long nb = result.m_pairCount == null ? 0 : result.m_pairCount[p];
+        final long n = result.m_count + nb;
+        if (n < 2) {
+            throw new NumberIsTooSmallException(LocalizedFormats.INSUFFICIENT_DIMENSION, n, 2, true);
+        }
+        double comoment = result.m_comoment[p];
+        if (nb > 0) {
+            final long na = result.m_count;
+            comoment += result.m_pairComoment[p];
+            if (na > 0) {
+                final double deltaA = result.m_pairMeanA[p] - result.m_mean[a];
+                final double deltaB = result.m_pairMeanB[p] - result.m_mean[b];
+                comoment += deltaA * deltaB * ((double)na * nb / n);
+            }
+        }
+        return comoment / (n - 1);
+    }
+
+    /**
+     * @return the symmetric covariance matrix
+     * @throws NumberIsTooSmallException if there are less than two rows for any of the column pairs
+     * @see #getCovariance(int, int)
+     */
+    public RealMatrix getCovarianceMatrix() {
+        final double[][] matrix = new double[m_numCols][m_numCols];
+        for (int i = 0; i < m_numCols; i++) {
+            for (int j = i; j < m_numCols; j++) {
+                final double cov = getCovariance(i, j);
+                matrix[i][j] = cov;
+                matrix[j][i] = cov;
+            }
+        }
+        return new Array2DRowRealMatrix(matrix, false);
+    }
+
+    private Partial getResult() {
+        if (m_result == null) {
+            throw new IllegalStateException("The covariance computation has not been finished");
+        }
+        return m_result;
+    }
+
+    private void dispatch(final ExecutionMonitor exec) throws CanceledExecutionException {
+        // the workers of the previous chunk must be done before its buffer can be refilled
+        awaitPending(exec);
+        final Chunk chunk = m_fillChunk;
+        m_fillChunk = m_spareChunk;
+        m_spareChunk = chunk;
+        m_fillChunk.m_rowCount = 0;
+        final int rowCount = chunk.m_rowCount;
+        if (m_pool == null) {
+            m_partials[0].add(chunk, 0, rowCount);
+            return;
+        }
+        final int workers = Math.min(m_partials.length, rowCount);
+        for (int w = 0; w < workers; w++) {
+            final Partial partial = m_partials[w];
+            final int start = (int)((long)rowCount * w / workers);
+            final int end = (int)((long)rowCount * (w + 1) / workers);
+            m_pending.add(m_pool.enqueue((Callable<Void>)() -> {
+                partial.add(chunk, start, end);
+                return null;
+            }));
+        }
+    }
+
+    private void awaitPending(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_pending.await();
+        exec.checkCanceled();
+    }
+
+    /**
+     * The statistics of a subset of the rows. Rows without missing values update the count, the means and the packed
+     * co-moments; rows with missing values update the pair-wise statistics.
+     */
+    private static final class Partial {
+
+        private final int m_numCols;
+
+        private long m_count;
+
+        private final double[] m_mean;
+
+        private final double[] m_comoment;
+
+        private final double[] m_delta;
+
+        private long[] m_pairCount;
+
+        private double[] m_pairMeanA;
+
+        private double[] m_pairMeanB;
+
+        private double[] m_pairComoment;
+
+        private int[] m_present;
+
+        Partial(final int numCols) {
+            m_numCols = numCols;
+            m_mean = new double[numCols];
+            m_comoment = new double[(int)packedSize(numCols)];
+            m_delta = new double[numCols];
+        }
+
+        /** @return the position of the pair (i,j) with i &le; j in the packed arrays */
+        int index(final int i, final int j) {
+            return (int)((long)i * m_numCols - (long)i * (i - 1) / 2 + (j - i));
+        }
+
+        void add(final Chunk chunk, final int startRow, final int endRow) {
+            for (int r = startRow; r < endRow; r++) {
+                final int offset = r * m_numCols;
+                if (chunk.m_complete[r]) {
+                    addComplete(chunk.m_values, offset);
+                } else {
+                    addIncomplete(chunk.m_values, chunk.m_missing, offset);
+                }
+            }
+        }
+
+        private void addComplete(final double[] values, final int offset) {
+            final int m = m_numCols;
+            final double[] mean = m_mean;
+            final double[] delta = m_delta;
+            final double[] comoment = m_comoment;
+            m_count++;
+            final double n = m_count;
+            for (int i = 0; i < m; i++) {
+                final double d = values[offset + i] - mean[i];
+                delta[i] = d;
+                mean[i] += d / n;
+            }
+            final double factor = (n - 1) / n;
+            int p = 0;
+            for (int i = 0; i < m; i++) {
+                final double a = delta[i] * factor;
+                for (int j = i; j < m; j++) {
+                    comoment[p++] += a * delta[j];
+                }
+            }
+        }
+
+        private void addIncomplete(final double[] values, final boolean[] missing, final int offset) {
+            if (m_pairCount == null) {
+                final int size = m_comoment.length;
+                m_pairCount = new long[size];
+                m_pairMeanA = new double[size];
+                m_pairMeanB = new double[size];
+                m_pairComoment = new double[size];
+                m_present = new int[m_numCols];
+            }
+            int numPresent = 0;
+            for (int i = 0; i < m_numCols; i++) {
+                if (!missing[offset + i]) {
+                    m_present[numPresent++] = i;
+                }
+            }
+            for (int a = 0; a < numPresent; a++) {
+                final int i = m_present[a];
+                final double x = values[offset + i];
+                final int rowStart = index(i, i) - i;
+                for (int b = a; b < numPresent; b++) {
+                    final int j = m_present[b];
+                    final int p = rowStart + j;
+                    final double y = values[offset + j];
+                    final double n = ++m_pairCount[p];
+                    final double deltaX = x - m_pairMeanA[p];
+                    final double deltaY = y - m_pairMeanB[p];
+                    m_pairMeanA[p] += deltaX / n;
+                    m_pairMeanB[p] += deltaY / n;
+                    m_pairComoment[p] += ((n - 1) / n) * deltaX * deltaY;
+                }
+            }
+        }
+
+        /** Merges the statistics of the other partial result into this one (Chan et al.). */
+        void merge(final Partial other) {
+            final long na = m_count;
+            final long nb = other.m_count;
+            if (nb > 0) {
+                if (na == 0) {
+                    System.arraycopy(other.m_mean, 0, m_mean, 0, m_numCols);
+                    System.arraycopy(other.m_comoment, 0, m_comoment, 0, m_comoment.length);
+                } else {
+                    final double n = (double)na + nb;
+                    final double factor = na * (nb / n);
+                    for (int i = 0; i < m_numCols; i++) {
+                        m_delta[i] = other.m_mean[i] - m_mean[i];
+                    }
+                    int p = 0;
+                    for (int i = 0; i < m_numCols; i++) {
+                        final double a = m_delta[i] * factor;
+                        for (int j = i; j < m_numCols; j++, p++) {
+                            m_comoment[p] += other.m_comoment[p] + a * m_delta[j];
+                        }
+                    }
+                    for (int i = 0; i < m_numCols; i++) {
+                        m_mean[i] += m_delta[i] * (nb / n);
+                    }
+                }
+                m_count = na + nb;
+            }
+            if (other.m_pairCount == null) {
+                return;
+            }
+            if (m_pairCount == null) {
+                m_pairCount = other.m_pairCount;
+                m_pairMeanA = other.m_pairMeanA;
+                m_pairMeanB = other.m_pairMeanB;
+                m_pairComoment = other.m_pairComoment;
+                return;
+            }
+            for (int p = 0; p < m_pairCount.length; p++) {
+                final long pb = other.m_pairCount[p];
+                if (pb == 0) {
+                    continue;
+                }
+                final long pa = m_pairCount[p];
+                if (pa == 0) {
+                    m_pairMeanA[p] = other.m_pairMeanA[p];
+                    m_pairMeanB[p] = other.m_pairMeanB[p];
+                    m_pairComoment[p] = other.m_pairComoment[p];
+                } else {
+                    final double n = (double)pa + pb;
+                    final double deltaA = other.m_pairMeanA[p] - m_pairMeanA[p];
+                    final double deltaB = other.m_pairMeanB[p] - m_pairMeanB[p];
+                    m_pairComoment[p] += other.m_pairComoment[p] + deltaA * deltaB * (pa * (pb / n));
+                    m_pairMeanA[p] += deltaA * (pb / n);
+                    m_pairMeanB[p] += deltaB * (pb / n);
+                }
+                m_pairCount[p] = pa + pb;
+            }
+        }
+    }
+
+    /** A row-major buffer of values. */
+    private static final class Chunk {
+
+        private final double[] m_values;
+
+        private final boolean[] m_missing;
+
+        private final boolean[] m_complete;
+
+        private final int m_numCols;
+
+        private int m_rowCount;
+
+        Chunk(final int rows, final int numCols) {
+            m_values = new double[rows * numCols];
+            m_missing = new boolean[rows * numCols];
+            m_complete = new boolean[rows];
+            m_numCols = numCols;
+        }
+
+        void add(final double[] values, final boolean[] missing) {
+            final int offset = m_rowCount * m_numCols;
+            System.arraycopy(values, 0, m_values, offset, m_numCols);
+            System.arraycopy(missing, 0, m_missing, offset, m_numCols);
+            boolean complete = true;
+            for (int i = 0; i < m_numCols && complete; i++) {
+                complete = !missing[i];
+            }
+            m_complete[m_rowCount] = complete;
+            m_rowCount++;
+        }
+    }
+}
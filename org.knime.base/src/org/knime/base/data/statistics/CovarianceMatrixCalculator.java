@@ -58,7 +58,6 @@
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.stat.correlation.StorelessCovariance;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -77,8 +76,8 @@
 
 /**
  * Utility class which computes the covariance matrix for a given BufferedDataTable considering missing values. The
- * algorithms uses the {@link StorelessCovariance} of Apache and therefore traverses the data once and does not require
- * the input data to be read completely in memory.
+ * algorithms uses a {@link CovarianceAccumulator} and therefore traverses the data once and does not require the input
+ * data to be read completely in memory.
  *
  * @author Marcel Hanser
  * @since 2.11
@@ -154,56 +153,36 @@ public RealMatrix calculateCovarianceMatrix(final ExecutionMonitor exec, final D
 
         final ExecutionMonitor computingProgress = exec.createSubProgress(resultDataContainer != null ? 0.8 : 1);
 
-        List<StorelessCovariance> covariancesList = new ArrayList<>();
-        // create covariance pairs
-        for (int i = 0; i < m_indexes.length; i++) {
-            for (int j = i; j < m_indexes.length; j++) {
-                covariancesList.add(new StorelessCovariance(2));
-            }
-        }
-
-        // compute rest of co-variance matrix
-        int rowCount = 0;
-        double[] buffer = new double[2];
-        for (DataRow dataRow : inTable) {
-            for (int i = 0; i < m_indexes.length; i++) {
-                final int outerIndex = m_indexes[i];
-                final DataCell outerCell = dataRow.getCell(outerIndex);
-                if (outerCell.isMissing()) {
-                    // skip missing values
-                    continue;
-                }
-                final double outerDouble = ((DoubleValue)outerCell).getDoubleValue();
-
-                for (int j = i; j < m_indexes.length; j++) {
-                    final int innerIndex = m_indexes[j];
-                    final DataCell innerCell = dataRow.getCell(innerIndex);
-                    if (innerCell.isMissing()) {
-                        // skip missing values
-                        continue;
-                    }
-                    final double innerDouble = ((DoubleValue)innerCell).getDoubleValue();
-                    buffer[0] = outerDouble;
-                    buffer[1] = innerDouble;
-                    int covListIndex = index(m_indexes.length, i, j);
-                    covariancesList.get(covListIndex).increment(buffer);
+        final int numCols = m_indexes.length;
+        final CovarianceAccumulator accumulator = new CovarianceAccumulator(numCols);
+        try {
+            final double[] values = new double[numCols];
+            final boolean[] missing = new boolean[numCols];
+            int rowCount = 0;
+            for (DataRow dataRow : inTable) {
+                for (int i = 0; i < numCols; i++) {
+                    final DataCell cell = dataRow.getCell(m_indexes[i]);
+                    // missing values are skipped pair-wise by the accumulator
+                    missing[i] = cell.isMissing();
+                    values[i] = missing[i] ? 0 : ((DoubleValue)cell).getDoubleValue();
                 }
+                accumulator.addRow(values, missing, computingProgress);
+                computingProgress.setProgress(rowCount++ / (double)tableSize,
+                    "Calculate covariance values, processing row: '" + dataRow.getKey() + "'");
+                computingProgress.checkCanceled();
             }
-            computingProgress.setProgress(rowCount++ / (double)tableSize,
-                "Calculate covariance values, processing row: '" + dataRow.getKey() + "'");
-            computingProgress.checkCanceled();
+            accumulator.finish(computingProgress);
+        } finally {
+            accumulator.cancel();
         }
 
-        // Copy the storeless covariances to a real matrix
-        RealMatrix covMatrix = new Array2DRowRealMatrix(m_indexes.length, m_indexes.length);
-        for (int i = 0; i < m_indexes.length; i++) {
-            for (int j = i; j < m_indexes.length; j++) {
-                int covListIndex = index(m_indexes.length, i, j);
+        // Copy the co-variances to a real matrix
+        RealMatrix covMatrix = new Array2DRowRealMatrix(numCols, numCols);
+        for (int i = 0; i < numCols; i++) {
+            for (int j = i; j < numCols; j++) {
                 double covValue;
                 try {
-                    covValue =
-                        i == j ? covariancesList.get(covListIndex).getCovariance(1, 1) : covariancesList.get(
-                            covListIndex).getCovariance(0, 1);
+                    covValue = accumulator.getCovariance(i, j);
                 } catch (NumberIsTooSmallException e) {
                     throw new IllegalArgumentException(String.format("There were not enough valid values to "
                         + "compute covariance between columns: '%s' and '%s'.", inTable.getDataTableSpec()
@@ -235,22 +214,4 @@ public RealMatrix calculateCovarianceMatrix(final ExecutionMonitor exec, final D
     public DataTableSpec getResultSpec() {
         return m_resultSpec;
     }
-
-    /** Assuming you have columns A, B, C, D the column pairs of co-variance are
-     * AA, AB, AC, AD, BB, BC, BD, CC, CD, DD.
-     * To get 0,3 you compute (0)+3,
-     * To get 1,2 you compute (4)+2
-     * To get 2,2 you compute (4+3)+2
-     */
-    private static int index(final int max, final int row, final int col) {
-        return partialGaussSum(max, row) + col;
-    }
-
-    private static int partialGaussSum(final int starts, final int iterations) {
-        int t = 0;
-        for (int i = iterations; i > 0; i--) {
-            t += starts - i;
-        }
-        return t;
-    }
 }
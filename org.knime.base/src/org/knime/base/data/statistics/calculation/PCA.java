@@ -48,17 +48,16 @@
  */
 package org.knime.base.data.statistics.calculation;
 
-import java.util.Arrays;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.knime.base.data.statistics.CovarianceAccumulator;
 import org.knime.base.data.statistics.TransformationMatrix;
 import org.knime.base.node.mine.transformation.util.TransformationUtils;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -92,92 +91,83 @@ public final class PCA {
     public TransformationMatrix calcTransformationMatrix(final ExecutionContext exec, final BufferedDataTable inTable,
         final String[] colNames, final boolean failOnMissingValues) throws CanceledExecutionException {
         final int[] colIdx = inTable.getSpec().columnsToIndices(colNames);
-        final RealVector means =
-            calculateColMeans(exec.createSubExecutionContext(0.33), inTable, colIdx, failOnMissingValues);
-        calcCovarMatrix(exec.createSubExecutionContext(0.33), inTable, colIdx, means);
-        correctCovarMatrix(inTable.size());
-        final TransformationMatrix transMatrix = new TransformationMatrix(m_covMtx, means);
+        final CovarianceAccumulator accumulator = new CovarianceAccumulator(colIdx.length);
+        try {
+            calcCovarMatrix(exec.createSubExecutionContext(0.66), inTable, colIdx, failOnMissingValues, accumulator);
+        } finally {
+            accumulator.cancel();
+        }
+        correctCovarMatrix(inTable.size(), accumulator);
+        final TransformationMatrix transMatrix =
+            new TransformationMatrix(m_covMtx, new ArrayRealVector(accumulator.getMeans(), false));
         exec.setProgress(1);
         return transMatrix;
     }
 
     /**
-     * Calculates the column means in order to center the input table columns.
+     * Calculates the column means and the covariance matrix in a single pass over the rows without missing values.
      *
      * @param exec the execution context
      * @param inTable the input table
-     * @param colIdx the columns for which the column means have to be computed
-     * @param failOnMissingValuesflag indicating if the computation should fail if a row contains missing values
+     * @param colIdx the columns for which the covariance matrix has to be calculated
+     * @param failOnMissingValues flag indicating if the computation should fail if a row contains missing values
      *            ({@code true}), or just ignore these rows ({@code false})
-     * @return the column means
+     * @param accumulator the accumulator the rows are added to
      * @throws CanceledExecutionException - If the execution gets canceled
      */
-    private RealVector calculateColMeans(final ExecutionContext exec, final BufferedDataTable inTable,
-        final int[] colIdx, final boolean failOnMissingValues) throws CanceledExecutionException {
+    private void calcCovarMatrix(final ExecutionContext exec, final BufferedDataTable inTable, final int[] colIdx,
+        final boolean failOnMissingValues, final CovarianceAccumulator accumulator)
+        throws CanceledExecutionException {
         final long nRow = inTable.size();
         final int nCols = colIdx.length;
+        final double[] values = new double[nCols];
+        // rows containing missing values are skipped entirely
+        final boolean[] missing = new boolean[nCols];
         double curRow = 0;
-        final Mean[] means = Stream.generate(Mean::new).limit(nCols).toArray(Mean[]::new);
-        // calculate column means
         for (final DataRow row : inTable) {
             exec.checkCanceled();
-            final Optional<RealVector> optRowVec = TransformationUtils.rowToRealVector(row, colIdx);
-            if (!optRowVec.isPresent()) {
+            if (rowToArray(row, colIdx, values)) {
+                accumulator.addRow(values, missing, exec);
+            } else {
                 ++m_missings;
                 if (failOnMissingValues) {
                     throw new IllegalArgumentException(TransformationUtils.MISSING_VALUE_EXCEPTION);
                 }
-                continue;
-            }
-            final RealVector rowVec = optRowVec.get();
-            for (int i = 0; i < nCols; i++) {
-                exec.setProgress(++curRow / nRow);
-                means[i].increment(rowVec.getEntry(i));
             }
-        }
-        return new ArrayRealVector(Arrays.stream(means).mapToDouble(Mean::getResult).toArray());
-    }
-
-    /**
-     * Calculate the covariance matrix.
-     *
-     * @param exec the execution context.
-     * @param inTable the input table
-     * @param colIdx the columns for which the covariance matrix has to be calculated
-     * @param means the column means used to center the matrix
-     * @throws CanceledExecutionException - If the execution gets canceled
-     */
-    private void calcCovarMatrix(final ExecutionContext exec, final BufferedDataTable inTable, final int[] colIdx,
-        final RealVector means) throws CanceledExecutionException {
-        final long nRow = inTable.size();
-        double curRow = 0;
-        for (final DataRow row : inTable) {
-            exec.checkCanceled();
-            final Optional<RealVector> optVec = TransformationUtils.rowToRealVector(row, colIdx);
-            optVec.ifPresent(v -> updateCovarMatrix(v.combineToSelf(1, -1, means)));
             exec.setProgress(++curRow / nRow);
         }
+        accumulator.finish(exec);
     }
 
     /**
-     * Updates the covariance matrix.
+     * Extracts the columns from a data row.
      *
-     * @param vec the vector to be added to the covariance matrix
+     * @param row the data row
+     * @param colIdx the column indices
+     * @param values the array to store the double values of the specified column indices in
+     * @return {@code false} if any of the cells is missing
      */
-    private void updateCovarMatrix(final RealVector vec) {
-        final RealMatrix outerProd = vec.outerProduct(vec);
-        m_covMtx = m_covMtx == null ? outerProd : m_covMtx.add(outerProd);
+    private static boolean rowToArray(final DataRow row, final int[] colIdx, final double[] values) {
+        for (int c = 0; c < colIdx.length; c++) {
+            final DataCell cell = row.getCell(colIdx[c]);
+            if (cell.isMissing()) {
+                return false;
+            }
+            values[c] = ((DoubleValue)cell).getDoubleValue();
+        }
+        return true;
     }
 
     /**
      * Finalizes the covariance calculation by scaling it's entries.
      *
      * @param nRows the number of rows in the input table
+     * @param accumulator the accumulator holding the co-moments of all rows without missing values
      */
-    private void correctCovarMatrix(final long nRows) {
+    private void correctCovarMatrix(final long nRows, final CovarianceAccumulator accumulator) {
         final double nonMissings = nRows - m_missings;
         CheckUtils.checkArgument(nonMissings >= 2, "The table has to contain at least two rows with valid values");
-        m_covMtx = m_covMtx.scalarMultiply(1 / (nonMissings - 1));
+        m_covMtx = accumulator.getCovarianceMatrix();
     }
 
     /**
@@ -75,6 +75,16 @@ public class ImageMultiTableCellFactory extends AbstractMultiTableWriterCellFact
         super(outputColumnsSpecs, sourceColumnIndex, overwritePolicy);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Image contents are not modified when they are saved, so different images can be saved concurrently.
+     */
+    @Override
+    protected boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     protected void writeFile(final OutputStream outputStream, final ImageValue value) throws IOException {
         value.getImageContent().save(outputStream);
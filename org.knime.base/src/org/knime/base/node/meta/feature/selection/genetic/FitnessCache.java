@@ -0,0 +1,104 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.meta.feature.selection.genetic;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Remembers the scores of feature subsets, so that a subset that shows up again in a later generation doesn't need
+ * another loop iteration. If the cache is full, the least recently used subset is evicted.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @param <S> the type of the scores
+ */
+final class FitnessCache<S> {
+
+    private final Map<BitSet, S> m_scores;
+
+    /**
+     * @param maxSize the maximum number of cached scores, 0 disables the cache
+     */
+    FitnessCache(final int maxSize) {
+        CheckUtils.checkArgument(maxSize >= 0, "The fitness cache size must not be negative.");
+        m_scores = new LinkedHashMap<BitSet, S>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<BitSet, S> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param featureSubset the selected features
+     * @return the cached score of the feature subset or {@code null} if it is not cached
+     */
+    S get(final BitSet featureSubset) {
+        return m_scores.get(featureSubset);
+    }
+
+    /**
+     * @param featureSubset the selected features, which is copied since bit sets are mutable
+     * @param score the score of the feature subset
+     */
+    void put(final BitSet featureSubset, final S score) {
+        m_scores.put((BitSet)featureSubset.clone(), score);
+    }
+
+    /**
+     * @return the number of cached scores
+     */
+    int size() {
+        return m_scores.size();
+    }
+}
@@ -49,8 +49,10 @@
 package org.knime.base.node.meta.feature.selection.genetic;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -91,6 +93,9 @@ public class GeneticStrategy extends AbstractNonSequentialFeatureSelectionStrate
 
     private static final Integer POISON_PILL = -1;
 
+    /** The maximum number of feature subsets whose scores are remembered. */
+    private static final int FITNESS_CACHE_SIZE = 10000;
+
     private boolean m_isMinimize;
 
     private boolean m_continueLoop = true;
@@ -263,25 +268,45 @@ public GeneticStrategy build() {
     /**
      * This class is used in favor of Double so that we can control whether to minimize/maximize the score after the
      * {@link Engine} has been created. This is done by switching the arguments of {@link Comparable#compareTo(Object)}
-     * accordingly.
+     * accordingly. A score of a feature subset that hasn't been scored yet is pending until it is used the first time,
+     * which scores all pending feature subsets of the generation, see {@link Evaluator#evaluatePending()}.
      *
      * @author Adrian Nembach, KNIME GmbH, Konstanz, Germany
      */
     private final class Score extends Number implements Comparable<Score> {
         private static final long serialVersionUID = 1L;
 
-        private final double m_score;
+        private double m_score;
+
+        // the selected features if the score is pending, null otherwise
+        private List<Integer> m_pendingFeatures;
 
         Score(final double score) {
             m_score = score;
         }
 
+        Score(final List<Integer> pendingFeatures) {
+            m_pendingFeatures = pendingFeatures;
+        }
+
+        private double score() {
+            if (m_pendingFeatures != null) {
+                m_evaluator.evaluatePending();
+            }
+            return m_score;
+        }
+
+        private void resolve(final double score) {
+            m_score = score;
+            m_pendingFeatures = null;
+        }
+
         @Override
         public int compareTo(final Score o) {
             if (m_isMinimize) {
-                return Double.compare(o.m_score, m_score);
+                return Double.compare(o.score(), score());
             } else {
-                return Double.compare(m_score, o.m_score);
+                return Double.compare(score(), o.score());
             }
         }
 
@@ -292,8 +317,8 @@ public boolean equals(final Object obj) {
             } else if (obj instanceof Score) {
                 var other = (Score)obj;
                 // see java.lang.Double
-                return Double.doubleToLongBits(m_score) ==
-                        Double.doubleToLongBits(other.m_score);
+                return Double.doubleToLongBits(score()) ==
+                        Double.doubleToLongBits(other.score());
             } else {
                 return false;
             }
@@ -301,27 +326,27 @@ public boolean equals(final Object obj) {
 
         @Override
         public int hashCode() {
-            return Double.hashCode(m_score);
+            return Double.hashCode(score());
         }
 
         @Override
         public int intValue() {
-            return (int)m_score;
+            return (int)score();
         }
 
         @Override
         public long longValue() {
-            return (long)m_score;
+            return (long)score();
         }
 
         @Override
         public float floatValue() {
-            return (float)m_score;
+            return (float)score();
         }
 
         @Override
         public double doubleValue() {
-            return m_score;
+            return score();
         }
     }
 
@@ -431,6 +456,8 @@ public void run() {
                         .limit(numGenerations)
                         // collect results
                         .collect(EvolutionResult.toBestEvolutionResult()));
+                    // score the feature subsets of the last generation that haven't been used by the engine
+                    m_evaluator.evaluatePending();
 
                     m_continueLoop = false;
                     // take care that last call of #finishRound is not blocked
@@ -574,12 +601,17 @@ public void onDispose() {
     }
 
     /**
-     * Evaluates genotypes and assigns their fitness.
+     * Evaluates genotypes and assigns their fitness. The engine evaluates a whole generation before it uses any of the
+     * scores, so the distinct feature subsets that haven't been scored yet are collected first and then handed out to
+     * the loop one per iteration, before the genetic algorithm advances to the next generation.
      */
     private final class Evaluator implements Function<Genotype<BitGene>, Score> {
 
         // caches the scores of already scored feature subsets
-        private final HashMap<Integer, Score> m_scoreLookUpMap = new HashMap<>();
+        private final FitnessCache<Score> m_scoreLookUpMap = new FitnessCache<>(FITNESS_CACHE_SIZE);
+
+        // the distinct feature subsets of the current generation that haven't been scored yet
+        private final Map<BitSet, Score> m_pendingScores = new LinkedHashMap<>();
 
         private List<Integer> m_currentGenotype = new ArrayList<>();
 
@@ -600,28 +632,56 @@ public Score apply(final Genotype<BitGene> genotype) {
             }
 
             // If the same genotype has already been processed before, return the cached score.
-            // There is a small chance that a different genotype has the same hash code and gets labeled with the wrong
-            // score, but it will be altered sooner or later by the GA, i.e., it will not affect the results too much.
-            final int hashCode = genotype.get(0).as(BitChromosome.class).toBitSet().hashCode();
-            if (m_scoreLookUpMap.containsKey(hashCode)) {
-                return m_scoreLookUpMap.get(hashCode);
+            final BitSet featureSubset = genotype.get(0).as(BitChromosome.class).toBitSet();
+            final Score cachedScore = m_scoreLookUpMap.get(featureSubset);
+            if (cachedScore != null) {
+                return cachedScore;
             }
 
+            // If the same genotype occurs earlier in this generation, share its pending score.
+            Score pendingScore = m_pendingScores.get(featureSubset);
+            if (pendingScore == null) {
+                pendingScore = new Score(features(genotype));
+                m_pendingScores.put(featureSubset, pendingScore);
+            }
+            return pendingScore;
+        }
+
+        /**
+         * Scores the pending feature subsets in the order in which they have been evaluated, one per loop iteration.
+         */
+        private void evaluatePending() {
+            for (final Map.Entry<BitSet, Score> entry : m_pendingScores.entrySet()) {
+                final Score score = entry.getValue();
+                if (m_isInterrupted || !awaitScore(score.m_pendingFeatures)) {
+                    // simply return 0 from now on to let the thread terminate quickly
+                    m_isInterrupted = true;
+                    score.resolve(0d);
+                } else {
+                    score.resolve(m_score.m_score);
+                    m_scoreLookUpMap.put(entry.getKey(), score);
+                }
+            }
+            m_pendingScores.clear();
+        }
+
+        /**
+         * Hands the feature subset to the loop and waits for its score.
+         *
+         * @return false if the loop has been disposed
+         */
+        private boolean awaitScore(final List<Integer> features) {
             try {
                 // wait until a new genotype is requested
                 if (m_queueGenotypeRequested.take().equals(POISON_PILL)) {
-                    return stopAndReturn();
+                    return false;
                 }
-                setCurrent(genotype);
+                m_currentGenotype = features;
                 // signal that new genotype is ready to score
                 m_queueGenotypeReadyToScore.put(0);
 
                 // wait for the score
-                if (m_queueScoreReceived.take().equals(POISON_PILL)) {
-                    return stopAndReturn();
-                }
-                m_scoreLookUpMap.put(hashCode, m_score);
-                return m_score;
+                return !m_queueScoreReceived.take().equals(POISON_PILL);
             } catch (InterruptedException e) {
                 throw new IllegalStateException("The genetic algorithm thread has been interrupted!", e);
             }
@@ -633,10 +693,10 @@ private Score stopAndReturn() {
             return new Score(0d);
         }
 
-        private void setCurrent(final Genotype<BitGene> genotype) {
+        private List<Integer> features(final Genotype<BitGene> genotype) {
             final Chromosome<BitGene> chromosome = genotype.getChromosome(0);
             // collect indices of positive genes
-            m_currentGenotype = IntStream.range(0, chromosome.length())
+            return IntStream.range(0, chromosome.length())
                 .filter(i ->  chromosome.getGene(i).booleanValue()).boxed().collect(Collectors.toList());
         }
 
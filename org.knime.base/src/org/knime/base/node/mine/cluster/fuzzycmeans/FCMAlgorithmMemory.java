@@ -48,6 +48,7 @@
 package org.knime.base.node.mine.cluster.fuzzycmeans;
 
 import java.util.Random;
+import java.util.concurrent.Callable;
 
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
@@ -55,24 +56,49 @@
 import org.knime.core.data.RowKey;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
 
 /**
  * The Fuzzy c-means algorithm.
  *
+ * <p>
+ * The data is held in a single row-major <code>double</code> array. Each
+ * iteration runs one pass over fixed-size blocks of rows, which computes the
+ * memberships of the rows and their contributions to the new cluster
+ * prototypes. The blocks are processed concurrently and their partial sums are
+ * merged in block order, hence the result does not depend on the number of
+ * threads.
+ *
  * @author Nicolas Cebron, University of Konstanz
  */
 public class FCMAlgorithmMemory extends FCMAlgorithm {
 
     /*
-     * Data to be clustered
+     * Number of rows whose contributions to the prototypes are summed up
+     * together
      */
-    private double[][] m_data;
+    static final int BLOCK_SIZE = 4096;
 
     /*
-     * Rowkeys assigned to each position of the double data array
+     * Data to be clustered, row after row
+     */
+    private double[] m_data;
+
+    /*
+     * Rowkeys assigned to each row of the double data array
      */
     private RowKey[] m_keys;
 
+    /*
+     * The number of threads to use
+     */
+    private int m_parallelism = Runtime.getRuntime().availableProcessors();
+
+    private ThreadPool m_pool;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while clustering");
 
     /**
      * Constructor for a Fuzzy c-means algorithm (with no noise detection).
@@ -104,6 +130,21 @@ public FCMAlgorithmMemory(final int nrClusters, final double fuzzifier,
         super(nrClusters, fuzzifier, calculateDelta, deltalambda);
     }
 
+    /**
+     * Sets the number of threads used to process the row blocks, by default
+     * the number of available processors.
+     *
+     * @param parallelism the number of threads, at least 1
+     * @since 4.6
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                "Parallelism must be at least 1: " + parallelism);
+        }
+        m_parallelism = parallelism;
+    }
+
     /**
      * Inits the cluster centers and the weight matrix. Must be called before
      * the iterations are carried out.
@@ -161,7 +202,11 @@ public void init(final RowKey[] keys, final double[][] data) {
     public void init(final RowKey[] keys, final double[][] data, final Random random) {
        assert (keys.length == data.length);
        super.init(data.length, data[0].length, null, random);
-       m_data = data;
+       int dimension = getDimension();
+       m_data = new double[data.length * dimension];
+       for (int i = 0; i < data.length; i++) {
+           System.arraycopy(data[i], 0, m_data, i * dimension, dimension);
+       }
        m_keys = keys;
     }
 
@@ -169,18 +214,20 @@ public void init(final RowKey[] keys, final double[][] data, final Random random
      * Reads the data from the given DataTable in the doublearray m_data
      */
     private void initData(final DataTable table) {
-        m_data = new double[getNrRows()][getDimension()];
+        int dimension = getDimension();
+        m_data = new double[getNrRows() * dimension];
         m_keys = new RowKey[getNrRows()];
         int curRow = 0;
         for (DataRow dRow : table) {
             m_keys[curRow] = dRow.getKey();
+            int offset = curRow * dimension;
             for (int j = 0; j < dRow.getNumCells(); j++) {
                 if (!(dRow.getCell(j).isMissing())) {
                     DoubleValue dv = (DoubleValue)dRow.getCell(j);
-                    m_data[curRow][j] = dv.getDoubleValue();
+                    m_data[offset + j] = dv.getDoubleValue();
 
                 } else {
-                    m_data[curRow][j] = 0;
+                    m_data[offset + j] = 0;
                 }
             }
             curRow++;
@@ -191,12 +238,21 @@ private void initData(final DataTable table) {
      * Please make sure to call init() first in order to guarantee that
      * the DataTable is converted.
      *
-     * @return the input DataTable converted as a double array. If it has not
-     * been produced yet, null is returned.
+     * @return the input DataTable converted as a double array (a new copy
+     * on each call). If it has not been produced yet, null is returned.
      */
     public double[][] getConvertedData() {
         assert m_data != null : "Please initialize first";
-        return m_data;
+        if (m_data == null) {
+            return null;
+        }
+        int dimension = getDimension();
+        double[][] data = new double[getNrRows()][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new double[dimension];
+            System.arraycopy(m_data, i * dimension, data[i], 0, dimension);
+        }
+        return data;
     }
 
     /**
@@ -215,7 +271,7 @@ public double[][] getConvertedData(final DataTable table) {
      */
     public double[][] getConvertedData(final DataTable table, final Random random) {
         init(table, random);
-        return m_data;
+        return getConvertedData();
     }
 
 
@@ -248,34 +304,81 @@ public double doOneIteration(final ExecutionContext exec)
         if (exec != null) {
             exec.checkCanceled();
         }
-        updateWeightMatrix(m_data);
+        final int nrBlocks = (getNrRows() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final BlockSums[] sums = new BlockSums[nrBlocks];
+        for (int b = 0; b < nrBlocks; b++) {
+            sums[b] = new BlockSums();
+        }
+        final int nrThreads = Math.min(m_parallelism, nrBlocks);
+        if (nrThreads <= 1) {
+            for (int b = 0; b < nrBlocks; b++) {
+                if (exec != null) {
+                    exec.checkCanceled();
+                }
+                processBlock(b, sums[b]);
+            }
+        } else {
+            processBlocksInParallel(sums, nrThreads, exec);
+        }
         setTotalChange(0.0);
-        updateClusterCenters(m_data);
+        updateClusterCenters(sums);
         return getTotalChange();
     }
 
     /*
-     * The update method for the weight matrix
+     * The sums over a block of rows the new cluster prototypes and the noise
+     * delta are computed from
+     */
+    private final class BlockSums {
+        // weighted sum of the rows, for each (non noise) cluster
+        private final double[] m_numerator;
+
+        // sum of the weights, for each (non noise) cluster
+        private final double[] m_denominator;
+
+        // sum of the distances to the (non noise) clusters
+        private double m_update;
+
+        private BlockSums() {
+            m_numerator = new double[getNrPrototypes() * getDimension()];
+            m_denominator = new double[getNrPrototypes()];
+        }
+    }
+
+    /*
+     * The number of clusters that have a prototype, i.e. without the noise
+     * cluster
      */
-    private void updateWeightMatrix(final double[][] data) {
-       int nrRows = getNrRows();
-       double[][] clusters = getClusters();
-       double[][] weightMatrix = getweightMatrix();
-       boolean noise = isNoise();
-       double fuzzifier = getFuzzifier();
-       double delta = getDelta();
-        for (int currentRow = 0; currentRow < nrRows; currentRow++) {
-            double[] row = data[currentRow];
+    private int getNrPrototypes() {
+        return isNoise() ? getNrClusters() - 1 : getNrClusters();
+    }
+
+    /*
+     * Updates the weight matrix for the rows of the given block and sums up
+     * their contribution to the new cluster prototypes
+     */
+    private void processBlock(final int block, final BlockSums sums) {
+        final int dimension = getDimension();
+        final double[][] clusters = getClusters();
+        final double[][] weightMatrix = getweightMatrix();
+        final boolean noise = isNoise();
+        final boolean calculateDelta = noise && isCalculateDelta();
+        final double fuzzifier = getFuzzifier();
+        final double noiseDistance = Math.pow(getDelta(), 2.0);
+        final int nrPrototypes = getNrPrototypes();
+        final double[] distances = new double[clusters.length];
+        final int end = Math.min(getNrRows(), (block + 1) * BLOCK_SIZE);
+        for (int currentRow = block * BLOCK_SIZE; currentRow < end;
+                currentRow++) {
+            final int offset = currentRow * dimension;
+            final double[] weights = weightMatrix[currentRow];
             int i = 0;
 
             // first check if the actual row is equal to a cluster center
             int sameCluster = -1;
-
-            int nrClusters = (noise) ? clusters.length - 1
-                    : clusters.length;
-            while ((sameCluster < 0) && (i < nrClusters)) {
-                for (int j = 0; j < row.length; j++) {
-                    if (row[j] == clusters[i][j]) {
+            while ((sameCluster < 0) && (i < nrPrototypes)) {
+                for (int j = 0; j < dimension; j++) {
+                    if (m_data[offset + j] == clusters[i][j]) {
                         sameCluster = i;
                     } else {
                         sameCluster = -1;
@@ -285,103 +388,86 @@ private void updateWeightMatrix(final double[][] data) {
                 i++;
             }
 
+            for (int k = 0; k < clusters.length; k++) {
+                if (noise && k == clusters.length - 1) {
+                    distances[k] = noiseDistance;
+                } else {
+                    distances[k] = getDistance(clusters[k], offset);
+                }
+            }
+
             /*
              * The weight of a data point is 1 if it is exactly on the position
              * of the cluster, in this case 0 for the others
              */
             if (sameCluster >= 0) {
-                for (i = 0; i < weightMatrix[0].length; i++) {
-                    if (i != sameCluster) {
-                        setWeightMatrixValue(currentRow, i, 0);
-                    } else {
-                        setWeightMatrixValue(currentRow, i, 1);
-                    }
+                for (i = 0; i < weights.length; i++) {
+                    weights[i] = (i != sameCluster) ? 0 : 1;
                 }
             } else {
                 // calculate the fuzzy membership to each cluster
                 for (int j = 0; j < clusters.length; j++) {
-                    // for each cluster
-                    double distNumerator = 0;
-                    if (noise && j == clusters.length - 1) {
-                        distNumerator = Math.pow(delta, 2.0);
-                    } else {
-                        distNumerator = getDistance(clusters[j], row);
-                    }
                     double sum = 0;
                     for (int k = 0; k < clusters.length; k++) {
-                        double distance = 0;
-                        if (noise && k == clusters.length - 1) {
-                            distance = Math.pow(delta, 2.0);
-                        } else {
-                            distance = getDistance(clusters[k], row);
-                        }
-                        sum += Math.pow((distNumerator / distance),
+                        sum += Math.pow((distances[j] / distances[k]),
                                 (1.0 / (fuzzifier - 1.0)));
                     }
-                    setWeightMatrixValue(currentRow, j, (1 / sum));
+                    weights[j] = 1 / sum;
+                }
+            }
+
+            // sum up the contribution to the new cluster prototypes
+            for (int c = 0; c < nrPrototypes; c++) {
+                final double w = Math.pow(weights[c], fuzzifier);
+                final int numOffset = c * dimension;
+                for (int j = 0; j < dimension; j++) {
+                    sums.m_numerator[numOffset + j] += w * m_data[offset + j];
+                }
+                sums.m_denominator[c] += w;
+                if (calculateDelta) {
+                    sums.m_update += distances[c];
                 }
             }
         }
     }
 
     /*
-     * Helper method for the quadratic distance between two double-arrays.
-     *
+     * Helper method for the quadratic distance between a cluster prototype and
+     * the row starting at the given offset
      */
-    private double getDistance(final double[] vector1, final double[] vector2) {
+    private double getDistance(final double[] cluster, final int offset) {
         double distance = 0.0;
-        assert (vector1.length == vector2.length);
-        for (int i = 0; i < vector1.length; i++) {
-            double diff = 0;
-            diff = vector1[i] - vector2[i];
+        for (int i = 0; i < cluster.length; i++) {
+            double diff = cluster[i] - m_data[offset + i];
             distance += diff * diff;
         }
         return distance;
     }
 
     /*
-     * The update method for the cluster centers
+     * The update method for the cluster centers, merges the block sums in
+     * block order
      */
-    private void updateClusterCenters(final double[][] data) {
-        int dimension = getDimension();
-        int nrRows = getNrRows();
-        int nrClusters = getNrClusters();
-        double[][] clusters = getClusters();
-        double[][] weightMatrix = getweightMatrix();
-        double fuzzifier = getFuzzifier();
-        boolean noise = isNoise();
-        double[] sumNumerator = new double[dimension];
-        double sumDenominator = 0;
+    private void updateClusterCenters(final BlockSums[] blockSums) {
+        final int dimension = getDimension();
+        final int nrPrototypes = getNrPrototypes();
+        final double[][] clusters = getClusters();
+        final double[] sumNumerator = new double[nrPrototypes * dimension];
+        final double[] sumDenominator = new double[nrPrototypes];
         double sumupdate = 0;
-        // for each cluster center
-        for (int c = 0; c < nrClusters; c++) {
-            if (noise && (c == nrClusters - 1)) {
-                break;
+        for (BlockSums sums : blockSums) {
+            for (int i = 0; i < sumNumerator.length; i++) {
+                sumNumerator[i] += sums.m_numerator[i];
             }
-            for (int j = 0; j < dimension; j++) {
-                sumNumerator[j] = 0;
+            for (int c = 0; c < nrPrototypes; c++) {
+                sumDenominator[c] += sums.m_denominator[c];
             }
-            sumDenominator = 0;
-
-            int i = 0;
-           for (int currentRow = 0; currentRow < nrRows; currentRow++) {
-                double[] row = data[currentRow];
-                // for all attributes in X
-                for (int j = 0; j < dimension; j++) {
-
-                            sumNumerator[j] += Math.pow(weightMatrix[i][c],
-                                    fuzzifier)
-                                    * row[j];
-
-                }
-                sumDenominator += Math.pow(weightMatrix[i][c], fuzzifier);
-                i++;
-                if (noise && isCalculateDelta()) {
-                    sumupdate += getDistance(clusters[c], row);
-                }
-            } // end while for all datarows sum up
+            sumupdate += sums.m_update;
+        }
+        for (int c = 0; c < nrPrototypes; c++) {
             for (int j = 0; j < dimension; j++) {
-                double newValue = sumNumerator[j] / sumDenominator;
+                double newValue =
+                    sumNumerator[c * dimension + j] / sumDenominator[c];
                 addTotalChange(Math.abs(clusters[c][j] - newValue));
                 setClusterValue(c, j, newValue);
             }
@@ -390,13 +476,44 @@ private void updateClusterCenters(final double[][] data) {
         /*
          * Update the delta-value automatically if choosen.
          */
-        if (noise && isCalculateDelta()) {
+        if (isNoise() && isCalculateDelta()) {
             setDelta(Math.sqrt(getLambda()
-                    * (sumupdate / (nrRows * (clusters.length - 1)))));
+                    * (sumupdate / (getNrRows() * (clusters.length - 1)))));
         }
 
     } // end update cluster centers
 
-
+    /*
+     * Processes the blocks with the given number of threads, each thread takes
+     * every nrThreads-th block
+     */
+    private void processBlocksInParallel(final BlockSums[] sums,
+            final int nrThreads, final ExecutionContext exec)
+            throws CanceledExecutionException {
+        if (m_pool == null) {
+            m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(
+                m_parallelism);
+        }
+        try {
+            for (int t = 0; t < nrThreads; t++) {
+                final int first = t;
+                m_pending.add(m_pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CanceledExecutionException {
+                        for (int b = first; b < sums.length; b += nrThreads) {
+                            if (exec != null) {
+                                exec.checkCanceled();
+                            }
+                            processBlock(b, sums[b]);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            m_pending.await();
+        } finally {
+            m_pending.cancel();
+        }
+    }
 
 }
@@ -133,6 +133,10 @@ public DecisionTreeLearnerNodeDialog2() {
         this.addDialogComponent(new DialogComponentNumber(
                 createSettingsNumProcessors(), "Number threads", 1, 5));
 
+        // presort the numeric attributes once
+        this.addDialogComponent(new DialogComponentBoolean(
+                createSettingsPresortAttributes(), "Presort numeric attributes"));
+
         // skip columns with many nominal values
         this.addDialogComponent(new DialogComponentBoolean(
                 createSettingsSkipNominalColumnsWithoutDomain(),
@@ -401,6 +405,14 @@ static SettingsModelIntegerBounded createSettingsNumProcessors() {
             DecisionTreeLearnerNodeModel2.DEFAULT_NUM_PROCESSORS, 1, Integer.MAX_VALUE);
     }
 
+    /**
+     * @return whether to presort the numeric attributes
+     */
+    static SettingsModelBoolean createSettingsPresortAttributes() {
+        return new SettingsModelBoolean(DecisionTreeLearnerNodeModel2.KEY_PRESORT_ATTRIBUTES,
+            DecisionTreeLearnerNodeModel2.DEFAULT_PRESORT_ATTRIBUTES);
+    }
+
     /**
      * @return name of column to perform first split on
      */
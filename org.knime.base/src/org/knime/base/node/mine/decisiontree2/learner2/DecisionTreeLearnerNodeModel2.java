@@ -58,6 +58,10 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -205,6 +209,13 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
     public static final String KEY_FILTER_NOMINAL_VALUES_FROM_PARENT =
         "FilterNominalValuesFromParent";
 
+    /**
+     * Key to store whether the numeric attributes are presorted once and the
+     * splits are evaluated on a fork-join pool.
+     * @since 4.6
+     */
+    public static final String KEY_PRESORT_ATTRIBUTES = "presortAttributes";
+
     /** Index of input data port. */
     public static final int DATA_INPORT = 0;
     /** Index of optional model in port. */
@@ -300,6 +311,18 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
      */
     public static final int DEFAULT_NUM_PROCESSORS = MAX_NUM_PROCESSORS;
 
+    /**
+     * The default whether to presort the numeric attributes (off).
+     * @since 4.6
+     */
+    public static final boolean DEFAULT_PRESORT_ATTRIBUTES = false;
+
+    /**
+     * Nodes with at least this number of rows times attributes are processed
+     * in parallel.
+     */
+    private static final int PARALLEL_WORK_THRESHOLD = 10000;
+
     /**
      * The config key for the no true child strategy.
      */
@@ -409,6 +432,9 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
 
     private final SettingsModelString m_firstSplitCol = DecisionTreeLearnerNodeDialog2.createSettingsFirstSplitColumn(m_useFirstSplitCol);
 
+    private final SettingsModelBoolean m_presortAttributes =
+        DecisionTreeLearnerNodeDialog2.createSettingsPresortAttributes();
+
     /**
      * The decision tree model to be induced by the execute method.
      */
@@ -532,7 +558,11 @@ protected PortObject[] execute(final PortObject[] data,
         final int firstSplitColIdx = initialTable.getAttributeIndex(m_firstSplitCol.getStringValue());
 
         DecisionTreeNode root = null;
-        root = buildTree(initialTable, exec, 0, splitQualityMeasure, parallelProcessing, firstSplitColIdx);
+        if (m_presortAttributes.getBooleanValue()) {
+            root = buildTreePresorted(initialTable, exec, splitQualityMeasure, firstSplitColIdx);
+        } else {
+            root = buildTree(initialTable, exec, 0, splitQualityMeasure, parallelProcessing, firstSplitColIdx);
+        }
         boolean isBinaryNominal = m_binaryNominalSplitMode.getBooleanValue();
         boolean isFilterInvalidAttributeValues =
             m_filterNominalValuesFromParent.getBooleanValue();
@@ -722,23 +752,7 @@ private DecisionTreeNode buildTree(final InMemoryTable table, final ExecutionCon
             Split split = null;
             // find best split in specified column for first split
             if (depth == 0 && m_useFirstSplitCol.getBooleanValue()) {
-                if (table.isNominal(firstSplitCol)) {
-                    if (m_binaryNominalSplitMode.getBooleanValue()) {
-                        split = new SplitNominalBinary(table, firstSplitCol, splitQualityMeasure,
-                          m_minNumberRecordsPerNode.getIntValue(),
-                          m_maxNumNominalsForCompleteComputation.getIntValue());
-                    } else {
-                        split = new SplitNominalNormal(table, firstSplitCol, splitQualityMeasure,
-                            m_minNumberRecordsPerNode.getIntValue());
-                    }
-                } else {
-                    split = new SplitContinuous(table, firstSplitCol, splitQualityMeasure,
-                        m_averageSplitpoint.getBooleanValue(), m_minNumberRecordsPerNode.getIntValue());
-                }
-                if (Double.isNaN(split.getBestQualityMeasure()) || split.getBestQualityMeasure() == 0.0) {
-                    m_warningMessageSb.append("The specified root split column \"")
-                    .append(split.getSplitAttributeName()).append("\" does not contain a valid split.");
-                }
+                split = createFirstSplit(table, null, splitQualityMeasure, firstSplitCol);
             }
             if (split == null) { // no root split column found or selected
                 // find the best splits for all attributes
@@ -793,7 +807,7 @@ private DecisionTreeNode buildTree(final InMemoryTable table, final ExecutionCon
             for (InMemoryTable partitionTable : partitionTables) {
                 exec.checkCanceled();
                 if (partitionTable.getNumberDataRows() * m_numberAttributes
-                        < 10000 || !parallelProcessing.isThreadAvailable()) {
+                        < PARALLEL_WORK_THRESHOLD || !parallelProcessing.isThreadAvailable()) {
                     children[i] = buildTree(partitionTable, exec, depth + 1,
                             splitQualityMeasure, parallelProcessing, firstSplitCol);
                 } else {
@@ -829,74 +843,360 @@ private DecisionTreeNode buildTree(final InMemoryTable table, final ExecutionCon
             }
             threads.clear();
 
-            if (split instanceof SplitContinuous) {
-                double splitValue =
-                        ((SplitContinuous)split).getBestSplitValue();
+            return createSplitNode(nodeId, majorityClass, frequencies, split, children);
+        }
+    }
+
+    /**
+     * Creates the split for the specified root split column and adds a warning
+     * if the column does not contain a valid split.
+     *
+     * @param lists the presorted attribute lists of the table or
+     *            <code>null</code> if the table is sorted for numeric splits
+     */
+    private Split createFirstSplit(final InMemoryTable table, final PresortedAttributeLists lists,
+        final SplitQualityMeasure splitQualityMeasure, final int firstSplitCol) {
+        Split split;
+        if (table.isNominal(firstSplitCol)) {
+            if (m_binaryNominalSplitMode.getBooleanValue()) {
+                split = new SplitNominalBinary(table, firstSplitCol, splitQualityMeasure,
+                  m_minNumberRecordsPerNode.getIntValue(),
+                  m_maxNumNominalsForCompleteComputation.getIntValue());
+            } else {
+                split = new SplitNominalNormal(table, firstSplitCol, splitQualityMeasure,
+                    m_minNumberRecordsPerNode.getIntValue());
+            }
+        } else if (lists == null) {
+            split = new SplitContinuous(table, firstSplitCol, splitQualityMeasure,
+                m_averageSplitpoint.getBooleanValue(), m_minNumberRecordsPerNode.getIntValue());
+        } else {
+            split = new SplitContinuous(table, lists, firstSplitCol, splitQualityMeasure,
+                m_averageSplitpoint.getBooleanValue(), m_minNumberRecordsPerNode.getIntValue());
+        }
+        if (Double.isNaN(split.getBestQualityMeasure()) || split.getBestQualityMeasure() == 0.0) {
+            m_warningMessageSb.append("The specified root split column \"")
+            .append(split.getSplitAttributeName()).append("\" does not contain a valid split.");
+        }
+        return split;
+    }
+
+    /**
+     * Creates the PMML split node for the given split and child nodes.
+     */
+    private static DecisionTreeNode createSplitNode(final int nodeId, final DataCell majorityClass,
+        final LinkedHashMap<DataCell, Double> frequencies, final Split split, final DecisionTreeNode[] children) {
+        if (split instanceof SplitContinuous) {
+            double splitValue =
+                    ((SplitContinuous)split).getBestSplitValue();
 //                return new DecisionTreeNodeSplitContinuous(nodeId,
 //                        majorityClass, frequencies, split
 //                              .getSplitAttributeName(), children, splitValue);
-                String splitAttribute = split.getSplitAttributeName();
-                PMMLPredicate[] splitPredicates =
-                        new PMMLPredicate[]{
-                                new PMMLSimplePredicate(splitAttribute,
-                                        PMMLOperator.LESS_OR_EQUAL, Double
-                                                .toString(splitValue)),
-                                new PMMLSimplePredicate(splitAttribute,
-                                        PMMLOperator.GREATER_THAN, Double
-                                                .toString(splitValue))};
-                return new DecisionTreeNodeSplitPMML(nodeId, majorityClass,
-                        frequencies, splitAttribute,
-                        splitPredicates, children);
-            } else if (split instanceof SplitNominalNormal) {
-                // else the attribute is nominal
-                DataCell[] splitValues =
-                        ((SplitNominalNormal)split).getSplitValues();
+            String splitAttribute = split.getSplitAttributeName();
+            PMMLPredicate[] splitPredicates =
+                    new PMMLPredicate[]{
+                            new PMMLSimplePredicate(splitAttribute,
+                                    PMMLOperator.LESS_OR_EQUAL, Double
+                                            .toString(splitValue)),
+                            new PMMLSimplePredicate(splitAttribute,
+                                    PMMLOperator.GREATER_THAN, Double
+                                            .toString(splitValue))};
+            return new DecisionTreeNodeSplitPMML(nodeId, majorityClass,
+                    frequencies, splitAttribute,
+                    splitPredicates, children);
+        } else if (split instanceof SplitNominalNormal) {
+            // else the attribute is nominal
+            DataCell[] splitValues =
+                    ((SplitNominalNormal)split).getSplitValues();
 //                return new DecisionTreeNodeSplitNominal(nodeId, majorityClass,
 //                        frequencies, split.getSplitAttributeName(),
 //                        splitValues, children);
-                int num = children.length;
-                PMMLPredicate[] splitPredicates = new PMMLPredicate[num];
-                String splitAttribute = split.getSplitAttributeName();
-                for (int j = 0; j < num; j++) {
-                    splitPredicates[j] = new PMMLSimplePredicate(splitAttribute,
-                            PMMLOperator.EQUAL, splitValues[j].toString());
-                }
-                return new DecisionTreeNodeSplitPMML(nodeId, majorityClass,
-                        frequencies, splitAttribute,
-                        splitPredicates, children);
-            } else {
-                // binary nominal
-                SplitNominalBinary splitNominalBinary =
-                        (SplitNominalBinary)split;
-                DataCell[] splitValues = splitNominalBinary.getSplitValues();
+            int num = children.length;
+            PMMLPredicate[] splitPredicates = new PMMLPredicate[num];
+            String splitAttribute = split.getSplitAttributeName();
+            for (int j = 0; j < num; j++) {
+                splitPredicates[j] = new PMMLSimplePredicate(splitAttribute,
+                        PMMLOperator.EQUAL, splitValues[j].toString());
+            }
+            return new DecisionTreeNodeSplitPMML(nodeId, majorityClass,
+                    frequencies, splitAttribute,
+                    splitPredicates, children);
+        } else {
+            // binary nominal
+            SplitNominalBinary splitNominalBinary =
+                    (SplitNominalBinary)split;
+            DataCell[] splitValues = splitNominalBinary.getSplitValues();
 //                return new DecisionTreeNodeSplitNominalBinary(nodeId,
 //                        majorityClass, frequencies, split
 //                                .getSplitAttributeName(), splitValues,
 //                        splitNominalBinary.getIntMappingsLeftPartition(),
 //                        splitNominalBinary.getIntMappingsRightPartition(),
 //                        children/* children[0]=left, ..[1] right */);
-                String splitAttribute = split.getSplitAttributeName();
-                int[][] indices = new int[][] {
-                        splitNominalBinary.getIntMappingsLeftPartition(),
-                        splitNominalBinary.getIntMappingsRightPartition()
-                };
-                PMMLPredicate[] splitPredicates = new PMMLPredicate[2];
-                for (int j = 0; j < splitPredicates.length; j++) {
-                    PMMLSimpleSetPredicate pred = null;
-                    pred = new PMMLSimpleSetPredicate(splitAttribute,
-                            PMMLSetOperator.IS_IN);
-                    pred.setArrayType(PMMLArrayType.STRING);
-                    LinkedHashSet<String> values = new LinkedHashSet<String>();
-                    for (int index : indices[j]) {
-                       values.add(splitValues[index].toString());
-                    }
-                    pred.setValues(values);
-                    splitPredicates[j] = pred;
+            String splitAttribute = split.getSplitAttributeName();
+            int[][] indices = new int[][] {
+                    splitNominalBinary.getIntMappingsLeftPartition(),
+                    splitNominalBinary.getIntMappingsRightPartition()
+            };
+            PMMLPredicate[] splitPredicates = new PMMLPredicate[2];
+            for (int j = 0; j < splitPredicates.length; j++) {
+                PMMLSimpleSetPredicate pred = null;
+                pred = new PMMLSimpleSetPredicate(splitAttribute,
+                        PMMLSetOperator.IS_IN);
+                pred.setArrayType(PMMLArrayType.STRING);
+                LinkedHashSet<String> values = new LinkedHashSet<String>();
+                for (int index : indices[j]) {
+                   values.add(splitValues[index].toString());
+                }
+                pred.setValues(values);
+                splitPredicates[j] = pred;
+            }
+            return new DecisionTreeNodeSplitPMML(nodeId, majorityClass,
+                    frequencies, splitAttribute,
+                    splitPredicates, children);
+        }
+    }
+
+    /**
+     * Induces the decision tree on presorted attribute lists. The numeric
+     * attributes are sorted only once and the sorted lists are partitioned
+     * down the tree. Attributes and subtrees are evaluated on a fork-join
+     * pool. The node ids are assigned afterwards in depth first order, i.e.
+     * the same way as by the sequential {@link #buildTree}. Both order equal
+     * values by row position and keep the row order when partitioning, so
+     * the split statistics and therefore the tree are the same.
+     */
+    private DecisionTreeNode buildTreePresorted(final InMemoryTable table, final ExecutionContext exec,
+        final SplitQualityMeasure splitQualityMeasure, final int firstSplitCol) throws CanceledExecutionException {
+        final ForkJoinPool pool = new ForkJoinPool(m_parallelProcessing.getIntValue());
+        try {
+            exec.setMessage("Sorting attributes...");
+            final PresortedAttributeLists lists =
+                pool.invoke(ForkJoinTask.adapt(() -> PresortedAttributeLists.create(table)));
+            exec.setMessage("Building tree...");
+            final PresortedNode root =
+                pool.invoke(new PresortedBuilding(table, lists, exec, 0, splitQualityMeasure, firstSplitCol));
+            return createTreeNode(root);
+        } catch (RuntimeException e) {
+            // cancellation is wrapped while building in the pool
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof CanceledExecutionException) {
+                    throw (CanceledExecutionException)t;
+                }
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the decision tree nodes in depth first order.
+     */
+    private DecisionTreeNode createTreeNode(final PresortedNode node) {
+        int nodeId = m_counter.getAndIncrement();
+        if (node.m_split == null) {
+            return new DecisionTreeNodeLeaf(nodeId, node.m_majorityClass, node.m_frequencies);
+        }
+        DecisionTreeNode[] children = new DecisionTreeNode[node.m_children.length];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = createTreeNode(node.m_children[i]);
+        }
+        return createSplitNode(nodeId, node.m_majorityClass, node.m_frequencies, node.m_split, children);
+    }
+
+    /**
+     * Finds the best split for all attributes to consider. For larger tables
+     * the attributes are evaluated in parallel, each with its own copy of the
+     * quality measure.
+     */
+    private Split findBestSplitPresorted(final InMemoryTable table, final PresortedAttributeLists lists,
+        final SplitQualityMeasure splitQualityMeasure) {
+        List<Split> splitCandidates = new ArrayList<Split>();
+        if (table.getNumberDataRows() * m_numberAttributes < PARALLEL_WORK_THRESHOLD) {
+            for (int i = 0; i < table.getNumAttributes(); i++) {
+                if (table.considerAttribute(i)) {
+                    splitCandidates.add(createSplitPresorted(table, lists, i, splitQualityMeasure));
+                }
+            }
+        } else {
+            List<ForkJoinTask<Split>> tasks = new ArrayList<ForkJoinTask<Split>>();
+            for (int i = 0; i < table.getNumAttributes(); i++) {
+                if (table.considerAttribute(i)) {
+                    final int attributeIndex = i;
+                    final SplitQualityMeasure qualityMeasure = cloneQualityMeasure(splitQualityMeasure);
+                    tasks.add(ForkJoinTask.adapt(
+                        () -> createSplitPresorted(table, lists, attributeIndex, qualityMeasure)));
+                }
+            }
+            for (ForkJoinTask<Split> task : ForkJoinTask.invokeAll(tasks)) {
+                splitCandidates.add(task.join());
+            }
+        }
+        return new SplitFinder(splitCandidates, splitQualityMeasure).getSplit();
+    }
+
+    private Split createSplitPresorted(final InMemoryTable table, final PresortedAttributeLists lists,
+        final int attributeIndex, final SplitQualityMeasure splitQualityMeasure) {
+        if (table.isNominal(attributeIndex)) {
+            if (m_binaryNominalSplitMode.getBooleanValue()) {
+                return new SplitNominalBinary(table, attributeIndex, splitQualityMeasure,
+                    m_minNumberRecordsPerNode.getIntValue(), m_maxNumNominalsForCompleteComputation.getIntValue());
+            }
+            return new SplitNominalNormal(table, attributeIndex, splitQualityMeasure,
+                m_minNumberRecordsPerNode.getIntValue());
+        }
+        return new SplitContinuous(table, lists, attributeIndex, splitQualityMeasure,
+            m_averageSplitpoint.getBooleanValue(), m_minNumberRecordsPerNode.getIntValue());
+    }
+
+    private static SplitQualityMeasure cloneQualityMeasure(final SplitQualityMeasure splitQualityMeasure) {
+        try {
+            return (SplitQualityMeasure)splitQualityMeasure.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A tree node induced on presorted attribute lists; converted into a
+     * {@link DecisionTreeNode} once the tree is complete.
+     */
+    private static final class PresortedNode {
+
+        private final DataCell m_majorityClass;
+
+        private final LinkedHashMap<DataCell, Double> m_frequencies;
+
+        /** The split of this node, <code>null</code> for a leaf. */
+        private final Split m_split;
+
+        private final PresortedNode[] m_children;
+
+        private PresortedNode(final DataCell majorityClass, final LinkedHashMap<DataCell, Double> frequencies,
+            final Split split, final PresortedNode[] children) {
+            m_majorityClass = majorityClass;
+            m_frequencies = frequencies;
+            m_split = split;
+            m_children = children;
+        }
+    }
+
+    /**
+     * Recursively induces a subtree on presorted attribute lists.
+     */
+    private final class PresortedBuilding extends RecursiveTask<PresortedNode> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final InMemoryTable m_table;
+
+        private PresortedAttributeLists m_lists;
+
+        private final ExecutionContext m_exec;
+
+        private final int m_depth;
+
+        private final SplitQualityMeasure m_splitQM;
+
+        private final int m_firstSplitCol;
+
+        private PresortedBuilding(final InMemoryTable table, final PresortedAttributeLists lists,
+            final ExecutionContext exec, final int depth, final SplitQualityMeasure splitQM,
+            final int firstSplitCol) {
+            m_table = table;
+            m_lists = lists;
+            m_exec = exec;
+            m_depth = depth;
+            m_splitQM = splitQM;
+            m_firstSplitCol = firstSplitCol;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected PresortedNode compute() {
+            try {
+                return buildNode();
+            } catch (CanceledExecutionException e) {
+                throw new CompletionException(e);
+            }
+        }
+
+        private PresortedNode buildNode() throws CanceledExecutionException {
+            m_exec.checkCanceled();
+            DataCell majorityClass = m_table.getMajorityClassAsCell();
+            LinkedHashMap<DataCell, Double> frequencies = m_table.getClassFrequencies();
+            // if the distribution allows for a leaf
+            if (m_table.isPureEnough()) {
+                return createLeaf(majorityClass, frequencies);
+            }
+            Split split = null;
+            // find best split in specified column for first split
+            if (m_depth == 0 && m_useFirstSplitCol.getBooleanValue()) {
+                split = createFirstSplit(m_table, m_lists, m_splitQM, m_firstSplitCol);
+            }
+            if (split == null) {
+                split = findBestSplitPresorted(m_table, m_lists, m_splitQM);
+                // check for enough memory
+                checkMemory();
+            }
+            // if no best split could be evaluated, create a leaf node
+            if (split == null || !split.isValidSplit()) {
+                return createLeaf(majorityClass, frequencies);
+            }
+
+            // remember the partition of each row before the partitioner
+            // frees the rows of the table
+            int[] partitionOfPosition = new int[m_table.getNumberDataRows()];
+            int pos = 0;
+            for (DataRowWeighted row : m_table) {
+                partitionOfPosition[pos++] = split.getPartitionForRow(row);
+            }
+            Partitioner partitioner = new Partitioner(m_table, split, m_minNumberRecordsPerNode.getIntValue());
+            if (!partitioner.couldBeUsefulPartitioned()) {
+                return createLeaf(majorityClass, frequencies);
+            }
+            InMemoryTable[] partitionTables;
+            try {
+                partitionTables = partitioner.getPartitionTables();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            PresortedAttributeLists[] partitionLists =
+                m_lists.partition(partitionOfPosition, split.getPartitionWeights(), partitionTables.length);
+            m_lists = null;
+
+            // recursively build the child nodes, larger ones in parallel
+            PresortedNode[] children = new PresortedNode[partitionTables.length];
+            PresortedBuilding[] forked = new PresortedBuilding[partitionTables.length];
+            for (int i = 0; i < partitionTables.length; i++) {
+                m_exec.checkCanceled();
+                if (partitionTables[i].getNumberDataRows() * m_numberAttributes < PARALLEL_WORK_THRESHOLD) {
+                    children[i] = new PresortedBuilding(partitionTables[i], partitionLists[i], m_exec,
+                        m_depth + 1, m_splitQM, -1).invoke();
+                } else {
+                    forked[i] = new PresortedBuilding(partitionTables[i], partitionLists[i], m_exec,
+                        m_depth + 1, cloneQualityMeasure(m_splitQM), -1);
+                    forked[i].fork();
                 }
-                return new DecisionTreeNodeSplitPMML(nodeId, majorityClass,
-                        frequencies, splitAttribute,
-                        splitPredicates, children);
+                partitionLists[i] = null;
             }
+            for (int i = 0; i < forked.length; i++) {
+                if (forked[i] != null) {
+                    children[i] = forked[i].join();
+                }
+            }
+            return new PresortedNode(majorityClass, frequencies, split, children);
+        }
+
+        private PresortedNode createLeaf(final DataCell majorityClass,
+            final LinkedHashMap<DataCell, Double> frequencies) {
+            // free memory
+            m_table.freeUnderlyingDataRows();
+            m_lists = null;
+            double value = m_finishedCounter.incrementAndGet(m_table.getSumOfWeights());
+            m_exec.setProgress(value / m_alloverRowCount, "Created leaf at level " + m_depth);
+            return new PresortedNode(majorityClass, frequencies, null, null);
         }
     }
 
@@ -1048,6 +1348,13 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
             // setting this to falls ensures backward compatibility
             m_useFirstSplitCol.setBooleanValue(false);
         }
+
+        /* Added with 4.6 to presort the numeric attributes */
+        if (settings.containsKey(KEY_PRESORT_ATTRIBUTES)) {
+            m_presortAttributes.loadSettingsFrom(settings);
+        } else {
+            m_presortAttributes.setBooleanValue(DEFAULT_PRESORT_ATTRIBUTES);
+        }
     }
 
     /**
@@ -1073,6 +1380,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_missingValues.saveSettingsTo(settings);
         m_useFirstSplitCol.saveSettingsTo(settings);
         m_firstSplitCol.saveSettingsTo(settings);
+        m_presortAttributes.saveSettingsTo(settings);
     }
 
     /**
@@ -1131,6 +1439,10 @@ protected void validateSettings(final NodeSettingsRO settings)
             m_useFirstSplitCol.validateSettings(settings);
             m_firstSplitCol.validateSettings(settings);
         }
+        /* Added with 4.6 to presort the numeric attributes */
+        if (settings.containsKey(KEY_PRESORT_ATTRIBUTES)) {
+            m_presortAttributes.validateSettings(settings);
+        }
     }
 
     /**
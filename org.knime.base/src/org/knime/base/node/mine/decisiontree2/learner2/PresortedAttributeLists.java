@@ -0,0 +1,350 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.decisiontree2.learner2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Holds the rows of one tree node as attribute lists that are sorted once on
+ * the numeric attributes (as in SPRINT). The lists refer to the row positions
+ * of the node's {@link InMemoryTable}, i.e. position <code>i</code> is the
+ * <code>i</code>-th row returned by the table iterator. Partitioning keeps the
+ * order of the lists, so the attributes never need to be sorted again further
+ * down the tree.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PresortedAttributeLists {
+
+    /** Below this number of rows, insertion sort is used. */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * The numeric attribute values of all rows, first dimension are the
+     * attributes (<code>null</code> for nominal ones), second the row ids.
+     */
+    private final double[][] m_values;
+
+    /** The class value of all rows, indexed by row id. */
+    private final int[] m_classValues;
+
+    /** The row id for each row position of this node. */
+    private final int[] m_rowIds;
+
+    /** The weight for each row position of this node. */
+    private final double[] m_weights;
+
+    /**
+     * For each numeric attribute the row positions ordered ascending by the
+     * attribute value, rows with a missing value are not contained.
+     */
+    private final int[][] m_sortedPositions;
+
+    private PresortedAttributeLists(final double[][] values,
+            final int[] classValues, final int[] rowIds,
+            final double[] weights, final int[][] sortedPositions) {
+        m_values = values;
+        m_classValues = classValues;
+        m_rowIds = rowIds;
+        m_weights = weights;
+        m_sortedPositions = sortedPositions;
+    }
+
+    /**
+     * Creates the attribute lists for the rows of the given (root) table. The
+     * numeric attributes are sorted in parallel if called from within a
+     * fork-join pool.
+     *
+     * @param table the table to create the attribute lists for
+     * @return the attribute lists
+     */
+    static PresortedAttributeLists create(final InMemoryTable table) {
+        final int numRows = table.getNumberDataRows();
+        final int numAttributes = table.getNumAttributes();
+        final double[][] values = new double[numAttributes][];
+        for (int a = 0; a < numAttributes; a++) {
+            if (!table.isNominal(a)) {
+                values[a] = new double[numRows];
+            }
+        }
+        final int[] classValues = new int[numRows];
+        final int[] rowIds = new int[numRows];
+        final double[] weights = new double[numRows];
+        int pos = 0;
+        for (DataRowWeighted row : table) {
+            for (int a = 0; a < numAttributes; a++) {
+                if (values[a] != null) {
+                    values[a][pos] = row.getValue(a);
+                }
+            }
+            classValues[pos] = row.getClassValue();
+            rowIds[pos] = pos;
+            weights[pos] = row.getWeight();
+            pos++;
+        }
+
+        final int[][] sortedPositions = new int[numAttributes][];
+        final List<ForkJoinTask<?>> sortTasks = new ArrayList<ForkJoinTask<?>>();
+        for (int a = 0; a < numAttributes; a++) {
+            if (values[a] != null) {
+                final int attributeIndex = a;
+                sortTasks.add(ForkJoinTask.adapt(() -> {
+                    sortedPositions[attributeIndex] = sortPositions(values[attributeIndex]);
+                }));
+            }
+        }
+        ForkJoinTask.invokeAll(sortTasks);
+        return new PresortedAttributeLists(values, classValues, rowIds,
+                weights, sortedPositions);
+    }
+
+    /**
+     * Returns the positions of all non-missing values sorted ascending by
+     * value. Equal values keep the order of their positions. Used for the
+     * presorted lists and for sorting the rows of a single tree node, so
+     * both order the rows the same way.
+     *
+     * @param values the attribute values by position, NaN if missing
+     * @return the sorted positions of the non-missing values
+     */
+    static int[] sortPositions(final double[] values) {
+        int numValid = 0;
+        for (double value : values) {
+            if (!Double.isNaN(value)) {
+                numValid++;
+            }
+        }
+        final int[] positions = new int[numValid];
+        int k = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (!Double.isNaN(values[i])) {
+                positions[k++] = i;
+            }
+        }
+        mergeSort(positions, positions.clone(), 0, numValid, values);
+        return positions;
+    }
+
+    /**
+     * Stable merge sort of <code>positions[from, to)</code> by the values
+     * they refer to; <code>buffer</code> must contain the same elements.
+     */
+    private static void mergeSort(final int[] positions, final int[] buffer,
+            final int from, final int to, final double[] values) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int pos = positions[i];
+                final double value = values[pos];
+                int j = i - 1;
+                while (j >= from && values[positions[j]] > value) {
+                    positions[j + 1] = positions[j];
+                    j--;
+                }
+                positions[j + 1] = pos;
+            }
+            return;
+        }
+        final int mid = (from + to) >>> 1;
+        // sort the halves into the buffer and merge them back
+        mergeSort(buffer, positions, from, mid, values);
+        mergeSort(buffer, positions, mid, to, values);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < mid
+                    && values[buffer[left]] <= values[buffer[right]]) {
+                positions[i] = buffer[left++];
+            } else {
+                positions[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows (positions) of this node
+     */
+    int getNumberRows() {
+        return m_rowIds.length;
+    }
+
+    /**
+     * Returns the row positions ordered ascending by the value of the given
+     * numeric attribute. Rows with a missing value are not contained.
+     *
+     * @param attributeIndex the index of a numeric attribute
+     * @return the sorted row positions, must not be modified
+     */
+    int[] getSortedPositions(final int attributeIndex) {
+        return m_sortedPositions[attributeIndex];
+    }
+
+    /**
+     * @param attributeIndex the index of a numeric attribute
+     * @param position the row position
+     * @return the attribute value of the row, NaN if missing
+     */
+    double getValue(final int attributeIndex, final int position) {
+        return m_values[attributeIndex][m_rowIds[position]];
+    }
+
+    /**
+     * @param position the row position
+     * @return the mapped class value of the row
+     */
+    int getClassValue(final int position) {
+        return m_classValues[m_rowIds[position]];
+    }
+
+    /**
+     * @param position the row position
+     * @return the weight of the row
+     */
+    double getWeight(final int position) {
+        return m_weights[position];
+    }
+
+    /**
+     * Partitions the attribute lists the same way {@link Partitioner} does
+     * for the table: the rows are assigned in position order, rows with a
+     * missing split value are added to all partitions with their weight
+     * multiplied by the partition weight.
+     *
+     * @param partitionOfPosition the partition index for each row position,
+     *            -1 if the split value of the row is missing
+     * @param partitionWeights the partition weights of the split
+     * @param numPartitions the number of partitions
+     * @return the attribute lists of the partitions
+     */
+    PresortedAttributeLists[] partition(final int[] partitionOfPosition,
+            final double[] partitionWeights, final int numPartitions) {
+        final int numRows = m_rowIds.length;
+        final int[] sizes = new int[numPartitions];
+        int numMissing = 0;
+        for (int partition : partitionOfPosition) {
+            if (partition >= 0) {
+                sizes[partition]++;
+            } else {
+                numMissing++;
+            }
+        }
+        final int[][] rowIds = new int[numPartitions][];
+        final double[][] weights = new double[numPartitions][];
+        for (int i = 0; i < numPartitions; i++) {
+            rowIds[i] = new int[sizes[i] + numMissing];
+            weights[i] = new double[sizes[i] + numMissing];
+        }
+        // the new position of each row in its partition; rows with a missing
+        // split value are indexed into missingPositions instead
+        final int[] newPosition = new int[numRows];
+        final int[][] missingPositions = new int[numPartitions][numMissing];
+        final int[] fill = new int[numPartitions];
+        int missingIndex = 0;
+        for (int pos = 0; pos < numRows; pos++) {
+            final int partition = partitionOfPosition[pos];
+            if (partition >= 0) {
+                final int newPos = fill[partition]++;
+                newPosition[pos] = newPos;
+                rowIds[partition][newPos] = m_rowIds[pos];
+                weights[partition][newPos] = m_weights[pos];
+            } else {
+                newPosition[pos] = missingIndex;
+                for (int i = 0; i < numPartitions; i++) {
+                    final int newPos = fill[i]++;
+                    missingPositions[i][missingIndex] = newPos;
+                    rowIds[i][newPos] = m_rowIds[pos];
+                    weights[i][newPos] = m_weights[pos] * partitionWeights[i];
+                }
+                missingIndex++;
+            }
+        }
+
+        // split each sorted list, the order is kept
+        final int[][][] sortedPositions = new int[numPartitions][m_sortedPositions.length][];
+        final int[] counts = new int[numPartitions];
+        for (int a = 0; a < m_sortedPositions.length; a++) {
+            final int[] sorted = m_sortedPositions[a];
+            if (sorted == null) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            int numMissingInList = 0;
+            for (int pos : sorted) {
+                final int partition = partitionOfPosition[pos];
+                if (partition >= 0) {
+                    counts[partition]++;
+                } else {
+                    numMissingInList++;
+                }
+            }
+            for (int i = 0; i < numPartitions; i++) {
+                sortedPositions[i][a] = new int[counts[i] + numMissingInList];
+            }
+            Arrays.fill(counts, 0);
+            for (int pos : sorted) {
+                final int partition = partitionOfPosition[pos];
+                if (partition >= 0) {
+                    sortedPositions[partition][a][counts[partition]++] = newPosition[pos];
+                } else {
+                    for (int i = 0; i < numPartitions; i++) {
+                        sortedPositions[i][a][counts[i]++] = missingPositions[i][newPosition[pos]];
+                    }
+                }
+            }
+        }
+
+        final PresortedAttributeLists[] result = new PresortedAttributeLists[numPartitions];
+        for (int i = 0; i < numPartitions; i++) {
+            result[i] = new PresortedAttributeLists(m_values, m_classValues,
+                    rowIds[i], weights[i], sortedPositions[i]);
+        }
+        return result;
+    }
+}
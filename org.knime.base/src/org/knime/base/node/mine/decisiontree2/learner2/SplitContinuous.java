@@ -47,8 +47,6 @@
  */
 package org.knime.base.node.mine.decisiontree2.learner2;
 
-import java.util.Iterator;
-
 /**
  * This class determines the best split for a numeric attribute.
  *
@@ -95,10 +93,12 @@ public SplitContinuous(final InMemoryTable table, final int attributeIndex,
     }
 
     /**
-     * Constructs the best split for the given numeric attribute list and the
-     * class distribution. The results can be retrieved from getter methods.
+     * Constructs the best split for the given numeric attribute from its
+     * presorted attribute list; the table rows are not sorted. The results
+     * can be retrieved from getter methods.
      *
      * @param table the table with the data for which to create the split
+     * @param lists the presorted attribute lists of the table's rows
      * @param attributeIndex the index of the attribute for which to create the
      *            split
      * @param splitQualityMeasure the quality measure (e.g. gini or gain
@@ -107,9 +107,34 @@ public SplitContinuous(final InMemoryTable table, final int attributeIndex,
      *            of the partition borders, else the upper value of the lower
      *            partition is used
      * @param minObjectsCount the minimum number of objects in at least two
-     *            partitions *
-     * @param above the initial class distribution above this attribute list
-     * @param below the initial class distribution below this attribute list
+     *            partitions
+     */
+    SplitContinuous(final InMemoryTable table,
+            final PresortedAttributeLists lists, final int attributeIndex,
+            final SplitQualityMeasure splitQualityMeasure,
+            final boolean averageSplitpoint, final double minObjectsCount) {
+
+        super(table, attributeIndex, splitQualityMeasure);
+        findBestSplit(table, lists, attributeIndex, splitQualityMeasure,
+                averageSplitpoint, minObjectsCount);
+    }
+
+    /**
+     * Sorts the attribute values of the table's rows and determines the best
+     * split. Equal values are ordered by their row position and the weights
+     * of the missing values are summed in row order, the same way as for
+     * presorted attribute lists. The table itself is not reordered.
+     *
+     * @param table the table with the data for which to create the split
+     * @param attributeIndex the index of the attribute for which to create the
+     *            split
+     * @param splitQualityMeasure the quality measure (e.g. gini or gain
+     *            ratio)
+     * @param averageSplitpoint if true, the split point is set as the average
+     *            of the partition borders, else the upper value of the lower
+     *            partition is used
+     * @param minObjectsCount the minimum number of objects in at least two
+     *            partitions
      */
     private void findBestSplit(final InMemoryTable table,
             final int attributeIndex,
@@ -121,22 +146,134 @@ private void findBestSplit(final InMemoryTable table,
         // default value is the worst one
         setBestQualityMeasure(splitQualityMeasure.getWorstValue());
 
-        // get the iterator for the data rows of the table
-        // (NOTE: the missing values are at the end of the table)
-        Iterator<DataRowWeighted> rowIterator = table.iterator();
+        int numRows = table.getNumberDataRows();
         // if there are no rows return
-        if (!rowIterator.hasNext()) {
+        if (numRows == 0) {
+            // set the quality measure to NaN marking as "not a valid split"
+            setBestQualityMeasure(Double.NaN);
+            return;
+        }
+
+        // collect the attribute values in row order and the frequency array
+        // for the missing values; the missing value frequencies must be
+        // subtracted from the counter
+        double[] rowValues = new double[numRows];
+        int[] rowClassValues = new int[numRows];
+        double[] rowWeights = new double[numRows];
+        double[] missingValueClassFrequencies =
+                new double[table.getClassFrequencyArray().length];
+        int pos = 0;
+        for (DataRowWeighted row : table) {
+            rowValues[pos] = row.getValue(attributeIndex);
+            rowClassValues[pos] = row.getClassValue();
+            rowWeights[pos] = row.getWeight();
+            if (Double.isNaN(rowValues[pos])) {
+                missingValueClassFrequencies[rowClassValues[pos]] +=
+                        rowWeights[pos];
+            }
+            pos++;
+        }
+
+        // gather the ordered attribute list, missing values are not contained
+        int[] sortedPositions =
+                PresortedAttributeLists.sortPositions(rowValues);
+        int numValues = sortedPositions.length;
+        double[] attrValues = new double[numValues];
+        int[] classValues = new int[numValues];
+        double[] weights = new double[numValues];
+        for (int i = 0; i < numValues; i++) {
+            int sortedPos = sortedPositions[i];
+            attrValues[i] = rowValues[sortedPos];
+            classValues[i] = rowClassValues[sortedPos];
+            weights[i] = rowWeights[sortedPos];
+        }
+
+        sweep(table, missingValueClassFrequencies, attrValues, classValues,
+                weights, numValues, averageSplitpoint, minObjectsCount);
+    }
+
+    /**
+     * Determines the best split from the presorted attribute list.
+     *
+     * @param table the table with the data for which to create the split
+     * @param lists the presorted attribute lists of the table's rows
+     * @param attributeIndex the index of the attribute for which to create the
+     *            split
+     * @param splitQualityMeasure the quality measure (e.g. gini or gain
+     *            ratio)
+     * @param averageSplitpoint if true, the split point is set as the average
+     *            of the partition borders, else the upper value of the lower
+     *            partition is used
+     * @param minObjectsCount the minimum number of objects in at least two
+     *            partitions
+     */
+    private void findBestSplit(final InMemoryTable table,
+            final PresortedAttributeLists lists, final int attributeIndex,
+            final SplitQualityMeasure splitQualityMeasure,
+            final boolean averageSplitpoint, final double minObjectsCount) {
+
+        assert !table.isNominal(attributeIndex);
+        assert lists.getNumberRows() == table.getNumberDataRows();
+
+        // default value is the worst one
+        setBestQualityMeasure(splitQualityMeasure.getWorstValue());
+
+        int numRows = lists.getNumberRows();
+        if (numRows == 0) {
             // set the quality measure to NaN marking as "not a valid split"
             setBestQualityMeasure(Double.NaN);
             return;
         }
 
-        // now sort the table on this splits attribute index and get the
-        // frequency array for the missing values
-        // the missing value frequencies must be subtracted from the
-        // counter
+        // the frequency array for the missing values (in row order)
         double[] missingValueClassFrequencies =
-                table.sortDataRows(attributeIndex);
+                new double[table.getClassFrequencyArray().length];
+        for (int pos = 0; pos < numRows; pos++) {
+            if (Double.isNaN(lists.getValue(attributeIndex, pos))) {
+                missingValueClassFrequencies[lists.getClassValue(pos)] +=
+                        lists.getWeight(pos);
+            }
+        }
+
+        // gather the ordered attribute list, missing values are not contained
+        int[] sortedPositions = lists.getSortedPositions(attributeIndex);
+        int numValues = sortedPositions.length;
+        double[] attrValues = new double[numValues];
+        int[] classValues = new int[numValues];
+        double[] weights = new double[numValues];
+        for (int i = 0; i < numValues; i++) {
+            int pos = sortedPositions[i];
+            attrValues[i] = lists.getValue(attributeIndex, pos);
+            classValues[i] = lists.getClassValue(pos);
+            weights[i] = lists.getWeight(pos);
+        }
+
+        sweep(table, missingValueClassFrequencies, attrValues, classValues,
+                weights, numValues, averageSplitpoint, minObjectsCount);
+    }
+
+    /**
+     * Determines the best split by sweeping linearly through the ordered
+     * attribute list.
+     *
+     * @param table the table with the data for which to create the split
+     * @param missingValueClassFrequencies the class frequencies of the rows
+     *            with a missing attribute value
+     * @param attrValues the ordered attribute values
+     * @param classValues the class values in attribute order
+     * @param weights the row weights in attribute order
+     * @param numValues the length of the ordered attribute list
+     * @param averageSplitpoint if true, the split point is set as the average
+     *            of the partition borders, else the upper value of the lower
+     *            partition is used
+     * @param minObjectsCount the minimum number of objects in at least two
+     *            partitions
+     */
+    private void sweep(final InMemoryTable table,
+            final double[] missingValueClassFrequencies,
+            final double[] attrValues, final int[] classValues,
+            final double[] weights, final int numValues,
+            final boolean averageSplitpoint, final double minObjectsCount) {
 
         // the split is determined by sweeping linearly through the
         // ordered attribute list
@@ -173,25 +310,25 @@ private void findBestSplit(final InMemoryTable table,
         double minCount = minObjectsCount;
         
         // check if there are too much missing cells
-        if (alloverCount - alloverMissingValueWeight < 2 * minCount) {
+        if (alloverCount - alloverMissingValueWeight < 2 * minCount
+                || numValues == 0) {
             // set the quality measure to NaN marking as "not a valid split"
             setBestQualityMeasure(Double.NaN);
             return;
         }
 
         // get the first valid attribute value, the class value and its weight
-        DataRowWeighted firstRow = rowIterator.next();
-        double previouseAttrValue = firstRow.getValue(attributeIndex);
-        int previousClassValue = firstRow.getClassValue();
-        double weight = firstRow.getWeight();
+        double previouseAttrValue = attrValues[0];
+        int previousClassValue = classValues[0];
+        double weight = weights[0];
 
         // to remember the best split
         // the best split value is the mean of the two split separating values
         // or the lower value (depends on the parameter "averageSplitPoint")
         double bestSplitValue = Double.NaN;
-        double bestQualityMeasure = splitQualityMeasure.getWorstValue();
+        double bestQualityMeasure = m_splitQualityMeasure.getWorstValue();
         m_partitionValidCount = new double[2];
-        while (rowIterator.hasNext()) {
+        for (int i = 1; i < numValues; i++) {
             // if the above part has too few rows terminate the loop
             if (partitionCount[ABOVE_INDEX] <= minCount) {
                 break;
@@ -202,13 +339,9 @@ private void findBestSplit(final InMemoryTable table,
             partitionCount[BELOW_INDEX] += weight;
             partitionCount[ABOVE_INDEX] -= weight;
 
-            // get the next data row
-            DataRowWeighted row = rowIterator.next();
-            double attrValue = row.getValue(attributeIndex);
-            if (Double.isNaN(attrValue)) {
-                break;
-            }
-            int classValue = row.getClassValue();
+            // get the next value of the attribute list
+            double attrValue = attrValues[i];
+            int classValue = classValues[i];
 
             // the quality measure is only calculated if the value changes
             if (attrValue != previouseAttrValue
@@ -245,7 +378,7 @@ private void findBestSplit(final InMemoryTable table,
             // set the current values to the previous ones
             previouseAttrValue = attrValue;
             previousClassValue = classValue;
-            weight = row.getWeight();
+            weight = weights[i];
         }
 
         setBestQualityMeasure(bestQualityMeasure);
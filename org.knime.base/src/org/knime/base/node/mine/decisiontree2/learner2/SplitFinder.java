@@ -114,6 +114,24 @@ public SplitFinder(final InMemoryTable table,
             }
         }
 
+        selectBestSplit(splitCandidates, splitQualityMeasure);
+    }
+
+    /**
+     * Selects the best split among the given split candidates.
+     *
+     * @param splitCandidates the best splits of the attributes to consider,
+     *            in attribute order
+     * @param splitQualityMeasure the quality measure the candidates were
+     *            evaluated with
+     */
+    SplitFinder(final List<Split> splitCandidates,
+            final SplitQualityMeasure splitQualityMeasure) {
+        selectBestSplit(splitCandidates, splitQualityMeasure);
+    }
+
+    private void selectBestSplit(final List<Split> splitCandidates,
+            final SplitQualityMeasure splitQualityMeasure) {
         // get the best split
         Split bestSplit = null;
         double bestQualityMeasure = splitQualityMeasure.getWorstValue();
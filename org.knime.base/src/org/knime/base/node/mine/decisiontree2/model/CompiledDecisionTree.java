@@ -0,0 +1,878 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.decisiontree2.model;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.base.node.mine.decisiontree2.PMMLArrayType;
+import org.knime.base.node.mine.decisiontree2.PMMLBooleanOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLCompoundPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLFalsePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLMissingValueStrategy;
+import org.knime.base.node.mine.decisiontree2.PMMLNoTrueChildStrategy;
+import org.knime.base.node.mine.decisiontree2.PMMLOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSetOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLSimplePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSimpleSetPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLTruePredicate;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.MissingCell;
+import org.knime.core.util.Pair;
+
+/**
+ * A {@link DecisionTree} compiled into flat arrays for fast prediction. The nodes are numbered in depth first order,
+ * the predicates of the branches are stored by kind, column, operator and threshold, nominal sets as bit masks over a
+ * per column dictionary of the values used in the tree. Rows are read once into a {@link RowView} which holds the
+ * used columns as primitive values.
+ *
+ * <p>
+ * The prediction is identical to {@link DecisionTree#getWinnerAndClasscounts(DataRow, DataTableSpec)}, including the
+ * missing value and no true child strategies and the exceptions thrown for unsupported strategies. Only trees
+ * consisting of {@link DecisionTreeNodeSplitPMML} and {@link DecisionTreeNodeLeaf} nodes with the PMML predicates of
+ * this package can be compiled, see {@link #compile(DecisionTree, DataTableSpec)}.
+ *
+ * <p>
+ * A compiled tree can be used by several threads concurrently, each with its own {@link RowView}. The methods adding
+ * covered patterns modify the underlying tree and must not be called concurrently.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ */
+public final class CompiledDecisionTree {
+
+    private static final byte TRUE = 0;
+
+    private static final byte FALSE = 1;
+
+    private static final byte SIMPLE = 2;
+
+    private static final byte STRING_SET = 3;
+
+    private static final byte DOUBLE_SET = 4;
+
+    private static final byte COMPOUND = 5;
+
+    /** Evaluation results, <code>UNKNOWN</code> corresponds to a <code>null</code> predicate result. */
+    private static final byte RESULT_FALSE = 0;
+
+    private static final byte RESULT_TRUE = 1;
+
+    private static final byte RESULT_UNKNOWN = 2;
+
+    /** The kinds of values in a {@link RowView}. */
+    private static final byte MISSING = 0;
+
+    private static final byte NUMERIC = 1;
+
+    private static final byte STRING = 2;
+
+    /** States of the numeric threshold of a simple predicate. */
+    private static final byte THRESHOLD_VALID = 0;
+
+    private static final byte THRESHOLD_NONE = 1;
+
+    private static final byte THRESHOLD_INVALID = 2;
+
+    private static final Pair<DataCell, LinkedHashMap<DataCell, Double>> NULL_PREDICTION =
+        new Pair<>(new MissingCell("Error in decision tree prediction"), new LinkedHashMap<>());
+
+    // ---------------------------------------------------------------- nodes
+
+    private final DecisionTreeNode[] m_nodes;
+
+    private final int[] m_parent;
+
+    private final boolean[] m_leaf;
+
+    /** The view column of the split attribute that must not be missing, -1 if there is none. */
+    private final int[] m_splitColumn;
+
+    /** The branches of node n are m_firstBranch[n] (incl.) to m_firstBranch[n + 1] (excl.). */
+    private final int[] m_firstBranch;
+
+    private final int[] m_branchPredicate;
+
+    private final int[] m_branchChild;
+
+    /** The node index of the default child, -1 if not available (the tree node throws the exception then). */
+    private final int[] m_defaultChild;
+
+    private final PMMLMissingValueStrategy[] m_mvStrategy;
+
+    private final PMMLNoTrueChildStrategy[] m_ntcStrategy;
+
+    private final Pair<DataCell, LinkedHashMap<DataCell, Double>>[] m_winner;
+
+    // ----------------------------------------------------------- predicates
+
+    private final byte[] m_predKind;
+
+    private final int[] m_predColumn;
+
+    private final PMMLOperator[] m_predOperator;
+
+    private final PMMLSetOperator[] m_predSetOperator;
+
+    private final PMMLBooleanOperator[] m_predBooleanOperator;
+
+    private final byte[] m_predThresholdState;
+
+    private final double[] m_predThreshold;
+
+    private final String[] m_predThresholdString;
+
+    /** The dictionary id of the string threshold, -1 if there is none. */
+    private final int[] m_predThresholdId;
+
+    /** Bit masks over the column dictionary, <code>null</code> if the predicate has no values. */
+    private final long[][] m_predStringSet;
+
+    /** Sorted {@link Double#doubleToLongBits(double)} of the values, <code>null</code> if there are none. */
+    private final long[][] m_predDoubleSet;
+
+    private final int[] m_predFirstChild;
+
+    private final int[] m_predChildCount;
+
+    private final int[] m_predChildren;
+
+    // -------------------------------------------------------------- columns
+
+    /** The table columns read into a {@link RowView}. */
+    private final int[] m_columns;
+
+    /** The string values used by the predicates of each view column, <code>null</code> if there are none. */
+    private final Map<String, Integer>[] m_dictionaries;
+
+    @SuppressWarnings("unchecked")
+    private CompiledDecisionTree(final Compiler c) {
+        final int nodeCount = c.m_nodes.size();
+        m_nodes = c.m_nodes.toArray(new DecisionTreeNode[nodeCount]);
+        m_parent = toArray(c.m_parent);
+        m_leaf = new boolean[nodeCount];
+        m_splitColumn = toArray(c.m_splitColumn);
+        m_firstBranch = new int[nodeCount + 1];
+        m_defaultChild = toArray(c.m_defaultChild);
+        m_mvStrategy = new PMMLMissingValueStrategy[nodeCount];
+        m_ntcStrategy = new PMMLNoTrueChildStrategy[nodeCount];
+        m_winner = new Pair[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            final DecisionTreeNode node = m_nodes[n];
+            m_firstBranch[n + 1] = m_firstBranch[n] + c.m_branchCount.get(n);
+            if (node instanceof DecisionTreeNodeSplit) {
+                final DecisionTreeNodeSplit split = (DecisionTreeNodeSplit)node;
+                m_mvStrategy[n] = split.getMVStrategy();
+                m_ntcStrategy[n] = split.getNTCStrategy();
+                m_winner[n] = splitWinner(split);
+            } else {
+                final DecisionTreeNodeLeaf leaf = (DecisionTreeNodeLeaf)node;
+                m_leaf[n] = true;
+                m_winner[n] = new Pair<>(leaf.getMajorityClass(), leaf.getClassCounts());
+            }
+        }
+        m_branchPredicate = toArray(c.m_branchPredicate);
+        m_branchChild = toArray(c.m_branchChild);
+
+        final int predCount = c.m_predicates.size();
+        m_predKind = new byte[predCount];
+        m_predColumn = new int[predCount];
+        m_predOperator = new PMMLOperator[predCount];
+        m_predSetOperator = new PMMLSetOperator[predCount];
+        m_predBooleanOperator = new PMMLBooleanOperator[predCount];
+        m_predThresholdState = new byte[predCount];
+        m_predThreshold = new double[predCount];
+        m_predThresholdString = new String[predCount];
+        m_predThresholdId = new int[predCount];
+        m_predStringSet = new long[predCount][];
+        m_predDoubleSet = new long[predCount][];
+        m_predFirstChild = new int[predCount];
+        m_predChildCount = new int[predCount];
+        m_predChildren = toArray(c.m_predChildren);
+        m_columns = toArray(c.m_columns);
+        m_dictionaries = new Map[m_columns.length];
+        // the dictionaries must be complete before the thresholds and sets are encoded
+        for (int p = 0; p < predCount; p++) {
+            final PMMLPredicate pred = c.m_predicates.get(p);
+            final int col = c.m_predColumn.get(p);
+            if (pred instanceof PMMLSimplePredicate) {
+                addToDictionary(col, ((PMMLSimplePredicate)pred).getThreshold());
+            } else if (pred instanceof PMMLSimpleSetPredicate) {
+                final Set<String> values = ((PMMLSimpleSetPredicate)pred).getValues();
+                if (values != null && ((PMMLSimpleSetPredicate)pred).getArrayType() == PMMLArrayType.STRING) {
+                    for (String value : values) {
+                        addToDictionary(col, value);
+                    }
+                }
+            }
+        }
+        for (int p = 0; p < predCount; p++) {
+            encode(p, c.m_predicates.get(p), c.m_predColumn.get(p), c.m_predFirstChild.get(p));
+        }
+    }
+
+    private void addToDictionary(final int col, final String value) {
+        if (value == null) {
+            return;
+        }
+        if (m_dictionaries[col] == null) {
+            m_dictionaries[col] = new HashMap<>();
+        }
+        m_dictionaries[col].putIfAbsent(value, m_dictionaries[col].size());
+    }
+
+    private int dictionaryId(final int col, final String value) {
+        final Map<String, Integer> dictionary = m_dictionaries[col];
+        if (value == null || dictionary == null) {
+            return -1;
+        }
+        final Integer id = dictionary.get(value);
+        return id == null ? -1 : id;
+    }
+
+    private void encode(final int p, final PMMLPredicate pred, final int col, final int firstChild) {
+        m_predColumn[p] = col;
+        m_predThresholdId[p] = -1;
+        if (pred instanceof PMMLTruePredicate) {
+            m_predKind[p] = TRUE;
+        } else if (pred instanceof PMMLFalsePredicate) {
+            m_predKind[p] = FALSE;
+        } else if (pred instanceof PMMLSimplePredicate) {
+            m_predKind[p] = SIMPLE;
+            m_predOperator[p] = pred.getOperator();
+            final String threshold = ((PMMLSimplePredicate)pred).getThreshold();
+            m_predThresholdString[p] = threshold;
+            m_predThresholdId[p] = dictionaryId(col, threshold);
+            if (threshold == null || threshold.isEmpty()) {
+                m_predThresholdState[p] = THRESHOLD_NONE;
+            } else {
+                try {
+                    m_predThreshold[p] = Double.parseDouble(threshold);
+                    m_predThresholdState[p] = THRESHOLD_VALID;
+                } catch (NumberFormatException e) {
+                    // only fails when compared with a numeric value, as the tree does
+                    m_predThresholdState[p] = THRESHOLD_INVALID;
+                }
+            }
+        } else if (pred instanceof PMMLSimpleSetPredicate) {
+            final PMMLSimpleSetPredicate setPred = (PMMLSimpleSetPredicate)pred;
+            m_predSetOperator[p] = setPred.getSetOperator();
+            final Set<String> values = setPred.getValues();
+            if (setPred.getArrayType() == PMMLArrayType.STRING) {
+                m_predKind[p] = STRING_SET;
+                if (values != null) {
+                    final int dictionarySize = m_dictionaries[col] == null ? 0 : m_dictionaries[col].size();
+                    final long[] mask = new long[dictionarySize / 64 + 1];
+                    for (String value : values) {
+                        final int id = dictionaryId(col, value);
+                        mask[id >>> 6] |= 1L << id;
+                    }
+                    m_predStringSet[p] = mask;
+                }
+            } else {
+                m_predKind[p] = DOUBLE_SET;
+                // the tree only holds double values for int and real arrays
+                if (values != null && setPred.getArrayType() != null) {
+                    m_predDoubleSet[p] = values.stream().mapToDouble(Double::parseDouble)
+                        .mapToLong(Double::doubleToLongBits).sorted().distinct().toArray();
+                }
+            }
+        } else {
+            final PMMLCompoundPredicate compound = (PMMLCompoundPredicate)pred;
+            m_predKind[p] = COMPOUND;
+            m_predBooleanOperator[p] = compound.getBooleanOperator();
+            m_predFirstChild[p] = firstChild;
+            m_predChildCount[p] = compound.getPredicates().size();
+        }
+    }
+
+    private static Pair<DataCell, LinkedHashMap<DataCell, Double>> splitWinner(final DecisionTreeNodeSplit split) {
+        // same as DecisionTreeNode#getWinnerAndClasscounts for a node where the prediction stops
+        final LinkedHashMap<DataCell, Double> classCounts = split.getNodeClassWeights();
+        DataCell winner = null;
+        double max = 0;
+        for (DataCell key : classCounts.keySet()) {
+            Double val = classCounts.get(key);
+            if (val != null && val > max) {
+                max = val;
+                winner = key;
+            }
+        }
+        return new Pair<>(winner, classCounts);
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compiles the given tree for rows of the given spec.
+     *
+     * @param tree the tree to compile
+     * @param spec the spec of the rows to predict
+     * @return the compiled tree or <code>null</code> if the tree contains nodes or predicates that cannot be compiled
+     *         or refers to columns not contained in the spec; the tree itself must be used for prediction then
+     */
+    public static CompiledDecisionTree compile(final DecisionTree tree, final DataTableSpec spec) {
+        final Compiler compiler = new Compiler(spec);
+        if (tree.getRootNode() == null || !compiler.addNode(tree.getRootNode(), -1)) {
+            return null;
+        }
+        return new CompiledDecisionTree(compiler);
+    }
+
+    /**
+     * @return a new row view to be used with {@link #predict(RowView)}, one per thread
+     */
+    public RowView createRowView() {
+        return new RowView();
+    }
+
+    /**
+     * Determines the node where the prediction of the row ends.
+     *
+     * @param view the row, see {@link RowView#load(DataRow)}
+     * @return the index of the node the prediction is taken from or, if the tree returns a null prediction, minus the
+     *         index of the node where the prediction stopped minus one
+     */
+    public int predict(final RowView view) {
+        view.m_missingSplitValue = false;
+        int node = 0;
+        while (!m_leaf[node]) {
+            final int col = m_splitColumn[node];
+            if (col >= 0 && view.m_kind[col] == MISSING) {
+                // the split value is missing, the prediction stops here
+                view.m_missingSplitValue = true;
+                return node;
+            }
+            final int child = getMatchingChild(node, view);
+            if (child == node) {
+                return node;
+            } else if (child < 0) {
+                return -node - 1;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * @param prediction the result of {@link #predict(RowView)}
+     * @return the winning class and the class counts as returned by
+     *         {@link DecisionTree#getWinnerAndClasscounts(DataRow, DataTableSpec)}, the maps must not be modified
+     */
+    public Pair<DataCell, LinkedHashMap<DataCell, Double>> getWinnerAndClasscounts(final int prediction) {
+        return prediction < 0 ? NULL_PREDICTION : m_winner[prediction];
+    }
+
+    /**
+     * Adds the row as covered pattern (or only its color) to the nodes of the tree, as
+     * {@link DecisionTree#addCoveredPattern(DataRow, DataTableSpec)} and
+     * {@link DecisionTree#addCoveredColor(DataRow, DataTableSpec)} do. The path is taken from the prediction, if a
+     * split value was missing the tree distributes the row among the children itself.
+     *
+     * @param prediction the result of {@link #predict(RowView)} for the row
+     * @param missingSplitValue the result of {@link RowView#hasMissingSplitValue()} after the prediction
+     * @param row the row
+     * @param spec the spec of the row
+     * @param addPattern <code>true</code> to add the pattern, <code>false</code> to add only its color
+     * @throws Exception if the tree fails to add the pattern
+     */
+    public void addCovered(final int prediction, final boolean missingSplitValue, final DataRow row,
+        final DataTableSpec spec, final boolean addPattern) throws Exception {
+        if (missingSplitValue) {
+            if (addPattern) {
+                m_nodes[0].addCoveredPattern(row, spec, 1.0);
+            } else {
+                m_nodes[0].addCoveredColor(row, spec, 1.0);
+            }
+            return;
+        }
+        final Color color = spec.getRowColor(row).getColor();
+        int node;
+        if (prediction < 0) {
+            // the node without matching child ignores the pattern, its ancestors do not
+            node = -prediction - 1;
+        } else {
+            node = prediction;
+            if (!m_leaf[node]) {
+                m_nodes[node].addColorToMap(color, 1.0);
+            } else if (addPattern) {
+                m_nodes[node].addCoveredPattern(row, spec, 1.0);
+            } else {
+                m_nodes[node].addCoveredColor(row, spec, 1.0);
+            }
+        }
+        for (int n = m_parent[node]; n >= 0; n = m_parent[n]) {
+            m_nodes[n].addColorToMap(color, 1.0);
+        }
+    }
+
+    /** Same as DecisionTreeNodeSplitPMML#getMatchingChild, returns -1 for a null prediction. */
+    private int getMatchingChild(final int node, final RowView view) {
+        for (int b = m_firstBranch[node], end = m_firstBranch[node + 1]; b < end; b++) {
+            final byte result = evaluate(m_branchPredicate[b], view);
+            if (result == RESULT_TRUE) {
+                return m_branchChild[b];
+            } else if (result == RESULT_UNKNOWN) {
+                // Apply the missing value strategy
+                switch (m_mvStrategy[node]) {
+                    case NONE:
+                        /* missing counts as false
+                        -> continue with next predicate */
+                        break;
+                    case DEFAULT_CHILD:
+                        if (m_defaultChild[node] < 0) {
+                            // throws the exception describing the problem
+                            ((DecisionTreeNodeSplitPMML)m_nodes[node]).getDefaultChild();
+                        }
+                        return m_defaultChild[node];
+                    case LAST_PREDICTION:
+                        return node;
+                    default:
+                        throw new UnsupportedOperationException(
+                            "Missing value strategy '" + m_mvStrategy[node] + "' is not supported yet.");
+                }
+            }
+        }
+        return m_ntcStrategy[node] == PMMLNoTrueChildStrategy.RETURN_LAST_PREDICTION ? node : -1;
+    }
+
+    private byte evaluate(final int p, final RowView view) {
+        switch (m_predKind[p]) {
+            case TRUE:
+                return RESULT_TRUE;
+            case FALSE:
+                return RESULT_FALSE;
+            case SIMPLE:
+                return evaluateSimple(p, view);
+            case STRING_SET:
+                return evaluateStringSet(p, view);
+            case DOUBLE_SET:
+                return evaluateDoubleSet(p, view);
+            default:
+                return evaluateCompound(p, view);
+        }
+    }
+
+    /** Same as PMMLSimplePredicate#evaluate. */
+    private byte evaluateSimple(final int p, final RowView view) {
+        final int col = m_predColumn[p];
+        final PMMLOperator op = m_predOperator[p];
+        switch (view.m_kind[col]) {
+            case MISSING:
+                if (op == PMMLOperator.IS_MISSING) {
+                    return RESULT_TRUE;
+                } else if (op == PMMLOperator.IS_NOT_MISSING) {
+                    return RESULT_FALSE;
+                }
+                return RESULT_UNKNOWN;
+            case NUMERIC:
+                return toResult(evaluateNumeric(p, op, view.m_values[col]));
+            default:
+                return toResult(evaluateString(p, op, view, col));
+        }
+    }
+
+    private boolean evaluateNumeric(final int p, final PMMLOperator op, final double a) {
+        if (m_predThresholdState[p] == THRESHOLD_NONE) {
+            return op.evaluate(a, null);
+        } else if (m_predThresholdState[p] == THRESHOLD_INVALID) {
+            // throws the same NumberFormatException as the tree
+            Double.parseDouble(m_predThresholdString[p]);
+        }
+        final double b = m_predThreshold[p];
+        switch (op) {
+            case EQUAL:
+                return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+            case NOT_EQUAL:
+                return Double.doubleToLongBits(a) != Double.doubleToLongBits(b);
+            case LESS_THAN:
+                return a < b;
+            case LESS_OR_EQUAL:
+                return a <= b;
+            case GREATER_THAN:
+                return a > b;
+            case GREATER_OR_EQUAL:
+                return a >= b;
+            case IS_MISSING:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private boolean evaluateString(final int p, final PMMLOperator op, final RowView view, final int col) {
+        final String b = m_predThresholdString[p];
+        switch (op) {
+            case EQUAL:
+                return b != null && view.stringId(col) == m_predThresholdId[p];
+            case NOT_EQUAL:
+                return b == null || view.stringId(col) != m_predThresholdId[p];
+            case LESS_THAN:
+                return b != null && view.string(col).compareTo(b) < 0;
+            case LESS_OR_EQUAL:
+                return b != null && view.string(col).compareTo(b) <= 0;
+            case GREATER_THAN:
+                return b != null && view.string(col).compareTo(b) > 0;
+            case GREATER_OR_EQUAL:
+                return b != null && view.string(col).compareTo(b) >= 0;
+            case IS_MISSING:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /** Same as PMMLSimpleSetPredicate#evaluate for string arrays. */
+    private byte evaluateStringSet(final int p, final RowView view) {
+        final int col = m_predColumn[p];
+        if (view.m_kind[col] == MISSING) {
+            return RESULT_UNKNOWN;
+        }
+        final long[] mask = m_predStringSet[p];
+        if (mask == null) {
+            return RESULT_FALSE;
+        }
+        final int id = view.stringId(col);
+        final boolean contained = id >= 0 && (mask[id >>> 6] & (1L << id)) != 0;
+        return toResult(m_predSetOperator[p] == PMMLSetOperator.IS_IN ? contained : !contained);
+    }
+
+    /** Same as PMMLSimpleSetPredicate#evaluate for int and real arrays. */
+    private byte evaluateDoubleSet(final int p, final RowView view) {
+        final int col = m_predColumn[p];
+        if (view.m_kind[col] == MISSING) {
+            return RESULT_UNKNOWN;
+        }
+        // fails for non-numeric values, as the tree does
+        final double a = ((DoubleValue)view.m_cells[col]).getDoubleValue();
+        final long[] values = m_predDoubleSet[p];
+        if (values == null) {
+            return RESULT_FALSE;
+        }
+        final boolean contained = Arrays.binarySearch(values, Double.doubleToLongBits(a)) >= 0;
+        return toResult(m_predSetOperator[p] == PMMLSetOperator.IS_IN ? contained : !contained);
+    }
+
+    /** Same as PMMLCompoundPredicate#evaluate. */
+    private byte evaluateCompound(final int p, final RowView view) {
+        final PMMLBooleanOperator op = m_predBooleanOperator[p];
+        byte eval = RESULT_FALSE;
+        int count = 0;
+        search: for (int i = m_predFirstChild[p], end = i + m_predChildCount[p]; i < end; i++) {
+            eval = evaluate(m_predChildren[i], view);
+            switch (op) {
+                case AND:
+                    if (eval != RESULT_TRUE) {
+                        // break evaluation on first negative result
+                        break search;
+                    }
+                    break;
+                case OR:
+                    if (eval != RESULT_FALSE) {
+                        // break evaluation on first positive result
+                        break search;
+                    }
+                    break;
+                case XOR:
+                    if (eval == RESULT_UNKNOWN) {
+                        break search;
+                    } else if (eval == RESULT_TRUE) {
+                        // count positive results
+                        count++;
+                    }
+                    break;
+                case SURROGATE:
+                    if (eval == RESULT_UNKNOWN) {
+                        // just continue on unknown result (missing values)
+                        continue;
+                    } else {
+                        // break the loop to return the evaluation result
+                        break search;
+                    }
+            }
+        }
+        if (op == PMMLBooleanOperator.XOR) {
+            eval = toResult(count % 2 != 0);
+        }
+        return eval;
+    }
+
+    private static byte toResult(final boolean b) {
+        return b ? RESULT_TRUE : RESULT_FALSE;
+    }
+
+    /**
+     * The values of the columns used by a compiled tree for a single row. Not thread-safe, every thread needs its own
+     * view.
+     */
+    public final class RowView {
+
+        private final DataCell[] m_cells = new DataCell[m_columns.length];
+
+        private final byte[] m_kind = new byte[m_columns.length];
+
+        private final double[] m_values = new double[m_columns.length];
+
+        private final String[] m_strings = new String[m_columns.length];
+
+        private final int[] m_stringIds = new int[m_columns.length];
+
+        private final DataType[] m_lastType = new DataType[m_columns.length];
+
+        private final byte[] m_lastKind = new byte[m_columns.length];
+
+        private boolean m_missingSplitValue;
+
+        private RowView() {
+        }
+
+        /**
+         * Reads the used columns of the row.
+         *
+         * @param row the row to read, with the spec the tree was compiled for
+         */
+        public void load(final DataRow row) {
+            for (int c = 0; c < m_columns.length; c++) {
+                final DataCell cell = row.getCell(m_columns[c]);
+                m_cells[c] = cell;
+                m_strings[c] = null;
+                m_stringIds[c] = -2;
+                if (cell.isMissing()) {
+                    m_kind[c] = MISSING;
+                    continue;
+                }
+                final DataType type = cell.getType();
+                if (type != m_lastType[c]) {
+                    // booleans are compared as strings although they are compatible to double (bug 3308)
+                    m_lastKind[c] = !type.isCompatible(BooleanValue.class) && type.isCompatible(DoubleValue.class)
+                        ? NUMERIC : STRING;
+                    m_lastType[c] = type;
+                }
+                m_kind[c] = m_lastKind[c];
+                if (m_kind[c] == NUMERIC) {
+                    m_values[c] = ((DoubleValue)cell).getDoubleValue();
+                }
+            }
+        }
+
+        /**
+         * @return whether the last prediction stopped because the value of a split attribute was missing
+         */
+        public boolean hasMissingSplitValue() {
+            return m_missingSplitValue;
+        }
+
+        private String string(final int col) {
+            if (m_strings[col] == null) {
+                m_strings[col] = m_cells[col].toString();
+            }
+            return m_strings[col];
+        }
+
+        private int stringId(final int col) {
+            if (m_stringIds[col] == -2) {
+                m_stringIds[col] = dictionaryId(col, string(col));
+            }
+            return m_stringIds[col];
+        }
+    }
+
+    /** Collects the nodes and predicates in depth first order. */
+    private static final class Compiler {
+
+        private final DataTableSpec m_spec;
+
+        private final List<DecisionTreeNode> m_nodes = new ArrayList<>();
+
+        private final List<Integer> m_parent = new ArrayList<>();
+
+        private final List<Integer> m_splitColumn = new ArrayList<>();
+
+        private final List<Integer> m_branchCount = new ArrayList<>();
+
+        private final List<Integer> m_defaultChild = new ArrayList<>();
+
+        private final List<Integer> m_branchPredicate = new ArrayList<>();
+
+        private final List<Integer> m_branchChild = new ArrayList<>();
+
+        private final List<PMMLPredicate> m_predicates = new ArrayList<>();
+
+        private final List<Integer> m_predColumn = new ArrayList<>();
+
+        private final List<Integer> m_predFirstChild = new ArrayList<>();
+
+        private final List<Integer> m_predChildren = new ArrayList<>();
+
+        private final List<Integer> m_columns = new ArrayList<>();
+
+        private final Map<Integer, Integer> m_viewColumns = new HashMap<>();
+
+        Compiler(final DataTableSpec spec) {
+            m_spec = spec;
+        }
+
+        /** @return the view column of the table column, -1 if the column does not exist */
+        private int viewColumn(final String name) {
+            final int index = name == null ? -1 : m_spec.findColumnIndex(name);
+            if (index < 0) {
+                return -1;
+            }
+            return m_viewColumns.computeIfAbsent(index, i -> {
+                m_columns.add(i);
+                return m_columns.size() - 1;
+            });
+        }
+
+        private boolean addNode(final DecisionTreeNode node, final int parent) {
+            final int index = m_nodes.size();
+            m_nodes.add(node);
+            m_parent.add(parent);
+            m_defaultChild.add(-1);
+            if (node instanceof DecisionTreeNodeLeaf) {
+                m_splitColumn.add(-1);
+                m_branchCount.add(0);
+                return true;
+            }
+            if (!(node instanceof DecisionTreeNodeSplitPMML)) {
+                return false;
+            }
+            final DecisionTreeNodeSplitPMML split = (DecisionTreeNodeSplitPMML)node;
+            final String splitAttr = split.getSplitAttr();
+            if (splitAttr != null && !splitAttr.isEmpty()) {
+                final int col = viewColumn(splitAttr);
+                if (col < 0) {
+                    return false;
+                }
+                m_splitColumn.add(col);
+            } else {
+                m_splitColumn.add(-1);
+            }
+            final PMMLPredicate[] predicates = split.getSplitPred();
+            final DecisionTreeNode[] children = split.getChildren();
+            if (predicates == null || children == null || predicates.length != children.length) {
+                return false;
+            }
+            m_branchCount.add(children.length);
+            // the branches are stored contiguously, the children are added after all branches of this node
+            final int firstBranch = m_branchPredicate.size();
+            for (int i = 0; i < children.length; i++) {
+                final int pred = addPredicate(predicates[i]);
+                if (pred < 0) {
+                    return false;
+                }
+                m_branchPredicate.add(pred);
+                m_branchChild.add(-1);
+            }
+            for (int i = 0; i < children.length; i++) {
+                final int child = m_nodes.size();
+                m_branchChild.set(firstBranch + i, child);
+                if (split.getDefaultChildIndex() != -1 && m_defaultChild.get(index) == -1
+                    && children[i].getOwnIndex() == split.getDefaultChildIndex()) {
+                    m_defaultChild.set(index, child);
+                }
+                if (!addNode(children[i], index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int addPredicate(final PMMLPredicate pred) {
+            final int index = m_predicates.size();
+            m_predicates.add(pred);
+            m_predFirstChild.add(-1);
+            if (pred instanceof PMMLTruePredicate || pred instanceof PMMLFalsePredicate) {
+                m_predColumn.add(-1);
+                return index;
+            }
+            if (pred instanceof PMMLSimplePredicate || pred instanceof PMMLSimpleSetPredicate) {
+                final boolean hasOperator = pred instanceof PMMLSimplePredicate ? pred.getOperator() != null
+                    : ((PMMLSimpleSetPredicate)pred).getSetOperator() != null;
+                final int col = viewColumn(pred.getSplitAttribute());
+                m_predColumn.add(col);
+                return hasOperator && col >= 0 ? index : -1;
+            }
+            if (!(pred instanceof PMMLCompoundPredicate)
+                || ((PMMLCompoundPredicate)pred).getBooleanOperator() == null) {
+                return -1;
+            }
+            m_predColumn.add(-1);
+            // children of a compound predicate are stored contiguously
+            final List<PMMLPredicate> children = ((PMMLCompoundPredicate)pred).getPredicates();
+            final int first = m_predChildren.size();
+            m_predFirstChild.set(index, first);
+            for (int i = 0; i < children.size(); i++) {
+                m_predChildren.add(-1);
+            }
+            int i = first;
+            for (PMMLPredicate child : children) {
+                final int childIndex = addPredicate(child);
+                if (childIndex < 0) {
+                    return -1;
+                }
+                m_predChildren.set(i++, childIndex);
+            }
+            return index;
+        }
+    }
+}
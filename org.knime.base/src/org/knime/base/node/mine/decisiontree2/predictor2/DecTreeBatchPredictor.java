@@ -0,0 +1,201 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.decisiontree2.predictor2;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.knime.base.node.mine.decisiontree2.model.CompiledDecisionTree;
+import org.knime.base.node.mine.decisiontree2.model.CompiledDecisionTree.RowView;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.Pair;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.ThreadPoolUtil;
+
+/**
+ * Predicts batches of rows with a {@link CompiledDecisionTree}. Large batches are split into slices that are
+ * predicted in parallel; the results are then consumed in row order by the calling thread, which also adds the covered
+ * patterns to the tree. A failure is reported for the row it occurred in, so the behavior is the same as predicting
+ * row by row.
+ * <p>
+ * There is no node setting for the parallelism: the predictions and the output do not depend on it, and the slices
+ * run on a sub pool of the global thread pool, which is bounded by the maximum thread count of the KNIME preferences.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class DecTreeBatchPredictor {
+
+    /** The number of rows read before they are predicted. */
+    static final int BATCH_SIZE = 4096;
+
+    private static final int MIN_ROWS_PER_SLICE = 512;
+
+    private final CompiledDecisionTree m_tree;
+
+    private final DataTableSpec m_spec;
+
+    private final ThreadPool m_pool;
+
+    private final RowView[] m_views;
+
+    private final int[] m_predictions = new int[BATCH_SIZE];
+
+    private final boolean[] m_missingSplitValues = new boolean[BATCH_SIZE];
+
+    private final int[] m_sliceFailedRow;
+
+    private final RuntimeException[] m_sliceFailure;
+
+    private int m_failedRow;
+
+    private RuntimeException m_failure;
+
+    /**
+     * @param tree the compiled tree
+     * @param spec the spec of the rows
+     */
+    DecTreeBatchPredictor(final CompiledDecisionTree tree, final DataTableSpec spec) {
+        m_tree = tree;
+        m_spec = spec;
+        final int slices =
+            Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), BATCH_SIZE / MIN_ROWS_PER_SLICE));
+        m_pool = slices > 1 ? KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(slices) : null;
+        m_views = new RowView[slices];
+        for (int i = 0; i < slices; i++) {
+            m_views[i] = tree.createRowView();
+        }
+        m_sliceFailedRow = new int[slices];
+        m_sliceFailure = new RuntimeException[slices];
+    }
+
+    /**
+     * Predicts the given rows.
+     *
+     * @param rows the rows, at most {@link #BATCH_SIZE}
+     * @param count the number of rows to predict
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled
+     */
+    void predict(final DataRow[] rows, final int count, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int slices = Math.max(1, Math.min(m_views.length, count / MIN_ROWS_PER_SLICE));
+        final int sliceSize = (count + slices - 1) / slices;
+        if (slices == 1) {
+            predictSlice(0, rows, 0, count);
+        } else {
+            final List<Future<Void>> futures = new ArrayList<>(slices);
+            for (int s = 0; s < slices; s++) {
+                final int slice = s;
+                final int from = s * sliceSize;
+                final int to = Math.min(count, from + sliceSize);
+                futures.add(m_pool.enqueue((Callable<Void>)() -> {
+                    predictSlice(slice, rows, from, to);
+                    return null;
+                }));
+            }
+            ThreadPoolUtil.awaitAll(futures, "Interrupted while predicting");
+        }
+        m_failedRow = Integer.MAX_VALUE;
+        m_failure = null;
+        for (int s = 0; s < slices; s++) {
+            if (m_sliceFailure[s] != null && m_sliceFailedRow[s] < m_failedRow) {
+                m_failedRow = m_sliceFailedRow[s];
+                m_failure = m_sliceFailure[s];
+            }
+        }
+        exec.checkCanceled();
+    }
+
+    private void predictSlice(final int slice, final DataRow[] rows, final int from, final int to) {
+        final RowView view = m_views[slice];
+        m_sliceFailure[slice] = null;
+        for (int r = from; r < to; r++) {
+            try {
+                view.load(rows[r]);
+                m_predictions[r] = m_tree.predict(view);
+                m_missingSplitValues[r] = view.hasMissingSplitValue();
+            } catch (RuntimeException e) {
+                // the remaining rows of the slice are never consumed
+                m_sliceFailedRow[slice] = r;
+                m_sliceFailure[slice] = e;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param index the index of the row in the last batch
+     * @return the winner and class counts, see {@link CompiledDecisionTree#getWinnerAndClasscounts(int)}
+     */
+    Pair<DataCell, LinkedHashMap<DataCell, Double>> getWinnerAndClasscounts(final int index) {
+        if (index == m_failedRow) {
+            throw m_failure;
+        }
+        return m_tree.getWinnerAndClasscounts(m_predictions[index]);
+    }
+
+    /**
+     * Adds the row to the covered patterns (or colors) of the tree.
+     *
+     * @param index the index of the row in the last batch
+     * @param row the row
+     * @param addPattern whether to add the pattern or only its color
+     * @throws Exception if the tree fails to add the pattern
+     */
+    void addCovered(final int index, final DataRow row, final boolean addPattern) throws Exception {
+        m_tree.addCovered(m_predictions[index], m_missingSplitValues[index], row, m_spec, addPattern);
+    }
+}
@@ -62,6 +62,7 @@
 import java.util.zip.GZIPOutputStream;
 
 import org.knime.base.node.mine.decisiontree2.PMMLDecisionTreeTranslator;
+import org.knime.base.node.mine.decisiontree2.model.CompiledDecisionTree;
 import org.knime.base.node.mine.decisiontree2.model.DecisionTree;
 import org.knime.base.node.mine.util.PredictorHelper;
 import org.knime.core.data.DataCell;
@@ -72,6 +73,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.StringValue;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.def.BooleanCell;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
@@ -268,69 +270,104 @@ public PortObject[] execute(final PortObject[] inPorts,
         final long numberRows = inData.size();
         exec.setMessage("Classifying...");
         List<String> predictionValues = getPredictionStrings((PMMLPortObjectSpec)inPorts[INMODELPORT].getSpec());
-        for (DataRow thisRow : inData) {
-            DataCell cl = null;
-            LinkedHashMap<String, Double> classDistrib = null;
-            try {
-                Pair<DataCell, LinkedHashMap<DataCell, Double>> pair
-                        = decTree.getWinnerAndClasscounts(
-                                thisRow, inData.getDataTableSpec());
-                cl = pair.getFirst();
-                LinkedHashMap<DataCell, Double> classCounts =
-                   pair.getSecond();
-
-                classDistrib = getDistribution(classCounts);
-                if (coveredPattern < m_maxNumCoveredPattern.getIntValue()) {
-                    // remember this one for HiLite support
-                    decTree.addCoveredPattern(thisRow, inData
-                            .getDataTableSpec());
-                    coveredPattern++;
-                } else {
-                    // too many patterns for HiLite - at least remember color
-                    decTree.addCoveredColor(thisRow, inData
-                            .getDataTableSpec());
+        // predict on the compiled tree if possible, rows are read in batches
+        // which are predicted in parallel
+        final DataTableSpec inSpec = inData.getDataTableSpec();
+        final CompiledDecisionTree compiledTree =
+                CompiledDecisionTree.compile(decTree, inSpec);
+        final DecTreeBatchPredictor batchPredictor = compiledTree == null
+                ? null : new DecTreeBatchPredictor(compiledTree, inSpec);
+        if (compiledTree == null) {
+            LOGGER.debug("Decision tree cannot be compiled, "
+                    + "using the tree model for prediction.");
+        }
+        final DataRow[] batch = new DataRow[DecTreeBatchPredictor.BATCH_SIZE];
+        final CloseableRowIterator rowIterator = inData.iterator();
+        try {
+            while (rowIterator.hasNext()) {
+                int batchSize = 0;
+                while (batchSize < batch.length && rowIterator.hasNext()) {
+                    batch[batchSize++] = rowIterator.next();
                 }
-                nrPattern++;
-            } catch (Exception e) {
-                LOGGER.error("Decision Tree evaluation failed: "
-                        + e.getMessage());
-                throw e;
-            }
-            if (cl == null) {
-                LOGGER.error("Decision Tree evaluation failed: result empty");
-                throw new Exception("Decision Tree evaluation failed.");
-            }
+                if (batchPredictor != null) {
+                    batchPredictor.predict(batch, batchSize, exec);
+                }
+                for (int r = 0; r < batchSize; r++) {
+                    final DataRow thisRow = batch[r];
+                    DataCell cl = null;
+                    LinkedHashMap<String, Double> classDistrib = null;
+                    try {
+                        Pair<DataCell, LinkedHashMap<DataCell, Double>> pair
+                                = batchPredictor != null
+                                ? batchPredictor.getWinnerAndClasscounts(r)
+                                : decTree.getWinnerAndClasscounts(thisRow, inSpec);
+                        cl = pair.getFirst();
+                        LinkedHashMap<DataCell, Double> classCounts =
+                           pair.getSecond();
+
+                        classDistrib = getDistribution(classCounts);
+                        if (coveredPattern < m_maxNumCoveredPattern.getIntValue()) {
+                            // remember this one for HiLite support
+                            if (batchPredictor != null) {
+                                batchPredictor.addCovered(r, thisRow, true);
+                            } else {
+                                decTree.addCoveredPattern(thisRow, inSpec);
+                            }
+                            coveredPattern++;
+                        } else {
+                            // too many patterns for HiLite - at least remember color
+                            if (batchPredictor != null) {
+                                batchPredictor.addCovered(r, thisRow, false);
+                            } else {
+                                decTree.addCoveredColor(thisRow, inSpec);
+                            }
+                        }
+                        nrPattern++;
+                    } catch (Exception e) {
+                        LOGGER.error("Decision Tree evaluation failed: "
+                                + e.getMessage());
+                        throw e;
+                    }
+                    if (cl == null) {
+                        LOGGER.error("Decision Tree evaluation failed: result empty");
+                        throw new Exception("Decision Tree evaluation failed.");
+                    }
 
-            DataCell[] newCells = new DataCell[outSpec.getNumColumns()];
-            int numInCells = thisRow.getNumCells();
-            for (int i = 0; i < numInCells; i++) {
-                newCells[i] = thisRow.getCell(i);
-            }
+                    DataCell[] newCells = new DataCell[outSpec.getNumColumns()];
+                    int numInCells = thisRow.getNumCells();
+                    for (int i = 0; i < numInCells; i++) {
+                        newCells[i] = thisRow.getCell(i);
+                    }
 
-            if (m_showDistribution.getBooleanValue()) {
-                assert predictionValues.size() >= newCells.length - 1 - numInCells : "Could not determine the prediction values: "
-                    + newCells.length + "; " + numInCells + "; " + predictionValues;
-                for (int i = numInCells; i < newCells.length - 1; i++) {
-                    String predClass = predictionValues.get(i - numInCells);
-                    if (classDistrib != null
-                            && classDistrib.get(predClass) != null) {
-                        newCells[i] = new DoubleCell(
-                                classDistrib.get(predClass));
-                    } else {
-                        newCells[i] = new DoubleCell(0.0);
+                    if (m_showDistribution.getBooleanValue()) {
+                        assert predictionValues.size() >= newCells.length - 1 - numInCells
+                            : "Could not determine the prediction values: "
+                            + newCells.length + "; " + numInCells + "; " + predictionValues;
+                        for (int i = numInCells; i < newCells.length - 1; i++) {
+                            String predClass = predictionValues.get(i - numInCells);
+                            if (classDistrib != null
+                                    && classDistrib.get(predClass) != null) {
+                                newCells[i] = new DoubleCell(
+                                        classDistrib.get(predClass));
+                            } else {
+                                newCells[i] = new DoubleCell(0.0);
+                            }
+                        }
                     }
-                }
-            }
-            newCells[newCells.length - 1] = cl;
+                    newCells[newCells.length - 1] = cl;
 
-            outData.addRowToTable(new DefaultRow(thisRow.getKey(), newCells));
+                    outData.addRowToTable(new DefaultRow(thisRow.getKey(), newCells));
 
-            rowCount++;
-            if (rowCount % 100 == 0) {
-                exec.setProgress(rowCount / (double) numberRows,
-                        "Classifying... Row " + rowCount + " of " + numberRows);
+                    rowCount++;
+                    if (rowCount % 100 == 0) {
+                        exec.setProgress(rowCount / (double) numberRows,
+                                "Classifying... Row " + rowCount + " of " + numberRows);
+                    }
+                    exec.checkCanceled();
+                }
             }
-            exec.checkCanceled();
+        } finally {
+            rowIterator.close();
         }
         if (coveredPattern < nrPattern) {
             // let the user know that we did not store all available pattern
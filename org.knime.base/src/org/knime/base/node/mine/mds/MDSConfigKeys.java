@@ -92,5 +92,11 @@ public class MDSConfigKeys {
     /**
      * The configuration key for columns to use.
      */
-    public static final String CFGKEY_SEED = "Seed";    
+    public static final String CFGKEY_SEED = "Seed";
+
+    /**
+     * The configuration key for the parallel training.
+     * @since 4.6
+     */
+    public static final String CFGKEY_PARALLEL = "ParallelTraining";
 }
@@ -0,0 +1,546 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.mds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.function.DoubleUnaryOperator;
+
+import org.knime.base.node.mine.mds.distances.RowDistanceManager;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
+
+/**
+ * The training loop shared by the {@link MDSManager} and the
+ * <code>MDSProjectionManager</code>. The input rows are read only once and
+ * the lower dimensional points are kept in a single primitive array. The
+ * disparities (the transformed high dimensional distances) between the rows
+ * are computed once and stored in a condensed (upper triangular) matrix if it
+ * fits into {@link #MAX_CACHED_DISPARITIES} entries and a quarter of the
+ * available memory, otherwise they are recomputed from the in-memory rows
+ * whenever needed.
+ * <p>
+ * Optionally each point is adjusted to a set of fixed anchor points, whose
+ * lower dimensional representation is given and never changes, before it is
+ * adjusted to the other points.
+ * <p>
+ * With a parallelism of one, an epoch updates the points in place one after
+ * the other, i.e. the adjustment of a point already sees the new positions of
+ * all preceding points. This reproduces the results of the original
+ * implementation exactly. With a larger parallelism an epoch is computed
+ * Jacobi-style: all points are adjusted to the positions of the previous epoch
+ * and written to a second buffer, which allows to process the points
+ * concurrently. The result does not depend on the number of threads, but
+ * differs from the one of the sequential update.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ */
+public final class MDSEngine {
+
+    /**
+     * The maximum number of disparities that are cached (256 MB). Fewer are
+     * cached if they would take more than a quarter of the available memory.
+     */
+    public static final long MAX_CACHED_DISPARITIES = 1L << 25;
+
+    private final int m_dimension;
+
+    private final RowDistanceManager m_distMan;
+
+    private final DoubleUnaryOperator m_disparityTransformation;
+
+    private final int m_parallelism;
+
+    private final DataRow[] m_rows;
+
+    private double[] m_coords;
+
+    private double[] m_nextCoords;
+
+    private DataRow[] m_anchorRows = new DataRow[0];
+
+    private double[] m_anchorCoords = new double[0];
+
+    private boolean[] m_frozen;
+
+    private double m_snapThreshold = Double.NEGATIVE_INFINITY;
+
+    private boolean m_adjustToPoints = true;
+
+    private double[] m_disparities;
+
+    private double[] m_anchorDisparities;
+
+    private ThreadPool m_pool;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while computing the MDS");
+
+    /**
+     * Creates a new instance of <code>MDSEngine</code> and reads the rows of
+     * the given data table into memory. The rows must not contain missing
+     * values.
+     *
+     * @param data The rows to compute the lower dimensional points for.
+     * @param distManager The distance metric (manager) to use for the high
+     * dimensional rows, it must be symmetric and, if the parallelism is larger
+     * than one, thread-safe.
+     * @param disparityTransformation Transforms the high dimensional distances
+     * into disparities.
+     * @param dimension The dimension of the lower dimensional points.
+     * @param parallelism The number of threads to use, one for the sequential
+     * (in place) update.
+     * @param exec The <code>ExecutionMonitor</code> to monitor the progress.
+     * @throws CanceledExecutionException If execution was canceled by the user.
+     * @throws IllegalArgumentException If the dimension or the parallelism is
+     * less than one.
+     */
+    public MDSEngine(final DataTable data,
+            final RowDistanceManager distManager,
+            final DoubleUnaryOperator disparityTransformation,
+            final int dimension, final int parallelism,
+            final ExecutionMonitor exec)
+    throws CanceledExecutionException, IllegalArgumentException {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException(
+                    "Dimension must not be smaller than 1!");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Parallelism must not be smaller than 1!");
+        }
+        m_dimension = dimension;
+        m_distMan = distManager;
+        m_disparityTransformation = disparityTransformation;
+        m_parallelism = parallelism;
+        m_rows = readRows(data, exec);
+        m_coords = new double[m_rows.length * dimension];
+    }
+
+    private static DataRow[] readRows(final DataTable data,
+            final ExecutionMonitor exec) throws CanceledExecutionException {
+        List<DataRow> rows = new ArrayList<DataRow>();
+        RowIterator it = data.iterator();
+        while (it.hasNext()) {
+            exec.checkCanceled();
+            rows.add(it.next());
+        }
+        return rows.toArray(new DataRow[rows.size()]);
+    }
+
+    /**
+     * Sets the fixed anchor points each point is adjusted to first. Only rows
+     * that have a lower dimensional representation in the given map are used.
+     *
+     * @param anchors The high dimensional anchor rows.
+     * @param anchorPoints The lower dimensional anchor points by row key.
+     * @param exec The <code>ExecutionMonitor</code> to enable canceling.
+     * @throws CanceledExecutionException If execution was canceled by the user.
+     */
+    public void setAnchors(final DataTable anchors,
+            final Map<RowKey, DataPoint> anchorPoints,
+            final ExecutionMonitor exec) throws CanceledExecutionException {
+        List<DataRow> rows = new ArrayList<DataRow>();
+        for (DataRow row : readRows(anchors, exec)) {
+            if (anchorPoints.containsKey(row.getKey())) {
+                rows.add(row);
+            }
+        }
+        m_anchorRows = rows.toArray(new DataRow[rows.size()]);
+        m_anchorCoords = new double[m_anchorRows.length * m_dimension];
+        for (int a = 0; a < m_anchorRows.length; a++) {
+            DataPoint p = anchorPoints.get(m_anchorRows[a].getKey());
+            for (int d = 0; d < m_dimension; d++) {
+                m_anchorCoords[a * m_dimension + d] = p.getElementAt(d);
+            }
+        }
+        m_anchorDisparities = null;
+    }
+
+    /**
+     * Sets the disparity threshold below which a point is set to the position
+     * of the point it is adjusted to and not moved anymore afterwards. By
+     * default points are never fixed.
+     *
+     * @param snapThreshold The disparity threshold.
+     */
+    public void setSnapThreshold(final double snapThreshold) {
+        m_snapThreshold = snapThreshold;
+    }
+
+    /**
+     * @param adjustToPoints <code>true</code> if the points are adjusted to
+     * each other (default), <code>false</code> if they are only adjusted to
+     * the anchor points.
+     */
+    public void setAdjustToPoints(final boolean adjustToPoints) {
+        if (adjustToPoints != m_adjustToPoints) {
+            m_disparities = null;
+        }
+        m_adjustToPoints = adjustToPoints;
+    }
+
+    /**
+     * Initializes the lower dimensional points randomly in the unit cube, in
+     * the order of the rows.
+     *
+     * @param seed The random seed to use.
+     */
+    public void init(final long seed) {
+        Random rand = new Random(seed);
+        for (int i = 0; i < m_coords.length; i++) {
+            m_coords[i] = rand.nextDouble();
+        }
+        m_frozen = new boolean[m_rows.length];
+    }
+
+    /**
+     * Computes the disparities that are needed for the training if they don't
+     * exceed {@link #MAX_CACHED_DISPARITIES} or a quarter of the available
+     * memory.
+     *
+     * @param exec The <code>ExecutionMonitor</code> to monitor the progress.
+     * @throws CanceledExecutionException If execution was canceled by the user.
+     */
+    public void cacheDisparities(final ExecutionMonitor exec)
+    throws CanceledExecutionException {
+        final int n = m_rows.length;
+        final int m = m_anchorRows.length;
+        final long pairCount = m_adjustToPoints ? (long)n * (n - 1) / 2 : 0;
+        final long anchorCount = (long)n * m;
+        if (pairCount + anchorCount > getMaxCachedDisparities()) {
+            return;
+        }
+        exec.setMessage("Computing distances");
+        final double[] anchorDisparities = new double[(int)anchorCount];
+        final double[] disparities =
+            m_adjustToPoints ? new double[(int)pairCount] : null;
+        // interleave the rows, the first rows have the most pairs to compute
+        forEachPoint(exec, new PointTask() {
+            @Override
+            public void process(final int i) {
+                for (int a = 0; a < m; a++) {
+                    anchorDisparities[i * m + a] = computeDisparity(
+                            m_rows[i], m_anchorRows[a]);
+                }
+                if (disparities != null) {
+                    long offset = pairIndex(i, i + 1, n);
+                    for (int j = i + 1; j < n; j++) {
+                        disparities[(int)offset++] =
+                            computeDisparity(m_rows[i], m_rows[j]);
+                    }
+                }
+            }
+        }, true);
+        m_anchorDisparities = anchorDisparities;
+        m_disparities = disparities;
+    }
+
+    private static long getMaxCachedDisparities() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long available = runtime.maxMemory()
+            - (runtime.totalMemory() - runtime.freeMemory());
+        return Math.min(MAX_CACHED_DISPARITIES, available / 4 / Double.BYTES);
+    }
+
+    private static long pairIndex(final int i, final int j, final int n) {
+        return (long)i * n - (long)i * (i + 1) / 2 + (j - i - 1);
+    }
+
+    private double computeDisparity(final DataRow r1, final DataRow r2) {
+        return m_disparityTransformation.applyAsDouble(
+                m_distMan.getDistance(r1, r2));
+    }
+
+    private double getDisparity(final int i, final int j) {
+        if (m_disparities == null) {
+            return computeDisparity(m_rows[i], m_rows[j]);
+        }
+        return i < j ? m_disparities[(int)pairIndex(i, j, m_rows.length)]
+                : m_disparities[(int)pairIndex(j, i, m_rows.length)];
+    }
+
+    private double getAnchorDisparity(final int i, final int a) {
+        if (m_anchorDisparities == null) {
+            return computeDisparity(m_rows[i], m_anchorRows[a]);
+        }
+        return m_anchorDisparities[i * m_anchorRows.length + a];
+    }
+
+    /**
+     * Adjusts all points once to the anchor points and, if enabled, to all
+     * other points.
+     *
+     * @param learningrate The learn rate, specifying the step size of
+     * adjustment.
+     * @param exec The <code>ExecutionMonitor</code> to enable canceling.
+     * @throws CanceledExecutionException If execution was canceled by the user.
+     */
+    public void doEpoch(final double learningrate, final ExecutionMonitor exec)
+    throws CanceledExecutionException {
+        if (m_frozen == null) {
+            init(MDSManager.DEFAULT_SEED);
+        }
+        if (m_parallelism == 1) {
+            for (int i = 0; i < m_rows.length; i++) {
+                exec.checkCanceled();
+                adjustPoint(i, m_coords, m_coords, learningrate);
+            }
+            return;
+        }
+        if (m_nextCoords == null) {
+            m_nextCoords = new double[m_coords.length];
+        }
+        final double[] current = m_coords;
+        final double[] next = m_nextCoords;
+        forEachPoint(exec, new PointTask() {
+            @Override
+            public void process(final int i) {
+                System.arraycopy(current, i * m_dimension, next,
+                        i * m_dimension, m_dimension);
+                adjustPoint(i, next, current, learningrate);
+            }
+        }, false);
+        m_coords = next;
+        m_nextCoords = current;
+    }
+
+    /**
+     * Adjusts the point at index i, which is read from and written to
+     * <code>own</code>, to the anchor points and the other points, which are
+     * read from <code>others</code>.
+     */
+    private void adjustPoint(final int i, final double[] own,
+            final double[] others, final double learningrate) {
+        final int offset = i * m_dimension;
+        for (int a = 0; a < m_anchorRows.length && !m_frozen[i]; a++) {
+            adjustDataPoint(i, own, offset, m_anchorCoords, a * m_dimension,
+                    getAnchorDisparity(i, a), learningrate);
+        }
+        if (m_adjustToPoints) {
+            for (int j = 0; j < m_rows.length && !m_frozen[i]; j++) {
+                if (j != i) {
+                    adjustDataPoint(i, own, offset, others, j * m_dimension,
+                            getDisparity(i, j), learningrate);
+                }
+            }
+        }
+    }
+
+    private void adjustDataPoint(final int i, final double[] own,
+            final int offset, final double[] other, final int otherOffset,
+            final double disparity, final double learningrate) {
+        if (adjustDataPoint(own, offset, other, otherOffset, m_dimension,
+                disparity, m_snapThreshold, learningrate)) {
+            m_frozen[i] = true;
+        }
+    }
+
+    /**
+     * Adjusts a lower dimensional point to another one according to the
+     * disparity of their high dimensional rows. If the disparity does not
+     * exceed the snap threshold, the point is set to the other point.
+     *
+     * @param own The array holding the point to adjust.
+     * @param offset The offset of the point in <code>own</code>.
+     * @param other The array holding the point to adjust to.
+     * @param otherOffset The offset of the other point in <code>other</code>.
+     * @param dimension The dimension of the lower dimensional points.
+     * @param disparity The disparity of the high dimensional rows.
+     * @param snapThreshold The disparity threshold below which the point is
+     * set to the other point.
+     * @param learningrate The learn rate, specifying the step size of
+     * adjustment.
+     * @return <code>true</code> if the point has been set to the other point.
+     */
+    public static boolean adjustDataPoint(final double[] own, final int offset,
+            final double[] other, final int otherOffset, final int dimension,
+            final double disparity, final double snapThreshold,
+            final double learningrate) {
+        if (disparity <= snapThreshold) {
+            // if the rows are (nearly) equal the point is set to the other
+            System.arraycopy(other, otherOffset, own, offset, dimension);
+            return true;
+        }
+        // use only the Euclidean distance for low dimensional data,
+        // computed like Distances#getEuclideanDistance(DataPoint, DataPoint)
+        double distance = 0;
+        for (int d = 0; d < dimension; d++) {
+            distance += Math.pow(
+                    Math.abs(own[offset + d] - other[otherOffset + d]), 2);
+        }
+        distance = Math.pow(distance, (double)1 / (double)2);
+        if (distance != 0) {
+            final double factor = 1 - (disparity / distance);
+            for (int d = 0; d < dimension; d++) {
+                double value = own[offset + d];
+                double delta = learningrate * factor
+                        * (other[otherOffset + d] - value);
+                own[offset + d] = value + delta;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of points.
+     */
+    public int getRowCount() {
+        return m_rows.length;
+    }
+
+    /**
+     * @param i The index of the point.
+     * @return The key of the row of the point.
+     */
+    public RowKey getRowKey(final int i) {
+        return m_rows[i].getKey();
+    }
+
+    /**
+     * @param i The index of the point.
+     * @return <code>true</code> if the point has been set to the position of
+     * another point because their disparity was below the snap threshold.
+     */
+    public boolean isFrozen(final int i) {
+        return m_frozen != null && m_frozen[i];
+    }
+
+    /**
+     * Writes the current lower dimensional points into the given map, existing
+     * <code>DataPoint</code>s are updated.
+     *
+     * @param points The map to store the points in by row key.
+     */
+    public void copyTo(final Map<RowKey, DataPoint> points) {
+        for (int i = 0; i < m_rows.length; i++) {
+            RowKey key = m_rows[i].getKey();
+            DataPoint p = points.get(key);
+            if (p == null) {
+                p = new DataPoint(m_dimension);
+                points.put(key, p);
+            }
+            for (int d = 0; d < m_dimension; d++) {
+                p.setElementAt(d, m_coords[i * m_dimension + d]);
+            }
+        }
+    }
+
+    /** Processes a single point, different points may run concurrently. */
+    private interface PointTask {
+        void process(int i);
+    }
+
+    /**
+     * Runs the task for all points, in parallel if the parallelism is larger
+     * than one.
+     *
+     * @param interleaved <code>true</code> to assign the points round robin to
+     * the threads, <code>false</code> for contiguous ranges
+     */
+    private void forEachPoint(final ExecutionMonitor exec,
+            final PointTask task, final boolean interleaved)
+    throws CanceledExecutionException {
+        final int n = m_rows.length;
+        final int workers = Math.min(m_parallelism, n);
+        if (workers <= 1) {
+            for (int i = 0; i < n; i++) {
+                exec.checkCanceled();
+                task.process(i);
+            }
+            return;
+        }
+        if (m_pool == null) {
+            m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(
+                    m_parallelism);
+        }
+        try {
+            for (int w = 0; w < workers; w++) {
+                final int worker = w;
+                m_pending.add(m_pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CanceledExecutionException {
+                        if (interleaved) {
+                            for (int i = worker; i < n; i += workers) {
+                                exec.checkCanceled();
+                                task.process(i);
+                            }
+                        } else {
+                            final int end = (int)((long)n * (worker + 1)
+                                    / workers);
+                            for (int i = (int)((long)n * worker / workers);
+                                    i < end; i++) {
+                                exec.checkCanceled();
+                                task.process(i);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            awaitPending(exec);
+        } finally {
+            m_pending.cancel();
+        }
+    }
+
+    private void awaitPending(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_pending.await();
+        exec.checkCanceled();
+    }
+}
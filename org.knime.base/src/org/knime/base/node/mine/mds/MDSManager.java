@@ -48,17 +48,13 @@
 package org.knime.base.node.mine.mds;
 
 import java.util.Hashtable;
-import java.util.Random;
 
-import org.knime.base.node.mine.mds.distances.DistanceManager;
 import org.knime.base.node.mine.mds.distances.DistanceManagerFactory;
 import org.knime.base.node.mine.mds.distances.RowDistanceManager;
 import org.knime.base.node.preproc.filter.row.RowFilterTable;
 import org.knime.base.node.preproc.filter.row.rowfilter.IRowFilter;
 import org.knime.base.node.preproc.filter.row.rowfilter.MissingCellRowFilter;
-import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
-import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -103,8 +99,6 @@ public class MDSManager {
 
     private RowDistanceManager m_distMan;
 
-    private DistanceManager m_euclideanDistMan;
-
     private DataTable m_inData;
 
     private Hashtable<RowKey, DataPoint> m_points;
@@ -121,6 +115,10 @@ public class MDSManager {
 
     private ExecutionMonitor m_exec;
 
+    private boolean m_parallel = false;
+
+    private MDSEngine m_engine;
+
     /**
      * Creates a new instance of <code>MDSManager</code> with the given
      * dimension, type of distance metric, fuzzy flag and in data to use. If the
@@ -191,10 +189,6 @@ public MDSManager(final int dimension, final RowDistanceManager distManager,
         }
         m_dimension = dimension;
         m_distMan = distManager;
-        m_euclideanDistMan = DistanceManagerFactory.createDistanceManager(
-                DistanceManagerFactory.EUCLIDEAN_DIST, fuzzy);
-
-
         IRowFilter rf = new MissingCellRowFilter();
         m_inData = new RowFilterTable(inData, rf);
         m_exec = exec.createSubExecutionContext(0.9);
@@ -210,24 +204,17 @@ public MDSManager(final int dimension, final RowDistanceManager distManager,
      */
     public void init(final long seed) throws CanceledExecutionException {
         m_isInit = true;
-        Random rand = new Random(seed);
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.1);
-
-        // init all data points
-        RowIterator it = m_inData.iterator();
-        while (it.hasNext()) {
-            exec.checkCanceled();
-
-            DataRow row = it.next();
-            DataPoint p = new DataPoint(m_dimension);
-            for (int j = 0; j < m_dimension; j++) {
-                p.setElementAt(j, rand.nextDouble());
-            }
-            m_points.put(row.getKey(), p);
-
-            exec.setProgress("Initialising data points.");
-        }
+        exec.setProgress("Initialising data points.");
+
+        // read the data once and init all data points
+        m_engine = new MDSEngine(m_inData, m_distMan,
+                this::disparityTransformation, m_dimension,
+                m_parallel ? Runtime.getRuntime().availableProcessors() : 1,
+                exec);
+        m_engine.init(seed);
+        m_engine.copyTo(m_points);
     }
 
     /**
@@ -246,68 +233,32 @@ public void train(final int epochs, final double learningrate)
         }
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.9);
+        m_engine.cacheDisparities(exec.createSubProgress(0.1));
+        ExecutionMonitor trainExec = exec.createSubProgress(0.9);
 
         m_learningrate = learningrate;
         m_initialLearningrate = learningrate;
         m_epochs = epochs;
         for (int e = 1; e <= epochs; e++) {
-            exec.setMessage("Start training");
-            exec.checkCanceled();
-            doEpoch(e, exec);
+            trainExec.setMessage("Start training");
+            trainExec.checkCanceled();
+            doEpoch(e, trainExec);
 
             double prog = (double)e / (double)epochs;
-            exec.setProgress(prog, "Training epoch " + e + " of " + epochs);
+            trainExec.setProgress(prog,
+                    "Training epoch " + e + " of " + epochs);
         }
+        m_engine.copyTo(m_points);
     }
 
     private void doEpoch(final int epoch, final ExecutionMonitor exec)
     throws CanceledExecutionException {
         // through all data points
-        RowIterator it1 = m_inData.iterator();
-        while (it1.hasNext()) {
-            DataRow r1 = it1.next();
-            DataPoint p1 = m_points.get(r1.getKey());
-
-            // through all data points again
-            RowIterator it2 = m_inData.iterator();
-            while (it2.hasNext()) {
-                exec.checkCanceled();
-
-                DataRow r2 = it2.next();
-                DataPoint p2 = m_points.get(r2.getKey());
-
-                adjustDataPoint(p1, p2, r1, r2);
-            }
-        }
+        m_engine.doEpoch(m_learningrate, exec);
 
         adjustLearningRate(epoch);
     }
 
-    private void adjustDataPoint(final DataPoint p1, final DataPoint p2,
-            final DataRow r1, final DataRow r2) {
-        if (!p1.equals(p2)) {
-            double disparity =
-                    disparityTransformation(m_distMan.getDistance(r1, r2));
-
-            // double distance = m_distMan.getDistance(p1, p2);
-            // use only the Euclidean distance for low
-            // dimensional data.
-            double distance = m_euclideanDistMan.getDistance(p1, p2);
-
-            // through all dimensions
-            for (int d = 0; d < m_dimension; d++) {
-                double value = p1.getElementAt(d);
-                if (distance != 0) {
-                    double delta =
-                            m_learningrate * (1 - (disparity / distance))
-                                    * (p2.getElementAt(d) - value);
-                    p1.setElementAt(d, value + delta);
-                }
-            }
-        }
-    }
-
-
     private double disparityTransformation(final double distance) {
         return distance;
     }
@@ -334,6 +285,21 @@ public Hashtable<RowKey, DataPoint> getDataPoints() {
     public void reset() {
         m_points.clear();
         m_isInit = false;
+        m_engine = null;
+    }
+
+    /**
+     * Sets whether the data points are adjusted in parallel. In this case all
+     * points of an epoch are adjusted to the positions of the previous epoch,
+     * which leads to different results than the default sequential training,
+     * where each point is moved immediately. Must be set before
+     * {@link #init(long)} is called.
+     *
+     * @param parallel <code>true</code> to train in parallel.
+     * @since 4.6
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
     }
 
     /**
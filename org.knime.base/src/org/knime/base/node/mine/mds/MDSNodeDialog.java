@@ -156,6 +156,17 @@ public static SettingsModelIntegerBounded getSeedModel() {
                 MDSManager.DEFAULT_SEED, MDSManager.MIN_SEED, 
                 MDSManager.MAX_SEED);
     }
+
+    /**
+     * @return Creates and returns a new instance of
+     * <code>SettingsModelBoolean</code> specifying if the data points are
+     * adjusted in parallel.
+     * @since 4.6
+     */
+    public static SettingsModelBoolean getParallelModel() {
+        return new SettingsModelBoolean(MDSConfigKeys.CFGKEY_PARALLEL,
+                MDSNodeModel.DEF_PARALLEL);
+    }
     
     
     private SettingsModelIntegerBounded m_rowsModel;
@@ -205,6 +216,9 @@ public MDSNodeDialog() {
         addDialogComponent(new DialogComponentStringSelection(
                 getDistanceModel(), "Distance metric: ", distanceMetric));
         
+        addDialogComponent(new DialogComponentBoolean(getParallelModel(),
+                "Parallel training"));
+        
         closeCurrentGroup();
 
         createNewTab("Input data");
@@ -156,6 +156,12 @@ public class MDSNodeModel extends NodeModel {
     public static final String DEF_DISTANCE =
         DistanceManagerFactory.EUCLIDEAN_DIST;
 
+    /**
+     * By default the data points are adjusted sequentially.
+     * @since 4.6
+     */
+    public static final boolean DEF_PARALLEL = false;
+
 
 
     private SettingsModelIntegerBounded m_rowsModel =
@@ -181,6 +187,9 @@ public class MDSNodeModel extends NodeModel {
     private SettingsModelIntegerBounded m_seedModel =
         MDSNodeDialog.getSeedModel();
 
+    private SettingsModelBoolean m_parallelModel =
+        MDSNodeDialog.getParallelModel();
+
     private MDSManager m_manager;
 
     private List<String> m_includeList;
@@ -290,6 +299,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         // create MDS manager, init and train stuff
         m_manager = new MDSManager(m_outputDimModel.getIntValue(),
                 m_distModel.getStringValue(), m_fuzzy, rowCutDataTable, exec);
+        m_manager.setParallel(m_parallelModel.getBooleanValue());
         m_manager.init(m_seedModel.getIntValue());
         m_manager.train(m_epochsModel.getIntValue(),
                 m_learnrateModel.getDoubleValue());
@@ -368,6 +378,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
         m_rowsModel.loadSettingsFrom(settings);
         m_seedModel.loadSettingsFrom(settings);
         m_useRowsModel.loadSettingsFrom(settings);
+        try {
+            m_parallelModel.loadSettingsFrom(settings);
+        } catch (InvalidSettingsException e) {
+            // added in 4.6, older nodes train sequentially
+            m_parallelModel.setBooleanValue(false);
+        }
         checkUncheck();
     }
 
@@ -394,6 +410,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_rowsModel.saveSettingsTo(settings);
         m_seedModel.saveSettingsTo(settings);
         m_useRowsModel.saveSettingsTo(settings);
+        m_parallelModel.saveSettingsTo(settings);
     }
 
     /**
@@ -50,11 +50,11 @@
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.Random;
 import java.util.Set;
 
 import org.knime.base.data.filter.column.FilterColumnTable;
 import org.knime.base.node.mine.mds.DataPoint;
+import org.knime.base.node.mine.mds.MDSEngine;
 import org.knime.base.node.mine.mds.MDSManager;
 import org.knime.base.node.mine.mds.distances.DistanceManager;
 import org.knime.base.node.mine.mds.distances.DistanceManagerFactory;
@@ -187,6 +187,10 @@ public class MDSProjectionManager {
      */
     protected boolean m_projectOnly = true;
 
+    private boolean m_parallel = false;
+
+    private MDSEngine m_engine;
+
     /**
      * Creates a new instance of <code>MDSProjectionManager</code> with the
      * given dimension, distance metric, fuzzy flag, in data and fixed data to
@@ -342,24 +346,18 @@ protected void preprocFixedDataPoints(final int[] fixedDataMdsIndices)
      */
     public void init(final long seed) throws CanceledExecutionException {
         m_isInit = true;
-        Random rand = new Random(seed);
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.1);
-
-        // init all data points
-        RowIterator it = m_inData.iterator();
-        while (it.hasNext()) {
-            exec.checkCanceled();
-
-            DataRow row = it.next();
-            DataPoint p = new DataPoint(m_dimension);
-            for (int j = 0; j < m_dimension; j++) {
-                p.setElementAt(j, rand.nextDouble());
-            }
-            m_points.put(row.getKey(), p);
-
-            exec.setProgress("Initialising data points.");
-        }
+        exec.setProgress("Initialising data points.");
+
+        // read the data once and init all data points
+        m_engine = new MDSEngine(m_inData, m_distMan,
+                this::disparityTransformation, m_dimension,
+                m_parallel ? Runtime.getRuntime().availableProcessors() : 1,
+                exec);
+        m_engine.setAnchors(m_fixedDataPoints, m_fixedPoints, exec);
+        m_engine.init(seed);
+        m_engine.copyTo(m_points);
     }
 
     /**
@@ -378,17 +376,30 @@ public void train(final int epochs, final double learningrate)
         }
 
         ExecutionMonitor exec = m_exec.createSubProgress(0.9);
+        m_engine.setAdjustToPoints(!m_projectOnly);
+        m_engine.setSnapThreshold(m_minDistThreshold);
+        m_engine.cacheDisparities(exec.createSubProgress(0.1));
+        ExecutionMonitor trainExec = exec.createSubProgress(0.9);
 
         m_learningrate = learningrate;
         m_initialLearningrate = learningrate;
         m_epochs = epochs;
-        exec.setMessage("Start training");
+        trainExec.setMessage("Start training");
         for (int e = 1; e <= epochs; e++) {
-            exec.checkCanceled();
-            doEpoch(e, exec);
+            trainExec.checkCanceled();
+            doEpoch(e, trainExec);
 
             double prog = (double)e / (double)epochs;
-            exec.setProgress(prog, "Training epoch " + e + " of " + epochs);
+            trainExec.setProgress(prog,
+                    "Training epoch " + e + " of " + epochs);
+        }
+
+        m_engine.copyTo(m_points);
+        for (int i = 0; i < m_engine.getRowCount(); i++) {
+            if (m_engine.isFrozen(i)) {
+                m_unmodifiablePoints.add(
+                        m_points.get(m_engine.getRowKey(i)));
+            }
         }
     }
 
@@ -405,31 +416,7 @@ public void train(final int epochs, final double learningrate)
     protected void doEpoch(final int epoch, final ExecutionMonitor exec)
             throws CanceledExecutionException {
         // through all data points
-        RowIterator it1 = m_inData.iterator();
-        while (it1.hasNext()) {
-            exec.checkCanceled();
-
-            DataRow r1 = it1.next();
-            DataPoint p1 = m_points.get(r1.getKey());
-
-            // first adjust point at the fixed points
-            RowIterator fit = m_fixedDataPoints.iterator();
-            while (fit.hasNext()) {
-                DataRow fixedRow = fit.next();
-                DataPoint p2 = m_fixedPoints.get(fixedRow.getKey());
-                adjustDataPoint(p1, p2, r1, fixedRow);
-            }
-
-            // through all data points again
-            if (!m_projectOnly) {
-                RowIterator it2 = m_inData.iterator();
-                while (it2.hasNext()) {
-                    DataRow r2 = it2.next();
-                    DataPoint p2 = m_points.get(r2.getKey());
-                    adjustDataPoint(p1, p2, r1, r2);
-                }
-            }
-        }
+        m_engine.doEpoch(m_learningrate, exec);
 
         adjustLearningRate(epoch);
     }
@@ -442,35 +429,30 @@ protected void doEpoch(final int epoch, final ExecutionMonitor exec)
      * @param p2 The mapping of the second data point in the target space.
      * @param r1 The first data point in the original space.
      * @param r2 The second data point in the original space.
+     * @deprecated the training is computed by the {@link MDSEngine}, this
+     * method is not called anymore and delegates to
+     * {@link MDSEngine#adjustDataPoint(double[], int, double[], int, int,
+     * double, double, double)}.
      */
+    @Deprecated
     protected void adjustDataPoint(final DataPoint p1, final DataPoint p2,
             final DataRow r1, final DataRow r2) {
         if (!p1.equals(p2) && !m_unmodifiablePoints.contains(p1)) {
-            double disparity = disparityTransformation(
-                    m_distMan.getDistance(r1, r2));
-
-            //double distance = m_distMan.getDistance(p1, p2);
-            // use only the Euclidean distance for low dimensional data.
-            double distance = m_euclideanDistMan.getDistance(p1, p2);
-
-            if (disparity <= m_minDistThreshold) {
-                // if r1 is equal r2 (or nearly equal, set p1 equal p2
-                for (int d = 0; d < m_dimension; d++) {
-                    p1.setElementAt(d, p2.getElementAt(d));
-                }
+            final double[] own = new double[m_dimension];
+            final double[] other = new double[m_dimension];
+            for (int d = 0; d < m_dimension; d++) {
+                own[d] = p1.getElementAt(d);
+                other[d] = p2.getElementAt(d);
+            }
+            final boolean snapped = MDSEngine.adjustDataPoint(own, 0, other, 0,
+                    m_dimension,
+                    disparityTransformation(m_distMan.getDistance(r1, r2)),
+                    m_minDistThreshold, m_learningrate);
+            for (int d = 0; d < m_dimension; d++) {
+                p1.setElementAt(d, own[d]);
+            }
+            if (snapped) {
                 m_unmodifiablePoints.add(p1);
-            } else {
-                // through all dimensions
-                for (int d = 0; d < m_dimension; d++) {
-                    double value = p1.getElementAt(d);
-                    if (distance != 0) {
-                        double delta = m_learningrate
-                            * (1 - (disparity / distance))
-                            * (p2.getElementAt(d) - value);
-                            //* activation;
-                        p1.setElementAt(d, value + delta);
-                    }
-                }
             }
         }
     }
@@ -514,6 +496,21 @@ public Hashtable<RowKey, DataPoint> getDataPoints() {
     public void reset() {
         m_points.clear();
         m_isInit = false;
+        m_engine = null;
+    }
+
+    /**
+     * Sets whether the data points are adjusted in parallel. In this case all
+     * points of an epoch are adjusted to the positions of the previous epoch,
+     * which leads to different results than the default sequential training,
+     * where each point is moved immediately. Must be set before
+     * {@link #init(long)} is called.
+     *
+     * @param parallel <code>true</code> to train in parallel.
+     * @since 4.6
+     */
+    public void setParallel(final boolean parallel) {
+        m_parallel = parallel;
     }
 
     /**
@@ -146,6 +146,9 @@ public MDSProjectionNodeDialog() {
                 MDSProjectionNodeDialog.getProjectOnlyModel(), 
                 "Project only"));
         
+        addDialogComponent(new DialogComponentBoolean(
+                MDSNodeDialog.getParallelModel(), "Parallel training"));
+        
         closeCurrentGroup();
         
         
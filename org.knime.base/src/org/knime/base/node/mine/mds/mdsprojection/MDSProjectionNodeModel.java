@@ -122,6 +122,9 @@ public class MDSProjectionNodeModel extends NodeModel {
     private SettingsModelBoolean m_projectOnly =
         MDSProjectionNodeDialog.getProjectOnlyModel();
 
+    private SettingsModelBoolean m_parallelModel =
+        MDSNodeDialog.getParallelModel();
+
 
     private MDSProjectionManager m_manager;
 
@@ -288,6 +291,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                 m_distModel.getStringValue(), m_fuzzy, rowCutDataTable,
                 inData[FIXED_DATA_INDEX], fixedMdsColsIndicies, exec);
         m_manager.setProjectOnly(m_projectOnly.getBooleanValue());
+        m_manager.setParallel(m_parallelModel.getBooleanValue());
         m_manager.init(m_seedModel.getIntValue());
         m_manager.train(m_epochsModel.getIntValue(), m_learnrateModel.getDoubleValue());
 
@@ -371,6 +375,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
         m_useRowsModel.loadSettingsFrom(settings);
         m_fixedMdsColModel.loadSettingsFrom(settings);
         m_projectOnly.loadSettingsFrom(settings);
+        try {
+            m_parallelModel.loadSettingsFrom(settings);
+        } catch (InvalidSettingsException e) {
+            // added in 4.6, older nodes train sequentially
+            m_parallelModel.setBooleanValue(false);
+        }
         checkUncheck();
     }
 
@@ -399,6 +409,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_useRowsModel.saveSettingsTo(settings);
         m_fixedMdsColModel.saveSettingsTo(settings);
         m_projectOnly.saveSettingsTo(settings);
+        m_parallelModel.saveSettingsTo(settings);
     }
 
     /**
@@ -54,7 +54,9 @@
 import java.util.List;
 import java.util.Set;
 
+import org.knime.base.data.neural.DenseNetwork;
 import org.knime.base.data.neural.MultiLayerPerceptron;
+import org.knime.base.data.neural.Perceptron;
 import org.knime.base.node.mine.util.PredictorHelper;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnDomain;
@@ -66,9 +68,8 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DoubleValue;
-import org.knime.core.data.RowKey;
 import org.knime.core.data.StringValue;
-import org.knime.core.data.container.CellFactory;
+import org.knime.core.data.container.AbstractCellFactory;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.StringCell;
@@ -118,11 +119,6 @@ public final class MLPPredictorNodeModel extends NodeModel {
      */
     private MultiLayerPerceptron m_mlp;
 
-    /*
-     * The number of possible values in the class column.
-     */
-    private int m_nrPossValues;
-
     /*
      * The columns to work on.
      */
@@ -193,10 +189,12 @@ protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs)
         MLPClassificationFactory mymlp;
         // Regression
         if (targetCol.getType().isCompatible(DoubleValue.class)) {
-            mymlp = new MLPClassificationFactory(true, m_columns, targetCol, prediction, m_appendProbs.getBooleanValue(), m_suffix.getStringValue());
+            mymlp = new MLPClassificationFactory(null, true, m_columns, targetCol, prediction,
+                m_appendProbs.getBooleanValue(), m_suffix.getStringValue());
         } else {
             // Classification
-            mymlp = new MLPClassificationFactory(false, m_columns, targetCol, prediction, m_appendProbs.getBooleanValue(), m_suffix.getStringValue());
+            mymlp = new MLPClassificationFactory(null, false, m_columns, targetCol, prediction,
+                m_appendProbs.getBooleanValue(), m_suffix.getStringValue());
         }
         ColumnRearranger colre = new ColumnRearranger(testSpec);
         colre.append(mymlp);
@@ -287,13 +285,13 @@ private ColumnRearranger createColumnRearranger(final PMMLPortObject pmmlPortObj
          */
         if (m_mlp.getMode() == MultiLayerPerceptron.REGRESSION_MODE) {
 
-            mymlp = new MLPClassificationFactory(true, m_columns, targetCol, predictionColumnName,
+            mymlp = new MLPClassificationFactory(m_mlp, true, m_columns, targetCol, predictionColumnName,
                 m_appendProbs.getBooleanValue(), m_suffix.getStringValue());
         } else if (m_mlp.getMode() == MultiLayerPerceptron.CLASSIFICATION_MODE) {
             /*
              * Classification
              */
-            mymlp = new MLPClassificationFactory(false, m_columns, targetCol, predictionColumnName,
+            mymlp = new MLPClassificationFactory(m_mlp, false, m_columns, targetCol, predictionColumnName,
                 m_appendProbs.getBooleanValue(), m_suffix.getStringValue());
         } else {
             throw new Exception("Unsupported Mode: " + m_mlp.getMode());
@@ -347,16 +345,80 @@ protected void validateSettings(final NodeSettingsRO settings)
         m_suffix.validateSettings(settings);
     }
 
+    /**
+     * Creates the specs of the appended columns.
+     */
+    private static DataColumnSpec[] createColumnSpecs(final boolean regression, final DataColumnSpec classcolspec,
+        final String predictionColumnName, final boolean addProbs, final String probabilitySuffices) {
+        DataType type;
+        if (regression) {
+            type = DoubleCell.TYPE;
+        } else {
+            type = StringCell.TYPE;
+        }
+        DataColumnSpec appendSpec =
+                new DataColumnSpecCreator(predictionColumnName, type).createSpec();
+        DataColumnSpec[] allappSpec;
+
+        /*
+         * Regression
+         */
+        if (regression) {
+            allappSpec = new DataColumnSpec[1];
+            allappSpec[0] = appendSpec;
+
+        } else {
+            /*
+             * Classification
+             */
+            Set<DataCell> classvalues = getClassValues(classcolspec);
+            allappSpec = new DataColumnSpec[(addProbs ? classvalues.size() : 0) + 1];
+            if (addProbs) {
+                int index = 0;
+                DataColumnDomainCreator domaincreator =
+                        new DataColumnDomainCreator();
+                domaincreator.setLowerBound(new DoubleCell(0));
+                domaincreator.setUpperBound(new DoubleCell(1));
+                DataColumnDomain domain = domaincreator.createDomain();
+                final PredictorHelper ph = PredictorHelper.getInstance();
+                for (DataCell nomValue : classvalues) {
+                    final String name = ph.probabilityColumnName(classcolspec.getName(),
+                        ((StringValue)nomValue).getStringValue(), probabilitySuffices);
+                    type = DoubleCell.TYPE;
+                    DataColumnSpecCreator colspeccreator =
+                            new DataColumnSpecCreator(name, type);
+                    colspeccreator
+                    .setProperties(new DataColumnProperties(
+                        Collections.singletonMap(
+                            DataValueRenderer.PROPERTY_PREFERRED_RENDERER,
+                            DoubleBarRenderer.DESCRIPTION)));
+                    colspeccreator.setDomain(domain);
+                    allappSpec[index] = colspeccreator.createSpec();
+                    index++;
+                }
+            }
+            allappSpec[allappSpec.length - 1] = appendSpec;
+        }
+        return allappSpec;
+    }
+
+    private static Set<DataCell> getClassValues(final DataColumnSpec classcolspec) {
+        Set<DataCell> classvalues = classcolspec.getDomain().getValues();
+        if (classvalues == null) {
+            // no possible values information available.
+            classvalues = new HashSet<DataCell>();
+        }
+        return classvalues;
+    }
+
     /**
      * This class generates the appended column with the classification from the
-     * WekaNodeModel.
+     * WekaNodeModel. The rows are processed concurrently in batches, each row
+     * is evaluated once on a dense copy of the network.
      *
      * @author Nicolas Cebron, University of Konstanz
      */
-    private class MLPClassificationFactory implements CellFactory {
-        private final String m_predictionColumnName;
-        private final String m_probabilitySuffices;
-
+    private static final class MLPClassificationFactory extends AbstractCellFactory {
         /*
          * Flag whether regression is done or not.
          */
@@ -367,25 +429,51 @@ private class MLPClassificationFactory implements CellFactory {
          */
         private final int[] m_faccolumns;
 
-        private final DataColumnSpec m_classcolspec;
         private final boolean m_addProbs;
 
+        /*
+         * The number of possible values in the class column.
+         */
+        private final int m_nrPossValues;
+
+        /*
+         * The network to evaluate, null if only the specs are needed.
+         */
+        private final DenseNetwork m_network;
+
+        /*
+         * The class values of the output neurons.
+         */
+        private final String[] m_outputClassValues;
+
         /**
          * A new AppendedColumnFactory that uses a MultiLayerPerceptron to
          * classify new instances.
          *
+         * @param mlp the network or <code>null</code> if only the specs are
+         *            needed
          * @param regression indicates whether a regression should take place.
          * @param columns to work on.
          * @param classcolspec DataColumnSpec with target column.
          */
-        MLPClassificationFactory(final boolean regression, final int[] columns,
+        MLPClassificationFactory(final MultiLayerPerceptron mlp, final boolean regression, final int[] columns,
                 final DataColumnSpec classcolspec, final String predictionColumn, final boolean addProbs, final String suffix) {
+            super(true, createColumnSpecs(regression, classcolspec, predictionColumn, addProbs, suffix));
             m_regression = regression;
             m_faccolumns = columns;
-            m_classcolspec = classcolspec;
-            m_predictionColumnName = predictionColumn;
             m_addProbs = addProbs;
-            m_probabilitySuffices = suffix;
+            m_nrPossValues = getClassValues(classcolspec).size();
+            if (mlp == null) {
+                m_network = null;
+                m_outputClassValues = null;
+            } else {
+                m_network = new DenseNetwork(mlp);
+                Perceptron[] outputs = mlp.getLayer(mlp.getNrLayers() - 1).getPerceptrons();
+                m_outputClassValues = new String[outputs.length];
+                for (int i = 0; i < outputs.length; i++) {
+                    m_outputClassValues[i] = outputs[i].getClassValue();
+                }
+            }
         }
 
         /**
@@ -404,94 +492,39 @@ public DataCell[] getCells(final DataRow row) {
                 }
             }
             DataCell[] append;
+            double[] outputs = m_network.output(inputs);
             if (m_regression) {
                 append = new DataCell[1];
-                double[] outputs = m_mlp.output(inputs);
                 append[0] = new DoubleCell(outputs[0]);
             } else {
                 append = new DataCell[1 + (m_addProbs ? m_nrPossValues : 0)];
-                String output = m_mlp.getClassOutput(inputs);
                 if (m_addProbs) {
-                    double[] outputs = m_mlp.output(inputs);
                     for (int i = 0; i < append.length - 1; i++) {
                         append[i] = new DoubleCell(outputs[i]);
                     }
                 }
-                append[append.length - 1] = new StringCell(output);
+                append[append.length - 1] = new StringCell(getClassOutput(outputs));
             }
             return append;
         }
 
-        /**
-         * {@inheritDoc}
+        /*
+         * Same as MultiLayerPerceptron#getClassOutput(double[]).
          */
-        @Override
-        public DataColumnSpec[] getColumnSpecs() {
-            DataType type;
-            if (m_regression) {
-                type = DoubleCell.TYPE;
-            } else {
-                type = StringCell.TYPE;
-            }
-            DataColumnSpec appendSpec =
-                    new DataColumnSpecCreator(m_predictionColumnName, type).createSpec();
-            DataColumnSpec[] allappSpec;
-
-            /*
-             * Regression
-             */
-            if (m_regression) {
-                allappSpec = new DataColumnSpec[1];
-                allappSpec[0] = appendSpec;
-
-            } else {
-                /*
-                 * Classification
-                 */
-                Set<DataCell> classvalues =
-                        m_classcolspec.getDomain().getValues();
-                if (classvalues == null) {
-                    // no possible values information available.
-                    classvalues = new HashSet<DataCell>();
-                }
-                m_nrPossValues = classvalues.size();
-                allappSpec = new DataColumnSpec[(m_addProbs?classvalues.size() : 0) + 1];
-                if (m_addProbs) {
-                    int index = 0;
-                    DataColumnDomainCreator domaincreator =
-                            new DataColumnDomainCreator();
-                    domaincreator.setLowerBound(new DoubleCell(0));
-                    domaincreator.setUpperBound(new DoubleCell(1));
-                    DataColumnDomain domain = domaincreator.createDomain();
-                    final PredictorHelper ph = PredictorHelper.getInstance();
-                    for (DataCell nomValue : classvalues) {
-                        final String name = ph.probabilityColumnName(m_classcolspec.getName(),
-                            ((StringValue)nomValue).getStringValue(), m_probabilitySuffices);
-                        type = DoubleCell.TYPE;
-                        DataColumnSpecCreator colspeccreator =
-                                new DataColumnSpecCreator(name, type);
-                        colspeccreator
-                        .setProperties(new DataColumnProperties(
-                            Collections.singletonMap(
-                                DataValueRenderer.PROPERTY_PREFERRED_RENDERER,
-                                DoubleBarRenderer.DESCRIPTION)));
-                        colspeccreator.setDomain(domain);
-                        allappSpec[index] = colspeccreator.createSpec();
-                        index++;
-                    }
+        private String getClassOutput(final double[] outputs) {
+            int winnerindex = -1;
+            double temp = Double.MIN_VALUE;
+            for (int i = 0; i < outputs.length; i++) {
+                if (outputs[i] > temp) {
+                    winnerindex = i;
+                    temp = outputs[i];
                 }
-                allappSpec[allappSpec.length - 1] = appendSpec;
             }
-            return allappSpec;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void setProgress(final int curRowNr, final int rowCount,
-                final RowKey lastKey, final ExecutionMonitor exec) {
-            exec.setProgress((double)curRowNr / (double)rowCount, "Prediction");
+            // now winner found?
+            if (winnerindex == -1) {
+                return "NoWinner";
+            }
+            return m_outputClassValues[winnerindex];
         }
     }
 
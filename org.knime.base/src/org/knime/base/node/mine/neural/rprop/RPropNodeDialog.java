@@ -108,6 +108,9 @@ public RPropNodeDialog() {
 
         this.addDialogComponent(new DialogComponentBoolean(m_useRandomSeed, "Use seed for random initialization"));
         this.addDialogComponent(new DialogComponentNumber(m_randomSeed, "Random seed", 1));
+
+        this.addDialogComponent(new DialogComponentBoolean(
+            new SettingsModelBoolean(RPropNodeModel.PARALLEL_KEY, false), "Parallel training"));
     }
 
     @Override
@@ -162,6 +162,20 @@ public class RPropNodeModel extends NodeModel {
      */
     public static final String SEED_KEY = "randomSeed";
 
+    /**
+     * Key to store whether the error derivations should be computed in
+     * parallel.
+     * @since 4.6
+     */
+    public static final String PARALLEL_KEY = "parallelTraining";
+
+    /*
+     * Number of partitions of the training samples in parallel mode. It is
+     * fixed so that the trained network does not depend on the number of
+     * available processors.
+     */
+    private static final int PARALLEL_PARTITIONS = 16;
+
     private boolean m_pmmlInEnabled;
 
     /*
@@ -212,6 +226,9 @@ public class RPropNodeModel extends NodeModel {
     private final SettingsModelInteger m_randomSeed = new SettingsModelInteger(SEED_KEY,
         (int)(2 * (Math.random() - 0.5) * Integer.MAX_VALUE));
 
+    private final SettingsModelBoolean m_parallelTraining =
+            new SettingsModelBoolean(PARALLEL_KEY, false);
+
     /*
      * Flag for regression
      */
@@ -451,16 +468,16 @@ protected PortObject[] execute(final PortObject[] inData,
         // Convert inputs to double arrays. Values from the class column are
         // encoded as bitvectors.
         int classColNr = posSpec.findColumnIndex(m_classcol.getStringValue());
-        List<Double[]> samples = new ArrayList<Double[]>();
-        List<Double[]> outputs = new ArrayList<Double[]>();
-        Double[] sample = new Double[nrInputs];
-        Double[] output = new Double[nrOutputs];
+        List<double[]> samples = new ArrayList<double[]>();
+        List<double[]> outputs = new ArrayList<double[]>();
+        double[] sample;
+        double[] output;
         final RowIterator rowIt = ((BufferedDataTable)inData[INDATA]).iterator();
         int rowcounter = 0;
         while (rowIt.hasNext()) {
             boolean add = true;
-            output = new Double[nrOutputs];
-            sample = new Double[nrInputs];
+            output = new double[nrOutputs];
+            sample = new double[nrInputs];
             DataRow row = rowIt.next();
             int nrCells = row.getNumCells();
             int index = 0;
@@ -494,9 +511,9 @@ protected PortObject[] execute(final PortObject[] inData,
                     } else {
                         for (int j = 0; j < nrOutputs; j++) {
                             if (classMap.get(row.getCell(i)) == j) {
-                                output[j] = new Double(1.0);
+                                output[j] = 1.0;
                             } else {
-                                output[j] = new Double(0.0);
+                                output[j] = 0.0;
                             }
                         }
                     }
@@ -508,35 +525,31 @@ protected PortObject[] execute(final PortObject[] inData,
                 rowcounter++;
             }
         }
-        Double[][] samplesarr = new Double[rowcounter][nrInputs];
-        Double[][] outputsarr = new Double[rowcounter][nrInputs];
-        for (int i = 0; i < samplesarr.length; i++) {
-            samplesarr[i] = samples.get(i);
-            outputsarr[i] = outputs.get(i);
-        }
+        double[][] samplesarr = samples.toArray(new double[rowcounter][]);
+        double[][] outputsarr = outputs.toArray(new double[rowcounter][]);
         // Now finally train the network.
         m_mlp.setClassMapping(classMap);
         m_mlp.setInputMapping(inputmap);
         RProp myrprop = new RProp();
+        if (m_parallelTraining.getBooleanValue()) {
+            myrprop.setParallelism(PARALLEL_PARTITIONS);
+        }
         m_errors = new double[m_nrIterations.getIntValue()];
         for (int iteration = 0; iteration < m_nrIterations.getIntValue();
                 iteration++) {
             exec.setProgress((double)iteration
                     / (double)m_nrIterations.getIntValue(), "Iteration "
                     + iteration);
-            myrprop.train(m_mlp, samplesarr, outputsarr);
-            double error = 0;
-            for (int j = 0; j < outputsarr.length; j++) {
-                double[] myoutput = m_mlp.output(samplesarr[j]);
-                for (int o = 0; o < outputsarr[0].length; o++) {
-                    error +=
-                            (myoutput[o] - outputsarr[j][o])
-                                    * (myoutput[o] - outputsarr[j][o]);
-                }
+            // the error of the network before this update is the one after
+            // the update of the previous iteration
+            double error = myrprop.train(m_mlp, samplesarr, outputsarr, exec);
+            if (iteration > 0) {
+                m_errors[iteration - 1] = error;
             }
-            m_errors[iteration] = error;
             exec.checkCanceled();
         }
+        m_errors[m_errors.length - 1] =
+                myrprop.error(m_mlp, samplesarr, outputsarr, exec);
 
         // handle the optional PMML input
         PMMLPortObject inPMMLPort = m_pmmlInEnabled ? (PMMLPortObject)inData[INMODEL] : null;
@@ -573,6 +586,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_ignoreMV.saveSettingsTo(settings);
         m_useRandomSeed.saveSettingsTo(settings);
         m_randomSeed.saveSettingsTo(settings);
+        m_parallelTraining.saveSettingsTo(settings);
     }
 
     /**
@@ -613,6 +627,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
         } catch (InvalidSettingsException ex) {
             // use current/default value
         }
+        // new in 4.6
+        try {
+            m_parallelTraining.loadSettingsFrom(settings);
+        } catch (InvalidSettingsException ex) {
+            m_parallelTraining.setBooleanValue(false);
+        }
     }
 
     /**
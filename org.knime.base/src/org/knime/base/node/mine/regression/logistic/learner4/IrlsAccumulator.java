@@ -0,0 +1,431 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
+
+/**
+ * Computes the passes over the training data needed by the {@link IrlsLearner}, i.e. the hessian of the
+ * log-likelihood (X<sup>T</sup>WX) together with the gradient term (X<sup>T</sup>(y-&pi;)), and the log-likelihood
+ * itself. The rows are read by the calling thread and collected in batches; every batch is split into contiguous row
+ * ranges which are processed by workers that each accumulate into their own partial result. The partial results are
+ * summed up in a fixed order at the end of a pass.
+ *
+ * <p>
+ * The hessian is symmetric and stored as a packed upper triangle, i.e. the entry <i>(g,h)</i> with <i>g &le; h</i> of
+ * the <i>d &times; d</i> matrix is found at position <i>g * d - g * (g - 1) / 2 + (h - g)</i>. Only the non-zero
+ * features of a row, as returned by its {@link FeatureIterator}, contribute to the outer products.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class IrlsAccumulator {
+
+    /** Minimum dimension of the hessian for which the rows are distributed across several threads. */
+    private static final int PARALLEL_DIMENSION_THRESHOLD = 32;
+
+    /** Upper bound for the number of values held by the partial hessians of all workers together. */
+    private static final long MAX_PARTIAL_VALUES = 1L << 24;
+
+    /** Number of rows read before they are handed to the workers. */
+    private static final int BATCH_SIZE = 1024;
+
+    private final int m_featureCount;
+
+    private final int m_categoryCount;
+
+    private final int m_dim;
+
+    /** For every row g of the hessian the (virtual) position of the entry (g,0) in the packed array. */
+    private final int[] m_rowOffsets;
+
+    private final ThreadPool m_pool;
+
+    private final Partial[] m_partials;
+
+    private ClassificationTrainingRow[] m_fillBatch;
+
+    private ClassificationTrainingRow[] m_spareBatch;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while computing the IRLS step");
+
+    /**
+     * Creates an accumulator that distributes the rows across the available processors if the hessian is large enough
+     * to make this worthwhile.
+     *
+     * @param featureCount the number of features including the intercept term
+     * @param categoryCount the number of target categories minus one (the reference category)
+     */
+    IrlsAccumulator(final int featureCount, final int categoryCount) {
+        this(featureCount, categoryCount, null, (long)featureCount * categoryCount < PARALLEL_DIMENSION_THRESHOLD ? 1
+            : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param featureCount the number of features including the intercept term
+     * @param categoryCount the number of target categories minus one (the reference category)
+     * @param pool the pool to run the workers in, if <code>null</code> and the parallelism is larger than one a sub
+     *            pool of the global thread pool is created
+     * @param parallelism the maximum number of partial results that are computed concurrently
+     */
+    IrlsAccumulator(final int featureCount, final int categoryCount, final ThreadPool pool, final int parallelism) {
+        final long dim = (long)featureCount * categoryCount;
+        final long packedSize = dim * (dim + 1) / 2;
+        if (packedSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many features and target categories for the IRLS solver: "
+                + featureCount + " features and " + (categoryCount + 1) + " categories");
+        }
+        m_featureCount = featureCount;
+        m_categoryCount = categoryCount;
+        m_dim = (int)dim;
+        m_rowOffsets = new int[m_dim];
+        for (int g = 0; g < m_dim; g++) {
+            m_rowOffsets[g] = (int)((long)g * m_dim - (long)g * (g - 1) / 2 - g);
+        }
+        final int partials = (int)Math.max(1, Math.min(parallelism, MAX_PARTIAL_VALUES / Math.max(1, packedSize)));
+        m_partials = new Partial[partials];
+        for (int w = 0; w < partials; w++) {
+            m_partials[w] = new Partial();
+        }
+        if (partials == 1) {
+            m_pool = null;
+        } else {
+            m_pool = pool != null ? pool : KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(partials);
+            m_fillBatch = new ClassificationTrainingRow[BATCH_SIZE];
+            m_spareBatch = new ClassificationTrainingRow[BATCH_SIZE];
+        }
+    }
+
+    /** @return the dimension of the hessian */
+    int getDimension() {
+        return m_dim;
+    }
+
+    /**
+     * @param g the row of the entry
+     * @param h the column of the entry
+     * @return the position of the entry (g,h) in the packed representation of a symmetric matrix
+     */
+    int index(final int g, final int h) {
+        return g <= h ? m_rowOffsets[g] + h : m_rowOffsets[h] + g;
+    }
+
+    /**
+     * Computes the hessian and the gradient term for the given coefficients.
+     *
+     * @param data the training data
+     * @param beta the coefficients, the ones of category k start at position k * featureCount
+     * @param hessian the array of length d * (d + 1) / 2 to store the packed hessian in
+     * @param gradient the array of length d to store the gradient term in
+     * @param exec for progress and cancellation
+     * @return the number of processed rows
+     * @throws CanceledExecutionException if the execution is canceled
+     */
+    long computeHessian(final TrainingData<ClassificationTrainingRow> data, final double[] beta,
+        final double[] hessian, final double[] gradient, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        for (Partial partial : m_partials) {
+            partial.reset(true);
+        }
+        final long totalRowCount = data.getRowCount();
+        long rowCount = 0;
+        final RowOperation op = (partial, row) -> partial.addToHessian(row, beta);
+        int batchSize = 0;
+        try {
+            for (ClassificationTrainingRow row : data) {
+                rowCount++;
+                exec.checkCanceled();
+                final long finalRowCount = rowCount;
+                exec.setProgress(rowCount / (double)totalRowCount,
+                    () -> String.format("Row %s/%s", finalRowCount, totalRowCount));
+                if (m_pool == null) {
+                    m_partials[0].addToHessian(row, beta);
+                } else {
+                    m_fillBatch[batchSize++] = row;
+                    if (batchSize == BATCH_SIZE) {
+                        dispatch(batchSize, op, exec);
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (batchSize > 0) {
+                dispatch(batchSize, op, exec);
+            }
+            awaitPending(exec);
+        } finally {
+            m_pending.cancel();
+        }
+        final Partial result = m_partials[0];
+        System.arraycopy(result.m_hessian, 0, hessian, 0, hessian.length);
+        System.arraycopy(result.m_gradient, 0, gradient, 0, gradient.length);
+        for (int w = 1; w < m_partials.length; w++) {
+            final Partial partial = m_partials[w];
+            for (int p = 0; p < hessian.length; p++) {
+                hessian[p] += partial.m_hessian[p];
+            }
+            for (int g = 0; g < gradient.length; g++) {
+                gradient[g] += partial.m_gradient[g];
+            }
+        }
+        return rowCount;
+    }
+
+    /**
+     * Computes the log-likelihood for the given coefficients.
+     *
+     * @param data the training data
+     * @param beta the coefficients, the ones of category k start at position k * featureCount
+     * @param exec for cancellation
+     * @return the log-likelihood
+     * @throws CanceledExecutionException if the execution is canceled
+     */
+    double computeLikelihood(final TrainingData<ClassificationTrainingRow> data, final double[] beta,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        for (Partial partial : m_partials) {
+            partial.reset(false);
+        }
+        final RowOperation op = (partial, row) -> partial.addToLikelihood(row, beta);
+        int batchSize = 0;
+        try {
+            for (ClassificationTrainingRow row : data) {
+                exec.checkCanceled();
+                if (m_pool == null) {
+                    m_partials[0].addToLikelihood(row, beta);
+                } else {
+                    m_fillBatch[batchSize++] = row;
+                    if (batchSize == BATCH_SIZE) {
+                        dispatch(batchSize, op, exec);
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (batchSize > 0) {
+                dispatch(batchSize, op, exec);
+            }
+            awaitPending(exec);
+        } finally {
+            m_pending.cancel();
+        }
+        double loglike = 0;
+        for (Partial partial : m_partials) {
+            loglike += partial.m_loglike;
+        }
+        return loglike;
+    }
+
+    private void dispatch(final int batchSize, final RowOperation op, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        // the workers of the previous batch must be done before its buffer can be refilled
+        awaitPending(exec);
+        final ClassificationTrainingRow[] batch = m_fillBatch;
+        m_fillBatch = m_spareBatch;
+        m_spareBatch = batch;
+        final int workers = Math.min(m_partials.length, batchSize);
+        for (int w = 0; w < workers; w++) {
+            final Partial partial = m_partials[w];
+            final int start = (int)((long)batchSize * w / workers);
+            final int end = (int)((long)batchSize * (w + 1) / workers);
+            m_pending.add(m_pool.enqueue((Callable<Void>)() -> {
+                for (int r = start; r < end; r++) {
+                    op.process(partial, batch[r]);
+                }
+                return null;
+            }));
+        }
+    }
+
+    private void awaitPending(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_pending.await();
+        exec.checkCanceled();
+    }
+
+    /** The per-row computation of a pass. */
+    @FunctionalInterface
+    private interface RowOperation {
+        void process(Partial partial, ClassificationTrainingRow row);
+    }
+
+    /** The sums over a subset of the rows together with the buffers needed to process a row. */
+    private final class Partial {
+
+        private double[] m_hessian;
+
+        private double[] m_gradient;
+
+        private double m_loglike;
+
+        private final double[] m_eBetaTx = new double[m_categoryCount];
+
+        private final double[] m_pi = new double[m_categoryCount];
+
+        private int[] m_indices = new int[16];
+
+        private double[] m_values = new double[16];
+
+        void reset(final boolean hessian) {
+            if (hessian) {
+                final int packedSize = m_dim == 0 ? 0 : m_rowOffsets[m_dim - 1] + m_dim;
+                if (m_hessian == null) {
+                    m_hessian = new double[packedSize];
+                    m_gradient = new double[m_dim];
+                } else {
+                    Arrays.fill(m_hessian, 0);
+                    Arrays.fill(m_gradient, 0);
+                }
+            }
+            m_loglike = 0;
+        }
+
+        /** Copies the non-zero features of the row into the index and value buffers. */
+        private int gatherFeatures(final ClassificationTrainingRow row) {
+            int nnz = 0;
+            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+                if (nnz == m_indices.length) {
+                    m_indices = Arrays.copyOf(m_indices, 2 * nnz);
+                    m_values = Arrays.copyOf(m_values, 2 * nnz);
+                }
+                m_indices[nnz] = iter.getFeatureIndex();
+                m_values[nnz] = iter.getFeatureValue();
+                nnz++;
+            }
+            return nnz;
+        }
+
+        private double logit(final int nnz, final double[] beta, final int k) {
+            final int offset = k * m_featureCount;
+            double z = 0.0;
+            for (int a = 0; a < nnz; a++) {
+                z += m_values[a] * beta[offset + m_indices[a]];
+            }
+            return z;
+        }
+
+        void addToHessian(final ClassificationTrainingRow row, final double[] beta) {
+            final int nnz = gatherFeatures(row);
+            final int tcC = m_categoryCount;
+            final int[] indices = m_indices;
+            final double[] values = m_values;
+            final double[] hessian = m_hessian;
+            final double[] pi = m_pi;
+            double sumEBetaTx = 0;
+            for (int k = 0; k < tcC; k++) {
+                m_eBetaTx[k] = Math.exp(logit(nnz, beta, k));
+                sumEBetaTx += m_eBetaTx[k];
+            }
+            for (int k = 0; k < tcC; k++) {
+                pi[k] = m_eBetaTx[k] / (1 + sumEBetaTx);
+            }
+
+            // fill xTwx (aka the hessian of the loglikelihood), only the upper triangle is stored
+            for (int k = 0; k < tcC; k++) {
+                final int o1 = k * m_featureCount;
+                for (int kk = k; kk < tcC; kk++) {
+                    final int o2 = kk * m_featureCount;
+                    final double w = k == kk ? pi[k] * (1 - pi[k]) : -pi[k] * pi[kk];
+                    for (int a = 0; a < nnz; a++) {
+                        final int i = indices[a];
+                        final double outerVal = values[a];
+                        for (int b = a; b < nnz; b++) {
+                            final int ii = indices[b];
+                            final double v = outerVal * w * values[b];
+                            if (k == kk) {
+                                hessian[index(o1 + i, o1 + ii)] += v;
+                            } else {
+                                // the off-diagonal blocks are symmetric themselves
+                                hessian[m_rowOffsets[o1 + i] + o2 + ii] += v;
+                                if (i != ii) {
+                                    hessian[m_rowOffsets[o1 + ii] + o2 + i] += v;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            // fill xTyu
+            for (int a = 0; a < nnz; a++) {
+                final int idx = indices[a];
+                final double val = values[a];
+                for (int k = 0; k < tcC; k++) {
+                    m_gradient[k * m_featureCount + idx] += (row.getProbability(k) - pi[k]) * val;
+                }
+            }
+        }
+
+        void addToLikelihood(final ClassificationTrainingRow row, final double[] beta) {
+            final int nnz = gatherFeatures(row);
+            final int tcC = m_categoryCount;
+            double sumEBetaTx = 0;
+            for (int k = 0; k < tcC; k++) {
+                m_eBetaTx[k] = logit(nnz, beta, k);
+                sumEBetaTx += Math.exp(m_eBetaTx[k]);
+            }
+            final int y = row.getCategory();
+            final double logSumExp = Math.log(1 + sumEBetaTx);
+            if (row.getProbability(y) == 1.0) {
+                final double yBetaTx = y < tcC ? m_eBetaTx[y] : 0;
+                m_loglike += yBetaTx - logSumExp;
+            } else {
+                // probabilistic label -> we need to loop over all categories
+                for (int k = 0; k < tcC; k++) {
+                    m_loglike += row.getProbability(k) * (m_eBetaTx[k] - logSumExp);
+                }
+                m_loglike += row.getProbability(tcC) * (-logSumExp);
+            }
+        }
+    }
+}
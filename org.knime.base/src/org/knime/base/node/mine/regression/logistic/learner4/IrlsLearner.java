@@ -47,7 +47,6 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4;
 
-import java.util.Iterator;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -60,7 +59,6 @@
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
-import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
 import org.knime.base.node.util.DoubleFormat;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
@@ -84,8 +82,9 @@ final class IrlsLearner implements LogRegLearner {
     private final int m_maxIter;
 
     private final double m_eps;
-    private RealMatrix A;
-    private RealMatrix b;
+    /** The packed hessian (xTwx) of the last irls step. */
+    private double[] m_hessian;
+    private IrlsAccumulator m_accumulator;
 //    private double m_penaltyTerm;
     private final boolean m_calcCovMatrix;
 
@@ -126,88 +125,11 @@ final class IrlsLearner implements LogRegLearner {
     private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final RealMatrix beta,
         final int rC, final int tcC, final ExecutionMonitor exec)
                 throws CanceledExecutionException {
-        long rowCount = 0;
-        int dim = (rC + 1) * (tcC - 1);
-        RealMatrix xTwx = MatrixUtils.createRealMatrix(dim, dim);
-        RealMatrix xTyu = MatrixUtils.createRealMatrix(dim, 1);
-
-        double[] eBetaTx = new double[tcC - 1];
-        double[] pi = new double[tcC - 1];
-        final long totalRowCount = data.getRowCount();
-        for(ClassificationTrainingRow row : data) {
-            rowCount++;
-            exec.checkCanceled();
-            final long finalRowCount = rowCount;
-            exec.setProgress(rowCount / (double)totalRowCount, () -> String.format(
-                "Row %s/%s", finalRowCount, totalRowCount));
-
-            for (int k = 0; k < tcC - 1; k++) {
-                double z = 0.0;
-                for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
-                    double featureVal = iter.getFeatureValue();
-                    int featureIdx = iter.getFeatureIndex();
-                    z += featureVal * beta.getEntry(0, k * (rC + 1) + featureIdx);
-                }
-                eBetaTx[k] = Math.exp(z);
-            }
-
-            double sumEBetaTx = 0;
-            for (int k = 0; k < tcC - 1; k++) {
-                sumEBetaTx += eBetaTx[k];
-            }
-
-            for (int k = 0; k < tcC - 1; k++) {
-                double pik = eBetaTx[k] / (1 + sumEBetaTx);
-                pi[k] = pik;
-            }
-
-            // fill xTwx (aka the hessian of the loglikelihood)
-            for (FeatureIterator outer = row.getFeatureIterator(); outer.next();) {
-                int i = outer.getFeatureIndex();
-                double outerVal = outer.getFeatureValue();
-                for (FeatureIterator inner = outer.spawn(); inner.next();) {
-                    int ii = inner.getFeatureIndex();
-                    double innerVal = inner.getFeatureValue();
-                    for (int k = 0; k < tcC - 1; k++) {
-                        for (int kk = k; kk < tcC - 1; kk++) {
-                            int o1 = k * (rC + 1);
-                            int o2 = kk * (rC + 1);
-                            double v = xTwx.getEntry(o1 + i, o2 + ii);
-                            if (k == kk) {
-                                double w = pi[k] * (1 - pi[k]);
-                                v += outerVal * w * innerVal;
-                                assert o1 == o2;
-                            } else {
-                                double w = -pi[k] * pi[kk];
-                                v += outerVal * w * innerVal;
-                            }
-                            xTwx.setEntry(o1 + i, o2 + ii, v);
-                            xTwx.setEntry(o1 + ii, o2 + i, v);
-                            if (k != kk) {
-                                xTwx.setEntry(o2 + ii, o1 + i, v);
-                                xTwx.setEntry(o2 + i, o1 + ii, v);
-                            }
-                        }
-                    }
-                }
-            }
-
-
-            // fill matrix xTyu
-            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
-                int idx = iter.getFeatureIndex();
-                double val = iter.getFeatureValue();
-                for (int k = 0; k < tcC - 1; k++) {
-                    int o = k * (rC + 1);
-                    double v = xTyu.getEntry(o + idx, 0);
-                    double y = row.getProbability(k);
-                    v += (y - pi[k]) * val;
-                    xTyu.setEntry(o + idx, 0, v);
-                }
-            }
-
-
-        }
+        final int dim = (rC + 1) * (tcC - 1);
+        final double[] xTwx = new double[(int)((long)dim * (dim + 1) / 2)];
+        final double[] xTyu = new double[dim];
+        final double[] betaVec = beta.getRow(0);
+        final long rowCount = m_accumulator.computeHessian(data, betaVec, xTwx, xTyu, exec);
 
         // currently not used but could become interesting in the future
 //        if (m_penaltyTerm > 0.0) {
@@ -219,19 +141,110 @@ private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final R
 //            xTwx = xTwx.add(stdError.scalarMultiply(-0.00001));
 //        }
         exec.checkCanceled();
-        b = xTwx.multiply(beta.transpose()).add(xTyu);
-        A = xTwx;
-        if (rowCount < A.getColumnDimension()) {
+        // b = xTwx * beta^T + xTyu
+        final double[] b = new double[dim];
+        for (int g = 0; g < dim; g++) {
+            double sum = 0;
+            for (int h = 0; h < dim; h++) {
+                sum += xTwx[m_accumulator.index(g, h)] * betaVec[h];
+            }
+            b[g] = sum + xTyu[g];
+        }
+        m_hessian = xTwx;
+        if (rowCount < dim) {
             // fall back check: This case should already be handled on a higher level
             // but it's important to ensure this property
             throw new IllegalStateException("The dataset must have at least "
-                    + A.getColumnDimension() + " rows, but it has only "
+                    + dim + " rows, but it has only "
                     + rowCount + " rows. It is recommended to use a "
                     + "larger dataset in order to increase accuracy.");
         }
-        DecompositionSolver solver = new SingularValueDecomposition(A).getSolver();
-        RealMatrix betaNew = solver.solve(b);
-        beta.setSubMatrix(betaNew.transpose().getData(), 0, 0);
+        double[] betaNew = solveCholesky(xTwx, b, dim);
+        if (betaNew == null) {
+            // the hessian is (numerically) singular, use the pseudo inverse instead
+            DecompositionSolver solver = new SingularValueDecomposition(toMatrix(xTwx, dim)).getSolver();
+            betaNew = solver.solve(MatrixUtils.createColumnRealMatrix(b)).getColumn(0);
+        }
+        beta.setRow(0, betaNew);
+    }
+
+    /**
+     * Solves the linear system A x = b for a symmetric positive definite matrix A via its Cholesky decomposition
+     * A = U<sup>T</sup>U which is computed on a copy of the packed upper triangle.
+     *
+     * @param packed the packed upper triangle of A
+     * @param b the right hand side
+     * @param dim the dimension of A
+     * @return the solution or <code>null</code> if A is not (numerically) positive definite
+     */
+    private double[] solveCholesky(final double[] packed, final double[] b, final int dim) {
+        final double[] u = packed.clone();
+        double maxDiag = 0;
+        for (int g = 0; g < dim; g++) {
+            maxDiag = Math.max(maxDiag, Math.abs(u[m_accumulator.index(g, g)]));
+        }
+        final double threshold = maxDiag * dim * Math.ulp(1.0);
+        for (int i = 0; i < dim; i++) {
+            final int rowI = m_accumulator.index(i, i);
+            final double pivot = u[rowI];
+            if (!(pivot > threshold)) {
+                return null;
+            }
+            final double diag = Math.sqrt(pivot);
+            u[rowI] = diag;
+            for (int j = i + 1; j < dim; j++) {
+                u[rowI + j - i] /= diag;
+            }
+            // subtract the outer product of row i from the trailing submatrix
+            for (int k = i + 1; k < dim; k++) {
+                final double uik = u[rowI + k - i];
+                if (uik == 0.0) {
+                    continue;
+                }
+                final int rowK = m_accumulator.index(k, k);
+                for (int j = k; j < dim; j++) {
+                    u[rowK + j - k] -= uik * u[rowI + j - i];
+                }
+            }
+        }
+        // forward substitution U^T y = b
+        final double[] x = b.clone();
+        for (int i = 0; i < dim; i++) {
+            double sum = x[i];
+            for (int k = 0; k < i; k++) {
+                sum -= u[m_accumulator.index(k, i)] * x[k];
+            }
+            x[i] = sum / u[m_accumulator.index(i, i)];
+        }
+        // back substitution U x = y
+        for (int i = dim - 1; i >= 0; i--) {
+            final int rowI = m_accumulator.index(i, i);
+            double sum = x[i];
+            for (int j = i + 1; j < dim; j++) {
+                sum -= u[rowI + j - i] * x[j];
+            }
+            x[i] = sum / u[rowI];
+        }
+        return x;
+    }
+
+    /**
+     * Unpacks a symmetric matrix.
+     *
+     * @param packed the packed upper triangle
+     * @param dim the dimension of the matrix
+     * @return the full matrix
+     */
+    private RealMatrix toMatrix(final double[] packed, final int dim) {
+        final double[][] data = new double[dim][dim];
+        for (int g = 0; g < dim; g++) {
+            for (int h = g; h < dim; h++) {
+                final double v = packed[m_accumulator.index(g, h)];
+                data[g][h] = v;
+                data[h][g] = v;
+            }
+        }
+        return MatrixUtils.createRealMatrix(data);
     }
 
 //    private RealMatrix getStdErrorMatrix(final RealMatrix xTwx) {
@@ -249,70 +262,13 @@ private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final R
     /**
      * Compute the likelihood at given beta.
      *
-     * @param iter iterator over trainings data.
+     * @param data over trainings data.
      * @param beta parameter vector
-     * @param rC regressors count
-     * @param tcC target category count
      * @throws CanceledExecutionException when method is cancelled
      */
-    private static double likelihood(final Iterator<ClassificationTrainingRow> iter,
-            final RealMatrix beta,
-            final int rC, final int tcC,
+    private double likelihood(final TrainingData<ClassificationTrainingRow> data, final RealMatrix beta,
             final ExecutionMonitor exec) throws CanceledExecutionException {
-        double loglike = 0;
-
-        RealMatrix x = MatrixUtils.createRealMatrix(1, rC + 1);
-        while (iter.hasNext()) {
-            exec.checkCanceled();
-            ClassificationTrainingRow row = iter.next();
-
-            fillXFromRow(x, row);
-
-            double sumEBetaTx = 0;
-            for (int i = 0; i < tcC - 1; i++) {
-                RealMatrix betaITx = x.multiply(beta.getSubMatrix(0, 0,
-                        i * (rC + 1), (i + 1) * (rC + 1) - 1).transpose());
-                sumEBetaTx += Math.exp(betaITx.getEntry(0, 0));
-            }
-
-            int y = row.getCategory();
-            double yBetaTx = 0;
-            final double logSumExp = Math.log(1 + sumEBetaTx);
-            if (row.getProbability(y) == 1.0) {
-                if (y < tcC - 1) {
-                    yBetaTx = calculateLogit(beta, rC, x, y);
-                }
-                loglike += yBetaTx - logSumExp;
-            } else {
-                // probabilistic label -> we need to loop over all categories
-                for (int i = 0; i < tcC - 1; i++) {
-                    loglike += row.getProbability(i) * (calculateLogit(beta, rC, x, i) - logSumExp);
-                }
-                loglike += row.getProbability(tcC - 1) * (-logSumExp);
-            }
-        }
-
-        return loglike;
-    }
-
-
-    private static double calculateLogit(final RealMatrix beta, final int rC, final RealMatrix x, final int y) {
-        return x.multiply(beta.getSubMatrix(0, 0,
-            y * (rC + 1), (y + 1) * (rC + 1) - 1).transpose()
-                ).getEntry(0, 0);
-    }
-
-    private static void fillXFromRow(final RealMatrix x, final ClassificationTrainingRow row) {
-        FeatureIterator iter = row.getFeatureIterator();
-        boolean hasNext = iter.next();
-        for (int i = 0; i < x.getColumnDimension(); i++) {
-            double val = 0.0;
-            if (hasNext && iter.getFeatureIndex() == i) {
-                val = iter.getFeatureValue();
-                hasNext = iter.next();
-            }
-            x.setEntry(0, i, val);
-        }
+        return m_accumulator.computeLikelihood(data, beta.getRow(0), exec);
     }
 
 
@@ -338,6 +294,8 @@ public LogRegLearnerResult learn(final TrainingData<ClassificationTrainingRow> t
         final int rC = trainingData.getFeatureCount() - 1;
 
         final RealMatrix beta = MatrixUtils.createRealMatrix(1, (tcC - 1) * (rC + 1));
+        m_accumulator = new IrlsAccumulator(rC + 1, tcC - 1);
+        m_hessian = null;
 
         Double loglike = 0.0;
         Double loglikeOld = 0.0;
@@ -357,7 +315,7 @@ public Double call() throws Exception {
                     final ExecutionMonitor progMon = exec.createSubProgress(1.0 / m_maxIter);
                     irlsRls(trainingData, beta, rC, tcC, progMon);
                     progMon.setProgress(1.0);
-                    return likelihood(trainingData.iterator(), beta, rC, tcC, exec);
+                    return likelihood(trainingData, beta, exec);
                 }
             });
 
@@ -396,7 +354,7 @@ public Double call() throws Exception {
                 // half the step size of beta
                 beta.setSubMatrix((beta.add(betaOld)).scalarMultiply(0.5).getData(), 0, 0);
                 exec.checkCanceled();
-                loglike = likelihood(trainingData.iterator(), beta, rC, tcC, exec);
+                loglike = likelihood(trainingData, beta, exec);
                 exec.checkCanceled();
             }
 
@@ -435,9 +393,10 @@ public Double call() throws Exception {
         }
         // The covariance matrix
         RealMatrix covMat = null;
-        if (m_calcCovMatrix) {
+        if (m_calcCovMatrix && m_hessian != null) {
             try {
-                covMat = new QRDecomposition(A).getSolver().getInverse().scalarMultiply(-1);
+                covMat = new QRDecomposition(toMatrix(m_hessian, m_accumulator.getDimension())).getSolver()
+                    .getInverse().scalarMultiply(-1);
             } catch (SingularMatrixException sme) {
                 if (warnBuilder.length() > 0) {
                     warnBuilder.append("\n");
@@ -74,6 +74,7 @@
 import javax.swing.border.EmptyBorder;
 
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.LearningRateStrategies;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.ParallelMode;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Prior;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Solver;
 import org.knime.core.data.DataCell;
@@ -127,6 +128,8 @@ public final class LogRegLearnerNodeDialogPane extends NodeDialogPane {
 
     private JCheckBox m_calcCovMatrixCheckBox;
 
+    private JComboBox<ParallelMode> m_parallelModeComboBox;
+
     private JTextField m_epsilonField;
 
     private JComboBox<LearningRateStrategies> m_learningRateStrategyComboBox;
@@ -167,6 +170,7 @@ public LogRegLearnerNodeDialogPane() {
         m_lazyCalculationCheckBox =
             new JCheckBox("Perform calculations lazily (more memory expensive but often faster)");
         m_calcCovMatrixCheckBox = new JCheckBox("Calculate statistics for coefficients");
+        m_parallelModeComboBox = new JComboBox<>(ParallelMode.values());
         m_maxEpochSpinner =
             new JSpinner(new SpinnerNumberModel(LogRegLearnerSettings.DEFAULT_MAX_EPOCH, 1, Integer.MAX_VALUE, 1));
         m_epsilonField =
@@ -318,6 +322,7 @@ private void solverChanged(final Solver solver) {
 
     private void setEnabledSGRelated(final boolean enable) {
         m_lazyCalculationCheckBox.setEnabled(enable);
+        m_parallelModeComboBox.setEnabled(enable);
         m_learningRateStrategyComboBox.setEnabled(enable);
         m_initialLearningRateField.setEnabled(enable);
         m_priorComboBox.setEnabled(enable);
@@ -388,6 +393,11 @@ private JPanel createSolverOptionsPanel() {
         panel.add(m_lazyCalculationCheckBox, c);
         c.gridy++;
         panel.add(m_calcCovMatrixCheckBox, c);
+        c.gridy++;
+        c.gridwidth = 1;
+        panel.add(new JLabel("Parallel training:"), c);
+        c.gridx++;
+        panel.add(m_parallelModeComboBox, c);
 
         return panel;
     }
@@ -639,6 +649,7 @@ protected void loadSettingsFrom(final NodeSettingsRO s, final PortObjectSpec[] s
         m_maxEpochSpinner.setValue(settings.getMaxEpoch());
         m_lazyCalculationCheckBox.setSelected(settings.isPerformLazy());
         m_calcCovMatrixCheckBox.setSelected(settings.isCalcCovMatrix());
+        m_parallelModeComboBox.setSelectedItem(settings.getParallelMode());
         double epsilon = settings.getEpsilon();
         m_epsilonField.setText(Double.toString(epsilon));
         m_learningRateStrategyComboBox.setSelectedItem(settings.getLearningRateStrategy());
@@ -671,6 +682,7 @@ protected void saveSettingsTo(final NodeSettingsWO s) throws InvalidSettingsExce
         settings.setMaxEpoch((int)m_maxEpochSpinner.getValue());
         settings.setPerformLazy(m_lazyCalculationCheckBox.isSelected());
         settings.setCalcCovMatrix(m_calcCovMatrixCheckBox.isSelected());
+        settings.setParallelMode((ParallelMode)m_parallelModeComboBox.getSelectedItem());
         try {
             String str = m_epsilonField.getText();
             double epsilon = Double.valueOf(str);
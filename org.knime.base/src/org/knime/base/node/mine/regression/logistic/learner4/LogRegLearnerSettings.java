@@ -214,6 +214,40 @@ public boolean hasInitialValue() {
 
     }
 
+    /**
+     * Enum that contains the ways in which the SG framework can distribute an epoch across several threads.
+     *
+     * @since 4.6
+     */
+    public enum ParallelMode {
+        /**
+         * All rows are processed sequentially by a single thread.
+         */
+        None("Single-threaded"),
+        /**
+         * The rows are split into shards that are processed concurrently by several threads which all update the same
+         * coefficients without any synchronization (Hogwild!). This is fast if the features are sparse but the result
+         * depends on the thread scheduling.
+         */
+        Hogwild("Asynchronous (Hogwild!)"),
+        /**
+         * The rows are split into shards that are processed concurrently, each one with its own copy of the
+         * coefficients. The copies are averaged after every epoch which makes the result reproducible.
+         */
+        Averaging("Model averaging (deterministic)");
+
+        private final String m_toString;
+
+        private ParallelMode(final String toString) {
+            m_toString = toString;
+        }
+
+        @Override
+        public String toString() {
+            return m_toString;
+        }
+    }
+
 
     private static final String CFG_TARGET = "target";
     private static final String CFG_TARGET_REFERENCE_CATEGORY = "targetReferenceCategory";
@@ -231,6 +265,7 @@ public boolean hasInitialValue() {
     private static final String CFG_IN_MEMORY = "inMemory";
     private static final String CFG_CHUNK_SIZE = "chunkSize";
     private static final String CFG_CALC_COVMATRIX = "calcCoefficientStatistics";
+    private static final String CFG_PARALLEL_MODE = "parallelMode";
 
     static final Solver DEFAULT_SOLVER = Solver.SAG;
     static final boolean DEFAULT_PERFORM_LAZY = true;
@@ -244,6 +279,7 @@ public boolean hasInitialValue() {
     static final boolean DEFAULT_IN_MEMORY = true;
     static final int DEFAULT_CHUNK_SIZE = 10000;
     static final boolean DEFAULT_CALC_COVMATRIX = true;
+    static final ParallelMode DEFAULT_PARALLEL_MODE = ParallelMode.None;
 
 
     private String m_targetColumn;
@@ -275,6 +311,7 @@ public boolean hasInitialValue() {
     private boolean m_inMemory;
     private Long m_seed;
     private int m_chunkSize;
+    private ParallelMode m_parallelMode;
 
 
     /**
@@ -297,6 +334,7 @@ public LogRegLearnerSettings() {
         m_seed = System.currentTimeMillis();
         m_chunkSize = DEFAULT_CHUNK_SIZE;
         m_calcCovMatrix = DEFAULT_CALC_COVMATRIX;
+        m_parallelMode = DEFAULT_PARALLEL_MODE;
     }
 
 
@@ -342,6 +380,14 @@ public void loadSettings(final NodeSettingsRO settings)
 
         m_calcCovMatrix = settings.getBoolean(CFG_CALC_COVMATRIX);
 
+        // added in 4.6, older workflows are trained single-threaded
+        final String parallelModeString = settings.getString(CFG_PARALLEL_MODE, DEFAULT_PARALLEL_MODE.name());
+        try {
+            m_parallelMode = ParallelMode.valueOf(parallelModeString);
+        } catch (IllegalArgumentException iae) {
+            throw new InvalidSettingsException("Unknown parallel mode \"" + parallelModeString + "\".", iae);
+        }
+
         validate();
 
 
@@ -390,6 +436,12 @@ public void loadSettingsForDialog(final NodeSettingsRO settings, final DataTable
 
         m_calcCovMatrix = settings.getBoolean(CFG_CALC_COVMATRIX, DEFAULT_CALC_COVMATRIX);
 
+        try {
+            m_parallelMode =
+                ParallelMode.valueOf(settings.getString(CFG_PARALLEL_MODE, DEFAULT_PARALLEL_MODE.name()));
+        } catch (IllegalArgumentException iae) {
+            m_parallelMode = DEFAULT_PARALLEL_MODE;
+        }
     }
 
     /**
@@ -424,6 +476,7 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addInt(CFG_CHUNK_SIZE, m_chunkSize);
 
         settings.addBoolean(CFG_CALC_COVMATRIX, m_calcCovMatrix);
+        settings.addString(CFG_PARALLEL_MODE, m_parallelMode.name());
     }
 
     /**
@@ -745,5 +798,22 @@ public boolean isCalcCovMatrix() {
     public void setCalcCovMatrix(final boolean calcCovMatrix) {
         m_calcCovMatrix = calcCovMatrix;
     }
-}
 
+
+    /**
+     * @return the mode in which the SG solvers distribute the epochs across threads
+     * @since 4.6
+     */
+    public ParallelMode getParallelMode() {
+        return m_parallelMode;
+    }
+
+
+    /**
+     * @param parallelMode the mode in which the SG solvers distribute the epochs across threads
+     * @since 4.6
+     */
+    public void setParallelMode(final ParallelMode parallelMode) {
+        m_parallelMode = parallelMode;
+    }
+}
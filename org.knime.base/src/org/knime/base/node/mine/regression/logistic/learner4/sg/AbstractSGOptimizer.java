@@ -104,38 +104,78 @@ public AbstractSGOptimizer(final TrainingData<T> data, final Loss<T> loss, final
 
     public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> data, final Progress progress) throws CanceledExecutionException {
 
-        final int nRows = data.getRowCount();
         final int nFets = data.getFeatureCount();
         final int nCats = data.getTargetDimension();
-        final U updater = m_updaterFactory.create();
 
         final WeightMatrix<T> beta = new SimpleWeightMatrix<>(nFets, nCats, true);
+        final EpochRunner runner = createEpochRunner(data, beta);
         int epoch = 0;
         for (; epoch < maxEpoch; epoch++) {
-            // notify learning rate strategy that a new epoch starts
-            m_lrStrategy.startNewEpoch(epoch);
             progress.setProgress(((double)epoch) / maxEpoch, "Start epoch " + epoch + " of " + maxEpoch);
-            for (int k = 0; k < nRows; k++) {
-                progress.checkCanceled();
-                T x = data.getRandomRow();
-                prepareIteration(beta, x, updater, m_regUpdater, k);
-                double[] prediction = beta.predict(x);
-                double[] sig = m_loss.gradient(x, prediction);
-                double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
-                // beta is updated in two steps
-                m_regUpdater.update(beta, stepSize, k);
-                performUpdate(x, updater, sig, beta, stepSize, k);
-                double scale = beta.getScale();
-                if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
-                    normalize(beta, updater, k);
-                    beta.normalize();
-                }
-            }
-            postProcessEpoch(beta, updater, m_regUpdater);
-            if (m_stoppingCriterion.checkConvergence(beta)) {
+            runner.runEpoch(epoch, progress);
+            if (hasConverged(beta)) {
                 break;
             }
         }
+        return createResult(beta, epoch, maxEpoch);
+    }
+
+    /**
+     * Creates an {@link EpochRunner} that trains <b>beta</b> on <b>data</b> with a fresh updater.
+     * This allows a driver such as the {@link ParallelSgOptimizer} to interleave the epochs of several training runs.
+     *
+     * @param data the rows to draw from
+     * @param beta the coefficient matrix to train
+     * @return a runner for the epochs of a training run on <b>data</b>
+     */
+    EpochRunner createEpochRunner(final TrainingData<T> data, final WeightMatrix<T> beta) {
+        final U updater = m_updaterFactory.create();
+        return (epoch, progress) -> runEpoch(epoch, data, beta, updater, progress);
+    }
+
+    private void runEpoch(final int epoch, final TrainingData<T> data, final WeightMatrix<T> beta, final U updater,
+        final Progress progress) throws CanceledExecutionException {
+        final int nRows = data.getRowCount();
+        // notify learning rate strategy that a new epoch starts
+        m_lrStrategy.startNewEpoch(epoch);
+        for (int k = 0; k < nRows; k++) {
+            progress.checkCanceled();
+            T x = data.getRandomRow();
+            prepareIteration(beta, x, updater, m_regUpdater, k);
+            double[] prediction = beta.predict(x);
+            double[] sig = m_loss.gradient(x, prediction);
+            double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
+            // beta is updated in two steps
+            m_regUpdater.update(beta, stepSize, k);
+            performUpdate(x, updater, sig, beta, stepSize, k);
+            double scale = beta.getScale();
+            if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
+                normalize(beta, updater, k);
+                beta.normalize();
+            }
+        }
+        postProcessEpoch(beta, updater, m_regUpdater);
+    }
+
+    /**
+     * Checks the stopping criterion of this optimizer.
+     *
+     * @param beta the coefficients after the last epoch
+     * @return true if the training converged
+     */
+    boolean hasConverged(final WeightMatrix<T> beta) {
+        return m_stoppingCriterion.checkConvergence(beta);
+    }
+
+    /**
+     * Evaluates the final coefficients on the training data of this optimizer and sets the warning.
+     *
+     * @param beta the final coefficients
+     * @param epoch the number of performed epochs
+     * @param maxEpoch the maximal number of epochs
+     * @return the result of the training
+     */
+    LogRegLearnerResult createResult(final WeightMatrix<T> beta, final int epoch, final int maxEpoch) {
         StringBuilder warnBuilder = new StringBuilder();
         if (epoch >= maxEpoch) {
             warnBuilder.append("The algorithm did not reach convergence after the specified number of epochs. "
@@ -245,4 +285,19 @@ Optional<String> getWarning() {
         return Optional.ofNullable(m_warning);
     }
 
+    /**
+     * Performs the epochs of a single training run, see {@link AbstractSGOptimizer#createEpochRunner}.
+     */
+    @FunctionalInterface
+    interface EpochRunner {
+        /**
+         * Draws as many rows as the training data contains and updates the coefficients accordingly.
+         *
+         * @param epoch the index of the epoch
+         * @param progress used to check for cancellation
+         * @throws CanceledExecutionException if the execution is canceled
+         */
+        void runEpoch(int epoch, Progress progress) throws CanceledExecutionException;
+    }
+
 }
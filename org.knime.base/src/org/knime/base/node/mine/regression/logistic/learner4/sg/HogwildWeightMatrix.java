@@ -0,0 +1,197 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+
+/**
+ * Weight matrix that is shared by several threads which update it without any synchronization (Hogwild!).
+ * The coefficients are stored in a single primitive array in feature major order, i.e. the coefficients of all
+ * linear models for feature <i>i</i> are adjacent, so that the updates for a sparse row touch as few cache lines as
+ * possible and concurrent updates for disjoint features rarely interfere.
+ * Reads and writes are deliberately racy: an update that is lost because two threads wrote the same coefficient
+ * at the same time only slows down the convergence a little.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class HogwildWeightMatrix <T extends TrainingRow> implements WeightMatrix<T> {
+
+    private final double[] m_data;
+    private final int m_nFets;
+    private final int m_nCats;
+    private final boolean m_fitIntercept;
+
+    /**
+     * Creates a HogwildWeightMatrix with all coefficients set to zero.
+     *
+     * @param nFets number of features including the intercept term
+     * @param nLinModels number of linear models to represent with this WeightMatrix
+     * @param fitIntercept flag that indicates whether the intercept term should also be fitted
+     */
+    HogwildWeightMatrix(final int nFets, final int nLinModels, final boolean fitIntercept) {
+        m_data = new double[nFets * nLinModels];
+        m_nFets = nFets;
+        m_nCats = nLinModels;
+        m_fitIntercept = fitIntercept;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scale(final double scaleFactor) {
+        update((val, c, i) -> val * scaleFactor, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final WeightVectorConsumer1 func, final boolean includeIntercept) {
+        int startIdx = m_fitIntercept && includeIntercept ? 0 : 1;
+        for (int i = startIdx; i < m_nFets; i++) {
+            final int offset = i * m_nCats;
+            for (int c = 0; c < m_nCats; c++) {
+                double val = func.calculate(m_data[offset + c], c, i);
+                assert Double.isFinite(val);
+                m_data[offset + c] = val;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final WeightVectorConsumer2 func, final boolean includeIntercept, final TrainingRow row) {
+        boolean updateIntercept = m_fitIntercept && includeIntercept;
+        for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+            int i = iter.getFeatureIndex();
+            if (!updateIntercept && i == 0) {
+                // omit intercept term
+                continue;
+            }
+            double featureValue = iter.getFeatureValue();
+            final int offset = i * m_nCats;
+            for (int c = 0; c < m_nCats; c++) {
+                double val = func.calculate(m_data[offset + c], c, i, featureValue);
+                assert Double.isFinite(val);
+                m_data[offset + c] = val;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void normalize() {
+        // nothing to do here
+    }
+
+    /**
+     * Returns a copy of the coefficients, changes to the returned array are not reflected in this matrix.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public double[][] getWeightVector() {
+        double[][] weights = new double[m_nCats][m_nFets];
+        for (int i = 0; i < m_nFets; i++) {
+            final int offset = i * m_nCats;
+            for (int c = 0; c < m_nCats; c++) {
+                weights[c][i] = m_data[offset + c];
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] predict(final T row) {
+        double[] prediction = new double[m_nCats];
+        FeatureIterator iter = row.getFeatureIterator();
+        while (iter.next()) {
+            final int offset = iter.getFeatureIndex() * m_nCats;
+            double val = iter.getFeatureValue();
+            for (int c = 0; c < m_nCats; c++) {
+                prediction[c] += m_data[offset + c] * val;
+            }
+        }
+        return prediction;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getScale() {
+        // the coefficients are never scaled lazily because a common scale can't be maintained without locking
+        return 1.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNVariables() {
+        return m_nFets;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNVectors() {
+        return m_nCats;
+    }
+
+}
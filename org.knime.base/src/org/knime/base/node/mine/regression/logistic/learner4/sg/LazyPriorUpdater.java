@@ -59,8 +59,18 @@ final class LazyPriorUpdater extends AbstractPriorUpdater implements LazyRegular
     private final double[] m_cummulativeSum;
 
     public LazyPriorUpdater(final Prior prior, final int nRows, final boolean clip) {
+        this(prior, nRows, nRows, clip);
+    }
+
+    /**
+     * @param prior for example a Gauss prior
+     * @param nIterations number of iterations per epoch, i.e. the number of rows that are drawn in an epoch
+     * @param nRows number of rows in the dataset (needed for normalization)
+     * @param clip flag that indicates whether the influence of the prior should be clipped at zero
+     */
+    LazyPriorUpdater(final Prior prior, final int nIterations, final int nRows, final boolean clip) {
         super(prior, nRows, clip);
-        m_cummulativeSum = new double[nRows];
+        m_cummulativeSum = new double[nIterations];
     }
 
     /**
@@ -104,7 +114,7 @@ private double clippedLazyUpdate(final double betaValue, final int lastVisited,
      */
     @Override
     public void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited) {
-        double lastCummSum = m_cummulativeSum[getNRows() - 1];
+        double lastCummSum = m_cummulativeSum[m_cummulativeSum.length - 1];
         // intercept is not regularized
         beta.update((val, c, i) -> doLazyUpdate(val, lastVisited[i], lastCummSum), false);
 
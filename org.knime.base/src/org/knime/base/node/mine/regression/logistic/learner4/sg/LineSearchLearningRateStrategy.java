@@ -92,13 +92,26 @@ enum StepSizeType {
      */
     public LineSearchLearningRateStrategy(final TrainingData<T> data, final Loss<T> loss,
         final double lambda, final StepSizeType stepSizeType) {
+        this(data, loss, lambda, stepSizeType, data.getRowCount());
+    }
+
+    /**
+     * @param data the training data, possibly a part of the complete training data
+     * @param loss the loss function
+     * @param lambda the degree of regularization
+     * @param stepSizeType the step size type
+     * @param nRows the number of rows of the complete training data (needed for normalization)
+     *
+     */
+    LineSearchLearningRateStrategy(final TrainingData<T> data, final Loss<T> loss,
+        final double lambda, final StepSizeType stepSizeType, final int nRows) {
         m_loss = loss;
         m_squaredNorms = new double[data.getRowCount()];
         // initialize with NaN in order to later recognize if the squared norm
         // has been initialized for the respective row
         Arrays.fill(m_squaredNorms, Double.NaN);
         m_lambda = lambda;
-        m_nRows = data.getRowCount();
+        m_nRows = nRows;
         m_stepSizeType = stepSizeType;
         m_lipschitzMultiplier = Math.pow(2, -1.0/m_nRows);
     }
@@ -0,0 +1,390 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.ParallelMode;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.DataTableTrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.sg.AbstractSGOptimizer.EpochRunner;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
+
+/**
+ * Distributes the epochs of the SG optimization across several threads.
+ * The rows are shuffled once and split into one shard per thread, each shard is trained by its own
+ * {@link AbstractSGOptimizer} (and hence with its own updater, learning rate strategy and regularization updater).
+ * The shards of an epoch are processed concurrently and joined before the stopping criterion is checked on the
+ * combined coefficients. How the coefficients are combined depends on the {@link ParallelMode}:
+ * <ul>
+ * <li>{@link ParallelMode#Hogwild}: all shards update a single {@link HogwildWeightMatrix} without
+ * synchronization. If there are several shards, they update the coefficients lazily even if eager updates are
+ * configured because eager updates write all coefficients (including the prior) in every iteration.</li>
+ * <li>{@link ParallelMode#Averaging}: every shard trains its own coefficients which are replaced by the average over
+ * all shards (weighted by the shard size) after every epoch. Given a seed, the result does not depend on the thread
+ * scheduling.</li>
+ * </ul>
+ * The prior and the learning rate strategy of every shard are normalized by the row count of the complete training
+ * data, so that the shards optimize the same objective as a sequential run. With a single shard the result is the
+ * same as the one of the sequential optimization.
+ * The log-likelihood and the covariance matrix of the final model are calculated on the complete training data.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ParallelSgOptimizer {
+
+    /** Shards smaller than this are not worth the synchronization after every epoch. */
+    static final int MIN_ROWS_PER_SHARD = 1024;
+
+    private final ParallelMode m_mode;
+
+    private final int m_parallelism;
+
+    private final Long m_seed;
+
+    private final OptimizerFactory m_optimizerFactory;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while training the model");
+
+    private ThreadPool m_pool;
+
+    private String m_warning;
+
+    /**
+     * Creates a ParallelSgOptimizer.
+     *
+     * @param mode how the shards are combined, must not be {@link ParallelMode#None}
+     * @param parallelism the maximal number of shards
+     * @param seed the seed for the shuffling of the rows and the random drawing within the shards, may be
+     *            <code>null</code>
+     * @param optimizerFactory creates the optimizers for the complete data and the individual shards
+     */
+    ParallelSgOptimizer(final ParallelMode mode, final int parallelism, final Long seed,
+        final OptimizerFactory optimizerFactory) {
+        if (mode == ParallelMode.None) {
+            throw new IllegalArgumentException("The parallel optimizer requires a parallel mode.");
+        }
+        m_mode = mode;
+        m_parallelism = parallelism;
+        m_seed = seed;
+        m_optimizerFactory = optimizerFactory;
+    }
+
+    /**
+     * Finds the coefficients for <b>data</b>.
+     * If the data is not held in memory, the training is performed by the sequential optimizer.
+     *
+     * @param maxEpoch the maximal number of epochs
+     * @param data the training data
+     * @param progress for progress reporting and cancellation
+     * @return the trained model
+     * @throws CanceledExecutionException if the execution is canceled
+     * @throws InvalidSettingsException if the optimizers can't be created
+     */
+    LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<ClassificationTrainingRow> data,
+        final Progress progress) throws CanceledExecutionException, InvalidSettingsException {
+        final int nRows = data.getRowCount();
+        final AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> optimizer =
+            m_optimizerFactory.create(data, nRows, false);
+        // the shards hold references to the rows which would load a table that is read chunk-wise into memory
+        if (data instanceof DataTableTrainingData) {
+            final LogRegLearnerResult result = optimizer.optimize(maxEpoch, data, progress);
+            m_warning = optimizer.getWarning().orElse(null);
+            m_warning = (m_warning == null ? "" : m_warning + "\n")
+                + "Parallel training requires the data to be held in memory, a single thread was used instead.";
+            return result;
+        }
+
+        final int nShards = Math.max(1, Math.min(m_parallelism, nRows / MIN_ROWS_PER_SHARD));
+        final int nFets = data.getFeatureCount();
+        final int nCats = data.getTargetDimension();
+        final List<TrainingData<ClassificationTrainingRow>> shards = createShards(data, nShards);
+        // concurrent dense updates would overwrite the updates of the other shards
+        final boolean forceLazy = m_mode == ParallelMode.Hogwild && nShards > 1;
+        final EpochRunner[] runners = new EpochRunner[nShards];
+        final List<WeightMatrix<ClassificationTrainingRow>> shardBetas = new ArrayList<>(nShards);
+        final WeightMatrix<ClassificationTrainingRow> beta = m_mode == ParallelMode.Hogwild
+            ? new HogwildWeightMatrix<>(nFets, nCats, true) : new SimpleWeightMatrix<>(nFets, nCats, true);
+        for (int s = 0; s < nShards; s++) {
+            final TrainingData<ClassificationTrainingRow> shard = shards.get(s);
+            final AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> shardOptimizer =
+                m_optimizerFactory.create(shard, nRows, forceLazy);
+            if (m_mode == ParallelMode.Hogwild) {
+                runners[s] = shardOptimizer.createEpochRunner(shard, beta);
+            } else {
+                final WeightMatrix<ClassificationTrainingRow> shardBeta = new SimpleWeightMatrix<>(nFets, nCats, true);
+                shardBetas.add(shardBeta);
+                runners[s] = shardOptimizer.createEpochRunner(shard, shardBeta);
+            }
+        }
+
+        m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(nShards);
+        int epoch = 0;
+        try {
+            for (; epoch < maxEpoch; epoch++) {
+                progress.setProgress(((double)epoch) / maxEpoch, "Start epoch " + epoch + " of " + maxEpoch);
+                final int currentEpoch = epoch;
+                for (EpochRunner runner : runners) {
+                    m_pending.add(m_pool.enqueue((Callable<Void>)() -> {
+                        runner.runEpoch(currentEpoch, progress);
+                        return null;
+                    }));
+                }
+                awaitPending(progress);
+                if (m_mode == ParallelMode.Averaging) {
+                    average(shards, shardBetas, beta, nRows);
+                }
+                if (optimizer.hasConverged(beta)) {
+                    break;
+                }
+            }
+        } finally {
+            m_pending.cancel();
+        }
+        final LogRegLearnerResult result = optimizer.createResult(beta, epoch, maxEpoch);
+        m_warning = optimizer.getWarning().orElse(null);
+        return result;
+    }
+
+    /**
+     * Returns an {@link Optional} that can contain a warning message.
+     *
+     * @return an {@link Optional} possibly containing a warning message
+     */
+    Optional<String> getWarning() {
+        return Optional.ofNullable(m_warning);
+    }
+
+    private List<TrainingData<ClassificationTrainingRow>> createShards(
+        final TrainingData<ClassificationTrainingRow> data, final int nShards) {
+        if (nShards == 1) {
+            // nothing to split, draw from the data directly like the sequential optimizer
+            return Collections.singletonList(data);
+        }
+        final Random random = m_seed == null ? new Random() : new Random(m_seed);
+        final ClassificationTrainingRow[] rows = new ClassificationTrainingRow[data.getRowCount()];
+        int idx = 0;
+        for (ClassificationTrainingRow row : data) {
+            rows[idx++] = row;
+        }
+        // Fisher-Yates shuffle so that every shard is a random sample of the data
+        for (int i = rows.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final ClassificationTrainingRow tmp = rows[i];
+            rows[i] = rows[j];
+            rows[j] = tmp;
+        }
+        final List<TrainingData<ClassificationTrainingRow>> shards = new ArrayList<>(nShards);
+        for (int s = 0; s < nShards; s++) {
+            final int start = (int)((long)rows.length * s / nShards);
+            final int end = (int)((long)rows.length * (s + 1) / nShards);
+            final ClassificationTrainingRow[] shardRows = new ClassificationTrainingRow[end - start];
+            System.arraycopy(rows, start, shardRows, 0, shardRows.length);
+            shards.add(new Shard(shardRows, data.getFeatureCount(), data.getTargetDimension(),
+                new Random(random.nextLong())));
+        }
+        return shards;
+    }
+
+    private static void average(final List<TrainingData<ClassificationTrainingRow>> shards,
+        final List<WeightMatrix<ClassificationTrainingRow>> shardBetas,
+        final WeightMatrix<ClassificationTrainingRow> beta, final int nRows) {
+        final int nCats = beta.getNVectors();
+        final int nFets = beta.getNVariables();
+        final double[][] avg = new double[nCats][nFets];
+        // sum up in a fixed order to obtain the same result in every run
+        for (int s = 0; s < shards.size(); s++) {
+            final double weight = shards.get(s).getRowCount() / (double)nRows;
+            final double[][] shardWeights = shardBetas.get(s).getWeightVector();
+            for (int c = 0; c < nCats; c++) {
+                for (int i = 0; i < nFets; i++) {
+                    avg[c][i] += weight * shardWeights[c][i];
+                }
+            }
+        }
+        beta.update((val, c, i) -> avg[c][i], true);
+        for (WeightMatrix<ClassificationTrainingRow> shardBeta : shardBetas) {
+            shardBeta.update((val, c, i) -> avg[c][i], true);
+        }
+    }
+
+    private void awaitPending(final Progress progress) throws CanceledExecutionException {
+        m_pending.await();
+        progress.checkCanceled();
+    }
+
+    /**
+     * Creates the {@link AbstractSGOptimizer} for some training data.
+     */
+    @FunctionalInterface
+    interface OptimizerFactory {
+        /**
+         * @param data the training data, the complete data or a shard
+         * @param nRows the number of rows of the complete training data, used to normalize the prior and the
+         *            learning rate
+         * @param forceLazy if the optimizer should update the coefficients lazily regardless of the settings
+         * @return an optimizer for <b>data</b>
+         * @throws InvalidSettingsException if the settings are invalid
+         */
+        AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> create(TrainingData<ClassificationTrainingRow> data,
+            int nRows, boolean forceLazy) throws InvalidSettingsException;
+    }
+
+    /**
+     * A subset of the training rows. The updaters and learning rate strategies store their per row state in arrays
+     * indexed by the row id, hence the rows of a shard are renumbered from zero. The renumbered rows are created
+     * when they are drawn to avoid holding a second object per row in memory.
+     */
+    private static final class Shard implements TrainingData<ClassificationTrainingRow> {
+
+        private final ClassificationTrainingRow[] m_rows;
+
+        private final int m_featureCount;
+
+        private final int m_targetDimension;
+
+        private final Random m_random;
+
+        Shard(final ClassificationTrainingRow[] rows, final int featureCount, final int targetDimension,
+            final Random random) {
+            m_rows = rows;
+            m_featureCount = featureCount;
+            m_targetDimension = targetDimension;
+            m_random = random;
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_rows.length;
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return m_featureCount;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return m_targetDimension;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            final int idx = m_random.nextInt(m_rows.length);
+            return new ShardRow(m_rows[idx], idx);
+        }
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return new Iterator<ClassificationTrainingRow>() {
+
+                private int m_idx = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return m_idx < m_rows.length;
+                }
+
+                @Override
+                public ClassificationTrainingRow next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final ClassificationTrainingRow row = new ShardRow(m_rows[m_idx], m_idx);
+                    m_idx++;
+                    return row;
+                }
+            };
+        }
+    }
+
+    private static final class ShardRow implements ClassificationTrainingRow {
+
+        private final ClassificationTrainingRow m_row;
+
+        private final int m_id;
+
+        ShardRow(final ClassificationTrainingRow row, final int id) {
+            m_row = row;
+            m_id = id;
+        }
+
+        @Override
+        public int getId() {
+            return m_id;
+        }
+
+        @Override
+        public FeatureIterator getFeatureIterator() {
+            return m_row.getFeatureIterator();
+        }
+
+        @Override
+        public int getCategory() {
+            return m_row.getCategory();
+        }
+
+        @Override
+        public double getProbability(final int classIdx) {
+            return m_row.getProbability(classIdx);
+        }
+    }
+}
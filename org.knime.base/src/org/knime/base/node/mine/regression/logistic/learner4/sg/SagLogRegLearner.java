@@ -53,6 +53,7 @@
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearner;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.ParallelMode;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.sg.LineSearchLearningRateStrategy.StepSizeType;
@@ -83,21 +84,22 @@ public SagLogRegLearner(final LogRegLearnerSettings settings) {
     }
 
     private LearningRateStrategy<ClassificationTrainingRow> createLearningRateStrategy(
-        final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data,
+        final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data, final int nRows,
         final Loss<ClassificationTrainingRow> loss) throws InvalidSettingsException {
         switch (settings.getLearningRateStrategy()) {
             case Fixed:
                 return new FixedLearningRateStrategy<>(settings.getInitialLearningRate());
             case LineSearch:
                 double lambda = 1 / settings.getPriorVariance();
-                return new LineSearchLearningRateStrategy<>(data, loss, lambda, StepSizeType.Default);
+                return new LineSearchLearningRateStrategy<>(data, loss, lambda, StepSizeType.Default, nRows);
             default:
                 throw new InvalidSettingsException("Unknown learning rate strategy \"" + settings.getLearningRateStrategy() + "\".");
         }
     }
 
     private RegularizationUpdater createRegularizationUpdater(final LogRegLearnerSettings settings,
-        final TrainingData<ClassificationTrainingRow> data) throws InvalidSettingsException {
+        final TrainingData<ClassificationTrainingRow> data, final int nRows, final boolean lazy)
+        throws InvalidSettingsException {
         Prior prior;
         switch (settings.getPrior()) {
             case Gauss:
@@ -111,16 +113,15 @@ private RegularizationUpdater createRegularizationUpdater(final LogRegLearnerSet
             default:
                 throw new InvalidSettingsException("Unknown prior type \"" + settings.getPrior() + "\".");
         }
-        if (settings.isPerformLazy()) {
-            return new LazyPriorUpdater(prior, data.getRowCount(), true);
+        if (lazy) {
+            return new LazyPriorUpdater(prior, data.getRowCount(), nRows, true);
         } else {
-            return new EagerPriorUpdater(prior, data.getRowCount(), true);
+            return new EagerPriorUpdater(prior, nRows, true);
         }
     }
 
     private UpdaterFactory<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>> createLazyUpdater(
         final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) {
-        assert settings.isPerformLazy() : "This method should only be called if a lazy updater is required.";
         int nRows = data.getRowCount();
         int nFets = data.getFeatureCount();
         int betaDim = data.getTargetDimension();
@@ -150,14 +151,29 @@ private UpdaterFactory<ClassificationTrainingRow, EagerUpdater<ClassificationTra
         }
     }
 
-    private AbstractSGOptimizer createOptimizer(
-        final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) throws InvalidSettingsException {
+    /**
+     * Creates the optimizer for the given training data.
+     *
+     * @param settings the settings of the training
+     * @param data the rows to train on
+     * @param nRows the number of rows of the complete training data, which differs from the number of rows of
+     *            <b>data</b> if it is a shard of the {@link ParallelSgOptimizer}
+     * @param forceLazy if the coefficients should be updated lazily even if the settings ask for eager updates, which
+     *            the Hogwild! mode of the {@link ParallelSgOptimizer} requires because eager updates write all
+     *            coefficients in every iteration
+     * @return the optimizer
+     * @throws InvalidSettingsException if the settings are invalid
+     */
+    AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> createOptimizer(final LogRegLearnerSettings settings,
+        final TrainingData<ClassificationTrainingRow> data, final int nRows, final boolean forceLazy)
+        throws InvalidSettingsException {
         final Loss<ClassificationTrainingRow> loss = MultinomialLoss.INSTANCE;
         final StoppingCriterion<ClassificationTrainingRow> stoppingCriterion =
                 new BetaChangeStoppingCriterion<>(data.getFeatureCount(), data.getTargetDimension(), settings.getEpsilon());
-        LearningRateStrategy<ClassificationTrainingRow> lrs = createLearningRateStrategy(settings, data, loss);
-        RegularizationUpdater regUpdater = createRegularizationUpdater(settings, data);
-        if (settings.isPerformLazy()) {
+        LearningRateStrategy<ClassificationTrainingRow> lrs = createLearningRateStrategy(settings, data, nRows, loss);
+        final boolean lazy = settings.isPerformLazy() || forceLazy;
+        RegularizationUpdater regUpdater = createRegularizationUpdater(settings, data, nRows, lazy);
+        if (lazy) {
             UpdaterFactory<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>> updaterFactory = createLazyUpdater(settings, data);
             return new LazySGOptimizer<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>, LazyRegularizationUpdater>(
                     data, loss, updaterFactory, (LazyRegularizationUpdater)regUpdater, lrs, stoppingCriterion, m_settings.isCalcCovMatrix());
@@ -175,11 +191,21 @@ private AbstractSGOptimizer createOptimizer(
     @Override
     public LogRegLearnerResult learn(final TrainingData<ClassificationTrainingRow> data, final ExecutionMonitor progressMonitor)
         throws CanceledExecutionException, InvalidSettingsException {
-        AbstractSGOptimizer sgOpt = createOptimizer(m_settings, data);
-
         SimpleProgress progMon = new SimpleProgress(progressMonitor.getProgressMonitor());
-        LogRegLearnerResult result = sgOpt.optimize(m_settings.getMaxEpoch(), data, progMon);
-        Optional<String> warning = sgOpt.getWarning();
+        LogRegLearnerResult result;
+        Optional<String> warning;
+        if (m_settings.getParallelMode() == ParallelMode.None) {
+            AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> sgOpt =
+                createOptimizer(m_settings, data, data.getRowCount(), false);
+            result = sgOpt.optimize(m_settings.getMaxEpoch(), data, progMon);
+            warning = sgOpt.getWarning();
+        } else {
+            ParallelSgOptimizer parallelOpt = new ParallelSgOptimizer(m_settings.getParallelMode(),
+                Runtime.getRuntime().availableProcessors(), m_settings.getSeed(),
+                (d, nRows, forceLazy) -> createOptimizer(m_settings, d, nRows, forceLazy));
+            result = parallelOpt.optimize(m_settings.getMaxEpoch(), data, progMon);
+            warning = parallelOpt.getWarning();
+        }
         if (warning.isPresent()) {
             m_warning = warning.get();
         }
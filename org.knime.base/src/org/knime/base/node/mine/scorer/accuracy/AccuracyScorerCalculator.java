@@ -54,7 +54,6 @@
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
@@ -554,66 +553,50 @@ private void calculate(final BufferedDataTable data, final String firstColumnNam
         m_targetValues = m_confusionMatrixSpec.getColumnNames();
 
         DataCell[] values = determineColValues(inSpec, index1, index2, config);
-        List<DataCell> valuesList = Arrays.asList(values);
-        Set<DataCell> valuesInCol2 = new HashSet<DataCell>();
 
-        // the scorerCount counts the confusions
-        m_scorerCount = new int[m_targetValues.length][m_targetValues.length];
+        // the accumulator counts the confusions and remembers the row keys for later hiliting
+        ConfusionMatrixAccumulator accumulator = new ConfusionMatrixAccumulator(values,
+            m_config.isIgnoreMissingValues(), Runtime.getRuntime().availableProcessors());
 
-        // the key store remembers the row key for later hiliting
-        m_keyStore = new List[m_targetValues.length][m_targetValues.length];
-        for (int i = 0; i < m_keyStore.length; i++) {
-            for (int j = 0; j < m_keyStore[i].length; j++) {
-                m_keyStore[i][j] = new ArrayList<RowKey>();
+        // filling in the confusion matrix and the keystore
+        final long rowCnt = data.size();
+        long rowsNumber = 0;
+        ExecutionMonitor subExec = exec.createSubProgress(0.5);
+        try {
+            for (DataRow row : data) {
+                final long rowIndex = rowsNumber++;
+                if (rowIndex % ConfusionMatrixAccumulator.CHUNK_ROWS == 0) {
+                    subExec.setProgress((1.0 + rowIndex) / rowCnt,
+                        () -> "Computing score, row " + rowIndex + " (\"" + row.getKey() + "\") of " + rowCnt);
+                }
+                accumulator.addRow(row.getKey(), row.getCell(index1), row.getCell(index2), subExec);
             }
+            accumulator.finish(subExec);
+        } catch (CanceledExecutionException cee) {
+            accumulator.cancel();
+            reset();
+            throw cee;
+        } catch (RuntimeException ex) {
+            accumulator.cancel();
+            throw ex;
         }
 
-        // filling in the confusion matrix and the keystore
-        long rowCnt = data.size();
-        int rowsNumber = 0;
+        m_scorerCount = new int[m_targetValues.length][m_targetValues.length];
+        m_keyStore = accumulator.getKeyStore();
         m_correctCount = 0;
         m_falseCount = 0;
-        int missingCount = 0;
-        ExecutionMonitor subExec = exec.createSubProgress(0.5);
-        for (Iterator<DataRow> it = data.iterator(); it.hasNext(); rowsNumber++) {
-            DataRow row = it.next();
-            subExec.setProgress((1.0 + rowsNumber) / rowCnt,
-                "Computing score, row " + rowsNumber + " (\"" + row.getKey() + "\") of " + data.size());
-            try {
-                subExec.checkCanceled();
-            } catch (CanceledExecutionException cee) {
-                reset();
-                throw cee;
-            }
-            DataCell cell1 = row.getCell(index1);
-            DataCell cell2 = row.getCell(index2);
-            valuesInCol2.add(cell2);
-            if (cell1.isMissing() || cell2.isMissing()) {
-                ++missingCount;
-                CheckUtils.checkState(m_config.isIgnoreMissingValues(), "Missing value in row: " + row.getKey());
-                if (m_config.isIgnoreMissingValues()) {
-                    continue;
+        for (int i = 0; i < m_scorerCount.length; i++) {
+            for (int j = 0; j < m_scorerCount[i].length; j++) {
+                m_scorerCount[i][j] = (int)accumulator.getCount(i, j);
+                if (i == j) {
+                    m_correctCount += m_scorerCount[i][j];
+                } else {
+                    m_falseCount += m_scorerCount[i][j];
                 }
             }
-            boolean areEqual = cell1.equals(cell2);
-
-            int i1 = valuesList.indexOf(cell1);
-            int i2 = areEqual ? i1 : valuesList.indexOf(cell2);
-            assert i1 >= 0 : "column spec lacks possible value " + cell1;
-            assert i2 >= 0 : "column spec lacks possible value " + cell2;
-            // i2 must be equal to i1 if cells are equal (implication)
-            assert (!areEqual || i1 == valuesList.indexOf(cell2));
-            m_keyStore[i1][i2].add(row.getKey());
-            m_scorerCount[i1][i2]++;
-
-            if (areEqual) {
-                m_correctCount++;
-            } else {
-                m_falseCount++;
-            }
         }
-        int missing = rowsNumber - m_correctCount - m_falseCount;
-        if (missingCount > 0) {
+        long missing = accumulator.getMissingCount();
+        if (missing > 0) {
             addWarning(
                 "There were " + missing + " missing values in the reference or in the prediction class columns.");
         }
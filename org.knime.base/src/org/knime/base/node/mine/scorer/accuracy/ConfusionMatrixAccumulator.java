@@ -0,0 +1,320 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.scorer.accuracy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
+
+/**
+ * Accumulates a confusion matrix of primitive counts. The class values are encoded to their index in the confusion
+ * matrix once using a dictionary built from the possible values, the counts of the matrix cell <i>(i,j)</i> are kept
+ * at position <i>i * k + j</i> of a flat array.
+ *
+ * <p>
+ * Rows are buffered in chunks and each chunk is split into contiguous row ranges which are encoded and counted by
+ * workers into their own partial matrix. The partial matrices are summed at the end. The row keys are added to the key
+ * store by the calling thread in the order of the rows.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ConfusionMatrixAccumulator {
+
+    /** Upper bound for the number of values held by the matrices of all partial results together. */
+    private static final long MAX_PARTIAL_VALUES = 1L << 24;
+
+    /** Number of rows in one chunk. */
+    static final int CHUNK_ROWS = 8192;
+
+    /** Code of rows whose actual or predicted class is missing. */
+    private static final int MISSING = -1;
+
+    private final Map<DataCell, Integer> m_dictionary;
+
+    private final int m_numValues;
+
+    private final boolean m_ignoreMissingValues;
+
+    private final ThreadPool m_pool;
+
+    private final long[][] m_partials;
+
+    private final List<RowKey>[][] m_keyStore;
+
+    private Chunk m_fillChunk;
+
+    private Chunk m_spareChunk;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while computing confusion matrix");
+
+    private long m_missingCount;
+
+    private long[] m_result;
+
+    /**
+     * @param values the possible class values in the order of the rows and columns of the confusion matrix
+     * @param ignoreMissingValues whether rows with missing values are skipped, otherwise an
+     *            {@link IllegalStateException} is thrown if a row contains a missing value
+     * @param parallelism the maximum number of partial matrices that are computed concurrently
+     */
+    @SuppressWarnings("unchecked")
+    ConfusionMatrixAccumulator(final DataCell[] values, final boolean ignoreMissingValues, final int parallelism) {
+        m_numValues = values.length;
+        final long matrixSize = (long)m_numValues * m_numValues;
+        if (matrixSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many class values for a confusion matrix: " + m_numValues);
+        }
+        m_dictionary = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            m_dictionary.putIfAbsent(values[i], i);
+        }
+        m_ignoreMissingValues = ignoreMissingValues;
+        final int partials = (int)Math.max(1, Math.min(parallelism, MAX_PARTIAL_VALUES / Math.max(1, matrixSize)));
+        m_partials = new long[partials][(int)matrixSize];
+        if (partials == 1) {
+            m_pool = null;
+        } else {
+            m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(partials);
+        }
+        m_keyStore = new List[m_numValues][m_numValues];
+        for (int i = 0; i < m_numValues; i++) {
+            for (int j = 0; j < m_numValues; j++) {
+                m_keyStore[i][j] = new ArrayList<RowKey>();
+            }
+        }
+        m_fillChunk = new Chunk();
+        m_spareChunk = new Chunk();
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param key the row's key
+     * @param actual the actual class
+     * @param predicted the predicted class
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled while waiting for the workers
+     * @throws IllegalStateException if a value is missing and missing values are not ignored or if a value is not
+     *             among the possible values
+     */
+    void addRow(final RowKey key, final DataCell actual, final DataCell predicted, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        if (m_result != null) {
+            throw new IllegalStateException("The confusion matrix has already been finished");
+        }
+        m_fillChunk.add(key, actual, predicted);
+        if (m_fillChunk.m_rowCount == CHUNK_ROWS) {
+            dispatch(exec);
+        }
+    }
+
+    /**
+     * Processes the remaining buffered rows, waits for all workers and sums up their partial matrices. Afterwards no
+     * further rows can be added.
+     *
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled
+     */
+    void finish(final ExecutionMonitor exec) throws CanceledExecutionException {
+        if (m_result != null) {
+            return;
+        }
+        if (m_fillChunk.m_rowCount > 0) {
+            dispatch(exec);
+        }
+        awaitPending(exec);
+        collectKeys(m_spareChunk);
+        final long[] result = m_partials[0];
+        for (int w = 1; w < m_partials.length; w++) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] += m_partials[w][i];
+            }
+            m_partials[w] = null;
+        }
+        m_fillChunk = null;
+        m_spareChunk = null;
+        m_result = result;
+    }
+
+    /** Cancels all running workers, e.g. if the computation failed. */
+    void cancel() {
+        m_pending.cancel();
+    }
+
+    /**
+     * @param actual the index of the actual class
+     * @param predicted the index of the predicted class
+     * @return the number of rows with the given actual and predicted class
+     */
+    long getCount(final int actual, final int predicted) {
+        return getResult()[actual * m_numValues + predicted];
+    }
+
+    /**
+     * @return the number of rows with a missing actual or predicted class
+     */
+    long getMissingCount() {
+        getResult();
+        return m_missingCount;
+    }
+
+    /**
+     * @return the row keys for each cell of the confusion matrix, in the order of the rows
+     */
+    List<RowKey>[][] getKeyStore() {
+        getResult();
+        return m_keyStore;
+    }
+
+    private long[] getResult() {
+        if (m_result == null) {
+            throw new IllegalStateException("The confusion matrix has not been finished");
+        }
+        return m_result;
+    }
+
+    private void dispatch(final ExecutionMonitor exec) throws CanceledExecutionException {
+        // the workers of the previous chunk must be done before its keys are collected and its buffer is refilled
+        awaitPending(exec);
+        collectKeys(m_spareChunk);
+        final Chunk chunk = m_fillChunk;
+        m_fillChunk = m_spareChunk;
+        m_spareChunk = chunk;
+        final int rowCount = chunk.m_rowCount;
+        if (m_pool == null) {
+            encode(chunk, 0, rowCount, m_partials[0]);
+            return;
+        }
+        final int workers = Math.min(m_partials.length, rowCount);
+        for (int w = 0; w < workers; w++) {
+            final long[] counts = m_partials[w];
+            final int start = (int)((long)rowCount * w / workers);
+            final int end = (int)((long)rowCount * (w + 1) / workers);
+            m_pending.add(m_pool.enqueue((Callable<Void>)() -> {
+                encode(chunk, start, end, counts);
+                return null;
+            }));
+        }
+    }
+
+    /** Encodes the rows of the given range and counts them in the given matrix. */
+    private void encode(final Chunk chunk, final int start, final int end, final long[] counts) {
+        for (int r = start; r < end; r++) {
+            final DataCell actual = chunk.m_actual[r];
+            final DataCell predicted = chunk.m_predicted[r];
+            if (actual.isMissing() || predicted.isMissing()) {
+                chunk.m_codes[r] = MISSING;
+                continue;
+            }
+            final int i1 = indexOf(actual);
+            final int i2 = actual.equals(predicted) ? i1 : indexOf(predicted);
+            final int code = i1 * m_numValues + i2;
+            chunk.m_codes[r] = code;
+            counts[code]++;
+        }
+    }
+
+    private int indexOf(final DataCell cell) {
+        final Integer index = m_dictionary.get(cell);
+        if (index == null) {
+            throw new IllegalStateException("Column spec lacks possible value " + cell);
+        }
+        return index;
+    }
+
+    /** Adds the keys of an encoded chunk to the key store and empties the chunk. */
+    private void collectKeys(final Chunk chunk) {
+        for (int r = 0; r < chunk.m_rowCount; r++) {
+            final int code = chunk.m_codes[r];
+            if (code == MISSING) {
+                m_missingCount++;
+                CheckUtils.checkState(m_ignoreMissingValues, "Missing value in row: " + chunk.m_keys[r]);
+            } else {
+                m_keyStore[code / m_numValues][code % m_numValues].add(chunk.m_keys[r]);
+            }
+        }
+        chunk.m_rowCount = 0;
+    }
+
+    private void awaitPending(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_pending.await();
+        exec.checkCanceled();
+    }
+
+    /** A buffer of rows and their codes. */
+    private static final class Chunk {
+
+        private final RowKey[] m_keys = new RowKey[CHUNK_ROWS];
+
+        private final DataCell[] m_actual = new DataCell[CHUNK_ROWS];
+
+        private final DataCell[] m_predicted = new DataCell[CHUNK_ROWS];
+
+        private final int[] m_codes = new int[CHUNK_ROWS];
+
+        private int m_rowCount;
+
+        void add(final RowKey key, final DataCell actual, final DataCell predicted) {
+            m_keys[m_rowCount] = key;
+            m_actual[m_rowCount] = actual;
+            m_predicted[m_rowCount] = predicted;
+            m_rowCount++;
+        }
+    }
+}
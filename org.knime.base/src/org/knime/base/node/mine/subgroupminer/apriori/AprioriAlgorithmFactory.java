@@ -70,7 +70,10 @@ public enum AlgorithmDataStructure {
         ARRAY,
         /* LIST */
         /** The TIDList stores the ids of the transactions. * */
-        TIDList;
+        TIDList,
+        /** Frequent pattern growth on a compressed prefix tree of the
+         * transactions. * */
+        FPGrowth;
 
         /**
          * Returns the values of this enum as a list of strings.
@@ -108,6 +111,8 @@ public static AprioriAlgorithm getAprioriAlgorithm(
             return new ArrayApriori(bitSetLength, dbsize);
         } else if (type.equals(AlgorithmDataStructure.TIDList)) {
             return new TIDApriori();
+        } else if (type.equals(AlgorithmDataStructure.FPGrowth)) {
+            return new FPGrowth();
         } else {
             throw new RuntimeException("Type not supported: " + type);
         }
@@ -0,0 +1,525 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet.Type;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * An FP-Growth implementation of the {@link AprioriAlgorithm}. The transactions are compressed into a frequent pattern
+ * tree (FP-tree) whose nodes are stored in primitive arrays. The frequent itemsets are then mined by recursively
+ * building conditional FP-trees, thus, no candidates are generated and the transactions are only read twice.
+ *
+ * <p>
+ * The results are the same as for the {@link ArrayApriori}: items that occur in every transaction are reported
+ * separately and not combined with others, the maximal itemset length is the passed maximal depth and the closed and
+ * maximal itemsets are derived from the found free itemsets.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FPGrowth implements AprioriAlgorithm {
+
+    private double m_minSupport;
+
+    private int m_maxDepth;
+
+    private int m_dbsize;
+
+    /** Maps the rank of a frequent item (0 = most frequent) to its id. */
+    private int[] m_rankToItem;
+
+    private List<Integer> m_alwaysFrequentItems;
+
+    /** The found itemsets in the order they were mined. */
+    private List<ItemSetRecord> m_itemSets;
+
+    private Map<ItemSetKey, ItemSetRecord> m_itemSetIndex;
+
+    private boolean m_closedComputed;
+
+    private int m_idCounter;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void findFrequentItemSets(final List<BitVectorValue> transactions, final double minSupport,
+        final int maxDepth, final Type type, final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_minSupport = minSupport;
+        m_maxDepth = maxDepth;
+        m_dbsize = transactions.size();
+        m_itemSets = new ArrayList<>();
+        m_itemSetIndex = new HashMap<>();
+        m_closedComputed = false;
+
+        exec.setMessage("detecting frequent items");
+        final int[] itemRanks = findFrequentItems(transactions, exec.createSubProgress(0.2));
+        final FPTree tree = buildTree(transactions, itemRanks, exec.createSubProgress(0.3));
+        final ExecutionMonitor mineExec = exec.createSubProgress(0.5);
+        mine(tree, new int[0], mineExec, true);
+        mineExec.setProgress(1.0);
+    }
+
+    /**
+     * Counts the items and ranks the frequent ones by descending support.
+     *
+     * @return for each item id its rank or -1 if the item is not frequent or always frequent
+     */
+    private int[] findFrequentItems(final List<BitVectorValue> transactions, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        int[] counts = new int[64];
+        int transactionNr = 0;
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            exec.setProgress(transactionNr++ / (double)m_dbsize);
+            // this type cast is save since the maximum length was checked in
+            // SubgroupMinerModel2#preprocess
+            for (int i = (int)transaction.nextSetBit(0); i >= 0; i = (int)transaction.nextSetBit(i + 1)) {
+                if (i >= counts.length) {
+                    counts = Arrays.copyOf(counts, Math.max(i + 1, 2 * counts.length));
+                }
+                counts[i]++;
+            }
+        }
+        m_alwaysFrequentItems = new ArrayList<>();
+        final List<Integer> frequentItems = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (m_dbsize > 0 && counts[i] == m_dbsize) {
+                // always frequent items are not informative, they are reported separately
+                m_alwaysFrequentItems.add(i);
+            } else if (counts[i] > 0 && isFrequent(counts[i])) {
+                frequentItems.add(i);
+            }
+        }
+        final int[] itemCounts = counts;
+        // most frequent items first leads to the best compression of the tree, ties are broken by the item id
+        Collections.sort(frequentItems, (a, b) -> itemCounts[a] != itemCounts[b]
+            ? Integer.compare(itemCounts[b], itemCounts[a]) : Integer.compare(a, b));
+        m_rankToItem = new int[frequentItems.size()];
+        final int[] itemRanks = new int[counts.length];
+        Arrays.fill(itemRanks, -1);
+        for (int rank = 0; rank < m_rankToItem.length; rank++) {
+            m_rankToItem[rank] = frequentItems.get(rank);
+            itemRanks[m_rankToItem[rank]] = rank;
+        }
+        return itemRanks;
+    }
+
+    private FPTree buildTree(final List<BitVectorValue> transactions, final int[] itemRanks,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final FPTree tree = new FPTree(m_rankToItem.length);
+        int[] path = new int[16];
+        int transactionNr = 0;
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            exec.setProgress(transactionNr++ / (double)m_dbsize, "building FP-tree");
+            int length = 0;
+            for (int i = (int)transaction.nextSetBit(0); i >= 0 && i < itemRanks.length;
+                    i = (int)transaction.nextSetBit(i + 1)) {
+                final int rank = itemRanks[i];
+                if (rank >= 0) {
+                    if (length == path.length) {
+                        path = Arrays.copyOf(path, 2 * length);
+                    }
+                    path[length++] = rank;
+                }
+            }
+            if (length > 0) {
+                Arrays.sort(path, 0, length);
+                tree.insert(path, length, 1);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Mines the given (conditional) tree. Each item of the tree together with the suffix is a frequent itemset, its
+     * conditional tree is mined recursively.
+     */
+    private void mine(final FPTree tree, final int[] suffix, final ExecutionMonitor exec, final boolean topLevel)
+        throws CanceledExecutionException {
+        final int[] conditionalCounts = new int[m_rankToItem.length];
+        int[] path = new int[16];
+        // start with the least frequent items as their conditional trees are the smallest
+        for (int rank = tree.m_headerFirst.length - 1; rank >= 0; rank--) {
+            exec.checkCanceled();
+            if (topLevel) {
+                exec.setProgress((tree.m_headerFirst.length - rank) / (double)tree.m_headerFirst.length,
+                    "mining item " + (tree.m_headerFirst.length - rank) + " of " + tree.m_headerFirst.length);
+            }
+            final int support = tree.m_headerCount[rank];
+            if (support == 0 || !isFrequent(support)) {
+                continue;
+            }
+            final int[] itemSet = Arrays.copyOf(suffix, suffix.length + 1);
+            itemSet[suffix.length] = rank;
+            addItemSet(itemSet, support);
+            if (itemSet.length >= m_maxDepth) {
+                continue;
+            }
+            // count the items in the prefix paths of the current item
+            Arrays.fill(conditionalCounts, 0, rank, 0);
+            boolean hasPrefix = false;
+            for (int node = tree.m_headerFirst[rank]; node >= 0; node = tree.m_nodeLink[node]) {
+                final int count = tree.m_count[node];
+                for (int p = tree.m_parent[node]; p > 0; p = tree.m_parent[p]) {
+                    conditionalCounts[tree.m_item[p]] += count;
+                    hasPrefix = true;
+                }
+            }
+            if (!hasPrefix) {
+                continue;
+            }
+            // insert the frequent part of the prefix paths into the conditional tree
+            final FPTree conditionalTree = new FPTree(rank);
+            for (int node = tree.m_headerFirst[rank]; node >= 0; node = tree.m_nodeLink[node]) {
+                int length = 0;
+                for (int p = tree.m_parent[node]; p > 0; p = tree.m_parent[p]) {
+                    final int item = tree.m_item[p];
+                    if (isFrequent(conditionalCounts[item])) {
+                        if (length == path.length) {
+                            path = Arrays.copyOf(path, 2 * length);
+                        }
+                        path[length++] = item;
+                    }
+                }
+                if (length > 0) {
+                    // the path was collected bottom-up, i.e. with descending ranks
+                    reverse(path, length);
+                    conditionalTree.insert(path, length, tree.m_count[node]);
+                }
+            }
+            if (conditionalTree.m_size > 1) {
+                mine(conditionalTree, itemSet, exec, false);
+            }
+        }
+    }
+
+    private static void reverse(final int[] array, final int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            final int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    private boolean isFrequent(final int count) {
+        return ((double)count / (double)m_dbsize) >= m_minSupport;
+    }
+
+    private void addItemSet(final int[] ranks, final int support) {
+        final int[] items = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            items[i] = m_rankToItem[ranks[i]];
+        }
+        Arrays.sort(items);
+        final ItemSetRecord record = new ItemSetRecord(items, support);
+        m_itemSets.add(record);
+        m_itemSetIndex.put(new ItemSetKey(items), record);
+    }
+
+    /**
+     * Determines the closed and maximal itemsets: a set is not closed if one of its direct supersets has the same
+     * support and not maximal if it has any frequent direct superset. Since all frequent itemsets up to the maximal
+     * depth are known, it is sufficient to look at the direct subsets of every found itemset.
+     */
+    private void computeClosedAndMaximal() {
+        if (m_closedComputed) {
+            return;
+        }
+        for (ItemSetRecord superSet : m_itemSets) {
+            final int[] items = superSet.m_items;
+            if (items.length < 2) {
+                continue;
+            }
+            final int[] subSetItems = new int[items.length - 1];
+            for (int leftOut = 0; leftOut < items.length; leftOut++) {
+                for (int i = 0, j = 0; i < items.length; i++) {
+                    if (i != leftOut) {
+                        subSetItems[j++] = items[i];
+                    }
+                }
+                final ItemSetRecord subSet = m_itemSetIndex.get(new ItemSetKey(subSetItems));
+                if (subSet != null) {
+                    subSet.m_maximal = false;
+                    if (subSet.m_support == superSet.m_support) {
+                        subSet.m_closed = false;
+                    }
+                }
+            }
+        }
+        m_closedComputed = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FrequentItemSet> getFrequentItemSets(final Type type) {
+        final List<FrequentItemSet> list = new ArrayList<>();
+        final boolean closed = type.equals(FrequentItemSet.Type.CLOSED);
+        final boolean maximal = type.equals(FrequentItemSet.Type.MAXIMAL);
+        for (Integer i : m_alwaysFrequentItems) {
+            final List<Integer> id = new ArrayList<>();
+            id.add(i);
+            final FrequentItemSet set = new FrequentItemSet(Integer.toString(m_idCounter++), id, 1);
+            set.setClosed(closed || maximal);
+            list.add(set);
+        }
+        if (closed || maximal) {
+            computeClosedAndMaximal();
+        }
+        for (ItemSetRecord record : m_itemSets) {
+            if ((closed && !record.m_closed) || (maximal && !(record.m_closed && record.m_maximal))) {
+                continue;
+            }
+            final List<Integer> items = new ArrayList<>(record.m_items.length);
+            for (int item : record.m_items) {
+                items.add(item);
+            }
+            final FrequentItemSet set =
+                new FrequentItemSet(Integer.toString(m_idCounter++), items, getSupport(record.m_support));
+            set.setClosed(closed || maximal);
+            list.add(set);
+        }
+        if (closed || maximal) {
+            // same order as the other implementations: ascending support, smaller sets first
+            Collections.sort(list, Comparator.comparingDouble(FrequentItemSet::getSupport)
+                .thenComparingInt(s -> s.getItems().size()));
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AssociationRule> getAssociationRules(final double confidence) {
+        final List<FrequentItemSet> frequentItemSets = getFrequentItemSets(FrequentItemSet.Type.CLOSED);
+        final List<AssociationRule> associationRules = new ArrayList<>();
+        // always frequent items: each rule {alwaysFrequentItems\x} -> x has support and confidence 1
+        for (Integer i : m_alwaysFrequentItems) {
+            final List<Integer> withoutI = new ArrayList<>(m_alwaysFrequentItems);
+            withoutI.remove(i);
+            final List<Integer> iList = new ArrayList<>(1);
+            iList.add(i);
+            associationRules.add(new AssociationRule(
+                new FrequentItemSet(Integer.toString(m_idCounter++), withoutI, 1.0),
+                new FrequentItemSet(Integer.toString(m_idCounter++), iList, 1.0), 1.0, 1.0, 1.0));
+        }
+        for (FrequentItemSet s : frequentItemSets) {
+            final List<Integer> items = s.getItems();
+            if (items.size() < 2) {
+                continue;
+            }
+            final double supportS = s.getSupport();
+            for (Integer i : items) {
+                final List<Integer> sWithoutI = new ArrayList<>(items);
+                sWithoutI.remove(i);
+                final double newSupport = getSupportFor(sWithoutI);
+                final double c = supportS / newSupport;
+                if (c >= confidence) {
+                    final List<Integer> iList = new ArrayList<>(1);
+                    iList.add(i);
+                    final double supportI = getSupportFor(iList);
+                    associationRules.add(new AssociationRule(
+                        new FrequentItemSet(Integer.toString(m_idCounter++), sWithoutI, newSupport),
+                        new FrequentItemSet(Integer.toString(m_idCounter++), iList, supportI), supportS, c,
+                        c / supportI));
+                }
+            }
+        }
+        return associationRules;
+    }
+
+    private double getSupportFor(final List<Integer> itemSet) {
+        final int[] items = new int[itemSet.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = itemSet.get(i);
+        }
+        Arrays.sort(items);
+        final ItemSetRecord record = m_itemSetIndex.get(new ItemSetKey(items));
+        // all subsets of a frequent itemset are frequent, so the record exists
+        return record == null ? 0 : getSupport(record.m_support);
+    }
+
+    private double getSupport(final int count) {
+        return (double)count / (double)m_dbsize;
+    }
+
+    /**
+     * A frequent pattern tree. The nodes are stored in parallel primitive arrays, node 0 is the root. The children of a
+     * node are kept as a singly linked sibling list, the nodes of the same item are linked starting at the header.
+     */
+    private static final class FPTree {
+
+        private int[] m_item = new int[64];
+
+        private int[] m_count = new int[64];
+
+        private int[] m_parent = new int[64];
+
+        private int[] m_firstChild = new int[64];
+
+        private int[] m_sibling = new int[64];
+
+        private int[] m_nodeLink = new int[64];
+
+        /** For each item (rank) the first node in the tree. */
+        private final int[] m_headerFirst;
+
+        /** For each item (rank) its summed up count in the tree. */
+        private final int[] m_headerCount;
+
+        private int m_size;
+
+        FPTree(final int numItems) {
+            m_headerFirst = new int[numItems];
+            Arrays.fill(m_headerFirst, -1);
+            m_headerCount = new int[numItems];
+            m_item[0] = -1;
+            m_parent[0] = -1;
+            m_firstChild[0] = -1;
+            m_sibling[0] = -1;
+            m_nodeLink[0] = -1;
+            m_size = 1;
+        }
+
+        /** Inserts the path of items (sorted by ascending rank) with the given count. */
+        void insert(final int[] path, final int length, final int count) {
+            int node = 0;
+            for (int i = 0; i < length; i++) {
+                final int item = path[i];
+                int child = m_firstChild[node];
+                while (child >= 0 && m_item[child] != item) {
+                    child = m_sibling[child];
+                }
+                if (child < 0) {
+                    child = createNode(item, node);
+                }
+                m_count[child] += count;
+                m_headerCount[item] += count;
+                node = child;
+            }
+        }
+
+        private int createNode(final int item, final int parent) {
+            if (m_size == m_item.length) {
+                final int newLength = 2 * m_size;
+                m_item = Arrays.copyOf(m_item, newLength);
+                m_count = Arrays.copyOf(m_count, newLength);
+                m_parent = Arrays.copyOf(m_parent, newLength);
+                m_firstChild = Arrays.copyOf(m_firstChild, newLength);
+                m_sibling = Arrays.copyOf(m_sibling, newLength);
+                m_nodeLink = Arrays.copyOf(m_nodeLink, newLength);
+            }
+            final int node = m_size++;
+            m_item[node] = item;
+            m_count[node] = 0;
+            m_parent[node] = parent;
+            m_firstChild[node] = -1;
+            m_sibling[node] = m_firstChild[parent];
+            m_firstChild[parent] = node;
+            m_nodeLink[node] = m_headerFirst[item];
+            m_headerFirst[item] = node;
+            return node;
+        }
+    }
+
+    /** A found itemset with its absolute support. */
+    private static final class ItemSetRecord {
+
+        private final int[] m_items;
+
+        private final int m_support;
+
+        private boolean m_closed = true;
+
+        private boolean m_maximal = true;
+
+        ItemSetRecord(final int[] items, final int support) {
+            m_items = items;
+            m_support = support;
+        }
+    }
+
+    /** Hash key for a sorted array of item ids. */
+    private static final class ItemSetKey {
+
+        private final int[] m_items;
+
+        private final int m_hash;
+
+        ItemSetKey(final int[] items) {
+            m_items = items;
+            m_hash = Arrays.hashCode(items);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ItemSetKey && Arrays.equals(m_items, ((ItemSetKey)obj).m_items);
+        }
+    }
+}
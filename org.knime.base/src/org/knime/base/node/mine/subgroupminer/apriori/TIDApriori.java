@@ -48,8 +48,10 @@
 package org.knime.base.node.mine.subgroupminer.apriori;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
 import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
@@ -86,6 +88,12 @@ public class TIDApriori implements AprioriAlgorithm {
 
     private List<TIDItemSet> m_repository;
 
+    /** The sets in the repository grouped by their absolute support. */
+    private Map<Integer, List<TIDItemSet>> m_repositoryBySupport;
+
+    /** The (not always) frequent items indexed by their id. */
+    private TIDItem[] m_frequentItemsById;
+
     private TIDPrefixTreeNode m_prefixTree;
 
     private int m_idCounter = 0;
@@ -102,7 +110,8 @@ public class TIDApriori implements AprioriAlgorithm {
      */
     public void findFrequentItems(final List<BitVectorValue> transactions,
             final ExecutionMonitor exec) throws CanceledExecutionException {
-        m_frequentItems = new ArrayList<TIDItem>();
+        // the items are directly indexed by their id, the bit position
+        TIDItem[] itemsById = new TIDItem[64];
         int transactionNr = 0;
         for (BitVectorValue transaction : transactions) {
             double progress = transactionNr / (double)m_dbsize;
@@ -114,60 +123,27 @@ public void findFrequentItems(final List<BitVectorValue> transactions,
             // SubgroupMinerModel2#preprocess
             for (int item = (int)transaction.nextSetBit(0); item >= 0;
                 item = (int)transaction.nextSetBit(item + 1)) {
-                /*
-                 * iterate over every set bit, but!!! if: counterSoFar (what we
-                 * got yet) + (dbsize - transaction#) (what is still possible) <
-                 * minSupport -> kick, delete and destroy it!!! else count++
-                 */
-                // if set not already contains it add transaction id (counter ==
-                // size!)
-                // but if dbsize - transactionNr > minSupport
-                if (!m_frequentItems.contains(new TIDItem(item))) {
-                    // System.out.println(m_frequentItems + " does not contain "
-                    // + item);
-//                    if ((transactions.size()- transactionNr)>= m_minSupport) {
-                        // System.out.println(" possible: " +
-                        // (transactions.size() - transactionNr) + " >= " +
-                        // m_minSupport);
-                        TIDItem tidItem = new TIDItem(item);
-                        tidItem.addTID(transactionNr);
-                        m_frequentItems.add(tidItem);
-                        // added item to m_frequentItems
-//                    }
-                } else {
-                    // item should already be in m_frequentItems);
-                    // find it and add this transaction id to it
-                    for (int j = 0; j < m_frequentItems.size(); j++) {
-                        if (m_frequentItems.get(j).equals(new TIDItem(item))) {
-                            // check if it still could become frequent
-//                            int counterSoFar = m_frequentItems.get(j)
-//                                    .getSupport();
-//                            if (counterSoFar + (transactions.size()
-//                                    - transactionNr) >= m_minSupport) {
-                                TIDItem freqItem = m_frequentItems.get(j);
-                                freqItem.addTID(transactionNr);
-                                m_frequentItems.set(j, freqItem);
-                                break;
-//                            } else {
-                                // kick, delete and destroy it:
-//                                m_frequentItems.remove(j);
-//                                break;
-//                            }
-                        }
-                    }
+                if (item >= itemsById.length) {
+                    itemsById = Arrays.copyOf(itemsById,
+                            Math.max(item + 1, 2 * itemsById.length));
+                }
+                TIDItem tidItem = itemsById[item];
+                if (tidItem == null) {
+                    tidItem = new TIDItem(item);
+                    itemsById[item] = tidItem;
                 }
+                tidItem.addTID(transactionNr);
             }
             transactionNr++;
             /*-------------------one iteration----------------------*/
         }
-        List<TIDItem> candidateFrequent = new ArrayList<TIDItem>();
-        candidateFrequent.addAll(m_frequentItems);
-        for (TIDItem i : candidateFrequent) {
-            if (i.getSupport() < m_minSupport) {
-                m_frequentItems.remove(i);
+        // iterating over the index yields the items sorted by their id
+        m_frequentItems = new ArrayList<TIDItem>();
+        for (TIDItem i : itemsById) {
+            if (i != null && i.getSupport() >= m_minSupport) {
+                m_frequentItems.add(i);
             }
         }
-        Collections.sort(m_frequentItems);
         // LOGGER.debug("frequent items: " + m_frequentItems);
     }
 
@@ -184,27 +160,36 @@ private void filterAlwaysFrequentItems() {
             }
         }
         m_frequentItems.removeAll(m_alwaysFrequentItems);
+        int maxId = -1;
+        for (TIDItem i : m_frequentItems) {
+            maxId = Math.max(maxId, i.getId());
+        }
+        m_frequentItemsById = new TIDItem[maxId + 1];
+        for (TIDItem i : m_frequentItems) {
+            m_frequentItemsById[i.getId()] = i;
+        }
     }
 
     private void addToClosedRepository(final TIDItemSet i) {
         if (m_repository == null) {
             m_repository = new ArrayList<TIDItemSet>();
+            m_repositoryBySupport = new HashMap<Integer, List<TIDItemSet>>();
         }
-        boolean insert = true;
-        for (TIDItemSet s : m_repository) {
-            // condition for maximal -> it must not be a superset, that's it
-            /*
-             * if(s.isSuperSetOf(i)){ insert = false; break; }
-             */
-            // condition for closed
-            if (s.isSuperSetOf(i) && i.getSupport() == s.getSupport()) {
-                insert = false;
-                break;
-            }
+        // condition for closed: there must not be a superset with the same
+        // support, hence only the sets with the same support are checked
+        final Integer support = i.getCommonTIDs().cardinality();
+        List<TIDItemSet> sameSupport = m_repositoryBySupport.get(support);
+        if (sameSupport == null) {
+            sameSupport = new ArrayList<TIDItemSet>();
+            m_repositoryBySupport.put(support, sameSupport);
         }
-        if (insert) {
-            m_repository.add(i);
+        for (TIDItemSet s : sameSupport) {
+            if (s.isSuperSetOf(i)) {
+                return;
+            }
         }
+        sameSupport.add(i);
+        m_repository.add(i);
     }
 
     private void findFrequentItemsDepthFirst(final ExecutionMonitor exec)
@@ -380,9 +365,7 @@ public List<AssociationRule> getAssociationRules(final double confidence) {
                     TIDItemSet itemSet = TIDItemSet
                             .createEmptyTIDItemSet("" + m_idCounter, m_dbsize);
                     for (Integer item : sWithoutI) {
-                        int index = m_frequentItems.indexOf(new TIDItem(item));
-                        TIDItem tidItem = m_frequentItems.get(index);
-                        itemSet.addItem(tidItem);
+                        itemSet.addItem(m_frequentItemsById[item]);
                     }
 
                     double newSupport = itemSet.getSupport();
@@ -391,8 +374,7 @@ public List<AssociationRule> getAssociationRules(final double confidence) {
                     if (c >= confidence) {
                         List<Integer>iList = new ArrayList<Integer>();
                         iList.add(i);
-                        int index = m_frequentItems.indexOf(new TIDItem(i));
-                        TIDItem tidItem = m_frequentItems.get(index);
+                        TIDItem tidItem = m_frequentItemsById[i];
                         if (tidItem == null) {
                             // TODO: what if ???
                         }
@@ -66,6 +66,9 @@
 public final class TIDItemSet {
     private List<TIDItem> m_items;
 
+    /** The ids of the items in this set, for fast containment checks. */
+    private BitSet m_itemIds;
+
     private BitSet m_commonTIDs;
 
     private final int m_dbsize;
@@ -82,6 +85,7 @@ public final class TIDItemSet {
      */
     private TIDItemSet(final String id, final int length) {
         m_items = new ArrayList<TIDItem>();
+        m_itemIds = new BitSet();
         m_commonTIDs = new BitSet();
         m_dbsize = length;
         m_id = id;
@@ -116,8 +120,9 @@ public String getId() {
      * @param i the item to add
      */
     public void addItem(final TIDItem i) {
-        if (!m_items.contains(i)) {
+        if (!m_itemIds.get(i.getId())) {
             m_items.add(i);
+            m_itemIds.set(i.getId());
             m_commonTIDs.and(i.getTransactionIDs());
         }
     }
@@ -178,7 +183,12 @@ public List<Integer> getTIDs() {
      *         set, <code>false</code> otherwise
      */
     public boolean isSuperSetOf(final TIDItemSet s) {
-        return m_items.containsAll(s.getItems());
+        if (s.m_items.size() > m_items.size()) {
+            return false;
+        }
+        BitSet notContained = (BitSet)s.m_itemIds.clone();
+        notContained.andNot(m_itemIds);
+        return notContained.isEmpty();
     }
 
     /**
@@ -202,14 +212,9 @@ public FrequentItemSet toFrequentItemSet() {
     @Override
     protected TIDItemSet clone() {
         TIDItemSet newItem = new TIDItemSet(m_id, m_dbsize);
-        List<TIDItem> items = new ArrayList<TIDItem>(m_items);
-        BitSet tids = new BitSet();
-        for (int i = m_commonTIDs.nextSetBit(0); i >= 0; i = m_commonTIDs
-                .nextSetBit(i + 1)) {
-            tids.set(i);
-        }
-        newItem.m_items = items;
-        newItem.m_commonTIDs = tids;
+        newItem.m_items = new ArrayList<TIDItem>(m_items);
+        newItem.m_itemIds = (BitSet)m_itemIds.clone();
+        newItem.m_commonTIDs = (BitSet)m_commonTIDs.clone();
         return newItem;
     }
 
@@ -73,6 +73,7 @@
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.NotConfigurableException;
 import org.knime.core.node.defaultnodesettings.DialogComponent;
+import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentColumnNameSelection;
 import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.SettingsModelDouble;
@@ -171,6 +172,13 @@ public void itemStateChanged(final ItemEvent e) {
             kernelsettingsPanel.add(kernelpanel);
         }
         m_panel.add(kernelsettingsPanel);
+
+        this.addDialogComponent(new DialogComponentNumber(
+                SVMLearnerNodeModel.createKernelCacheSizeModel(),
+                "Kernel cache size (MB): ", 10));
+        this.addDialogComponent(new DialogComponentBoolean(
+                SVMLearnerNodeModel.createShrinkingModel(),
+                "Use shrinking heuristic"));
     }
 
     /**
@@ -70,6 +70,7 @@
 import org.knime.base.node.mine.svm.kernel.KernelFactory.KernelType;
 import org.knime.base.node.mine.svm.util.BinarySvmRunnable;
 import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.base.node.mine.svm.util.KernelCache;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
@@ -86,7 +87,9 @@
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelDouble;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
@@ -129,6 +132,19 @@ public class SVMLearnerNodeModel extends NodeModel {
      */
     public static final String CFG_KERNELTYPE = "kernel_type";
 
+    /**
+     * Key to store the memory budget of the kernel cache (in MB) in the
+     * NodeSettings.
+     * @since 4.6
+     */
+    public static final String CFG_KERNEL_CACHE_SIZE = "kernel_cache_size";
+
+    /**
+     * Key to store whether the shrinking heuristic is used in the NodeSettings.
+     * @since 4.6
+     */
+    public static final String CFG_SHRINKING = "shrinking";
+
     /** Keys under which to save the parameters. */
     public static final String KEY_CATEG_COUNT = "Category count";
 
@@ -147,6 +163,17 @@ public class SVMLearnerNodeModel extends NodeModel {
     private final SettingsModelDouble m_paramC =
             new SettingsModelDouble(CFG_PARAMC, DEFAULT_PARAMC);
 
+    /*
+     * The memory budget of the kernel cache in MB.
+     */
+    private final SettingsModelIntegerBounded m_kernelCacheSize =
+            createKernelCacheSizeModel();
+
+    /*
+     * Whether to use the shrinking heuristic.
+     */
+    private final SettingsModelBoolean m_shrinking = createShrinkingModel();
+
     /*
      * Class column
      */
@@ -172,6 +199,22 @@ public class SVMLearnerNodeModel extends NodeModel {
      */
     private String m_svmInfo = "";
 
+    /**
+     * @return the settings model for the memory budget of the kernel cache
+     */
+    static SettingsModelIntegerBounded createKernelCacheSizeModel() {
+        return new SettingsModelIntegerBounded(CFG_KERNEL_CACHE_SIZE,
+                KernelCache.DEFAULT_CACHE_SIZE_MB, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the settings model for the shrinking heuristic, disabled by
+     *         default so old workflows yield the same model
+     */
+    static SettingsModelBoolean createShrinkingModel() {
+        return new SettingsModelBoolean(CFG_SHRINKING, false);
+    }
+
     /**
      * creates the kernel parameter SettingsModels.
      *
@@ -292,12 +335,17 @@ protected PortObject[] execute(final PortObject[] inData,
 
         final Svm[] svms = new Svm[categories.size()];
         exec.setMessage("Training SVM");
+        // the kernel values do not depend on the class, so all one-vs-rest
+        // SVMs share the input vectors and the cached kernel rows
+        final KernelCache kernelCache = new KernelCache(kernel, inputDataArr,
+            m_kernelCacheSize.getIntValue());
         final BinarySvmRunnable[] bst =
                 new BinarySvmRunnable[categories.size()];
         for (int i = 0; i < categories.size(); i++) {
             bst[i] =
-                    new BinarySvmRunnable(inputDataArr, categories.get(i),
-                            kernel, m_paramC.getDoubleValue(),
+                    new BinarySvmRunnable(kernelCache, categories.get(i),
+                            m_paramC.getDoubleValue(),
+                            m_shrinking.getBooleanValue(),
                             exec.createSubProgress((1.0 / categories.size())));
 
         }
@@ -468,6 +516,17 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
             throws InvalidSettingsException {
         m_paramC.loadSettingsFrom(settings);
         m_classcol.loadSettingsFrom(settings);
+        // added in 4.6
+        if (settings.containsKey(CFG_KERNEL_CACHE_SIZE)) {
+            m_kernelCacheSize.loadSettingsFrom(settings);
+        } else {
+            m_kernelCacheSize.setIntValue(KernelCache.DEFAULT_CACHE_SIZE_MB);
+        }
+        if (settings.containsKey(CFG_SHRINKING)) {
+            m_shrinking.loadSettingsFrom(settings);
+        } else {
+            m_shrinking.setBooleanValue(false);
+        }
         if (settings.containsKey(CFG_KERNELTYPE)) {
             m_kernelType =
                     KernelType.valueOf(settings.getString(CFG_KERNELTYPE));
@@ -553,6 +612,8 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         settings.addString(CFG_KERNELTYPE, m_kernelType.toString());
         m_paramC.saveSettingsTo(settings);
         m_classcol.saveSettingsTo(settings);
+        m_kernelCacheSize.saveSettingsTo(settings);
+        m_shrinking.saveSettingsTo(settings);
         for (Map.Entry<KernelType, Vector<SettingsModelDouble>>
         entry : m_kernelParameters
                 .entrySet()) {
@@ -601,6 +662,12 @@ protected void validateSettings(final NodeSettingsRO settings)
 
         m_paramC.validateSettings(settings);
         m_classcol.validateSettings(settings);
+        if (settings.containsKey(CFG_KERNEL_CACHE_SIZE)) {
+            m_kernelCacheSize.validateSettings(settings);
+        }
+        if (settings.containsKey(CFG_SHRINKING)) {
+            m_shrinking.validateSettings(settings);
+        }
     }
 
     private static final class LearnColumnsAndColumnRearrangerTuple {
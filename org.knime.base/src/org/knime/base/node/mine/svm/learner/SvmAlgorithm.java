@@ -45,6 +45,7 @@
  */
 package org.knime.base.node.mine.svm.learner;
 
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -52,6 +53,7 @@
 import org.knime.base.node.mine.svm.Svm;
 import org.knime.base.node.mine.svm.kernel.Kernel;
 import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.base.node.mine.svm.util.KernelCache;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.util.CheckUtils;
@@ -104,6 +106,38 @@ public class SvmAlgorithm {
      */
     private Kernel m_kernel;
 
+    /*
+     * the cached kernel values of the input data.
+     */
+    private final KernelCache m_kernelCache;
+
+    /*
+     * the target of each input vector, see target(int).
+     */
+    private final double[] m_target;
+
+    /*
+     * whether examples that are optimal at a bound are left out of the full
+     * passes until the end of the optimization.
+     */
+    private boolean m_shrinking;
+
+    /*
+     * the examples that are currently examined in full passes.
+     */
+    private boolean[] m_active;
+
+    /*
+     * the number of examples that are currently shrunk.
+     */
+    private int m_shrunkCount;
+
+    /*
+     * set by examineExample if the examined bound example is optimal by a
+     * margin and therefore a candidate for shrinking.
+     */
+    private boolean m_shrinkable;
+
     /*
      * the C parameter (upper bound for alpha's) -- needed for when the input
      * data is not separable.
@@ -164,10 +198,39 @@ public class SvmAlgorithm {
     public SvmAlgorithm(final DoubleVector[] inputData,
             final String positiveClass, final Kernel kernel,
             final double paramC) {
+        this(new KernelCache(kernel, inputData,
+            KernelCache.DEFAULT_CACHE_SIZE_MB), positiveClass, paramC, false);
+    }
+
+    /**
+     * Creates an algorithm that evaluates the kernel through the given cache,
+     * which can be shared by all binary SVMs learned on the same data.
+     *
+     * @param kernelCache the cache holding the input vectors and the kernel
+     * @param positiveClass the class value for which to consider an input
+     *            vector a 'positive' example. if input vectors have other class
+     *            values, they are considered 'negative'
+     * @param paramC the "C" from the problem constraints
+     * @param shrinking whether to temporarily leave out examples that are
+     *            optimal at a bound, they are checked again before the
+     *            algorithm terminates
+     * @since 4.6
+     */
+    public SvmAlgorithm(final KernelCache kernelCache,
+            final String positiveClass, final double paramC,
+            final boolean shrinking) {
+        final DoubleVector[] inputData = kernelCache.getData();
+        m_kernelCache = kernelCache;
         m_inputData = inputData;
         m_positiveClass = positiveClass;
-        m_kernel = kernel;
+        m_kernel = kernelCache.getKernel();
         m_paramC = paramC;
+        m_shrinking = shrinking;
+        m_target = new double[inputData.length];
+        for (int i = 0; i < inputData.length; i++) {
+            m_target[i] = inputData[i].getClassValue().equals(positiveClass)
+                    ? 1.0 : -1.0;
+        }
         m_alpha = new double[m_inputData.length];
         //See: https://github.com/cran/e1071/blob/R-3.0.3/src/svm.cpp#L567
         m_maxIteration = Math.max(10000000, inputData.length > Integer.MAX_VALUE / 100 ? Integer.MAX_VALUE - 1 : 100*inputData.length);
@@ -201,11 +264,7 @@ private static boolean equal(final double x, final double y) {
      * @param i the index of the input vector
      */
     private double target(final int i) {
-        if (m_inputData[i].getClassValue().equals(m_positiveClass)) {
-            return 1.0;
-        } else {
-            return -1.0;
-        }
+        return m_target[i];
     }
 
     /**
@@ -221,8 +280,7 @@ private double computeSvmOutput(final int i1) {
             if (!zero(m_alpha[i2])) {
                 double alpha = m_alpha[i2];
                 double targ = target(i2);
-                double kern =
-                        m_kernel.evaluate(m_inputData[i1], m_inputData[i2]);
+                double kern = m_kernelCache.evaluate(i1, i2);
                 result += alpha * targ * kern;
             }
         }
@@ -367,9 +425,11 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         if (Math.abs(low - high) < EPSILON) {
             return false;
         }
-        double k11 = m_kernel.evaluate(m_inputData[i1], m_inputData[i1]);
-        double k12 = m_kernel.evaluate(m_inputData[i1], m_inputData[i2]);
-        double k22 = m_kernel.evaluate(m_inputData[i2], m_inputData[i2]);
+        final KernelCache.Row row1 = m_kernelCache.getRow(i1);
+        final KernelCache.Row row2 = m_kernelCache.getRow(i2);
+        double k11 = m_kernelCache.getDiagonal(i1);
+        double k12 = row1.get(i2);
+        double k22 = m_kernelCache.getDiagonal(i2);
         //-eta as in the Pratt paper.
         double eta = k11 + k22 - 2.0 * k12; // value of second derivative
         double a2;
@@ -404,17 +464,14 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         m_alpha[i1] = a1;
         m_alpha[i2] = a2;
         updateSets(i1, i2);
+        // the optimized examples may leave their bound, they are examined again
+        activate(i1);
+        activate(i2);
+        // shrunk examples are skipped, their errors are recomputed in unshrink
         for (int i : m_i0) {
-            if ((i != i1) && (i != i2)) {
-                m_fcache[i] +=
-                        y1
-                                * (a1 - alpha1)
-                                * m_kernel.evaluate(m_inputData[i1],
-                                        m_inputData[i])
-                                + y2
-                                * (a2 - alpha2)
-                                * m_kernel.evaluate(m_inputData[i2],
-                                        m_inputData[i]);
+            if ((i != i1) && (i != i2) && m_active[i]) {
+                m_fcache[i] += y1 * (a1 - alpha1) * row1.get(i)
+                        + y2 * (a2 - alpha2) * row2.get(i);
             }
         }
         m_fcache[i1] += y1 * (a1 - alpha1) * k11 + y2 * (a2 - alpha2) * k12;
@@ -424,6 +481,34 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         return true;
     }
 
+    /**
+     * mark a shrunk example as active again.
+     *
+     * @param i the index of the example
+     */
+    private void activate(final int i) {
+        if (!m_active[i]) {
+            m_active[i] = true;
+            m_shrunkCount--;
+        }
+    }
+
+    /**
+     * activate all shrunk examples and recompute the errors of those that are
+     * not at a bound, which have not been updated while they were shrunk.
+     */
+    private void unshrink() {
+        for (int i = 0; i < m_active.length; ++i) {
+            if (!m_active[i]) {
+                if (m_i0.contains(i)) {
+                    m_fcache[i] = computeSvmOutput(i) + m_b - target(i);
+                }
+                m_active[i] = true;
+            }
+        }
+        m_shrunkCount = 0;
+    }
+
     /**
      * Given one of the example with which to optimize, find another convenient
      * example and optimize the alpha's of the two examples.
@@ -437,6 +522,7 @@ private boolean examineExample(final int i2) throws MaxIterationsExceededExcepti
         int i1 = -1;
         double y2 = target(i2);
         double f2;
+        m_shrinkable = false;
         if (m_i0.contains(i2)) {
             f2 = m_fcache[i2];
         } else {
@@ -450,6 +536,10 @@ private boolean examineExample(final int i2) throws MaxIterationsExceededExcepti
                 m_bLow = f2;
                 m_iLow = i2;
             }
+            // a bound example can only become a violating pair with iLow
+            // (I1, I2) or iUp (I3, I4) if the gap closes from this side
+            m_shrinkable = m_i1.contains(i2) || m_i2.contains(i2)
+                    ? f2 > m_bLow : f2 < m_bUp;
         }
         boolean optimality = true;
         //Method 1
@@ -468,6 +558,7 @@ private boolean examineExample(final int i2) throws MaxIterationsExceededExcepti
         if (optimality) {
             return false;
         }
+        m_shrinkable = false;
         //TODO why?
         if (m_i0.contains(i2)) {
             if (m_bLow - f2 > f2 - m_bUp) {
@@ -558,6 +649,10 @@ private void mainAlgorithm(final ExecutionMonitor exec)
         m_i3 = new LinkedHashSet<Integer>();
         m_i4 = new LinkedHashSet<Integer>();
 
+        m_active = new boolean[m_alpha.length];
+        Arrays.fill(m_active, true);
+        m_shrunkCount = 0;
+
         for (int i = 0; i < m_alpha.length; ++i) {
             if (target(i) == 1.0) {
                 m_i1.add(i);
@@ -587,9 +682,15 @@ private void mainAlgorithm(final ExecutionMonitor exec)
                 numChanged = 0;
                 if (examineAll) {
                     for (int i = 0; i < m_inputData.length; ++i) {
+                        if (!m_active[i]) {
+                            continue;
+                        }
                         exec.checkCanceled();
                         if (examineExample(i)) {
                             numChanged++;
+                        } else if (m_shrinking && m_shrinkable) {
+                            m_active[i] = false;
+                            m_shrunkCount++;
                         }
                     }
                 } else {
@@ -612,6 +713,14 @@ private void mainAlgorithm(final ExecutionMonitor exec)
 
             if (examineAll) {
                 examineAll = false;
+                if (numChanged == 0 && m_shrunkCount > 0) {
+                    // verify the shrunk examples with a final full pass and
+                    // do not shrink again so the algorithm terminates as
+                    // without shrinking
+                    unshrink();
+                    m_shrinking = false;
+                    examineAll = true;
+                }
             } else if (numChanged == 0) {
                 examineAll = true;
             }
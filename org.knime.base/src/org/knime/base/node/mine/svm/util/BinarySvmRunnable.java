@@ -83,6 +83,24 @@ public BinarySvmRunnable(final DoubleVector[] inputData,
         m_exec = exec;
     }
 
+    /**
+     * @param kernelCache the input data and kernel, shared with the other
+     *            binary SVMs learned on the same data
+     * @param positiveClass the positive class value
+     * @param paramC overlapping penalty to use
+     * @param shrinking whether to shrink the set of examined examples
+     * @param exec the execution process to report to
+     * @since 4.6
+     */
+    public BinarySvmRunnable(final KernelCache kernelCache,
+            final String positiveClass, final double paramC,
+            final boolean shrinking, final ExecutionMonitor exec) {
+        m_svmAlgo = new SvmAlgorithm(kernelCache, positiveClass, paramC,
+            shrinking);
+        m_exception = null;
+        m_exec = exec;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -130,6 +130,13 @@ public double getValue(final int i) {
         return m_values[i];
     }
 
+    /**
+     * @return the underlying values, not a copy, so they must not be modified
+     */
+    double[] getValues() {
+        return m_values;
+    }
+
     /**
      * @return the number of values.
      */
@@ -0,0 +1,217 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.mine.svm.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.knime.base.node.mine.svm.kernel.Kernel;
+
+/**
+ * A cache for kernel values of a fixed set of input vectors, to be shared by all binary SVMs that are learned on the
+ * same data. The diagonal of the kernel matrix is computed up front, the rows of the matrix are cached in a least
+ * recently used fashion up to a given memory budget. The entries of a cached row are computed lazily the first time
+ * they are requested, so rows only pay for the entries that are actually needed.
+ *
+ * <p>
+ * The cache is thread-safe. The entries of a row are accessed with opaque memory semantics, so concurrent readers
+ * either see a fully computed value or compute (the same) value again.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ */
+public final class KernelCache {
+
+    /** The default memory budget in MB. */
+    public static final int DEFAULT_CACHE_SIZE_MB = 100;
+
+    /** Marks an entry that has not been computed yet, a NaN no arithmetic operation produces. */
+    private static final long NOT_COMPUTED = 0x7ff0_0000_0000_0001L;
+
+    private final Kernel m_kernel;
+
+    private final DoubleVector[] m_data;
+
+    private final double[][] m_points;
+
+    private final double[] m_diagonal;
+
+    private final int m_maxRows;
+
+    /** Lock-free lookup of the cached rows. */
+    private final Map<Integer, Row> m_rows = new ConcurrentHashMap<>();
+
+    /** Tracks the access order of the rows for eviction, guarded by itself. */
+    private final LinkedHashMap<Integer, Row> m_lru = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a new kernel cache.
+     *
+     * @param kernel the kernel to evaluate
+     * @param data the input vectors, they are referenced and not copied
+     * @param cacheSizeMB the memory budget for the cached rows in MB; at least two rows are always cached
+     */
+    public KernelCache(final Kernel kernel, final DoubleVector[] data, final int cacheSizeMB) {
+        m_kernel = kernel;
+        m_data = data;
+        m_points = new double[data.length][];
+        for (int i = 0; i < data.length; i++) {
+            m_points[i] = data[i].getValues();
+        }
+        m_diagonal = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            m_diagonal[i] = kernel.evaluate(m_points[i], m_points[i]);
+        }
+        final long rowBytes = 8L * Math.max(1, data.length);
+        m_maxRows = (int)Math.max(2, Math.min(data.length, cacheSizeMB * 1024L * 1024L / rowBytes));
+    }
+
+    /**
+     * @return the kernel
+     */
+    public Kernel getKernel() {
+        return m_kernel;
+    }
+
+    /**
+     * @return the input vectors
+     */
+    public DoubleVector[] getData() {
+        return m_data;
+    }
+
+    /**
+     * @param i the index of the input vector
+     * @return K(i, i)
+     */
+    public double getDiagonal(final int i) {
+        return m_diagonal[i];
+    }
+
+    /**
+     * Evaluates the kernel, using the cached rows of <code>i</code> or <code>j</code> if present. The result is not
+     * cached if neither row is.
+     *
+     * @param i the index of the first input vector
+     * @param j the index of the second input vector
+     * @return K(i, j)
+     */
+    public double evaluate(final int i, final int j) {
+        if (i == j) {
+            return m_diagonal[i];
+        }
+        Row row = m_rows.get(i);
+        if (row != null) {
+            return row.get(j);
+        }
+        row = m_rows.get(j);
+        if (row != null) {
+            return row.get(i);
+        }
+        return m_kernel.evaluate(m_points[i], m_points[j]);
+    }
+
+    /**
+     * Returns the row of the kernel matrix for the given input vector, creating (and possibly evicting the least
+     * recently used row) if it is not cached.
+     *
+     * @param i the index of the input vector
+     * @return the row K(i, .)
+     */
+    public Row getRow(final int i) {
+        synchronized (m_lru) {
+            Row row = m_lru.get(i);
+            if (row == null) {
+                if (m_lru.size() >= m_maxRows) {
+                    final Iterator<Integer> eldest = m_lru.keySet().iterator();
+                    m_rows.remove(eldest.next());
+                    eldest.remove();
+                }
+                row = new Row(i);
+                m_lru.put(i, row);
+                m_rows.put(i, row);
+            }
+            return row;
+        }
+    }
+
+    /**
+     * A lazily computed row of the kernel matrix. Rows stay valid after they have been evicted from the cache.
+     */
+    public final class Row {
+
+        private final int m_index;
+
+        private final AtomicLongArray m_values;
+
+        private Row(final int index) {
+            m_index = index;
+            m_values = new AtomicLongArray(m_points.length);
+            for (int j = 0; j < m_points.length; j++) {
+                m_values.setPlain(j, NOT_COMPUTED);
+            }
+        }
+
+        /**
+         * @param j the index of the second input vector
+         * @return K(i, j) where i is the index of this row
+         */
+        public double get(final int j) {
+            final long bits = m_values.getOpaque(j);
+            if (bits != NOT_COMPUTED) {
+                return Double.longBitsToDouble(bits);
+            }
+            final double value = j == m_index ? m_diagonal[j] : m_kernel.evaluate(m_points[m_index], m_points[j]);
+            m_values.setOpaque(j, Double.doubleToRawLongBits(value));
+            return value;
+        }
+    }
+}
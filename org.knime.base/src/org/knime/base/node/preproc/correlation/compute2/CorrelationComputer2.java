@@ -75,6 +75,7 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.util.Pair;
 
 import com.google.common.primitives.Ints;
@@ -83,7 +84,8 @@
  * Calculates pairwise correlation values for a table. Uses Cramers'V for pairs of categorical columns and the standard
  * linear correlation coefficient for numerical pairs. Missing values are treated as a separated category for
  * categorical columns and pairwise ignored for num columns. This corresponds the option "R<-cor(R,
- * use="pairwise.complete.obs")" in R.
+ * use="pairwise.complete.obs")" in R. The pairwise sums of the numeric columns are accumulated in cache-sized column
+ * tiles by a {@link NumericCorrelationAccumulator}, in parallel if there are many numeric columns.
  *
  * @author Bernd Wiswedel, KNIME AG, Zurich, Switzerland
  * @author Benjamin Wilhelm, KNIME GmbH, Konstanz, Germnany
@@ -123,6 +125,9 @@ public final class CorrelationComputer2 {
     /** Counts the number of valid records for each pair of numeric columns. */
     private HalfIntMatrix m_numericValidCountMatrix;
 
+    /** Accumulates the pairwise statistics of the numeric columns, only set while the two scans are running. */
+    private NumericCorrelationAccumulator m_numericAccumulator;
+
     /** The list of numeric column indices where we saw missing values. */
     private final Set<Integer> m_numericsWithMissings;
 
@@ -179,66 +184,84 @@ public void calculateStatistics(final BufferedDataTable table, final ExecutionMo
             m_possibleValues[i] = new LinkedHashMap<>();
         }
         final int numericColCount = m_numericColIndexMap.length;
-        // sumMatrix[i][j] contains the sum of all values in column i were the column j cell is not missing
-        double[][] sumMatrix = new double[numericColCount][numericColCount];
-        // sumSqMatrix contains the sum of the squared values as sumMatrix
-        double[][] sumSqMatrix = new double[numericColCount][numericColCount];
         // validCountMatrix[i][j] contains the number of rows were neither column i nor column j is missing
         m_numericValidCountMatrix = new HalfIntMatrix(numericColCount, true);
-        // A cell buffer for the numeric cells (They need to be accessed multiple times)
-        final DataCell[] numericCellBuffer = new DataCell[m_numericColIndexMap.length];
+        m_numericAccumulator = createNumericAccumulator();
+        m_numericAccumulator.startStatistics();
+        final double[] numericValues = new double[numericColCount];
+        final boolean[] numericMissings = new boolean[numericColCount];
 
         // Loop over the rows and fill the sum/sumSq/validCount matrix and possible categorical values
         long rowIndex = 1;
         final long rowCount = table.size();
-        for (DataRow r : table) {
-
-            addToSumIfValid(r, sumMatrix, sumSqMatrix, m_numericValidCountMatrix, numericCellBuffer);
-            addPossibleValues(r);
-
-            exec.checkCanceled();
-            final long currentRow = rowIndex;
-            exec.setProgress(currentRow / (double)rowCount,
-                () -> String.format("Calculating statistics - %d/%d (\"%s\")", currentRow, rowCount, r.getKey()));
-            rowIndex += 1;
+        try {
+            for (DataRow r : table) {
+
+                readNumericValues(r, numericValues, numericMissings, true);
+                m_numericAccumulator.addRow(numericValues, numericMissings, exec);
+                addPossibleValues(r);
+
+                exec.checkCanceled();
+                final long currentRow = rowIndex;
+                exec.setProgress(currentRow / (double)rowCount,
+                    () -> String.format("Calculating statistics - %d/%d (\"%s\")", currentRow, rowCount, r.getKey()));
+                rowIndex += 1;
+            }
+            m_numericAccumulator.finishPass(exec);
+        } catch (CanceledExecutionException | RuntimeException e) {
+            m_numericAccumulator.cancel();
+            throw e;
         }
 
         assignIndexToCategoricalValues();
 
+        // sumMatrix[i][j] contains the sum of all values in column i were the column j cell is not missing
+        final double[][] sumMatrix = m_numericAccumulator.getSumMatrix();
+        // sumSqMatrix contains the sum of the squared values as sumMatrix
+        final double[][] sumSqMatrix = m_numericAccumulator.getSumSqMatrix();
+        final int[][] validCountMatrix = m_numericAccumulator.getValidCountMatrix();
+        for (int i = 0; i < numericColCount; i++) {
+            for (int j = i; j < numericColCount; j++) {
+                m_numericValidCountMatrix.set(i, j, validCountMatrix[i][j]);
+            }
+        }
+
         computeMeanAndStdDevMatix(sumMatrix, sumSqMatrix);
     }
 
     /**
-     * Adds the given row to the sum matrix and sum square matrix and increases the counts in the valid count matrix if
-     * valid.
+     * Creates the accumulator for the numeric columns. The pairwise updates are distributed over a sub pool of the
+     * global thread pool if there are enough numeric columns to make this worthwhile.
      */
-    private void addToSumIfValid(final DataRow row, final double[][] sumMatrix, final double[][] sumSqMatrix,
-        final HalfIntMatrix validCountMatrix, final DataCell[] cellBuffer) {
-        // getCell may be an expensive operation and we may access a cell
-        // multiple times, so we buffer it
-        for (int i = 0; i < cellBuffer.length; i++) {
-            cellBuffer[i] = row.getCell(m_numericColIndexMap[i]);
+    private NumericCorrelationAccumulator createNumericAccumulator() {
+        final int numericColCount = m_numericColIndexMap.length;
+        if (numericColCount <= NumericCorrelationAccumulator.TILE_SIZE) {
+            return new NumericCorrelationAccumulator(numericColCount, null, 1);
         }
-        // Loop over numeric columns
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        return new NumericCorrelationAccumulator(numericColCount,
+            KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(parallelism), parallelism);
+    }
+
+    /**
+     * Reads the numeric values of the given row into the given arrays.
+     *
+     * @param rememberMissings whether columns with missing values should be added to {@link #m_numericsWithMissings}
+     */
+    private void readNumericValues(final DataRow row, final double[] values, final boolean[] missings,
+        final boolean rememberMissings) {
         for (int i = 0; i < m_numericColIndexMap.length; i++) {
-            DataCell c = cellBuffer[i];
-            final boolean isMissing = c.isMissing();
-            if (isMissing) {
-                // Remember that there was a missing cell
-                m_numericsWithMissings.add(m_numericColIndexMap[i]);
-            } else {
-                // Add values to the sumMatrix and sumSqMatrix
-                final double val = ((DoubleValue)c).getDoubleValue();
-                final double valSquare = val * val;
-                for (int j = 0; j < m_numericColIndexMap.length; j++) {
-                    if (!cellBuffer[j].isMissing()) {
-                        sumMatrix[i][j] += val;
-                        sumSqMatrix[i][j] += valSquare;
-                        if (j >= i) { // don't count twice
-                            validCountMatrix.add(i, j, 1);
-                        }
-                    }
+            final DataCell c = row.getCell(m_numericColIndexMap[i]);
+            if (c.isMissing()) {
+                missings[i] = true;
+                values[i] = Double.NaN;
+                if (rememberMissings) {
+                    // Remember that there was a missing cell
+                    m_numericsWithMissings.add(m_numericColIndexMap[i]);
                 }
+            } else {
+                missings[i] = false;
+                values[i] = ((DoubleValue)c).getDoubleValue();
             }
         }
     }
@@ -332,23 +355,35 @@ public CorrelationResult calculateOutput(final BufferedDataTable table, final Ex
 
         handleZeroStdDev(nominatorMatrix);
 
-        // A cell buffer for the numeric cells (They need to be accessed multiple times)
-        final DataCell[] numericCellBuffer = new DataCell[m_numericColIndexMap.length];
+        final int numericColCount = m_numericColIndexMap.length;
+        m_numericAccumulator.startNominator(m_numericMeanMatrix, m_numericStdDevMatrix);
+        final double[] numericValues = new double[numericColCount];
+        final boolean[] numericMissings = new boolean[numericColCount];
 
         long rowIndex = 0;
         final long rowCount = table.size();
-        for (DataRow r : table) {
+        try {
+            for (DataRow r : table) {
 
-            addRowToNominatorMatrix(r, nominatorMatrix, numericCellBuffer);
+                readNumericValues(r, numericValues, numericMissings, false);
+                m_numericAccumulator.addRow(numericValues, numericMissings, exec);
 
-            addRowToContigencyTable(r, contingencyTables);
+                addRowToContigencyTable(r, contingencyTables);
 
-            exec.checkCanceled();
-            exec.setProgress(rowIndex / (double)rowCount,
-                String.format("Calculating statistics - %d/%d (\"%s\")", rowIndex, rowCount, r.getKey()));
-            rowIndex += 1;
+                exec.checkCanceled();
+                exec.setProgress(rowIndex / (double)rowCount,
+                    String.format("Calculating statistics - %d/%d (\"%s\")", rowIndex, rowCount, r.getKey()));
+                rowIndex += 1;
+            }
+            m_numericAccumulator.finishPass(exec);
+        } catch (CanceledExecutionException | RuntimeException e) {
+            m_numericAccumulator.cancel();
+            throw e;
         }
 
+        addToNominatorMatrix(m_numericAccumulator.getNominatorMatrix(), nominatorMatrix);
+        m_numericAccumulator = null;
+
         normalizeNumericCorrelation(nominatorMatrix);
 
         computeNumericPValues(nominatorMatrix, pValMatrix, dofMatrix, pValueAlternative);
@@ -423,46 +458,13 @@ private void handleZeroStdDev(final HalfDoubleMatrix nominatorMatrix) {
     }
 
     /**
-     * Adds the numeric values of the row to the nominator matrix.
+     * Adds the accumulated products of the standardized numeric values to the nominator matrix. Entries of constant
+     * columns are NaN and stay NaN.
      */
-    private void addRowToNominatorMatrix(final DataRow row, final HalfDoubleMatrix nominatorMatrix,
-        final DataCell[] cellBuffer) {
-        // getCell may be an expensive operation and we may access a cell
-        // multiple times, so we buffer it
-        for (int i = 0; i < cellBuffer.length; i++) {
-            cellBuffer[i] = row.getCell(m_numericColIndexMap[i]);
-        }
+    private void addToNominatorMatrix(final double[][] numericNominators, final HalfDoubleMatrix nominatorMatrix) {
         for (int i = 0; i < m_numericColIndexMap.length; i++) {
-            final DataCell ci = cellBuffer[i];
-
-            // Skip for missing cells and constant columns
-            if (ci.isMissing()) {
-                continue;
-            }
-            if (m_numericStdDevMatrix[i][i] == 0.0) {
-                continue; // constant column, reported above
-            }
-
-            final double di = ((DoubleValue)ci).getDoubleValue();
-
             for (int j = i + 1; j < m_numericColIndexMap.length; j++) {
-                final DataCell cj = cellBuffer[j];
-                if (cj.isMissing()) {
-                    continue;
-                }
-                final double meanI = m_numericMeanMatrix[i][j];
-                final double stdDevI = m_numericStdDevMatrix[i][j];
-                final double meanJ = m_numericMeanMatrix[j][i];
-                final double stdDevJ = m_numericStdDevMatrix[j][i];
-
-                if (stdDevI == 0.0 || stdDevJ == 0.0) {
-                    continue; // constant with respect to other column, reported above
-                }
-
-                final double vi = (di - meanI) / stdDevI;
-                final double dj = ((DoubleValue)cj).getDoubleValue();
-                final double vj = (dj - meanJ) / stdDevJ;
-                nominatorMatrix.add(m_numericColIndexMap[i], m_numericColIndexMap[j], vi * vj);
+                nominatorMatrix.add(m_numericColIndexMap[i], m_numericColIndexMap[j], numericNominators[i][j]);
             }
         }
     }
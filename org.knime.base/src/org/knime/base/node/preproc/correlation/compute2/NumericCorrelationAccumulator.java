@@ -0,0 +1,366 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.base.node.preproc.correlation.compute2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
+
+/**
+ * Accumulates the pair-wise statistics of the numeric columns used by {@link CorrelationComputer2} on primitive
+ * arrays. Rows are buffered in chunks; the pairwise matrices are split into square column tiles which are distributed
+ * across a fixed number of workers. Each worker owns its tiles exclusively and adds the rows of a chunk in row order,
+ * so no merging is needed and every matrix cell sees exactly the same summation order as a sequential scan, i.e. the
+ * results are identical to the single-threaded computation. While the workers process one chunk, the calling thread
+ * already fills the next one.
+ *
+ * <p>
+ * Missing values are handled pair-wise complete: a value of column <i>i</i> only contributes to the cell
+ * <i>(i,j)</i> if the value of column <i>j</i> is not missing in the same row.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class NumericCorrelationAccumulator {
+
+    /** Width (and height) of a column tile, chosen so that the touched matrix tiles fit into the L2 cache. */
+    static final int TILE_SIZE = 64;
+
+    /** Targeted number of values in one row chunk. */
+    private static final int CHUNK_VALUE_COUNT = 1 << 20;
+
+    private final int m_numCols;
+
+    private final int m_chunkRows;
+
+    private final int m_parallelism;
+
+    /** Per worker the list of tiles it owns, each tile encoded as {iStart, iEnd, jStart, jEnd}. */
+    private final int[][][] m_workerTiles;
+
+    private final ThreadPool m_pool;
+
+    private Chunk m_fillChunk;
+
+    private Chunk m_spareChunk;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while computing correlation");
+
+    private ChunkOperation m_operation;
+
+    // pass 1 results
+    private final double[][] m_sum;
+
+    private final double[][] m_sumSq;
+
+    private final int[][] m_validCount;
+
+    // pass 2 input and result
+    private double[][] m_mean;
+
+    private double[][] m_stdDev;
+
+    private double[][] m_nominator;
+
+    /**
+     * @param numCols the number of numeric columns
+     * @param pool the pool to run the workers in, may be <code>null</code> in which case all computation happens in
+     *            the calling thread
+     * @param parallelism the maximum number of concurrently processed tile groups
+     */
+    NumericCorrelationAccumulator(final int numCols, final ThreadPool pool, final int parallelism) {
+        m_numCols = numCols;
+        m_chunkRows = Math.max(16, Math.min(8192, CHUNK_VALUE_COUNT / Math.max(1, numCols)));
+        final int tileCount = (numCols + TILE_SIZE - 1) / TILE_SIZE;
+        // we only need to process the upper triangle (including the diagonal tiles) in the second pass but the full
+        // square in the first; the distribution below is done on the full square and is good enough for both
+        m_parallelism = pool == null ? 1 : Math.max(1, Math.min(parallelism, tileCount * tileCount));
+        m_pool = pool;
+        m_workerTiles = distributeTiles(numCols, tileCount, m_parallelism);
+        m_sum = new double[numCols][numCols];
+        m_sumSq = new double[numCols][numCols];
+        m_validCount = new int[numCols][numCols];
+        m_fillChunk = new Chunk(m_chunkRows, numCols);
+        m_spareChunk = new Chunk(m_chunkRows, numCols);
+    }
+
+    /**
+     * Assigns the tiles round-robin to the workers, walking the tile rows from both ends so that the triangular work of
+     * the second pass is balanced as well.
+     */
+    private static int[][][] distributeTiles(final int numCols, final int tileCount, final int parallelism) {
+        final List<List<int[]>> tiles = new ArrayList<>(parallelism);
+        for (int w = 0; w < parallelism; w++) {
+            tiles.add(new ArrayList<>());
+        }
+        int worker = 0;
+        for (int lo = 0, hi = tileCount - 1; lo <= hi; lo++, hi--) {
+            final int[] tileRows = lo == hi ? new int[]{lo} : new int[]{lo, hi};
+            for (final int ti : tileRows) {
+                for (int tj = 0; tj < tileCount; tj++) {
+                    final int iStart = ti * TILE_SIZE;
+                    final int jStart = tj * TILE_SIZE;
+                    tiles.get(worker).add(new int[]{iStart, Math.min(numCols, iStart + TILE_SIZE), jStart,
+                        Math.min(numCols, jStart + TILE_SIZE)});
+                    worker = (worker + 1) % parallelism;
+                }
+            }
+        }
+        final int[][][] result = new int[parallelism][][];
+        for (int w = 0; w < parallelism; w++) {
+            result[w] = tiles.get(w).toArray(new int[0][]);
+        }
+        return result;
+    }
+
+    /** Starts the first pass which accumulates sums, sums of squares and the valid counts. */
+    void startStatistics() {
+        m_operation = this::addChunkToSums;
+    }
+
+    /**
+     * Starts the second pass which accumulates the nominator of the pearson correlation coefficient.
+     *
+     * @param mean the pair-wise mean matrix as computed from the results of the first pass
+     * @param stdDev the pair-wise standard deviation matrix as computed from the results of the first pass
+     */
+    void startNominator(final double[][] mean, final double[][] stdDev) {
+        m_mean = mean;
+        m_stdDev = stdDev;
+        m_nominator = new double[m_numCols][m_numCols];
+        m_operation = this::addChunkToNominator;
+    }
+
+    /**
+     * Adds a row to the current pass. The arrays are copied and can be reused by the caller.
+     *
+     * @param values the values of the numeric columns (ignored where missing)
+     * @param missing flags marking the missing values
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled while waiting for the workers
+     */
+    void addRow(final double[] values, final boolean[] missing, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        m_fillChunk.add(values, missing);
+        if (m_fillChunk.m_rowCount == m_chunkRows) {
+            dispatch(exec);
+        }
+    }
+
+    /**
+     * Processes the remaining buffered rows and waits for all workers of the current pass to finish.
+     *
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if canceled
+     */
+    void finishPass(final ExecutionMonitor exec) throws CanceledExecutionException {
+        if (m_fillChunk.m_rowCount > 0) {
+            dispatch(exec);
+        }
+        awaitPending(exec);
+    }
+
+    /** Cancels all running workers, e.g. if the computation failed. */
+    void cancel() {
+        m_pending.cancel();
+    }
+
+    /** @return sumMatrix[i][j] - the sum of all values of column i where column j is not missing */
+    double[][] getSumMatrix() {
+        return m_sum;
+    }
+
+    /** @return the sum of the squared values, analogous to {@link #getSumMatrix()} */
+    double[][] getSumSqMatrix() {
+        return m_sumSq;
+    }
+
+    /** @return validCount[i][j] for j &gt;= i - the number of rows where neither column i nor j is missing */
+    int[][] getValidCountMatrix() {
+        return m_validCount;
+    }
+
+    /** @return nominator[i][j] for j &gt; i - the sum of the products of the standardized values */
+    double[][] getNominatorMatrix() {
+        return m_nominator;
+    }
+
+    private void dispatch(final ExecutionMonitor exec) throws CanceledExecutionException {
+        // the workers of the previous chunk must be done before its buffer can be refilled
+        awaitPending(exec);
+        final Chunk chunk = m_fillChunk;
+        m_fillChunk = m_spareChunk;
+        m_spareChunk = chunk;
+        m_fillChunk.m_rowCount = 0;
+        final ChunkOperation op = m_operation;
+        if (m_parallelism == 1) {
+            op.process(chunk, m_workerTiles[0]);
+            return;
+        }
+        for (final int[][] tiles : m_workerTiles) {
+            m_pending.add(m_pool.enqueue((Callable<Void>)() -> {
+                op.process(chunk, tiles);
+                return null;
+            }));
+        }
+    }
+
+    private void awaitPending(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_pending.await();
+        exec.checkCanceled();
+    }
+
+    private void addChunkToSums(final Chunk chunk, final int[][] tiles) {
+        final int n = m_numCols;
+        final double[] values = chunk.m_values;
+        final boolean[] missing = chunk.m_missing;
+        final int rowCount = chunk.m_rowCount;
+        for (final int[] tile : tiles) {
+            final int iStart = tile[0];
+            final int iEnd = tile[1];
+            final int jStart = tile[2];
+            final int jEnd = tile[3];
+            for (int r = 0; r < rowCount; r++) {
+                final int base = r * n;
+                for (int i = iStart; i < iEnd; i++) {
+                    if (missing[base + i]) {
+                        continue;
+                    }
+                    final double val = values[base + i];
+                    final double valSquare = val * val;
+                    final double[] sumRow = m_sum[i];
+                    final double[] sumSqRow = m_sumSq[i];
+                    final int[] countRow = m_validCount[i];
+                    for (int j = jStart; j < jEnd; j++) {
+                        if (!missing[base + j]) {
+                            sumRow[j] += val;
+                            sumSqRow[j] += valSquare;
+                            countRow[j]++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addChunkToNominator(final Chunk chunk, final int[][] tiles) {
+        final int n = m_numCols;
+        final double[] values = chunk.m_values;
+        final boolean[] missing = chunk.m_missing;
+        final int rowCount = chunk.m_rowCount;
+        for (final int[] tile : tiles) {
+            final int iStart = tile[0];
+            final int iEnd = tile[1];
+            final int jEnd = tile[3];
+            if (jEnd <= iStart + 1) {
+                continue; // tile lies strictly below the diagonal
+            }
+            for (int r = 0; r < rowCount; r++) {
+                final int base = r * n;
+                for (int i = iStart; i < iEnd; i++) {
+                    // Skip for missing cells and constant columns
+                    if (missing[base + i] || m_stdDev[i][i] == 0.0) {
+                        continue;
+                    }
+                    final double di = values[base + i];
+                    final double[] meanRowI = m_mean[i];
+                    final double[] stdDevRowI = m_stdDev[i];
+                    final double[] nominatorRow = m_nominator[i];
+                    for (int j = Math.max(tile[2], i + 1); j < jEnd; j++) {
+                        if (missing[base + j]) {
+                            continue;
+                        }
+                        final double stdDevI = stdDevRowI[j];
+                        final double stdDevJ = m_stdDev[j][i];
+                        if (stdDevI == 0.0 || stdDevJ == 0.0) {
+                            continue; // constant with respect to other column
+                        }
+                        final double vi = (di - meanRowI[j]) / stdDevI;
+                        final double vj = (values[base + j] - m_mean[j][i]) / stdDevJ;
+                        nominatorRow[j] += vi * vj;
+                    }
+                }
+            }
+        }
+    }
+
+    /** The per-pass computation applied to the tiles of one worker. */
+    @FunctionalInterface
+    private interface ChunkOperation {
+        void process(Chunk chunk, int[][] tiles);
+    }
+
+    /** A row-major buffer of numeric values. */
+    private static final class Chunk {
+
+        private final double[] m_values;
+
+        private final boolean[] m_missing;
+
+        private final int m_numCols;
+
+        private int m_rowCount;
+
+        Chunk(final int rows, final int numCols) {
+            m_values = new double[rows * numCols];
+            m_missing = new boolean[rows * numCols];
+            m_numCols = numCols;
+        }
+
+        void add(final double[] values, final boolean[] missing) {
+            final int offset = m_rowCount * m_numCols;
+            System.arraycopy(values, 0, m_values, offset, m_numCols);
+            System.arraycopy(missing, 0, m_missing, offset, m_numCols);
+            m_rowCount++;
+        }
+    }
+}
@@ -52,13 +52,16 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.knime.base.data.sort.SortedTable;
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomain;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
@@ -66,6 +69,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.PendingTasks;
 
 /**
  *
@@ -102,6 +108,10 @@ public class ROCCalculator {
 
     private String m_warningMessage = null;
 
+    private int m_histogramBins = 0;
+
+    private final PendingTasks m_pending = new PendingTasks("Interrupted while computing ROC curves");
+
     /**
      * @return Warning messages that occurred during execution
      */
@@ -139,6 +149,22 @@ public ROCCalculator(final List<String> curves, final String classCol,
         m_ignoreMissingValues = ignoreMissingValues;
     }
 
+    /**
+     * Sets the number of bins of the score histograms that are used to approximate the curves. If set to a positive
+     * value, the curves and areas for all score columns with known domain bounds are computed in a single pass over
+     * the table from fixed-resolution histograms. Columns without domain bounds and a value of 0 (the default) use
+     * the exact computation.
+     *
+     * @param bins the number of histogram bins, 0 for exact curves
+     * @since 4.6
+     */
+    public void setHistogramBins(final int bins) {
+        if (bins < 0) {
+            throw new IllegalArgumentException("Number of histogram bins must not be negative: " + bins);
+        }
+        m_histogramBins = bins;
+    }
+
     /**
      * Calculates the ROC curve.
      * @param table the table with the data
@@ -148,89 +174,501 @@ public ROCCalculator(final List<String> curves, final String classCol,
     public void calculateCurveData(final BufferedDataTable table, final ExecutionContext exec)
             throws CanceledExecutionException {
         m_warningMessage = null;
-        List<ROCCurve> curves = new ArrayList<ROCCurve>();
-        int classIndex = table.getDataTableSpec().findColumnIndex(m_classCol);
-        int curvesSize = m_curves.size();
-        int size = table.getRowCount();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final int curvesSize = m_curves.size();
+        final long size = table.size();
         if (size == 0) {
             m_warningMessage = "Input table contains no rows";
         }
-        BufferedDataContainer outCont = exec.createDataContainer(OUT_SPEC);
+
+        // the histograms are small, they are all filled in the first pass; the score counts of the exact curves are
+        // split into groups that fit into memory, each group requires one pass over the table
+        final ScoreCollector[] collectors = new ScoreCollector[curvesSize];
+        final List<Integer> exactCurves = new ArrayList<Integer>();
+        final List<Integer> histogramCurves = new ArrayList<Integer>();
         for (int i = 0; i < curvesSize; i++) {
-            exec.checkCanceled();
-            String c = m_curves.get(i);
+            DataColumnDomain domain = spec.getColumnSpec(m_curves.get(i)).getDomain();
+            if ((m_histogramBins > 0) && domain.hasBounds()) {
+                collectors[i] = new ScoreHistogram(m_histogramBins,
+                    ((DoubleValue)domain.getLowerBound()).getDoubleValue(),
+                    ((DoubleValue)domain.getUpperBound()).getDoubleValue());
+                histogramCurves.add(i);
+            } else {
+                exactCurves.add(i);
+            }
+        }
+        // the curves of a group are collected and created at the same time, so the budget is shared among them; if
+        // all scores of a column may be distinct and do not fit into the budget, each column gets its own pass and
+        // the columns with too many distinct scores are sorted externally
+        final long budget = Runtime.getRuntime().maxMemory() / 4;
+        final long maxBytesPerCurve = Math.max(1, size) * SortedScores.BYTES_PER_SCORE;
+        final int groupSize = (int)Math.max(1, Math.min(exactCurves.size(), budget / maxBytesPerCurve));
+        final long maxScoresPerCurve = Math.max(1, budget / groupSize / SortedScores.BYTES_PER_SCORE);
+        final List<List<Integer>> passes = new ArrayList<List<Integer>>();
+        for (int i = 0; i < exactCurves.size(); i += groupSize) {
+            passes.add(new ArrayList<Integer>(exactCurves.subList(i, Math.min(exactCurves.size(), i + groupSize))));
+        }
+        if (passes.isEmpty()) {
+            passes.add(new ArrayList<Integer>());
+        }
+        passes.get(0).addAll(histogramCurves);
 
-            ExecutionContext subExec = exec.createSubExecutionContext(
-                    1.0 / curvesSize);
-            SortedTable sortedTable =
-                    new SortedTable(table, Collections.singletonList(c),
-                            new boolean[]{false}, subExec);
+        final ROCCurve[] curves = new ROCCurve[curvesSize];
+        for (List<Integer> pass : passes) {
+            final ExecutionContext subExec = exec.createSubExecutionContext(1.0 / passes.size());
+            final int[] curveIndices = new int[pass.size()];
+            for (int i = 0; i < curveIndices.length; i++) {
+                curveIndices[i] = pass.get(i);
+                if (collectors[curveIndices[i]] == null) {
+                    collectors[curveIndices[i]] = new SortedScores(maxScoresPerCurve);
+                }
+            }
+            collectScores(table, curveIndices, collectors, subExec.createSubExecutionContext(0.5));
+            final List<Integer> exceeded = new ArrayList<Integer>();
+            final List<Integer> collected = new ArrayList<Integer>();
+            for (int i : curveIndices) {
+                if ((collectors[i] instanceof SortedScores) && ((SortedScores)collectors[i]).isExceeded()) {
+                    exceeded.add(i);
+                } else {
+                    collected.add(i);
+                }
+            }
+            createCurves(collected, collectors, curves, subExec);
+            for (int i : curveIndices) {
+                // release the score counts before the next pass
+                collectors[i] = null;
+            }
+            for (int i : exceeded) {
+                curves[i] = createSortedTableCurve(table, i, subExec.createSubExecutionContext(0.5 / exceeded.size()));
+            }
             subExec.setProgress(1.0);
+        }
 
-            int tp = 0, fp = 0;
-            // these contain the coordinates for the plot
-            double[] xValues = new double[size + 1];
-            double[] yValues = new double[size + 1];
-            int k = 0;
-            final int scoreColIndex =
-                    sortedTable.getDataTableSpec().findColumnIndex(c);
-            DataCell lastScore = null;
-            for (DataRow row : sortedTable) {
-                exec.checkCanceled();
-                DataCell realClass = row.getCell(classIndex);
-                if (realClass.isMissing() || row.getCell(scoreColIndex).isMissing()) {
+        BufferedDataContainer outCont = exec.createDataContainer(OUT_SPEC);
+        for (ROCCurve c : curves) {
+            outCont.addRowToTable(new DefaultRow(new RowKey(c.getName()), new DoubleCell(c.getArea())));
+        }
+        m_outCurves = new ArrayList<ROCCurve>(Arrays.asList(curves));
+        outCont.close();
+        m_outTable = outCont.getTable();
+    }
+
+    /**
+     * Reads the table once and adds the scores of the given curves to their collectors.
+     */
+    private void collectScores(final BufferedDataTable table, final int[] curveIndices,
+        final ScoreCollector[] collectors, final ExecutionContext exec) throws CanceledExecutionException {
+        final DataTableSpec spec = table.getDataTableSpec();
+        final int classIndex = spec.findColumnIndex(m_classCol);
+        final int[] scoreIndices = new int[curveIndices.length];
+        for (int i = 0; i < curveIndices.length; i++) {
+            scoreIndices[i] = spec.findColumnIndex(m_curves.get(curveIndices[i]));
+        }
+        final double size = table.size();
+        long rowIndex = 0;
+        for (DataRow row : table) {
+            exec.checkCanceled();
+            exec.setProgress(0.9 * rowIndex++ / size);
+            DataCell realClass = row.getCell(classIndex);
+            if (realClass.isMissing()) {
+                if (m_ignoreMissingValues) {
+                    continue;
+                } else {
+                    m_warningMessage = "Table contains missing values.";
+                }
+            }
+            final boolean positive = realClass.toString().equals(m_posClass);
+            for (int i = 0; i < curveIndices.length; i++) {
+                DataCell score = row.getCell(scoreIndices[i]);
+                if (score.isMissing()) {
                     if (m_ignoreMissingValues) {
                         continue;
-                    } else {
-                        m_warningMessage = "Table contains missing values.";
                     }
+                    m_warningMessage = "Table contains missing values.";
+                    collectors[curveIndices[i]].addMissing(positive);
+                } else {
+                    collectors[curveIndices[i]].add(((DoubleValue)score).getDoubleValue(), positive);
                 }
-                if (realClass.toString().equals(m_posClass)) {
-                    tp++;
+            }
+        }
+    }
+
+    /**
+     * Creates the curves for the given collectors, the exact ones are sorted in parallel.
+     */
+    private void createCurves(final List<Integer> curveIndices, final ScoreCollector[] collectors,
+        final ROCCurve[] curves, final ExecutionContext exec) throws CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(
+            Math.max(1, Math.min(curveIndices.size(), Runtime.getRuntime().availableProcessors())));
+        try {
+            for (final int i : curveIndices) {
+                m_pending.add(pool.enqueue(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CanceledExecutionException {
+                        exec.checkCanceled();
+                        curves[i] = collectors[i].createCurve(m_curves.get(i), m_maxPoints);
+                        return null;
+                    }
+                }));
+            }
+            m_pending.await();
+        } finally {
+            m_pending.cancel();
+        }
+    }
+
+    /**
+     * Creates the curve of a score column with too many distinct scores for the memory by sorting the table by the
+     * score, which is how the curves used to be computed.
+     */
+    private ROCCurve createSortedTableCurve(final BufferedDataTable table, final int curveIndex,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        final String curve = m_curves.get(curveIndex);
+        final SortedTable sortedTable = new SortedTable(table, Collections.singletonList(curve), new boolean[]{false},
+            exec.createSubExecutionContext(0.5));
+        final DataTableSpec spec = sortedTable.getDataTableSpec();
+        final int classIndex = spec.findColumnIndex(m_classCol);
+        final int scoreIndex = spec.findColumnIndex(curve);
+        final long size = table.size();
+        final double[] fpCounts = new double[(int)Math.min(Integer.MAX_VALUE - 8, size + 2)];
+        final double[] tpCounts = new double[fpCounts.length];
+        // missing scores form the last point like in the collectors, wherever the sorter puts them
+        long missingPos = 0;
+        long missingNeg = 0;
+        long rowIndex = 0;
+        int k = 0;
+        long tp = 0;
+        long fp = 0;
+        DataCell lastScore = null;
+        for (DataRow row : sortedTable) {
+            exec.checkCanceled();
+            exec.setProgress(0.5 + 0.5 * rowIndex++ / size);
+            final DataCell realClass = row.getCell(classIndex);
+            final DataCell score = row.getCell(scoreIndex);
+            if (realClass.isMissing() || score.isMissing()) {
+                if (m_ignoreMissingValues) {
+                    continue;
+                }
+                m_warningMessage = "Table contains missing values.";
+            }
+            final boolean positive = realClass.toString().equals(m_posClass);
+            if (score.isMissing()) {
+                if (positive) {
+                    missingPos++;
                 } else {
-                    fp++;
+                    missingNeg++;
                 }
+                continue;
+            }
+            if (positive) {
+                tp++;
+            } else {
+                fp++;
+            }
+            // equal scores form a single point
+            if (!score.equals(lastScore)) {
+                k++;
+                lastScore = score;
+            }
+            fpCounts[k] = fp;
+            tpCounts[k] = tp;
+        }
+        if (missingPos + missingNeg > 0) {
+            k++;
+            fpCounts[k] = fp + missingNeg;
+            tpCounts[k] = tp + missingPos;
+        }
+        return createCurve(curve, fpCounts, tpCounts, k, m_maxPoints);
+    }
 
-                // Only add a new line point if probability values differ. If they are equal we can't prefer one
-                // value over the other as they are indifferent; for a sequence of equal probabilities, think of what
-                // would happen if we first encounter all TP and then the FP and the other way
-                // around ... the following lines circumvent this.
-                if (!row.getCell(scoreColIndex).equals(lastScore)) {
-                    k++;
-                    lastScore = row.getCell(scoreColIndex);
+    /**
+     * Normalizes the given point coordinates, the first <code>k + 1</code> entries of which contain the absolute
+     * number of false and true positives with decreasing score threshold, and computes the area under the curve.
+     */
+    static ROCCurve createCurve(final String name, final double[] fpCounts, final double[] tpCounts, final int k,
+        final int maxPoints) {
+        double fp = fpCounts[k];
+        double tp = tpCounts[k];
+        double[] xValues = Arrays.copyOf(fpCounts, k + 1);
+        double[] yValues = Arrays.copyOf(tpCounts, k + 1);
+
+        for (int j = 0; j <= k; j++) {
+            xValues[j] /= fp;
+            yValues[j] /= tp;
+        }
+        xValues[xValues.length - 1] = 1;
+        yValues[yValues.length - 1] = 1;
+
+        double area = 0;
+        for (int j = 1; j < xValues.length; j++) {
+            if (xValues[j - 1] < xValues[j]) {
+                // magical math: the rectangle + the triangle under
+                // the segment xValues[j] to xValues[j - 1]
+                area += 0.5 * (xValues[j] - xValues[j - 1])
+                    * (yValues[j] + yValues[j - 1]);
+            }
+        }
+        return new ROCCurve(name, xValues, yValues, area, maxPoints);
+    }
+
+    /**
+     * Collects the scores of one curve.
+     */
+    abstract static class ScoreCollector {
+        /** Number of rows with missing score that belong to the positive class. */
+        private long m_missingPos;
+
+        /** Number of rows with missing score that belong to another class. */
+        private long m_missingNeg;
+
+        /**
+         * Adds a score.
+         *
+         * @param score the score
+         * @param positive whether the row belongs to the positive class
+         */
+        abstract void add(final double score, final boolean positive);
+
+        /**
+         * Adds a missing score. Missing scores are smaller than all other scores.
+         *
+         * @param positive whether the row belongs to the positive class
+         */
+        final void addMissing(final boolean positive) {
+            if (positive) {
+                m_missingPos++;
+            } else {
+                m_missingNeg++;
+            }
+        }
+
+        /**
+         * Creates the curve from the collected scores.
+         *
+         * @param name the curve's name
+         * @param maxPoints the maximum number of points to show
+         * @return the curve
+         */
+        abstract ROCCurve createCurve(final String name, final int maxPoints);
+
+        /**
+         * Adds the rows with missing scores as the last point, if there are any.
+         *
+         * @return the new index of the last point
+         */
+        final int addMissingPoint(final double[] fpCounts, final double[] tpCounts, final int k) {
+            if (m_missingPos + m_missingNeg == 0) {
+                return k;
+            }
+            fpCounts[k + 1] = fpCounts[k] + m_missingNeg;
+            tpCounts[k + 1] = tpCounts[k] + m_missingPos;
+            return k + 1;
+        }
+    }
+
+    /**
+     * Counts the positive and negative rows per distinct score in an open addressing hash table, so that the memory
+     * depends on the number of distinct scores rather than on the number of rows. The distinct scores are sorted when
+     * the curve is created, which results in exactly the same curve as sorting the whole table by the score. If more
+     * than the given number of distinct scores are added, the counts are released and the curve has to be computed
+     * from the sorted table instead.
+     */
+    static final class SortedScores extends ScoreCollector {
+        /**
+         * An upper bound of the bytes needed per distinct score. A slot takes 24 bytes and the table is at least 3/8
+         * full, i.e., it takes at most 64 bytes per score. While the table grows, the old and the new table take 96
+         * bytes per score. Creating the curve adds 24 bytes per score for the sorted scores and the point coordinates
+         * while the table is still needed.
+         */
+        static final int BYTES_PER_SCORE = 96;
+
+        /** The maximum number of distinct scores, the table must not grow beyond 2^30 slots. */
+        private static final long MAX_SCORES = 3L << 28;
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final long m_maxScores;
+
+        private long[] m_keys;
+
+        private long[] m_posCounts;
+
+        private long[] m_negCounts;
+
+        private int m_size;
+
+        private boolean m_exceeded;
+
+        /**
+         * @param maxScores the maximum number of distinct scores
+         */
+        SortedScores(final long maxScores) {
+            m_maxScores = Math.min(maxScores, MAX_SCORES);
+            m_keys = new long[INITIAL_CAPACITY];
+            m_posCounts = new long[INITIAL_CAPACITY];
+            m_negCounts = new long[INITIAL_CAPACITY];
+        }
+
+        /**
+         * @return whether more than the maximum number of distinct scores have been added
+         */
+        boolean isExceeded() {
+            return m_exceeded;
+        }
+
+        @Override
+        void add(final double score, final boolean positive) {
+            if (m_exceeded) {
+                return;
+            }
+            // the bits identify scores like Double#compare, e.g. NaNs are equal and the zeros are different
+            final long key = Double.doubleToLongBits(score);
+            int slot = find(key);
+            if (isFree(slot)) {
+                if (m_size >= m_maxScores) {
+                    m_exceeded = true;
+                    release();
+                    return;
+                }
+                if (m_size >= m_keys.length / 4 * 3) {
+                    grow();
+                    slot = find(key);
                 }
-                xValues[k] = fp;
-                yValues[k] = tp;
+                m_keys[slot] = key;
+                m_size++;
             }
+            if (positive) {
+                m_posCounts[slot]++;
+            } else {
+                m_negCounts[slot]++;
+            }
+        }
 
-            xValues = Arrays.copyOf(xValues, k + 1);
-            yValues = Arrays.copyOf(yValues, k + 1);
+        private boolean isFree(final int slot) {
+            return m_posCounts[slot] == 0 && m_negCounts[slot] == 0;
+        }
 
-            for (int j = 0; j <= k; j++) {
-                xValues[j] /= fp;
-                yValues[j] /= tp;
+        private int find(final long key) {
+            final int mask = m_keys.length - 1;
+            final long hash = key * 0x9E3779B97F4A7C15L;
+            int slot = (int)(hash ^ (hash >>> 32)) & mask;
+            while (!isFree(slot) && m_keys[slot] != key) {
+                slot = (slot + 1) & mask;
             }
-            xValues[xValues.length - 1] = 1;
-            yValues[yValues.length - 1] = 1;
+            return slot;
+        }
 
-            double area = 0;
-            for (k = 1; k < xValues.length; k++) {
-                if (xValues[k - 1] < xValues[k]) {
-                    // magical math: the rectangle + the triangle under
-                    // the segment xValues[k] to xValues[k - 1]
-                    area += 0.5 * (xValues[k] - xValues[k - 1])
-                        * (yValues[k] + yValues[k - 1]);
+        private void grow() {
+            final long[] keys = m_keys;
+            final long[] posCounts = m_posCounts;
+            final long[] negCounts = m_negCounts;
+            m_keys = new long[keys.length * 2];
+            m_posCounts = new long[keys.length * 2];
+            m_negCounts = new long[keys.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (posCounts[i] != 0 || negCounts[i] != 0) {
+                    final int slot = find(keys[i]);
+                    m_keys[slot] = keys[i];
+                    m_posCounts[slot] = posCounts[i];
+                    m_negCounts[slot] = negCounts[i];
                 }
             }
+        }
 
-            curves.add(new ROCCurve(c, xValues, yValues, area, m_maxPoints));
-            outCont.addRowToTable(new DefaultRow(new RowKey(c.toString()),
-                    new DoubleCell(area)));
+        private void release() {
+            m_keys = null;
+            m_posCounts = null;
+            m_negCounts = null;
         }
 
-        m_outCurves = curves;
-        outCont.close();
-        m_outTable = outCont.getTable();
+        @Override
+        ROCCurve createCurve(final String name, final int maxPoints) {
+            if (m_exceeded) {
+                throw new IllegalStateException("Too many distinct scores for curve " + name);
+            }
+            final double[] scores = new double[m_size];
+            int n = 0;
+            for (int i = 0; i < m_keys.length; i++) {
+                if (!isFree(i)) {
+                    scores[n++] = Double.longBitsToDouble(m_keys[i]);
+                }
+            }
+            Arrays.sort(scores);
+            final double[] fpCounts = new double[m_size + 2];
+            final double[] tpCounts = new double[fpCounts.length];
+            // walk the scores from the highest downwards, equal scores form a single point
+            int k = 0;
+            long tp = 0;
+            long fp = 0;
+            for (int i = scores.length - 1; i >= 0; i--) {
+                final int slot = find(Double.doubleToLongBits(scores[i]));
+                tp += m_posCounts[slot];
+                fp += m_negCounts[slot];
+                k++;
+                fpCounts[k] = fp;
+                tpCounts[k] = tp;
+            }
+            release();
+            k = addMissingPoint(fpCounts, tpCounts, k);
+            return ROCCalculator.createCurve(name, fpCounts, tpCounts, k, maxPoints);
+        }
+    }
+
+    /**
+     * Counts the positive and negative rows in fixed-width score bins between the column's domain bounds. Rows in the
+     * same bin are treated as having equal scores, i.e. the curve is approximated by one point per non-empty bin.
+     */
+    static final class ScoreHistogram extends ScoreCollector {
+        private final long[] m_pos;
+
+        private final long[] m_neg;
+
+        private final double m_lower;
+
+        private final double m_scale;
+
+        ScoreHistogram(final int bins, final double lower, final double upper) {
+            m_pos = new long[bins];
+            m_neg = new long[bins];
+            m_lower = lower;
+            m_scale = (upper > lower) ? bins / (upper - lower) : 0;
+        }
+
+        @Override
+        void add(final double score, final boolean positive) {
+            int bin;
+            if (Double.isNaN(score)) {
+                // NaN is sorted after all other values
+                bin = m_pos.length - 1;
+            } else {
+                bin = (int)Math.max(0, Math.min(m_pos.length - 1, Math.floor((score - m_lower) * m_scale)));
+            }
+            if (positive) {
+                m_pos[bin]++;
+            } else {
+                m_neg[bin]++;
+            }
+        }
+
+        @Override
+        ROCCurve createCurve(final String name, final int maxPoints) {
+            final double[] fpCounts = new double[m_pos.length + 2];
+            final double[] tpCounts = new double[fpCounts.length];
+            int k = 0;
+            long tp = 0;
+            long fp = 0;
+            for (int b = m_pos.length - 1; b >= 0; b--) {
+                if (m_pos[b] + m_neg[b] > 0) {
+                    tp += m_pos[b];
+                    fp += m_neg[b];
+                    k++;
+                    fpCounts[k] = fp;
+                    tpCounts[k] = tp;
+                }
+            }
+            k = addMissingPoint(fpCounts, tpCounts, k);
+            return ROCCalculator.createCurve(name, fpCounts, tpCounts, k, maxPoints);
+        }
     }
 
     /**
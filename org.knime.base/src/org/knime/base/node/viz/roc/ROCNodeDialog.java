@@ -53,9 +53,12 @@
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ItemEvent;
+import java.awt.event.ItemListener;
 import java.util.Set;
 
 import javax.swing.DefaultComboBoxModel;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
@@ -98,6 +101,10 @@ public class ROCNodeDialog extends NodeDialogPane {
 
     private final JSpinner m_maxPoints = new JSpinner(new SpinnerNumberModel(2000, -1, Integer.MAX_VALUE, 10));
 
+    private final JCheckBox m_approximate = new JCheckBox("Approximate curves using score histograms with");
+
+    private final JSpinner m_histogramBins = new JSpinner(new SpinnerNumberModel(1000, 1, 1000000, 100));
+
     @SuppressWarnings("unchecked")
     private final ColumnFilterPanel m_sortColumns =
             new ColumnFilterPanel(false, DoubleValue.class);
@@ -147,6 +154,23 @@ public void actionPerformed(final ActionEvent e) {
         c.gridx++;
         p.add(m_maxPoints, c);
 
+        c.gridx = 0;
+        c.gridy++;
+        // gap between the check box and the number of bins
+        c.insets = new Insets(2, 2, 2, 10);
+        p.add(m_approximate, c);
+        c.insets = new Insets(2, 2, 2, 2);
+        c.gridx++;
+        p.add(m_histogramBins, c);
+        c.gridx++;
+        p.add(new JLabel("bins"), c);
+        m_approximate.addItemListener(new ItemListener() {
+            @Override
+            public void itemStateChanged(final ItemEvent e) {
+                m_histogramBins.setEnabled(m_approximate.isSelected());
+            }
+        });
+
         c.gridy++;
         c.gridx = 0;
         c.gridwidth = 3;
@@ -208,6 +232,9 @@ protected void loadSettingsFrom(final NodeSettingsRO settings,
         m_positiveClass.setSelectedItem(m_settings.getPositiveClass());
         m_sortColumns.update(specs[0], false, m_settings.getCurves());
         m_maxPoints.setValue(m_settings.getMaxPoints());
+        m_approximate.setSelected(m_settings.isApproximate());
+        m_histogramBins.setValue(m_settings.getHistogramBins());
+        m_histogramBins.setEnabled(m_settings.isApproximate());
     }
 
     /**
@@ -222,6 +249,8 @@ protected void saveSettingsTo(final NodeSettingsWO settings)
         m_settings.getCurves().clear();
         m_settings.getCurves().addAll(m_sortColumns.getIncludedColumnSet());
         m_settings.setMaxPoints((Integer) m_maxPoints.getValue());
+        m_settings.setApproximate(m_approximate.isSelected());
+        m_settings.setHistogramBins((Integer)m_histogramBins.getValue());
         m_settings.saveSettings(settings);
     }
 
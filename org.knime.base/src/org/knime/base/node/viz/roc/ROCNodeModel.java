@@ -141,6 +141,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                                                 m_settings.getClassColumn(),
                                                 m_settings.getMaxPoints(),
                                                 m_settings.getPositiveClass().toString());
+        if (m_settings.isApproximate()) {
+            calc.setHistogramBins(m_settings.getHistogramBins());
+        }
 
         calc.calculateCurveData(inData[0], exec);
 
@@ -69,6 +69,10 @@ public class ROCSettings {
 
     private int m_maxPoints = 2000;
 
+    private boolean m_approximate = false;
+
+    private int m_histogramBins = 1000;
+
     /**
      * Returns the list of class probability columns that should be shown
      * in the ROC view.
@@ -139,6 +143,47 @@ public int getMaxPoints() {
         return m_maxPoints;
     }
 
+    /**
+     * Sets whether the curves should be approximated from score histograms in a single pass over the table instead
+     * of being computed exactly.
+     *
+     * @param approximate <code>true</code> if histograms should be used, <code>false</code> otherwise
+     * @since 4.6
+     */
+    public void setApproximate(final boolean approximate) {
+        m_approximate = approximate;
+    }
+
+    /**
+     * Returns whether the curves should be approximated from score histograms.
+     *
+     * @return <code>true</code> if histograms should be used, <code>false</code> otherwise
+     * @since 4.6
+     */
+    public boolean isApproximate() {
+        return m_approximate;
+    }
+
+    /**
+     * Sets the number of bins of the score histograms.
+     *
+     * @param bins the number of bins
+     * @since 4.6
+     */
+    public void setHistogramBins(final int bins) {
+        m_histogramBins = bins;
+    }
+
+    /**
+     * Returns the number of bins of the score histograms.
+     *
+     * @return the number of bins
+     * @since 4.6
+     */
+    public int getHistogramBins() {
+        return m_histogramBins;
+    }
+
     /**
      * Saves this object's settings to the given node settings.
      *
@@ -149,6 +194,8 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addDataCell("positiveClass", m_positiveClass);
         settings.addStringArray("curves", m_curves.toArray(new String[0]));
         settings.addInt("maxPoints", m_maxPoints);
+        settings.addBoolean("approximate", m_approximate);
+        settings.addInt("histogramBins", m_histogramBins);
     }
 
     /**
@@ -168,6 +215,11 @@ public void loadSettings(final NodeSettingsRO settings)
         }
 
         m_maxPoints = settings.getInt("maxPoints", -1); // since 2.10
+        m_approximate = settings.getBoolean("approximate", false); // since 4.6
+        m_histogramBins = settings.getInt("histogramBins", 1000); // since 4.6
+        if (m_histogramBins < 1) {
+            throw new InvalidSettingsException("Number of histogram bins must be positive: " + m_histogramBins);
+        }
     }
 
     /**
@@ -185,5 +237,7 @@ public void loadSettingsForDialog(final NodeSettingsRO settings) {
         }
 
         m_maxPoints = settings.getInt("maxPoints", 2000); // since 2.10
+        m_approximate = settings.getBoolean("approximate", false); // since 4.6
+        m_histogramBins = settings.getInt("histogramBins", 1000); // since 4.6
     }
 }
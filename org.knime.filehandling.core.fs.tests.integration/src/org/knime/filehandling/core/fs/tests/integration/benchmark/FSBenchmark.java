@@ -0,0 +1,382 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.fs.tests.integration.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Test;
+import org.knime.core.node.NodeLogger;
+import org.knime.filehandling.core.connections.FSFileSystem;
+import org.knime.filehandling.core.connections.base.BaseFileSystem;
+import org.knime.filehandling.core.fs.tests.integration.AbstractParameterizedFSTest;
+import org.knime.filehandling.core.testing.FSTestInitializer;
+import org.knime.filehandling.core.util.IOESupplier;
+
+/**
+ * Benchmarks the throughput and latency of common operations on all file systems under test, such as sequential and
+ * random reads and writes, creating and deleting small files, listing large folders, the attributes cache as well as
+ * copying and moving files.
+ *
+ * <p>
+ * The results are written as JSON by {@link FSBenchmarkReport} once all file systems have been benchmarked. The
+ * benchmarks take considerably longer than the functional tests, which is why they are not part of the
+ * {@link org.knime.filehandling.core.fs.tests.integration.FSIntegrationTestSuite} and have to be run explicitly. The
+ * class name deliberately does not end with {@code Test}, so the build does not pick it up.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FSBenchmark extends AbstractParameterizedFSTest {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(FSBenchmark.class);
+
+    private static final int LARGE_FILE_SIZE = 32 * 1024 * 1024;
+
+    private static final int RANDOM_FILE_SIZE = 8 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final int RANDOM_ACCESS_SIZE = 4 * 1024;
+
+    private static final int RANDOM_ACCESSES = 1000;
+
+    private static final int SMALL_FILE_SIZE = 1024;
+
+    private static final int SMALL_FILES = 1000;
+
+    private static final int LISTED_FILES = 10_000;
+
+    private static final int ATTRIBUTE_FILES = 1000;
+
+    private final FSBenchmarkReport m_report;
+
+    /**
+     * Constructor.
+     *
+     * @param fsType the file system type
+     * @param testInitializer the initializer for the file system
+     * @throws IOException
+     */
+    public FSBenchmark(final String fsType, final IOESupplier<FSTestInitializer> testInitializer)
+        throws IOException {
+        super(fsType, testInitializer);
+        m_report = FSBenchmarkReport.forFileSystem(fsType);
+    }
+
+    /**
+     * Writes the reports of all benchmarked file systems.
+     *
+     * @throws IOException
+     */
+    @AfterClass
+    public static void writeReports() throws IOException {
+        for (final Path report : FSBenchmarkReport.writeAll()) {
+            LOGGER.info("File system benchmark report written to " + report);
+        }
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void writeFile(final Path file, final int size) throws IOException {
+        final byte[] buffer = randomBytes(BUFFER_SIZE);
+        try (final OutputStream out = Files.newOutputStream(file)) {
+            for (int written = 0; written < size; written += buffer.length) {
+                out.write(buffer, 0, Math.min(buffer.length, size - written));
+            }
+        }
+    }
+
+    private static long readFile(final Path file) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long read = 0;
+        try (final InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                read += n;
+            }
+        }
+        return read;
+    }
+
+    private Path createDirectory(final String name) throws IOException {
+        final Path dir = m_testInitializer.makePath(name);
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    private static void clearAttributesCache(final FSFileSystem<?> fs) {
+        if (fs instanceof BaseFileSystem) {
+            ((BaseFileSystem<?>)fs).clearAttributesCache();
+        }
+    }
+
+    /**
+     * Measures the throughput of writing and reading a large file with streams.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_sequential_write_and_read() throws IOException {
+        final Path file = m_testInitializer.makePath("sequential.bin");
+
+        long start = System.nanoTime();
+        writeFile(file, LARGE_FILE_SIZE);
+        m_report.recordThroughput("sequentialWrite", LARGE_FILE_SIZE, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        final long read = readFile(file);
+        m_report.recordThroughput("sequentialRead", read, System.nanoTime() - start);
+        assertEquals(LARGE_FILE_SIZE, read);
+    }
+
+    /**
+     * Measures the throughput of reading small blocks at random positions of a file.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_random_read() throws IOException {
+        final Path file = m_testInitializer.makePath("random-read.bin");
+        writeFile(file, RANDOM_FILE_SIZE);
+        final Random random = new Random(0);
+        final ByteBuffer buffer = ByteBuffer.allocate(RANDOM_ACCESS_SIZE);
+
+        long read = 0;
+        final long start = System.nanoTime();
+        try (final SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < RANDOM_ACCESSES; i++) {
+                channel.position(random.nextInt(RANDOM_FILE_SIZE / RANDOM_ACCESS_SIZE) * (long)RANDOM_ACCESS_SIZE);
+                buffer.clear();
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read the whole block
+                }
+                read += buffer.position();
+            }
+        }
+        final long nanos = System.nanoTime() - start;
+        m_report.recordThroughput("randomRead", read, nanos);
+        m_report.record("randomRead", "operationsPerSecond", RANDOM_ACCESSES / (nanos / 1e9));
+        assertEquals((long)RANDOM_ACCESSES * RANDOM_ACCESS_SIZE, read);
+    }
+
+    /**
+     * Measures the throughput of writing small blocks at random positions of a file, including closing the channel
+     * since some file systems upload the file only then.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_random_write() throws IOException {
+        final Path file = m_testInitializer.makePath("random-write.bin");
+        writeFile(file, RANDOM_FILE_SIZE);
+        final Random random = new Random(0);
+        final byte[] block = randomBytes(RANDOM_ACCESS_SIZE);
+
+        final long start = System.nanoTime();
+        try (final SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < RANDOM_ACCESSES; i++) {
+                channel.position(random.nextInt(RANDOM_FILE_SIZE / RANDOM_ACCESS_SIZE) * (long)RANDOM_ACCESS_SIZE);
+                final ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (UnsupportedOperationException e) { // NOSONAR
+            Assume.assumeTrue("File system does not support random writes: " + e.getMessage(), false);
+        }
+        final long nanos = System.nanoTime() - start;
+        m_report.recordThroughput("randomWrite", (long)RANDOM_ACCESSES * RANDOM_ACCESS_SIZE, nanos);
+        m_report.record("randomWrite", "operationsPerSecond", RANDOM_ACCESSES / (nanos / 1e9));
+        assertEquals(RANDOM_FILE_SIZE, Files.size(file));
+    }
+
+    /**
+     * Measures the rate of creating and deleting small files.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_small_file_create_and_delete() throws IOException {
+        final Path dir = createDirectory("small-files");
+        final byte[] content = randomBytes(SMALL_FILE_SIZE);
+        final List<Path> files = new ArrayList<>(SMALL_FILES);
+        for (int i = 0; i < SMALL_FILES; i++) {
+            files.add(dir.resolve("file-" + i));
+        }
+
+        long start = System.nanoTime();
+        for (final Path file : files) {
+            Files.write(file, content);
+        }
+        m_report.recordRate("smallFileCreate", SMALL_FILES, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (final Path file : files) {
+            Files.delete(file);
+        }
+        m_report.recordRate("smallFileDelete", SMALL_FILES, System.nanoTime() - start);
+    }
+
+    private static long list(final Path dir) throws IOException {
+        long count = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            final Iterator<Path> children = stream.iterator();
+            while (children.hasNext()) {
+                children.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Measures the latency of listing a folder with 10k files, first with empty caches and then a second time.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_list_large_directory() throws IOException {
+        final Path dir = createDirectory("listing");
+        for (int i = 0; i < LISTED_FILES; i++) {
+            Files.createFile(dir.resolve("file-" + i));
+        }
+        clearAttributesCache(getFileSystem());
+
+        long start = System.nanoTime();
+        final long coldCount = list(dir);
+        m_report.record("listLargeDirectory", "entries", coldCount);
+        m_report.record("listLargeDirectory", "coldMillis", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        final long warmCount = list(dir);
+        m_report.record("listLargeDirectory", "warmMillis", (System.nanoTime() - start) / 1e6);
+        assertEquals(LISTED_FILES, coldCount);
+        assertEquals(LISTED_FILES, warmCount);
+    }
+
+    /**
+     * Measures the rate of reading the attributes of the files in a folder after listing it, and the hit rate of the
+     * attributes cache for file systems that have one.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_attributes_after_listing() throws IOException {
+        final Path dir = createDirectory("attributes");
+        for (int i = 0; i < ATTRIBUTE_FILES; i++) {
+            Files.createFile(dir.resolve("file-" + i));
+        }
+        final FSFileSystem<?> fs = getFileSystem();
+        clearAttributesCache(fs);
+
+        final List<Path> children = new ArrayList<>(ATTRIBUTE_FILES);
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            stream.forEach(children::add);
+        }
+        final long hits = fs instanceof BaseFileSystem ? ((BaseFileSystem<?>)fs).getAttributesCacheHitCount() : 0;
+        final long misses = fs instanceof BaseFileSystem ? ((BaseFileSystem<?>)fs).getAttributesCacheMissCount() : 0;
+
+        final long start = System.nanoTime();
+        for (final Path child : children) {
+            Files.readAttributes(child, BasicFileAttributes.class);
+        }
+        m_report.recordRate("attributesAfterListing", children.size(), System.nanoTime() - start);
+        assertEquals(ATTRIBUTE_FILES, children.size());
+
+        if (fs instanceof BaseFileSystem) {
+            final long cacheHits = ((BaseFileSystem<?>)fs).getAttributesCacheHitCount() - hits;
+            final long cacheMisses = ((BaseFileSystem<?>)fs).getAttributesCacheMissCount() - misses;
+            m_report.record("attributesAfterListing", "cacheHits", cacheHits);
+            m_report.record("attributesAfterListing", "cacheMisses", cacheMisses);
+            m_report.record("attributesAfterListing", "cacheHitRate", cacheHits / (double)(cacheHits + cacheMisses));
+        }
+    }
+
+    /**
+     * Measures the throughput of copying a large file and of moving the copy into another folder.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void benchmark_copy_and_move() throws IOException {
+        final Path source = m_testInitializer.makePath("copy-source.bin");
+        writeFile(source, LARGE_FILE_SIZE);
+        final Path copy = m_testInitializer.makePath("copy-target.bin");
+        final Path moved = createDirectory("moved").resolve("copy-target.bin");
+
+        long start = System.nanoTime();
+        Files.copy(source, copy);
+        m_report.recordThroughput("copy", LARGE_FILE_SIZE, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        Files.move(copy, moved);
+        m_report.recordThroughput("move", LARGE_FILE_SIZE, System.nanoTime() - start);
+        assertEquals(LARGE_FILE_SIZE, Files.size(moved));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.fs.tests.integration.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Collects the results of the {@link FSBenchmark} for one file system and writes them as JSON, so that they can be
+ * compared between runs.
+ *
+ * <p>
+ * The reports are written to the folder given by the system property {@value #OUTPUT_DIR_PROPERTY}, or to the
+ * temporary folder if it is not set. Each file system gets its own file named {@code fs-benchmark-<type>.json}.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class FSBenchmarkReport {
+
+    /** The system property holding the folder to write the reports to. */
+    static final String OUTPUT_DIR_PROPERTY = "knime.fs.benchmark.dir";
+
+    private static final Map<String, FSBenchmarkReport> REPORTS = new LinkedHashMap<>();
+
+    private final String m_fsType;
+
+    private final Map<String, Map<String, Number>> m_benchmarks = new LinkedHashMap<>();
+
+    private FSBenchmarkReport(final String fsType) {
+        m_fsType = fsType;
+    }
+
+    /**
+     * Returns the report for the given file system type, creating it if necessary.
+     *
+     * @param fsType the file system type
+     * @return the report of the file system
+     */
+    static synchronized FSBenchmarkReport forFileSystem(final String fsType) {
+        return REPORTS.computeIfAbsent(fsType, FSBenchmarkReport::new);
+    }
+
+    /**
+     * Records a metric of a benchmark, replacing an earlier value of the same metric.
+     *
+     * @param benchmark the name of the benchmark
+     * @param metric the name of the metric
+     * @param value the measured value
+     */
+    synchronized void record(final String benchmark, final String metric, final Number value) {
+        m_benchmarks.computeIfAbsent(benchmark, b -> new LinkedHashMap<>()).put(metric, value);
+    }
+
+    /**
+     * Records the throughput of a benchmark that transferred the given number of bytes.
+     *
+     * @param benchmark the name of the benchmark
+     * @param bytes the number of transferred bytes
+     * @param nanos the elapsed time in nanoseconds
+     */
+    void recordThroughput(final String benchmark, final long bytes, final long nanos) {
+        final double seconds = nanos / 1e9;
+        record(benchmark, "bytes", bytes);
+        record(benchmark, "seconds", seconds);
+        record(benchmark, "megabytesPerSecond", bytes / (1024d * 1024d) / seconds);
+    }
+
+    /**
+     * Records the rate of a benchmark that performed the given number of operations.
+     *
+     * @param benchmark the name of the benchmark
+     * @param operations the number of operations
+     * @param nanos the elapsed time in nanoseconds
+     */
+    void recordRate(final String benchmark, final long operations, final long nanos) {
+        final double seconds = nanos / 1e9;
+        record(benchmark, "operations", operations);
+        record(benchmark, "seconds", seconds);
+        record(benchmark, "operationsPerSecond", operations / seconds);
+    }
+
+    /**
+     * Writes the reports of all file systems and forgets them.
+     *
+     * @return the written files
+     * @throws IOException if a report could not be written
+     */
+    static synchronized List<Path> writeAll() throws IOException {
+        final Path dir = Paths.get(System.getProperty(OUTPUT_DIR_PROPERTY, System.getProperty("java.io.tmpdir")));
+        Files.createDirectories(dir);
+        final List<Path> written = new ArrayList<>();
+        for (final FSBenchmarkReport report : REPORTS.values()) {
+            final Path file = dir.resolve("fs-benchmark-" + report.m_fsType + ".json");
+            try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(report.toJson());
+            }
+            written.add(file);
+        }
+        REPORTS.clear();
+        return written;
+    }
+
+    /**
+     * Renders the report as JSON object.
+     *
+     * @return the JSON representation of the report
+     */
+    synchronized String toJson() {
+        final StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"fileSystem\" : ").append(quote(m_fsType)).append(",\n");
+        json.append("  \"timestamp\" : ").append(quote(Instant.now().toString())).append(",\n");
+        json.append("  \"javaVersion\" : ").append(quote(System.getProperty("java.version"))).append(",\n");
+        json.append("  \"benchmarks\" : {");
+        String benchmarkSeparator = "\n";
+        for (final Entry<String, Map<String, Number>> benchmark : m_benchmarks.entrySet()) {
+            json.append(benchmarkSeparator).append("    ").append(quote(benchmark.getKey())).append(" : {");
+            String metricSeparator = "\n";
+            for (final Entry<String, Number> metric : benchmark.getValue().entrySet()) {
+                json.append(metricSeparator).append("      ").append(quote(metric.getKey())).append(" : ")
+                    .append(format(metric.getValue()));
+                metricSeparator = ",\n";
+            }
+            json.append("\n    }");
+            benchmarkSeparator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+
+    private static String format(final Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            final double d = value.doubleValue();
+            // JSON has no representation for infinite or undefined values
+            return Double.isFinite(d) ? String.format(Locale.ROOT, "%.6f", d) : "null";
+        }
+        return value.toString();
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int)c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
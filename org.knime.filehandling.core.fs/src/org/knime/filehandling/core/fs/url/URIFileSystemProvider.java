@@ -171,15 +171,24 @@ protected SeekableByteChannel newByteChannelInternal(final URIPath path, final S
                 final Path localURL = FileUtil.resolveToPath(path.getURI().toURL());
                 if (localURL != null) {
                     return Files.newByteChannel(localURL, options, attrs);
-                } else {
-                    return new URITempFileSeekableChannel(path, options);
+                } else if (isReadOnly(options) && URIRangeReadSeekableChannel.supportsRangeRequests(path)) {
+                    // only fetch the parts of the file that are actually read
+                    final long size = readAttributes(path, BasicFileAttributes.class).size();
+                    if (size >= 0) {
+                        return new URIRangeReadSeekableChannel(path, size, m_timeoutInMillis);
+                    }
                 }
+                return new URITempFileSeekableChannel(path, options);
             } catch (final URISyntaxException ex) {
                 throw new IOException(ex);
             }
         });
     }
 
+    private static boolean isReadOnly(final Set<? extends OpenOption> options) {
+        return !options.contains(StandardOpenOption.WRITE) && !options.contains(StandardOpenOption.APPEND);
+    }
+
     @Override
     protected void createDirectoryInternal(final URIPath dir, final FileAttribute<?>... attrs) throws IOException {
         throw new UnsupportedOperationException("Folders and folder listings are not supported for custom URLs");
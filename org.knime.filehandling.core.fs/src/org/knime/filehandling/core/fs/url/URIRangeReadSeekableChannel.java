@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.fs.url;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+import org.knime.core.util.FileUtil;
+import org.knime.filehandling.core.connections.base.RangeReadSeekableByteChannel;
+
+/**
+ * Read-only seekable channel for http(s) URLs of the Custom URL file system, which fetches the requested parts of the
+ * file with HTTP range requests instead of downloading the whole file. If the server ignores the range and answers
+ * with the whole file, the file is downloaded once into a {@link URITempFileSeekableChannel}, which serves all further
+ * reads of the channel.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class URIRangeReadSeekableChannel extends RangeReadSeekableByteChannel {
+
+    private final URIPath m_file;
+
+    private final int m_timeoutInMillis;
+
+    private SeekableByteChannel m_fallback;
+
+    /**
+     * Constructor.
+     *
+     * @param file the file for the channel
+     * @param size the size of the file in bytes
+     * @param timeoutInMillis timeout in milliseconds for the connect and read operations
+     */
+    URIRangeReadSeekableChannel(final URIPath file, final long size, final int timeoutInMillis) {
+        super(size);
+        m_file = file;
+        m_timeoutInMillis = timeoutInMillis;
+    }
+
+    /**
+     * Checks whether the given path can be read with range requests.
+     *
+     * @param path the path to check
+     * @return {@code true} if the path is a http(s) URL
+     */
+    static boolean supportsRangeRequests(final URIPath path) {
+        final String scheme = path.getURI().getScheme();
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+
+    @Override
+    protected int readRange(final long position, final byte[] buffer, final int offset, final int length)
+        throws IOException {
+        if (m_fallback == null) {
+            final URLConnection connection = FileUtil.toURL(m_file.getURI().toString()).openConnection();
+            connection.setConnectTimeout(m_timeoutInMillis);
+            connection.setReadTimeout(m_timeoutInMillis);
+            // ranges refer to the encoded content
+            connection.setRequestProperty("Accept-Encoding", "identity");
+            connection.setRequestProperty("Range", String.format("bytes=%d-%d", position, position + length - 1));
+            try (final InputStream in = connection.getInputStream()) {
+                if (((HttpURLConnection)connection).getResponseCode() == HttpURLConnection.HTTP_PARTIAL) {
+                    final int read = in.readNBytes(buffer, offset, length);
+                    return read == 0 ? -1 : read;
+                }
+            }
+            // the server ignores ranges, so every further request would download the file from the start again
+            m_fallback = new URITempFileSeekableChannel(m_file, Collections.singleton(StandardOpenOption.READ));
+        }
+        m_fallback.position(position);
+        return m_fallback.read(ByteBuffer.wrap(buffer, offset, length));
+    }
+
+    @Override
+    protected void closeInternal() throws IOException {
+        if (m_fallback != null) {
+            m_fallback.close();
+        }
+    }
+}
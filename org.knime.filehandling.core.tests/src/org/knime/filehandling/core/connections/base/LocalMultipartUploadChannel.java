@@ -0,0 +1,174 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for a remote file system with multipart uploads that stores each part in a local file and concatenates the
+ * parts on completion. Records the number of parts uploaded concurrently.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class LocalMultipartUploadChannel extends MultipartUploadSeekableByteChannel {
+
+    private final Path m_target;
+
+    private final Path m_partFolder;
+
+    private final int m_failingPart;
+
+    private final ConcurrentMap<String, Path> m_parts = new ConcurrentHashMap<>();
+
+    private final AtomicInteger m_running = new AtomicInteger();
+
+    private final AtomicInteger m_maxRunning = new AtomicInteger();
+
+    private int m_initiated;
+
+    private int m_completed;
+
+    private int m_aborted;
+
+    private int m_singleUploads;
+
+    LocalMultipartUploadChannel(final Path target, final Path partFolder, final int partSize,
+        final int maxParallelUploads, final int failingPart) {
+        super(partSize, maxParallelUploads);
+        m_target = target;
+        m_partFolder = partFolder;
+        m_failingPart = failingPart;
+    }
+
+    @Override
+    protected void initiateUpload() throws IOException {
+        m_initiated++;
+    }
+
+    @Override
+    protected String uploadPart(final int partNumber, final byte[] data, final int length) throws IOException {
+        m_maxRunning.accumulateAndGet(m_running.incrementAndGet(), Math::max);
+        try {
+            // give the writer a chance to produce more parts in the meantime
+            Thread.sleep(20);
+            if (partNumber == m_failingPart) {
+                throw new IOException("Upload of part " + partNumber + " failed.");
+            }
+            final Path part = m_partFolder.resolve("part-" + partNumber);
+            try (final OutputStream out = Files.newOutputStream(part)) {
+                out.write(data, 0, length);
+            }
+            final String tag = "tag-" + partNumber;
+            m_parts.put(tag, part);
+            return tag;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } finally {
+            m_running.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected void completeUpload(final List<String> partTags) throws IOException {
+        m_completed++;
+        try (final OutputStream out = Files.newOutputStream(m_target)) {
+            for (final String tag : partTags) {
+                Files.copy(m_parts.remove(tag), out);
+            }
+        }
+    }
+
+    @Override
+    protected void abortUpload() throws IOException {
+        m_aborted++;
+        for (final Path part : m_parts.values()) {
+            Files.deleteIfExists(part);
+        }
+        m_parts.clear();
+    }
+
+    @Override
+    protected void uploadSingle(final byte[] data, final int length) throws IOException {
+        m_singleUploads++;
+        try (final OutputStream out = Files.newOutputStream(m_target)) {
+            out.write(data, 0, length);
+        }
+    }
+
+    int getInitiated() {
+        return m_initiated;
+    }
+
+    int getCompleted() {
+        return m_completed;
+    }
+
+    int getAborted() {
+        return m_aborted;
+    }
+
+    int getSingleUploads() {
+        return m_singleUploads;
+    }
+
+    int getMaxConcurrentUploads() {
+        return m_maxRunning.get();
+    }
+
+    int getRemainingParts() {
+        return m_parts.size();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stand-in for a remote file system that reads byte ranges of a local file and counts the range requests.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class LocalRangeReadSeekableByteChannel extends RangeReadSeekableByteChannel {
+
+    private final FileChannel m_channel;
+
+    private int m_requests;
+
+    private long m_bytesRead;
+
+    LocalRangeReadSeekableByteChannel(final Path file, final int pageSize, final int maxCachedPages)
+        throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ), pageSize, maxCachedPages);
+    }
+
+    private LocalRangeReadSeekableByteChannel(final FileChannel channel, final int pageSize,
+        final int maxCachedPages) throws IOException {
+        super(channel.size(), pageSize, maxCachedPages);
+        m_channel = channel;
+    }
+
+    @Override
+    protected int readRange(final long position, final byte[] buffer, final int offset, final int length)
+        throws IOException {
+        m_requests++;
+        final int read = m_channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+        m_bytesRead += Math.max(read, 0);
+        return read;
+    }
+
+    @Override
+    protected void closeInternal() throws IOException {
+        m_channel.close();
+    }
+
+    int getRequests() {
+        return m_requests;
+    }
+
+    long getBytesRead() {
+        return m_bytesRead;
+    }
+}
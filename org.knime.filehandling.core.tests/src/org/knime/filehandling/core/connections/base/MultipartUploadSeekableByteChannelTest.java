@@ -0,0 +1,196 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link MultipartUploadSeekableByteChannel} using local files as stand-in for a remote file system.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class MultipartUploadSeekableByteChannelTest {
+
+    private static final int PART_SIZE = 1000;
+
+    /** Temporary folder holding the uploaded file and its parts. */
+    @Rule
+    public TemporaryFolder m_temp = new TemporaryFolder();
+
+    private Path m_target;
+
+    private Path m_partFolder;
+
+    /**
+     * Creates the target file and the folder for the parts.
+     *
+     * @throws IOException
+     */
+    @Before
+    public void createFolders() throws IOException {
+        m_target = m_temp.newFile().toPath();
+        m_partFolder = m_temp.newFolder().toPath();
+    }
+
+    private static void write(final MultipartUploadSeekableByteChannel channel, final byte[] content)
+        throws IOException {
+        final Random random = new Random(0);
+        int offset = 0;
+        while (offset < content.length) {
+            final int length = Math.min(random.nextInt(3 * PART_SIZE) + 1, content.length - offset);
+            assertEquals(length, channel.write(ByteBuffer.wrap(content, offset, length)));
+            offset += length;
+            assertEquals(offset, channel.position());
+        }
+    }
+
+    /**
+     * Tests that the parts are uploaded concurrently, but bounded, and are assembled in order.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testMultipartUpload() throws IOException {
+        final byte[] content = new byte[20 * PART_SIZE + PART_SIZE / 2];
+        new Random(42).nextBytes(content);
+        final LocalMultipartUploadChannel channel =
+            new LocalMultipartUploadChannel(m_target, m_partFolder, PART_SIZE, 3, -1);
+        write(channel, content);
+        channel.close();
+        assertFalse(channel.isOpen());
+        assertArrayEquals(content, Files.readAllBytes(m_target));
+        assertEquals(1, channel.getInitiated());
+        assertEquals(1, channel.getCompleted());
+        assertEquals(0, channel.getAborted());
+        assertEquals(0, channel.getSingleUploads());
+        assertTrue("Expected concurrent uploads", channel.getMaxConcurrentUploads() > 1);
+        assertTrue("Expected at most 3 concurrent uploads", channel.getMaxConcurrentUploads() <= 3);
+    }
+
+    /**
+     * Tests that small and empty files are uploaded at once.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSingleUpload() throws IOException {
+        for (final int size : new int[]{0, PART_SIZE / 2}) {
+            final byte[] content = new byte[size];
+            new Random(42).nextBytes(content);
+            final LocalMultipartUploadChannel channel =
+                new LocalMultipartUploadChannel(m_target, m_partFolder, PART_SIZE, 3, -1);
+            write(channel, content);
+            channel.close();
+            assertArrayEquals(content, Files.readAllBytes(m_target));
+            assertEquals(0, channel.getInitiated());
+            assertEquals(1, channel.getSingleUploads());
+        }
+    }
+
+    /**
+     * Tests that a failing part aborts the upload and that the failure is rethrown.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testFailingPartAbortsUpload() throws IOException {
+        final byte[] content = new byte[20 * PART_SIZE];
+        final LocalMultipartUploadChannel channel =
+            new LocalMultipartUploadChannel(m_target, m_partFolder, PART_SIZE, 3, 2);
+        try {
+            write(channel, content);
+            channel.close();
+            assertTrue("Expected the upload to fail", false);
+        } catch (IOException e) {
+            assertEquals("Upload of part 2 failed.", e.getMessage());
+        }
+        assertFalse(channel.isOpen());
+        assertEquals(1, channel.getAborted());
+        assertEquals(0, channel.getCompleted());
+        assertEquals(0, channel.getRemainingParts());
+    }
+
+    /**
+     * Tests that the channel can't be read or repositioned.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteOnly() throws IOException {
+        try (final LocalMultipartUploadChannel channel =
+            new LocalMultipartUploadChannel(m_target, m_partFolder, PART_SIZE, 3, -1)) {
+            channel.write(ByteBuffer.allocate(10));
+            channel.position(10);
+            try {
+                channel.read(ByteBuffer.allocate(1));
+                assertTrue("Expected the channel to be write-only", false);
+            } catch (NonReadableChannelException e) { // NOSONAR expected
+            }
+            try {
+                channel.position(0);
+                assertTrue("Expected the channel to be positioned at its end only", false);
+            } catch (UnsupportedOperationException e) { // NOSONAR expected
+            }
+        }
+    }
+}
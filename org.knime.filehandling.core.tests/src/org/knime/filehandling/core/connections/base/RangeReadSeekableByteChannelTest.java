@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link RangeReadSeekableByteChannel} using a local file as stand-in for a remote file.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class RangeReadSeekableByteChannelTest {
+
+    private static final int PAGE_SIZE = 1000;
+
+    /** Temporary folder holding the read file. */
+    @Rule
+    public TemporaryFolder m_temp = new TemporaryFolder();
+
+    private byte[] m_content;
+
+    private Path m_file;
+
+    /**
+     * Creates a file of 100.5 pages with random content.
+     *
+     * @throws IOException
+     */
+    @Before
+    public void createFile() throws IOException {
+        m_content = new byte[100 * PAGE_SIZE + PAGE_SIZE / 2];
+        new Random(42).nextBytes(m_content);
+        m_file = m_temp.newFile().toPath();
+        Files.write(m_file, m_content);
+    }
+
+    private byte[] read(final RangeReadSeekableByteChannel channel, final long position, final int length)
+        throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        channel.position(position);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // read until the buffer is full or the end of the file is reached
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Tests that random reads return the file content and that reads at the end of the file are handled.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRandomReads() throws IOException {
+        try (final LocalRangeReadSeekableByteChannel channel =
+            new LocalRangeReadSeekableByteChannel(m_file, PAGE_SIZE, 4)) {
+            assertEquals(m_content.length, channel.size());
+            final Random random = new Random(0);
+            for (int i = 0; i < 200; i++) {
+                final int position = random.nextInt(m_content.length);
+                final int length = random.nextInt(3 * PAGE_SIZE);
+                final int end = Math.min(position + length, m_content.length);
+                assertArrayEquals(Arrays.copyOfRange(m_content, position, end), read(channel, position, length));
+            }
+            channel.position(m_content.length);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    /**
+     * Tests that reading only the end of the file fetches only the last page.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadFooter() throws IOException {
+        try (final LocalRangeReadSeekableByteChannel channel =
+            new LocalRangeReadSeekableByteChannel(m_file, PAGE_SIZE, 4)) {
+            assertArrayEquals(Arrays.copyOfRange(m_content, m_content.length - 100, m_content.length),
+                read(channel, m_content.length - 100L, 100));
+            read(channel, m_content.length - 10L, 10);
+            assertEquals(1, channel.getRequests());
+            assertEquals(PAGE_SIZE / 2, channel.getBytesRead());
+        }
+    }
+
+    /**
+     * Tests that sequential reads fetch growing ranges.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSequentialReadAhead() throws IOException {
+        try (final LocalRangeReadSeekableByteChannel channel =
+            new LocalRangeReadSeekableByteChannel(m_file, PAGE_SIZE, 64)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(100);
+            final ByteBuffer content = ByteBuffer.allocate(m_content.length);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                content.put(buffer);
+                buffer.clear();
+            }
+            assertArrayEquals(m_content, content.array());
+            // reading from the start counts as sequential: 2 + 4 + 8 + 16 pages and then 16 pages per request
+            assertEquals(9, channel.getRequests());
+            assertEquals(m_content.length, channel.getBytesRead());
+        }
+    }
+
+    /**
+     * Tests that the channel is read-only and can't be used after closing.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadOnlyAndClose() throws IOException {
+        final LocalRangeReadSeekableByteChannel channel = new LocalRangeReadSeekableByteChannel(m_file, PAGE_SIZE, 4);
+        try {
+            channel.write(ByteBuffer.allocate(1));
+            assertTrue("Expected the channel to be read-only", false);
+        } catch (NonWritableChannelException e) { // NOSONAR expected
+        }
+        channel.close();
+        assertFalse(channel.isOpen());
+        try {
+            channel.position();
+            assertTrue("Expected the channel to be closed", false);
+        } catch (IOException e) { // NOSONAR expected
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base.attributes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link BaseAttributesCache}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class BaseAttributesCacheTest {
+
+    private static BaseFileAttributes createAttributes() {
+        final FileTime time = FileTime.fromMillis(0);
+        return new BaseFileAttributes(true, null, time, time, time, 0, false, false, null);
+    }
+
+    /**
+     * Tests that lookups are counted as hits and misses.
+     */
+    @Test
+    public void testStoreAndGet() {
+        final BaseAttributesCache cache = new BaseAttributesCache(60_000);
+        final BaseFileAttributes attributes = createAttributes();
+        cache.storeAttributes("/foo", attributes);
+        assertEquals(attributes, cache.getAttributes("/foo").get());
+        assertFalse(cache.getAttributes("/bar").isPresent());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    /**
+     * Tests that expired attributes are not returned.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testExpiration() throws InterruptedException {
+        final BaseAttributesCache cache = new BaseAttributesCache(1);
+        cache.storeAttributes("/foo", createAttributes());
+        Thread.sleep(10);
+        assertFalse(cache.getAttributes("/foo").isPresent());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    /**
+     * Tests that only the paths starting with the prefix are removed.
+     */
+    @Test
+    public void testRemoveAttributesWithPrefix() {
+        final BaseAttributesCache cache = new BaseAttributesCache(60_000);
+        for (final String path : new String[]{"/a", "/a/b", "/a/b/c", "/a/bc", "/ab", "/b", "/a\uffff"}) {
+            cache.storeAttributes(path, createAttributes());
+        }
+        cache.removeAttributes("/a/");
+        assertTrue(cache.getAttributes("/a").isPresent());
+        assertFalse(cache.getAttributes("/a/b").isPresent());
+        assertFalse(cache.getAttributes("/a/b/c").isPresent());
+        assertFalse(cache.getAttributes("/a/bc").isPresent());
+        assertTrue(cache.getAttributes("/ab").isPresent());
+        assertTrue(cache.getAttributes("/b").isPresent());
+
+        cache.removeAttributes("/a");
+        assertFalse(cache.getAttributes("/a\uffff").isPresent());
+        assertFalse(cache.getAttributes("/ab").isPresent());
+        assertTrue(cache.getAttributes("/b").isPresent());
+    }
+
+    /**
+     * Tests that the oldest attributes are evicted once the cache is full.
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testMaxEntries() throws InterruptedException {
+        final BaseAttributesCache cache = new BaseAttributesCache(60_000, 10);
+        for (int i = 0; i < 10; i++) {
+            cache.storeAttributes("/old" + i, createAttributes());
+        }
+        Thread.sleep(5);
+        cache.storeAttributes("/new", createAttributes());
+        assertTrue(cache.getAttributes("/new").isPresent());
+        assertEquals(2, cache.getEvictionCount());
+        assertFalse(cache.getAttributes("/old0").isPresent());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base.attributes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DirectoryListingCache}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class DirectoryListingCacheTest {
+
+    private static final Path DIR = Paths.get("/dir");
+
+    private static final Path FILE = DIR.resolve("file");
+
+    private static final Path OTHER = DIR.resolve("other");
+
+    private static DirectoryListingCache createListedCache() {
+        final DirectoryListingCache cache = new DirectoryListingCache(60_000);
+        cache.addListing(DIR, Arrays.asList("file", "sub"), cache.getModificationStamp());
+        return cache;
+    }
+
+    /**
+     * Tests that existence is answered from the listing of the parent directory.
+     */
+    @Test
+    public void testExistsFromListing() {
+        final DirectoryListingCache cache = createListedCache();
+        assertEquals(Optional.of(Boolean.TRUE), cache.exists(FILE));
+        assertEquals(Optional.of(Boolean.FALSE), cache.exists(OTHER));
+        assertEquals(Optional.empty(), cache.exists(FILE.resolve("child")));
+        assertTrue(cache.isDirectory(DIR));
+        assertEquals(Optional.of(Boolean.TRUE), cache.isNonEmptyDirectory(DIR));
+    }
+
+    /**
+     * Tests that a file being written is unknown until the write finished.
+     */
+    @Test
+    public void testWrite() {
+        final DirectoryListingCache cache = createListedCache();
+        cache.writeStarted(OTHER);
+        assertEquals(Optional.empty(), cache.exists(OTHER));
+        cache.writeFinished(OTHER);
+        assertEquals(Optional.of(Boolean.TRUE), cache.exists(OTHER));
+    }
+
+    /**
+     * Tests that deleted paths are known to be missing, including their subtree.
+     */
+    @Test
+    public void testDelete() {
+        final DirectoryListingCache cache = createListedCache();
+        final Path sub = DIR.resolve("sub");
+        cache.directoryCreated(sub.resolve("nested"));
+        assertTrue(cache.isDirectory(sub.resolve("nested")));
+        cache.deleted(FILE);
+        assertEquals(Optional.of(Boolean.FALSE), cache.exists(FILE));
+        cache.deleted(sub);
+        assertFalse(cache.isDirectory(sub.resolve("nested")));
+        assertEquals(Optional.of(Boolean.FALSE), cache.exists(sub));
+        assertEquals(Optional.of(Boolean.FALSE), cache.isNonEmptyDirectory(DIR));
+    }
+
+    /**
+     * Tests that results fetched while the cache was modified are discarded and that creating a path clears the
+     * missing entries of the path and its ancestors.
+     */
+    @Test
+    public void testMissing() {
+        final DirectoryListingCache cache = new DirectoryListingCache(60_000);
+        final long stamp = cache.getModificationStamp();
+        cache.writeStarted(Paths.get("/foo/bar"));
+        cache.addMissing(Paths.get("/foo/bar"), stamp);
+        assertEquals(Optional.empty(), cache.exists(Paths.get("/foo/bar")));
+
+        cache.addMissing(Paths.get("/foo"), cache.getModificationStamp());
+        assertEquals(Optional.of(Boolean.FALSE), cache.exists(Paths.get("/foo")));
+        cache.directoryCreated(Paths.get("/foo/baz"));
+        assertEquals(Optional.empty(), cache.exists(Paths.get("/foo")));
+    }
+
+    /**
+     * Tests that the number of cached entries stays bounded.
+     */
+    @Test
+    public void testMaxEntries() {
+        final DirectoryListingCache cache = new DirectoryListingCache(60_000, 10);
+        for (int i = 0; i < 100; i++) {
+            cache.addMissing(DIR.resolve("missing" + i), cache.getModificationStamp());
+        }
+        int known = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.exists(DIR.resolve("missing" + i)).isPresent()) {
+                known++;
+            }
+        }
+        assertTrue("Expected at most 10 cached entries but got " + known, known <= 10);
+        assertTrue(known > 0);
+    }
+
+    /**
+     * Tests that a disabled cache knows nothing.
+     */
+    @Test
+    public void testDisabled() {
+        final DirectoryListingCache cache = new DirectoryListingCache(0);
+        cache.addListing(DIR, Arrays.asList("file"), cache.getModificationStamp());
+        cache.addMissing(OTHER, cache.getModificationStamp());
+        assertEquals(Optional.empty(), cache.exists(FILE));
+        assertEquals(Optional.empty(), cache.exists(OTHER));
+        assertFalse(cache.isDirectory(DIR));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.defaultnodesettings.filechooser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ConcurrentFileTreeWalker}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ConcurrentFileTreeWalkerTest {
+
+    /** Temporary folder holding the walked file tree. */
+    @Rule
+    public TemporaryFolder m_temp = new TemporaryFolder();
+
+    private Path m_root;
+
+    /**
+     * Creates a small file tree with nested and empty folders.
+     *
+     * @throws IOException
+     */
+    @Before
+    public void createTree() throws IOException {
+        m_root = m_temp.getRoot().toPath();
+        for (int i = 0; i < 5; i++) {
+            final Path dir = Files.createDirectories(m_root.resolve("dir" + i).resolve("sub"));
+            Files.write(dir.resolve("file.txt"), new byte[i]);
+            Files.write(dir.getParent().resolve("a.txt"), new byte[i]);
+        }
+        Files.createDirectories(m_root.resolve("empty"));
+        Files.write(m_root.resolve("root.txt"), new byte[1]);
+    }
+
+    /**
+     * Tests that the walker visits the same paths as {@link Files#walkFileTree} for all depths, in an order that
+     * doesn't depend on the parallelism.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testVisitsSamePathsAsFilesWalkFileTree() throws IOException {
+        for (final int depth : new int[]{0, 1, 2, Integer.MAX_VALUE}) {
+            final RecordingVisitor expected = new RecordingVisitor();
+            Files.walkFileTree(m_root, Collections.<FileVisitOption> emptySet(), depth, expected);
+            final RecordingVisitor sequential = new RecordingVisitor();
+            new ConcurrentFileTreeWalker(1, false, depth).walk(m_root, sequential);
+            final RecordingVisitor concurrent = new RecordingVisitor();
+            new ConcurrentFileTreeWalker(4, false, depth).walk(m_root, concurrent);
+
+            assertEquals(sequential.m_events, concurrent.m_events);
+            Collections.sort(expected.m_events);
+            Collections.sort(concurrent.m_events);
+            assertEquals(expected.m_events, concurrent.m_events);
+        }
+    }
+
+    /**
+     * Tests that subtrees skipped by the visitor are neither visited nor reported as post visited.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSkipSubtree() throws IOException {
+        final RecordingVisitor visitor = new RecordingVisitor() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                throws IOException {
+                super.preVisitDirectory(dir, attrs);
+                return dir.getFileName().toString().equals("sub") ? FileVisitResult.SKIP_SUBTREE
+                    : FileVisitResult.CONTINUE;
+            }
+        };
+        new ConcurrentFileTreeWalker(4, false, Integer.MAX_VALUE).walk(m_root, visitor);
+        assertEquals(0, visitor.m_events.stream().filter(e -> e.contains("file.txt")).count());
+        assertEquals(0, visitor.m_events.stream().filter(e -> e.startsWith("post") && e.endsWith("sub")).count());
+        assertEquals(5, visitor.m_events.stream().filter(e -> e.startsWith("pre") && e.endsWith("sub")).count());
+    }
+
+    /**
+     * Tests that siblings skipped by the visitor are not visited, even though their listings have been prefetched.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSkipSiblings() throws IOException {
+        final List<List<String>> events = new ArrayList<>();
+        for (final int parallelism : new int[]{1, 4}) {
+            final RecordingVisitor visitor = new RecordingVisitor() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                    super.visitFile(file, attrs);
+                    return file.getFileName().toString().equals("a.txt") ? FileVisitResult.SKIP_SIBLINGS
+                        : FileVisitResult.CONTINUE;
+                }
+            };
+            new ConcurrentFileTreeWalker(parallelism, false, Integer.MAX_VALUE).walk(m_root, visitor);
+            assertEquals(0, visitor.m_events.stream().filter(e -> e.endsWith("sub")).count());
+            events.add(visitor.m_events);
+        }
+        assertEquals(events.get(0), events.get(1));
+    }
+
+    private class RecordingVisitor extends SimpleFileVisitor<Path> {
+
+        private final List<String> m_events = new ArrayList<>();
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+            throws IOException {
+            m_events.add("pre " + m_root.relativize(dir));
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+            m_events.add("file " + m_root.relativize(file));
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+            m_events.add("post " + m_root.relativize(dir));
+            return super.postVisitDirectory(dir, exc);
+        }
+    }
+}
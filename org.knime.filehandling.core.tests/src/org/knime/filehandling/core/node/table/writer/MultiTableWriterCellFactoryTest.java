@@ -0,0 +1,269 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.node.table.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.StringCell;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.data.location.cell.SimpleFSLocationCell;
+import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
+
+/**
+ * Unit tests for {@link AbstractMultiTableWriterCellFactory}, which writes the files concurrently.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class MultiTableWriterCellFactoryTest {
+
+    /** Temporary folder holding the written files. */
+    @Rule
+    public TemporaryFolder m_temp = new TemporaryFolder();
+
+    private FSConnection m_connection;
+
+    private FSPath m_outputPath;
+
+    /**
+     * Creates the local file system connection.
+     */
+    @Before
+    public void setUp() {
+        m_connection = DefaultFSConnectionFactory.createLocalFSConnection();
+        m_outputPath = m_connection.getFileSystem().getPath(m_temp.getRoot().getAbsolutePath());
+    }
+
+    /**
+     * Closes the file system connection.
+     */
+    @After
+    public void tearDown() {
+        m_connection.close();
+    }
+
+    private static final class TestCellFactory extends AbstractMultiTableWriterCellFactory<StringValue> {
+
+        private final boolean m_threadSafe;
+
+        private final Set<Thread> m_writingThreads = ConcurrentHashMap.newKeySet();
+
+        TestCellFactory(final FileOverwritePolicy policy, final boolean threadSafe) {
+            super(new DataColumnSpec[]{new DataColumnSpecCreator("location", StringCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("status", StringCell.TYPE).createSpec()}, 0, policy);
+            m_threadSafe = threadSafe;
+        }
+
+        @Override
+        protected boolean isThreadSafe() {
+            return m_threadSafe;
+        }
+
+        @Override
+        protected void writeFile(final OutputStream outputStream, final StringValue value) throws IOException {
+            m_writingThreads.add(Thread.currentThread());
+            outputStream.write(value.getStringValue().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected String getOutputFileExtension(final StringValue value) {
+            return "txt";
+        }
+    }
+
+    private TestCellFactory createFactory(final FileOverwritePolicy policy, final FileNameGenerator names) {
+        return createFactory(policy, names, true);
+    }
+
+    private TestCellFactory createFactory(final FileOverwritePolicy policy, final FileNameGenerator names,
+        final boolean threadSafe) {
+        final TestCellFactory factory = new TestCellFactory(policy, threadSafe);
+        factory.setOutputPath(m_outputPath);
+        factory.setOverwritePolicy(policy);
+        factory.setFileNameGenerator(names);
+        return factory;
+    }
+
+    private static DataCell[] getCells(final TestCellFactory factory, final int rowIdx) {
+        return factory.getCells(new DefaultRow("Row" + rowIdx, new StringCell("content" + rowIdx)));
+    }
+
+    private static String getStatus(final DataCell[] cells) {
+        return ((StringCell)cells[1]).getStringValue();
+    }
+
+    private String readFile(final String name) throws IOException {
+        return new String(Files.readAllBytes(m_temp.getRoot().toPath().resolve(name)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tests that the output cells follow the order of the rows and that every file is written, although the files are
+     * written concurrently.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRowOrder() throws IOException {
+        final TestCellFactory factory = createFactory(FileOverwritePolicy.OVERWRITE, (row, idx) -> "file" + idx);
+        final List<DataCell[]> cells = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            cells.add(getCells(factory, i));
+        }
+        factory.finishWriting();
+        for (int i = 0; i < cells.size(); i++) {
+            final String path = ((SimpleFSLocationCell)cells.get(i)[0]).getFSLocation().getPath();
+            assertTrue(path, path.endsWith("file" + i + ".txt"));
+            assertEquals("created", getStatus(cells.get(i)));
+            assertEquals("content" + i, readFile("file" + i + ".txt"));
+        }
+    }
+
+    /**
+     * Tests that the files of a factory that is not thread-safe are written on the calling thread, each before its row
+     * is returned.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSequentialWriting() throws IOException {
+        final TestCellFactory factory =
+            createFactory(FileOverwritePolicy.OVERWRITE, (row, idx) -> "file" + (idx % 10), false);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i < 10 ? "created" : "overwritten", getStatus(getCells(factory, i)));
+            assertEquals("content" + i, readFile("file" + (i % 10) + ".txt"));
+        }
+        factory.finishWriting();
+        assertEquals(Collections.singleton(Thread.currentThread()), factory.m_writingThreads);
+    }
+
+    /**
+     * Tests that rows with the same generated file name overwrite the file in the order of the rows.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testDuplicateNamesOverwrite() throws IOException {
+        final TestCellFactory factory = createFactory(FileOverwritePolicy.OVERWRITE, (row, idx) -> "file");
+        assertEquals("created", getStatus(getCells(factory, 0)));
+        for (int i = 1; i < 50; i++) {
+            assertEquals("overwritten", getStatus(getCells(factory, i)));
+        }
+        factory.finishWriting();
+        assertEquals("content49", readFile("file.txt"));
+    }
+
+    /**
+     * Tests that rows with the same generated file name leave the file of the first row unmodified.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testDuplicateNamesIgnore() throws IOException {
+        final TestCellFactory factory = createFactory(FileOverwritePolicy.IGNORE, (row, idx) -> "file");
+        assertEquals("created", getStatus(getCells(factory, 0)));
+        for (int i = 1; i < 50; i++) {
+            assertEquals("unmodified", getStatus(getCells(factory, i)));
+        }
+        factory.finishWriting();
+        assertEquals("content0", readFile("file.txt"));
+    }
+
+    /**
+     * Tests that a file that already exists is reported as unmodified and not touched.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testExistingFileIgnore() throws IOException {
+        Files.write(m_temp.getRoot().toPath().resolve("file.txt"), "existing".getBytes(StandardCharsets.UTF_8));
+        final TestCellFactory factory = createFactory(FileOverwritePolicy.IGNORE, (row, idx) -> "file");
+        assertEquals("unmodified", getStatus(getCells(factory, 0)));
+        factory.finishWriting();
+        assertEquals("existing", readFile("file.txt"));
+    }
+
+    /**
+     * Tests that a row with the file name of an earlier row fails.
+     */
+    @Test
+    public void testDuplicateNamesFail() {
+        final TestCellFactory factory = createFactory(FileOverwritePolicy.FAIL, (row, idx) -> "file");
+        try {
+            assertEquals("created", getStatus(getCells(factory, 0)));
+            getCells(factory, 1);
+            fail("Expected the second row to fail");
+        } catch (IllegalStateException ex) { // NOSONAR expected
+            assertTrue(ex.getMessage(), ex.getMessage().contains("already exists"));
+        } finally {
+            factory.cancelWriting();
+        }
+    }
+}
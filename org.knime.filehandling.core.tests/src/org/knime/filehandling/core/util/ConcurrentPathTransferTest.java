@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Contains tests for {@link ConcurrentPathTransfer}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ConcurrentPathTransferTest {
+
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testResultsKeepOrder() throws IOException, CanceledExecutionException {
+        final List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        final List<String> results = new ConcurrentPathTransfer(8).transfer(items, i -> {
+            if (i % 7 == 0) {
+                Thread.yield();
+            }
+            return "item" + i;
+        }, new ExecutionMonitor());
+        assertEquals(items.size(), results.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals("item" + i, results.get(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailureIsRethrown() throws IOException, CanceledExecutionException {
+        final List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        new ConcurrentPathTransfer(4).transfer(items, i -> {
+            if (i == 42) {
+                throw new IOException("Transfer failed");
+            }
+            return i;
+        }, new ExecutionMonitor());
+    }
+
+    @Test
+    public void testCreateParentDirectories() throws IOException {
+        final Path root = m_tempFolder.getRoot().toPath();
+        Files.createDirectories(root.resolve("existing"));
+        final List<Path> targets = Arrays.asList(root.resolve("a/b/file1"), root.resolve("a/b/file2"),
+            root.resolve("a/c/file3"), root.resolve("existing/file4"), root.resolve("file5"));
+        assertEquals(new HashSet<>(Arrays.asList(root.resolve("a"), root.resolve("a/b"), root.resolve("a/c"))),
+            ConcurrentPathTransfer.createParentDirectories(targets));
+        assertTrue(Files.isDirectory(root.resolve("a/b")));
+        assertTrue(Files.isDirectory(root.resolve("a/c")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveParallelism() {
+        new ConcurrentPathTransfer(0);
+    }
+
+}
@@ -50,6 +50,7 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.AccessDeniedException;
@@ -74,9 +75,12 @@
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.filehandling.core.defaultnodesettings.ExceptionUtil;
+import org.knime.filehandling.core.util.ConcurrentPathTransfer;
 
 /**
  * This class is the FS*-specific companion class of {@link Files}, i.e. it consists exclusively of static methods that
@@ -526,11 +530,49 @@ public FileVisitResult visitFile(final Path file, final BasicFileAttributes attr
      */
     public static void copyRecursively(final Path source, final Path target, final CopyOption... options)
         throws IOException {
+        copyRecursively(source, target, 1, options);
+    }
+
+    /**
+     * Recursively copies the given source directory to the given target directory, copying up to the given number of
+     * files concurrently.
+     *
+     * <p>
+     * With a parallelism of one, the files are copied while walking the source directory. Otherwise all folders are
+     * created while walking the source directory, before the first file is copied, and the collected files are then
+     * copied by a {@link ConcurrentPathTransfer}. Apart from that, this method behaves exactly like
+     * {@link #copyRecursively(Path, Path, CopyOption...)}.
+     * </p>
+     *
+     * @param source The directory to copy recursively.
+     * @param target The directory to copy to.
+     * @param parallelism The maximum number of files to copy concurrently.
+     * @param options Options that specify how the copy should be done.
+     * @throws IOException
+     * @throws IllegalArgumentException if the given source path is not a directory or the parallelism is not positive.
+     * @since 4.6
+     */
+    public static void copyRecursively(final Path source, final Path target, final int parallelism,
+        final CopyOption... options) throws IOException {
         if (!Files.readAttributes(source, BasicFileAttributes.class).isDirectory()) {
             throw new IllegalArgumentException("Only directories can be copied recursively");
         }
+        final ConcurrentPathTransfer transfer = new ConcurrentPathTransfer(parallelism);
+        if (parallelism == 1) {
+            Files.walkFileTree(source, new RecursiveCopyVisitor(source, target, options, false));
+            return;
+        }
 
-        Files.walkFileTree(source, new RecursiveCopyVisitor(source, target, options));
+        final RecursiveCopyVisitor visitor = new RecursiveCopyVisitor(source, target, options, true);
+        Files.walkFileTree(source, visitor);
+        try {
+            transfer.transfer(visitor.m_files, visitor::copyFile, new ExecutionMonitor());
+        } catch (CanceledExecutionException e) {
+            // our monitor cannot be canceled, hence we have been interrupted
+            final InterruptedIOException ioe = new InterruptedIOException("Interrupted while copying recursively");
+            ioe.initCause(e);
+            throw ioe;
+        }
     }
 
     private static final class RecursiveCopyVisitor implements FileVisitor<Path> {
@@ -543,12 +585,17 @@ private static final class RecursiveCopyVisitor implements FileVisitor<Path> {
 
         private final boolean m_replaceExisting;
 
-        private RecursiveCopyVisitor(final Path source, final Path target, final CopyOption[] options) {
+        /** The files to copy once all folders have been created, <code>null</code> if files are copied right away. */
+        private final List<Path> m_files;
+
+        private RecursiveCopyVisitor(final Path source, final Path target, final CopyOption[] options,
+            final boolean collectFiles) {
             m_source = source;
             m_target = target;
             m_options = options;
             m_replaceExisting = Arrays.stream(options) //
                 .anyMatch(o -> o == StandardCopyOption.REPLACE_EXISTING);
+            m_files = collectFiles ? new ArrayList<>() : null;
         }
 
         @Override
@@ -583,12 +630,20 @@ private Path toTargetPath(final Path sourcePath) {
         @Override
         public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
             if (!attrs.isDirectory() && !attrs.isOther()) {
-                final Path targetFile = toTargetPath(file);
-                Files.copy(file, targetFile, m_options);
+                if (m_files != null) {
+                    m_files.add(file);
+                } else {
+                    copyFile(file);
+                }
             }
             return FileVisitResult.CONTINUE;
         }
 
+        private Void copyFile(final Path file) throws IOException {
+            Files.copy(file, toTargetPath(file), m_options);
+            return null;
+        }
+
         @Override
         public FileVisitResult visitFileFailed(final Path file, final IOException exc) throws IOException {
             return FileVisitResult.TERMINATE;
@@ -68,6 +68,7 @@
 import org.knime.filehandling.core.connections.base.attributes.AttributesCache;
 import org.knime.filehandling.core.connections.base.attributes.BaseAttributesCache;
 import org.knime.filehandling.core.connections.base.attributes.BaseFileAttributes;
+import org.knime.filehandling.core.connections.base.attributes.DirectoryListingCache;
 import org.knime.filehandling.core.connections.base.attributes.NoOpAttributesCache;
 
 /**
@@ -85,6 +86,8 @@
 
     private final AttributesCache m_cache;
 
+    private final DirectoryListingCache m_listingCache;
+
     private final List<FileStore> m_fileStores;
 
     /**
@@ -101,6 +104,27 @@ protected BaseFileSystem(final BaseFileSystemProvider<?, ?> fileSystemProvider,
         final long cacheTTL, //
         final String workingDirectory, //
         final FSLocationSpec fsLocationSpec) {
+        this(fileSystemProvider, cacheTTL, BaseAttributesCache.DEFAULT_MAX_ENTRIES, workingDirectory, fsLocationSpec);
+    }
+
+    /**
+     * Constructs {@FileSystem} with the given file system provider, identifying uri and name an type of the file
+     * system.
+     *
+     * @param fileSystemProvider the provider that the file system belongs to
+     * @param cacheTTL the time to live for cached elements in milliseconds. A value of 0 or smaller indicates no
+     *            caching.
+     * @param maxCacheEntries the maximum number of cached attributes and of cached directory listings, must be positive
+     *            if caching is enabled
+     * @param workingDirectory The working directory of this file system instance.
+     * @param fsLocationSpec the {@link FSLocationSpec}
+     * @since 4.6
+     */
+    protected BaseFileSystem(final BaseFileSystemProvider<?, ?> fileSystemProvider, //
+        final long cacheTTL, //
+        final int maxCacheEntries, //
+        final String workingDirectory, //
+        final FSLocationSpec fsLocationSpec) {
 
         super(fsLocationSpec, workingDirectory);
 
@@ -110,9 +134,11 @@ protected BaseFileSystem(final BaseFileSystemProvider<?, ?> fileSystemProvider,
 
         m_fileSystemProvider = fileSystemProvider;
         if (cacheTTL > 0) {
-            m_cache = new BaseAttributesCache(cacheTTL);
+            m_cache = new BaseAttributesCache(cacheTTL, maxCacheEntries);
+            m_listingCache = new DirectoryListingCache(cacheTTL, maxCacheEntries);
         } else {
             m_cache = new NoOpAttributesCache();
+            m_listingCache = new DirectoryListingCache(cacheTTL);
         }
 
         m_fileStores = Collections.singletonList(new BaseFileStore(getFileSystemBaseURI().getScheme(), "default_file_store"));
@@ -130,6 +156,7 @@ public final void ensureClosedInternal() throws IOException {
             prepareClose();
         } finally {
             m_cache.clearCache();
+            m_listingCache.clearCache();
         }
     }
 
@@ -250,10 +277,42 @@ public final boolean hasCachedAttributes(final Path path) {
     }
 
     /**
-     * Clears the attributes cache
+     * Clears the attributes cache and the directory listing cache
      */
     public final void clearAttributesCache() {
         m_cache.clearCache();
+        m_listingCache.clearCache();
+    }
+
+    /**
+     * Returns the number of lookups answered by the attributes cache, or zero if caching is disabled.
+     *
+     * @return the number of attributes cache hits
+     * @since 4.6
+     * @noreference non-public API
+     */
+    public final long getAttributesCacheHitCount() {
+        return m_cache instanceof BaseAttributesCache ? ((BaseAttributesCache)m_cache).getHitCount() : 0;
+    }
+
+    /**
+     * Returns the number of lookups not answered by the attributes cache, or zero if caching is disabled.
+     *
+     * @return the number of attributes cache misses
+     * @since 4.6
+     * @noreference non-public API
+     */
+    public final long getAttributesCacheMissCount() {
+        return m_cache instanceof BaseAttributesCache ? ((BaseAttributesCache)m_cache).getMissCount() : 0;
+    }
+
+    /**
+     * Returns the cache of directory listings and missing paths, which shares the time to live of the attributes cache.
+     *
+     * @return the directory listing cache
+     */
+    final DirectoryListingCache getDirectoryListingCache() {
+        return m_listingCache;
     }
 
     /**
@@ -99,6 +99,7 @@
 import org.knime.filehandling.core.connections.base.attributes.BaseFileAttributeView;
 import org.knime.filehandling.core.connections.base.attributes.BaseFileAttributes;
 import org.knime.filehandling.core.connections.base.attributes.BasicFileAttributesUtil;
+import org.knime.filehandling.core.connections.base.attributes.DirectoryListingCache;
 
 /**
  * Base implementation of the {@link FileSystemProvider} class.
@@ -188,6 +189,7 @@ public SeekableByteChannel newByteChannel(final Path path, final Set<? extends O
 
         if (sanitizedOptions.contains(StandardOpenOption.WRITE)) {
             deleteCachedParentDirectoryAttributes(checkedPath);
+            getFileSystemInternal().getDirectoryListingCache().writeStarted(checkedPath);
         }
         return new FSSeekableByteChannel(newByteChannelInternal(checkedPath, sanitizedOptions, attrs), m_fileSystem) {
             @Override
@@ -198,6 +200,7 @@ public void close() throws IOException {
                     if (sanitizedOptions.contains(StandardOpenOption.APPEND)
                         || sanitizedOptions.contains(StandardOpenOption.WRITE)) {
                         getFileSystemInternal().removeFromAttributeCache(checkedPath);
+                        getFileSystemInternal().getDirectoryListingCache().writeFinished(checkedPath);
                     }
                 }
             }
@@ -216,6 +219,11 @@ protected void checkParentDirectoryExists(final P path) throws IOException {
         @SuppressWarnings("unchecked")
         final P checkedPathParent = (P)path.getParent();
         if (checkedPathParent != null) {
+            final DirectoryListingCache listingCache = getFileSystemInternal().getDirectoryListingCache();
+            if (listingCache.isDirectory(checkedPathParent)) {
+                return;
+            }
+
             // already fails with NoSuchFileException if it does not exist
             final BasicFileAttributes parentAttrs = readAttributes(checkedPathParent, BasicFileAttributes.class);
 
@@ -223,6 +231,7 @@ protected void checkParentDirectoryExists(final P path) throws IOException {
                 // additionally we fail if the parent path is not a directory
                 throw new FileSystemException(checkedPathParent.toString(), null, "Not a directory");
             }
+            listingCache.addDirectory(checkedPathParent);
         }
     }
 
@@ -235,6 +244,12 @@ protected void checkParentDirectoryExists(final P path) throws IOException {
      * @throws IOException if something went wrong while accessing the directory contents
      */
     protected boolean isNonEmptyDirectory(final P path) throws IOException {
+        final Optional<Boolean> listed = getFileSystemInternal().getDirectoryListingCache().isNonEmptyDirectory(path);
+        if (listed.isPresent()) {
+            return listed.get();
+        }
+
+        // also lists the directory in the directory listing cache
         try (final Stream<Path> stream = Files.list(path)) {
             return stream.findAny().isPresent();
         } catch (NoSuchFileException | NotDirectoryException e) { // NOSONAR can be ignored
@@ -348,6 +363,8 @@ public void move(final Path source, final Path target, final CopyOption... optio
 
         moveInternal(checkedSource, checkedTarget, options);
         getFileSystemInternal().removeFromAttributeCacheDeep(checkedSource);
+        getFileSystemInternal().getDirectoryListingCache().deleted(checkedSource);
+        getFileSystemInternal().getDirectoryListingCache().replaced(checkedTarget);
 
         deleteCachedParentDirectoryAttributes(checkedTarget);
     }
@@ -451,6 +468,7 @@ public void copy(final Path source, final Path target, final CopyOption... optio
 
         copyInternal(checkedSource, checkedTarget, options);
         getFileSystemInternal().removeFromAttributeCache(checkedTarget);
+        getFileSystemInternal().getDirectoryListingCache().replaced(checkedTarget);
         deleteCachedParentDirectoryAttributes(checkedTarget);
     }
 
@@ -497,6 +515,7 @@ public OutputStream newOutputStream(final Path path, final OpenOption... options
         }
 
         deleteCachedParentDirectoryAttributes(checkedPath);
+        getFileSystemInternal().getDirectoryListingCache().writeStarted(checkedPath);
         return new FSOutputStream(newOutputStreamInternal(checkedPath, validatedOpenOptions), getFileSystemInternal()) {
             @Override
             public void close() throws IOException {
@@ -504,6 +523,7 @@ public void close() throws IOException {
                     super.close();
                 } finally {
                     getFileSystemInternal().removeFromAttributeCache(checkedPath);
+                    getFileSystemInternal().getDirectoryListingCache().writeFinished(checkedPath);
                 }
             }
         };
@@ -544,7 +564,6 @@ protected static OpenOption[] ensureValidAndDefaultOpenOptionsForWriting(final O
      */
     protected abstract OutputStream newOutputStreamInternal(P path, OpenOption... options) throws IOException;
 
-    @SuppressWarnings("unchecked")
     @Override
     public DirectoryStream<Path> newDirectoryStream(final Path dir, final Filter<? super Path> filter)
         throws IOException {
@@ -559,7 +578,12 @@ public DirectoryStream<Path> newDirectoryStream(final Path dir, final Filter<? s
             throw new NotDirectoryException(checkedDir.toString());
         }
 
-        final Iterator<Path> pathIterator = (Iterator<Path>)createPathIterator(checkedDir, filter);
+        final DirectoryListingCache listingCache = getFileSystemInternal().getDirectoryListingCache();
+        listingCache.addDirectory(checkedDir);
+        final long stamp = listingCache.getModificationStamp();
+        // the filter is applied afterwards, so that the complete listing can be cached
+        final Iterator<Path> pathIterator = new ListingPathIterator(createPathIterator(checkedDir, p -> true), filter,
+            names -> listingCache.addListing(checkedDir, names, stamp));
 
         return new BaseDirectoryStream(new RelativizingPathIterator(pathIterator, dir), getFileSystemInternal());
     }
@@ -591,6 +615,7 @@ public void createDirectory(final Path dir, final FileAttribute<?>... attrs) thr
         } catch (NoSuchFileException e) { // NOSONAR exception is dealt with properly
             createDirectoryInternal(checkedDir, attrs);
             deleteCachedParentDirectoryAttributes(checkedDir);
+            getFileSystemInternal().getDirectoryListingCache().directoryCreated(checkedDir);
         }
     }
 
@@ -644,8 +669,9 @@ protected P checkCastAndAbsolutizePath(final Path path) {
     }
 
     /**
-     * Tests whether the given path (after toAbsolute().normalize()) exists, by first checking for a cache entry, and
-     * then invoking {@link #exists(FSPath)}.
+     * Tests whether the given path (after toAbsolute().normalize()) exists, by first checking for a cache entry, then
+     * consulting the listing of its parent directory or the known missing paths, and finally invoking
+     * {@link #exists(FSPath)}.
      *
      * @param path The path to check.
      * @return whether the path exists or not.
@@ -653,7 +679,20 @@ protected P checkCastAndAbsolutizePath(final Path path) {
      */
     protected final boolean existsCached(final P path) throws IOException {
         final P normalizedAbsolute = (P)path.toAbsolutePath().normalize();
-        return getFileSystemInternal().hasCachedAttributes(normalizedAbsolute) || exists(normalizedAbsolute);
+        if (getFileSystemInternal().hasCachedAttributes(normalizedAbsolute)) {
+            return true;
+        }
+        final DirectoryListingCache listingCache = getFileSystemInternal().getDirectoryListingCache();
+        final Optional<Boolean> listed = listingCache.exists(normalizedAbsolute);
+        if (listed.isPresent()) {
+            return listed.get();
+        }
+        final long stamp = listingCache.getModificationStamp();
+        final boolean exists = exists(normalizedAbsolute);
+        if (!exists) {
+            listingCache.addMissing(normalizedAbsolute, stamp);
+        }
+        return exists;
     }
 
     /**
@@ -826,6 +865,7 @@ public void delete(final Path path) throws IOException {
 
         deleteInternal(checkedPath);
         getFileSystemInternal().removeFromAttributeCache(path);
+        getFileSystemInternal().getDirectoryListingCache().deleted(checkedPath);
         deleteCachedParentDirectoryAttributes(checkedPath);
     }
 
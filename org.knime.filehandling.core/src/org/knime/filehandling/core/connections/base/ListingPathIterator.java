@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream.Filter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Iterator that applies a {@link Filter} to the unfiltered children of a directory and records the names of all
+ * children. Once the iterator is exhausted, the complete listing is handed to a consumer, e.g. a cache.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ListingPathIterator implements Iterator<Path> {
+
+    private final Iterator<? extends Path> m_children;
+
+    private final Filter<? super Path> m_filter;
+
+    private final Consumer<List<String>> m_listingConsumer;
+
+    private final List<String> m_names = new ArrayList<>();
+
+    private Path m_next;
+
+    private boolean m_listed;
+
+    /**
+     * Constructor.
+     *
+     * @param children iterator over all children of the directory
+     * @param filter the filter the returned paths have to match
+     * @param listingConsumer receives the names of all children once the iterator is exhausted
+     */
+    ListingPathIterator(final Iterator<? extends Path> children, final Filter<? super Path> filter,
+        final Consumer<List<String>> listingConsumer) {
+        m_children = children;
+        m_filter = filter;
+        m_listingConsumer = listingConsumer;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (m_next == null && m_children.hasNext()) {
+            final Path child = m_children.next();
+            m_names.add(child.getFileName().toString());
+            try {
+                if (m_filter.accept(child)) {
+                    m_next = child;
+                }
+            } catch (IOException ex) {
+                throw new DirectoryIteratorException(ex);
+            }
+        }
+        if (m_next == null && !m_listed) {
+            m_listed = true;
+            m_listingConsumer.accept(m_names);
+        }
+        return m_next != null;
+    }
+
+    @Override
+    public Path next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Path next = m_next;
+        m_next = null;
+        return next;
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.ThreadPoolUtil;
+
+/**
+ * Write-only implementation of {@link SeekableByteChannel} for remote file systems that support multipart uploads.
+ * In contrast to {@link TempFileSeekableByteChannel}, the written data is not buffered in a local temporary file but
+ * uploaded in parts of a fixed size while the data is still being written.
+ *
+ * <p>
+ * Up to the configured number of parts are uploaded concurrently. If that many parts are in flight, writing blocks
+ * until the oldest one has been uploaded, so at most {@code (maxParallelUploads + 1) * partSize} bytes are held in
+ * memory. The upload is initiated once the first part is complete, and completed when the channel is closed. Files
+ * that fit into a single part are uploaded with {@link #uploadSingle(byte[], int)} instead. If any part fails to
+ * upload, the pending parts are canceled, the upload is aborted and the failure is rethrown by the next write or by
+ * {@link #close()}.
+ * </p>
+ *
+ * <p>
+ * The channel can't be read and only be positioned at its current position, i.e., the end of the written data.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ * @noreference non-public API
+ * @noextend non-public API
+ */
+public abstract class MultipartUploadSeekableByteChannel implements SeekableByteChannel {
+
+    /** The default size of a part in bytes. */
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+    /** The default number of parts that are uploaded concurrently. */
+    public static final int DEFAULT_MAX_PARALLEL_UPLOADS = 4;
+
+    private final int m_partSize;
+
+    private final int m_maxParallelUploads;
+
+    private final Deque<Future<String>> m_inFlight = new ArrayDeque<>();
+
+    private final List<String> m_partTags = new ArrayList<>();
+
+    private ThreadPool m_pool;
+
+    private byte[] m_part;
+
+    private int m_partLength;
+
+    private int m_partNumber;
+
+    private long m_position;
+
+    private boolean m_isClosed;
+
+    private boolean m_isInitiated;
+
+    /**
+     * Constructor using the default part size and number of parallel uploads.
+     */
+    protected MultipartUploadSeekableByteChannel() {
+        this(DEFAULT_PART_SIZE, DEFAULT_MAX_PARALLEL_UPLOADS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param partSize the size of a part in bytes, the last part might be smaller
+     * @param maxParallelUploads the maximum number of parts that are uploaded concurrently
+     */
+    protected MultipartUploadSeekableByteChannel(final int partSize, final int maxParallelUploads) {
+        CheckUtils.checkArgument(partSize > 0, "The part size must be positive.");
+        CheckUtils.checkArgument(maxParallelUploads > 0, "The number of parallel uploads must be positive.");
+        m_partSize = partSize;
+        m_maxParallelUploads = maxParallelUploads;
+        m_part = new byte[partSize];
+    }
+
+    /**
+     * Initiates the multipart upload. Called once before the first part is uploaded.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract void initiateUpload() throws IOException;
+
+    /**
+     * Uploads a single part. Called concurrently for different parts, after {@link #initiateUpload()} has returned.
+     *
+     * @param partNumber the number of the part, starting at 1
+     * @param data the buffer holding the part, must not be modified or kept after returning
+     * @param length the number of bytes of the part
+     * @return the tag identifying the uploaded part, e.g. the ETag returned by the server
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract String uploadPart(int partNumber, byte[] data, int length) throws IOException;
+
+    /**
+     * Completes the multipart upload once all parts have been uploaded.
+     *
+     * @param partTags the tags of all parts, ordered by part number
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract void completeUpload(List<String> partTags) throws IOException;
+
+    /**
+     * Aborts the multipart upload after a part failed to upload or the upload could not be completed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract void abortUpload() throws IOException;
+
+    /**
+     * Uploads a file that fits into a single part, including empty files. The default implementation performs a
+     * multipart upload with a single part, implementations may override this method to upload the file with a single
+     * request.
+     *
+     * @param data the buffer holding the file content
+     * @param length the size of the file in bytes
+     * @throws IOException if an I/O error occurs
+     */
+    protected void uploadSingle(final byte[] data, final int length) throws IOException {
+        initiateUpload();
+        m_isInitiated = true;
+        m_partTags.add(uploadPart(1, data, length));
+        completeUpload(m_partTags);
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (m_isClosed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    @Override
+    public synchronized int write(final ByteBuffer src) throws IOException {
+        checkOpen();
+        final int written = src.remaining();
+        while (src.hasRemaining()) {
+            final int length = Math.min(src.remaining(), m_partSize - m_partLength);
+            src.get(m_part, m_partLength, length);
+            m_partLength += length;
+            m_position += length;
+            if (m_partLength == m_partSize) {
+                submitPart();
+            }
+        }
+        return written;
+    }
+
+    private void submitPart() throws IOException {
+        try {
+            if (!m_isInitiated) {
+                initiateUpload();
+                m_isInitiated = true;
+                m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_maxParallelUploads);
+            }
+            collectUploadedParts(false);
+            while (m_inFlight.size() >= m_maxParallelUploads) {
+                m_partTags.add(await(m_inFlight.removeFirst()));
+            }
+        } catch (IOException | RuntimeException ex) { // NOSONAR rethrown
+            fail(ex);
+            throw ex;
+        }
+        m_partNumber++;
+        final int partNumber = m_partNumber;
+        final byte[] part = m_part;
+        final int length = m_partLength;
+        m_inFlight.add(m_pool.enqueue(() -> uploadPart(partNumber, part, length)));
+        // the submitted buffer belongs to the upload now
+        m_part = new byte[m_partSize];
+        m_partLength = 0;
+    }
+
+    /**
+     * Collects the tags of the oldest parts that have already been uploaded, so that failures surface early.
+     */
+    private void collectUploadedParts(final boolean all) throws IOException {
+        while (!m_inFlight.isEmpty() && (all || m_inFlight.peekFirst().isDone())) {
+            m_partTags.add(await(m_inFlight.removeFirst()));
+        }
+    }
+
+    private static String await(final Future<String> future) throws IOException {
+        return ThreadPoolUtil.awaitIO(future::get, "Interrupted while uploading.");
+    }
+
+    /**
+     * Cancels the pending parts, aborts the upload and closes the channel.
+     */
+    private void fail(final Exception ex) {
+        m_isClosed = true;
+        m_inFlight.forEach(f -> f.cancel(true));
+        m_inFlight.clear();
+        m_part = null;
+        if (m_isInitiated) {
+            try {
+                abortUpload();
+            } catch (IOException abortEx) {
+                ex.addSuppressed(abortEx);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (m_isClosed) {
+            return;
+        }
+        try {
+            if (!m_isInitiated) {
+                uploadSingle(m_part, m_partLength);
+            } else {
+                if (m_partLength > 0) {
+                    submitPart();
+                }
+                collectUploadedParts(true);
+                completeUpload(m_partTags);
+            }
+        } catch (IOException | RuntimeException ex) { // NOSONAR rethrown
+            if (!m_isClosed) {
+                fail(ex);
+            }
+            throw ex;
+        }
+        m_isClosed = true;
+        m_part = null;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return !m_isClosed;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        throw new NonReadableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        checkOpen();
+        return m_position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(final long newPosition) throws IOException {
+        checkOpen();
+        if (newPosition != m_position) {
+            throw new UnsupportedOperationException("The channel can only be positioned at the end of the data.");
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        checkOpen();
+        return m_position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel truncate(final long size) throws IOException {
+        checkOpen();
+        if (size < m_position) {
+            throw new UnsupportedOperationException("The written data can't be truncated.");
+        }
+        return this;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Read-only implementation of {@link SeekableByteChannel} for remote file systems that support reading byte ranges of
+ * a file. In contrast to {@link TempFileSeekableByteChannel}, only the requested parts of the file are fetched, e.g.
+ * the central directory of a zip file or the first rows of a CSV file.
+ *
+ * <p>
+ * The file is read in pages of a fixed size, which are kept in a least recently used cache. If the pages are accessed
+ * sequentially, the number of pages fetched with a single range request doubles with each request up to
+ * {@value #MAX_READ_AHEAD_PAGES} pages; any other access resets it to a single page.
+ * </p>
+ *
+ * <p>
+ * Implementations only need to provide {@link #readRange(long, byte[], int, int)} and can override
+ * {@link #closeInternal()} to release resources. The channel is not writable.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ * @noreference non-public API
+ * @noextend non-public API
+ */
+public abstract class RangeReadSeekableByteChannel implements SeekableByteChannel {
+
+    /** The default size of a page in bytes. */
+    public static final int DEFAULT_PAGE_SIZE = 256 * 1024;
+
+    /** The default maximum number of cached pages. */
+    public static final int DEFAULT_MAX_CACHED_PAGES = 64;
+
+    /** The maximum number of pages that are fetched with a single range request. */
+    public static final int MAX_READ_AHEAD_PAGES = 16;
+
+    private final long m_size;
+
+    private final int m_pageSize;
+
+    private final int m_maxCachedPages;
+
+    private final Map<Long, byte[]> m_pages;
+
+    private long m_position;
+
+    private long m_lastPage = -1;
+
+    private int m_readAhead = 1;
+
+    private boolean m_isClosed;
+
+    /**
+     * Constructor using the default page size and cache size.
+     *
+     * @param size the size of the file in bytes
+     */
+    protected RangeReadSeekableByteChannel(final long size) {
+        this(size, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param size the size of the file in bytes
+     * @param pageSize the size of a page in bytes
+     * @param maxCachedPages the maximum number of cached pages
+     */
+    protected RangeReadSeekableByteChannel(final long size, final int pageSize, final int maxCachedPages) {
+        CheckUtils.checkArgument(size >= 0, "The size must not be negative.");
+        CheckUtils.checkArgument(pageSize > 0, "The page size must be positive.");
+        CheckUtils.checkArgument(maxCachedPages > 0, "The maximum number of cached pages must be positive.");
+        m_size = size;
+        m_pageSize = pageSize;
+        m_maxCachedPages = maxCachedPages;
+        m_pages = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+                return size() > m_maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Reads up to {@code length} bytes of the file starting at the given position. The requested range always lies
+     * within the file.
+     *
+     * @param position the position in the file to start reading at
+     * @param buffer the buffer to read into
+     * @param offset the offset in the buffer
+     * @param length the maximum number of bytes to read
+     * @return the number of bytes read, which may be less than {@code length}, or -1 if the end of the file has been
+     *         reached
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract int readRange(long position, byte[] buffer, int offset, int length) throws IOException;
+
+    /**
+     * Releases the resources held by the implementation. Called once when the channel is closed. The default
+     * implementation does nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    protected void closeInternal() throws IOException {
+        // nothing to release by default
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (m_isClosed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return !m_isClosed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!m_isClosed) {
+            m_isClosed = true;
+            m_pages.clear();
+            closeInternal();
+        }
+    }
+
+    @Override
+    public synchronized int read(final ByteBuffer dst) throws IOException {
+        checkOpen();
+        if (m_position >= m_size) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && m_position < m_size) {
+            final long pageIndex = m_position / m_pageSize;
+            final byte[] page = getPage(pageIndex);
+            final int offset = (int)(m_position - pageIndex * m_pageSize);
+            final int length = Math.min(dst.remaining(), page.length - offset);
+            dst.put(page, offset, length);
+            m_position += length;
+            read += length;
+        }
+        return read;
+    }
+
+    private byte[] getPage(final long index) throws IOException {
+        final byte[] cached = m_pages.get(index);
+        if (cached != null) {
+            m_lastPage = index;
+            return cached;
+        }
+        if (index == m_lastPage + 1) {
+            m_readAhead = Math.min(2 * m_readAhead, Math.min(MAX_READ_AHEAD_PAGES, m_maxCachedPages));
+        } else {
+            m_readAhead = 1;
+        }
+        final long numberOfPages = (m_size + m_pageSize - 1) / m_pageSize;
+        int count = 1;
+        // don't fetch pages that are already cached
+        while (count < m_readAhead && index + count < numberOfPages && !m_pages.containsKey(index + count)) {
+            count++;
+        }
+        m_lastPage = index;
+        return loadPages(index, count);
+    }
+
+    /**
+     * Fetches the given pages with a single range request and returns the first one.
+     */
+    private byte[] loadPages(final long first, final int count) throws IOException {
+        final long start = first * m_pageSize;
+        final int length = (int)Math.min((long)count * m_pageSize, m_size - start);
+        final byte[] buffer = new byte[length];
+        int read = 0;
+        while (read < length) {
+            final int n = readRange(start + read, buffer, read, length - read);
+            if (n < 0) {
+                throw new EOFException(String.format(
+                    "Unexpected end of file at position %d, expected a size of %d bytes.", start + read, m_size));
+            }
+            read += n;
+        }
+        byte[] firstPage = null;
+        for (int i = count - 1; i >= 0; i--) {
+            // insert the requested page last, so that it is the most recently used one
+            final int from = i * m_pageSize;
+            final byte[] page = Arrays.copyOfRange(buffer, from, Math.min(from + m_pageSize, length));
+            m_pages.put(first + i, page);
+            firstPage = page;
+        }
+        return firstPage;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        checkOpen();
+        return m_position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(final long newPosition) throws IOException {
+        checkOpen();
+        CheckUtils.checkArgument(newPosition >= 0, "The position must not be negative.");
+        m_position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        checkOpen();
+        return m_size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) throws IOException {
+        throw new NonWritableChannelException();
+    }
+}
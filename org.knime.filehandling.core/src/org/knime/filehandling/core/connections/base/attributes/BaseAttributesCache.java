@@ -48,26 +48,60 @@
  */
 package org.knime.filehandling.core.connections.base.attributes;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import org.knime.core.node.util.CheckUtils;
 
 /**
  * Cache for file attributes. Attributes can be stored
  *
+ * <p>
+ * The attributes are kept in a concurrent map sorted by path, hence lookups don't lock and removing all paths with a
+ * given prefix only touches the removed subtree. Attributes expire once they are older than the time to live. If the
+ * cache grows beyond its maximum number of entries, the expired attributes and then the oldest attributes are evicted
+ * until the cache is filled to 90% of its maximum size.
+ * </p>
+ *
  * @author Mareike Hoeger, KNIME GmbH, Konstanz, Germany
  * @noreference non-public API
  * @noinstantiate non-public API
  */
 public final class BaseAttributesCache implements AttributesCache {
 
+    /**
+     * The default maximum number of cached attributes.
+     *
+     * @since 4.6
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private static final int EVICTION_TARGET_PERCENT = 90;
+
     private final long m_timeTolive;
 
-    private final Cache<String, BaseFileAttributes> m_attributesCache;
+    private final int m_maxEntries;
+
+    private final ConcurrentSkipListMap<String, BaseFileAttributes> m_attributesCache = new ConcurrentSkipListMap<>();
+
+    /** The number of entries, tracked separately since {@link ConcurrentSkipListMap#size()} is linear. */
+    private final AtomicInteger m_size = new AtomicInteger();
+
+    private final ReentrantLock m_evictionLock = new ReentrantLock();
+
+    private final LongAdder m_hits = new LongAdder();
+
+    private final LongAdder m_misses = new LongAdder();
+
+    private final LongAdder m_evictions = new LongAdder();
 
     /**
      * Constructs a attribute cache with the given time to live in milliseconds.
@@ -75,45 +109,100 @@ public final class BaseAttributesCache implements AttributesCache {
      * @param timeToLive time to live in milliseconds
      */
     public BaseAttributesCache(final long timeToLive) {
-        m_timeTolive = timeToLive;
-        m_attributesCache =
-            CacheBuilder.newBuilder().softValues().expireAfterWrite(m_timeTolive, TimeUnit.MILLISECONDS).build();
+        this(timeToLive, DEFAULT_MAX_ENTRIES);
+    }
 
+    /**
+     * Constructs a attribute cache with the given time to live in milliseconds and maximum number of entries.
+     *
+     * @param timeToLive time to live in milliseconds
+     * @param maxEntries the maximum number of cached attributes, must be positive
+     * @since 4.6
+     */
+    public BaseAttributesCache(final long timeToLive, final int maxEntries) {
+        CheckUtils.checkArgument(maxEntries > 0, "The maximum number of entries must be positive.");
+        m_timeTolive = timeToLive;
+        m_maxEntries = maxEntries;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void storeAttributes(final String path, final BaseFileAttributes attributes) {
-        m_attributesCache.put(path, attributes);
+    public void storeAttributes(final String path, final BaseFileAttributes attributes) {
+        if (m_attributesCache.put(path, attributes) == null && m_size.incrementAndGet() > m_maxEntries) {
+            evict();
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized Optional<BaseFileAttributes> getAttributes(final String path) {
-
-        Optional<BaseFileAttributes> attributes = Optional.ofNullable(m_attributesCache.getIfPresent(path));
-        if (attributes.isPresent() && isExpired(attributes.get())) {
-            m_attributesCache.invalidate(path);
-            attributes = Optional.empty();
+    public Optional<BaseFileAttributes> getAttributes(final String path) {
+        final BaseFileAttributes attributes = m_attributesCache.get(path);
+        if (attributes == null) {
+            m_misses.increment();
+            return Optional.empty();
+        } else if (isExpired(attributes)) {
+            // only remove the expired attributes, not a fresh value stored concurrently
+            if (m_attributesCache.remove(path, attributes)) {
+                m_size.decrementAndGet();
+                m_evictions.increment();
+            }
+            m_misses.increment();
+            return Optional.empty();
         }
-        return attributes;
-
+        m_hits.increment();
+        return Optional.of(attributes);
     }
 
     private boolean isExpired(final BaseFileAttributes attributes) {
         return (System.currentTimeMillis() - attributes.getFetchTime()) > m_timeTolive;
     }
 
+    /**
+     * Evicts the expired and then the oldest attributes. Only one thread evicts at a time, the others carry on since
+     * the cache size is only a soft limit.
+     */
+    private void evict() {
+        if (!m_evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            final int target = (int)(m_maxEntries * (long)EVICTION_TARGET_PERCENT / 100);
+            final List<Map.Entry<String, BaseFileAttributes>> candidates = new ArrayList<>();
+            for (final Map.Entry<String, BaseFileAttributes> entry : m_attributesCache.entrySet()) {
+                if (isExpired(entry.getValue())) {
+                    removeEvicted(entry);
+                } else {
+                    candidates.add(entry);
+                }
+            }
+            if (m_size.get() > target) {
+                candidates.sort(Comparator.comparingLong(e -> e.getValue().getFetchTime()));
+                for (int i = 0; i < candidates.size() && m_size.get() > target; i++) {
+                    removeEvicted(candidates.get(i));
+                }
+            }
+        } finally {
+            m_evictionLock.unlock();
+        }
+    }
+
+    private void removeEvicted(final Map.Entry<String, BaseFileAttributes> entry) {
+        if (m_attributesCache.remove(entry.getKey(), entry.getValue())) {
+            m_size.decrementAndGet();
+            m_evictions.increment();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void clearCache() {
-        m_attributesCache.invalidateAll();
+    public void clearCache() {
+        removeAll(m_attributesCache);
     }
 
     /**
@@ -121,18 +210,81 @@ public synchronized void clearCache() {
      */
     @Override
     public void removeAttribute(final String path) {
-        m_attributesCache.invalidate(path);
+        if (m_attributesCache.remove(path) != null) {
+            m_size.decrementAndGet();
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void removeAttributes(final String prefix) {
-        List<String> keys = m_attributesCache.asMap().keySet().stream().filter(key -> key.startsWith(prefix))
-            .collect(Collectors.toList());
+    public void removeAttributes(final String prefix) {
+        final String end = prefixEnd(prefix);
+        if (end == null) {
+            removeAll(m_attributesCache.tailMap(prefix, true));
+        } else {
+            removeAll(m_attributesCache.subMap(prefix, true, end, false));
+        }
+    }
+
+    /**
+     * Returns the smallest string that is greater than all strings starting with the given prefix.
+     *
+     * @return the exclusive upper bound of the strings with the prefix or {@code null} if there is none
+     */
+    static String prefixEnd(final String prefix) {
+        int last = prefix.length() - 1;
+        while (last >= 0 && prefix.charAt(last) == Character.MAX_VALUE) {
+            last--;
+        }
+        if (last < 0) {
+            return null;
+        }
+        return prefix.substring(0, last) + (char)(prefix.charAt(last) + 1);
+    }
+
+    private void removeAll(final NavigableMap<String, BaseFileAttributes> subtree) {
+        // pollFirstEntry removes the entries one by one, so that concurrent stores are counted correctly
+        while (subtree.pollFirstEntry() != null) {
+            m_size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found valid attributes.
+     *
+     * @return the number of cache hits
+     * @since 4.6
+     */
+    public long getHitCount() {
+        return m_hits.sum();
+    }
 
-        m_attributesCache.invalidateAll(keys);
+    /**
+     * Returns the number of lookups that found no or only expired attributes.
+     *
+     * @return the number of cache misses
+     * @since 4.6
+     */
+    public long getMissCount() {
+        return m_misses.sum();
+    }
+
+    /**
+     * Returns the number of attributes that have been removed because they expired or the cache was full.
+     *
+     * @return the number of evicted attributes
+     * @since 4.6
+     */
+    public long getEvictionCount() {
+        return m_evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BaseAttributesCache[size=%d, hits=%d, misses=%d, evictions=%d]", m_size.get(),
+            getHitCount(), getMissCount(), getEvictionCount());
     }
 
 }
@@ -0,0 +1,495 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.connections.base.attributes;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Cache for directory listings and for paths known not to exist. It allows to answer existence checks of files in a
+ * listed directory, as well as checks whether a directory exists or is empty, without asking the file system.
+ *
+ * <p>
+ * The cache is filled from directory listings and existence checks, and kept up to date by the operations of the file
+ * system provider that create, move or delete files. Entries expire after the time to live. Results obtained from the
+ * file system while the cache was modified are not stored, see {@link #getModificationStamp()}. Files that are
+ * currently being written are neither known to exist nor to not exist, since some file systems only create them once
+ * they are closed.
+ * </p>
+ *
+ * <p>
+ * The number of cached directories and missing paths is bounded. After every tenth of the maximum number of entries
+ * has been added, the expired entries and, if the cache is still too large, the oldest entries are evicted until the
+ * cache is filled to 90% of its maximum size.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ * @noreference non-public API
+ * @noinstantiate non-public API
+ */
+public final class DirectoryListingCache {
+
+    private static final int EVICTION_TARGET_PERCENT = 90;
+
+    private final long m_timeToLive;
+
+    private final int m_maxEntries;
+
+    /** The directories known to exist, optionally with their listing. */
+    private final ConcurrentSkipListMap<String, Directory> m_directories = new ConcurrentSkipListMap<>();
+
+    /** The paths known not to exist, mapped to the time at which this was found out. */
+    private final ConcurrentSkipListMap<String, Long> m_missing = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong m_modifications = new AtomicLong();
+
+    /** The number of entries added since the last eviction. */
+    private final AtomicInteger m_added = new AtomicInteger();
+
+    private final ReentrantLock m_evictionLock = new ReentrantLock();
+
+    private static final class Directory {
+
+        private final long m_fetchTime = System.currentTimeMillis();
+
+        /** The names of the children or {@code null} if the directory has not been listed. */
+        private final Set<String> m_children;
+
+        /** The names of the children that are currently being written. */
+        private final Set<String> m_pending = ConcurrentHashMap.newKeySet();
+
+        Directory(final Collection<String> children) {
+            if (children == null) {
+                m_children = null;
+            } else {
+                m_children = ConcurrentHashMap.newKeySet();
+                m_children.addAll(children);
+            }
+        }
+    }
+
+    /** An evictable entry of one of the maps. */
+    private static final class Candidate {
+
+        private final long m_fetchTime;
+
+        private final Runnable m_remove;
+
+        Candidate(final long fetchTime, final Runnable remove) {
+            m_fetchTime = fetchTime;
+            m_remove = remove;
+        }
+    }
+
+    /**
+     * Constructs a directory listing cache with the given time to live in milliseconds and the default maximum number
+     * of entries.
+     *
+     * @param timeToLive time to live in milliseconds, a value of 0 or smaller disables the cache
+     */
+    public DirectoryListingCache(final long timeToLive) {
+        this(timeToLive, BaseAttributesCache.DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructs a directory listing cache with the given time to live in milliseconds and maximum number of entries.
+     *
+     * @param timeToLive time to live in milliseconds, a value of 0 or smaller disables the cache
+     * @param maxEntries the maximum number of cached directories and missing paths, must be positive
+     */
+    public DirectoryListingCache(final long timeToLive, final int maxEntries) {
+        CheckUtils.checkArgument(maxEntries > 0, "The maximum number of entries must be positive.");
+        m_timeToLive = timeToLive;
+        m_maxEntries = maxEntries;
+    }
+
+    private boolean isEnabled() {
+        return m_timeToLive > 0;
+    }
+
+    private boolean isExpired(final long fetchTime) {
+        return (System.currentTimeMillis() - fetchTime) > m_timeToLive;
+    }
+
+    private static String getKey(final Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    private static String getName(final Path path) {
+        return path.getFileName().toString();
+    }
+
+    private Optional<Directory> getDirectory(final Path dir) {
+        final String key = getKey(dir);
+        final Directory directory = m_directories.get(key);
+        if (directory != null && isExpired(directory.m_fetchTime)) {
+            m_directories.remove(key, directory);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(directory);
+    }
+
+    private boolean isMissing(final Path path) {
+        final String key = getKey(path);
+        final Long fetchTime = m_missing.get(key);
+        if (fetchTime != null && isExpired(fetchTime)) {
+            m_missing.remove(key, fetchTime);
+            return false;
+        }
+        return fetchTime != null;
+    }
+
+    /**
+     * Returns the current modification stamp. Results fetched from the file system should be stored together with the
+     * stamp obtained before fetching them, they are discarded if the cache has been modified in the meantime.
+     *
+     * @return the modification stamp
+     */
+    public long getModificationStamp() {
+        return m_modifications.get();
+    }
+
+    private void modified() {
+        m_modifications.incrementAndGet();
+    }
+
+    /**
+     * Answers whether the given path exists, if the path is known not to exist or its parent directory has been
+     * listed.
+     *
+     * @param path the path to check
+     * @return whether the path exists or an empty optional if this is not known
+     */
+    public Optional<Boolean> exists(final Path path) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        if (isMissing(path)) {
+            return Optional.of(Boolean.FALSE);
+        }
+        final Path parent = path.getParent();
+        if (parent == null || path.getFileName() == null) {
+            return Optional.empty();
+        }
+        final String name = getName(path);
+        return getDirectory(parent) //
+            .filter(d -> d.m_children != null && !d.m_pending.contains(name)) //
+            .map(d -> d.m_children.contains(name));
+    }
+
+    /**
+     * Answers whether the given path is known to be an existing directory.
+     *
+     * @param path the path to check
+     * @return {@code true} if the path is known to be a directory, {@code false} if this is not known
+     */
+    public boolean isDirectory(final Path path) {
+        return isEnabled() && getDirectory(path).isPresent();
+    }
+
+    /**
+     * Answers whether the given path is a non-empty directory, if it has been listed or is known not to exist.
+     *
+     * @param path the path to check
+     * @return whether the path is a non-empty directory or an empty optional if this is not known
+     */
+    public Optional<Boolean> isNonEmptyDirectory(final Path path) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        if (isMissing(path)) {
+            return Optional.of(Boolean.FALSE);
+        }
+        return getDirectory(path) //
+            .filter(d -> d.m_children != null) //
+            .filter(d -> !d.m_children.isEmpty() || d.m_pending.isEmpty()) //
+            .map(d -> !d.m_children.isEmpty());
+    }
+
+    /**
+     * Stores that the given path does not exist.
+     *
+     * @param path the path that does not exist
+     * @param stamp the modification stamp obtained before checking the path
+     */
+    public void addMissing(final Path path, final long stamp) {
+        if (isEnabled() && stamp == getModificationStamp()) {
+            m_missing.put(getKey(path), System.currentTimeMillis());
+            added();
+        }
+    }
+
+    /**
+     * Stores that the given path is an existing directory, keeping its listing if it has one.
+     *
+     * @param dir the existing directory
+     */
+    public void addDirectory(final Path dir) {
+        if (isEnabled() && !getDirectory(dir).isPresent()) {
+            m_directories.putIfAbsent(getKey(dir), new Directory(null));
+            added();
+        }
+    }
+
+    /**
+     * Stores the listing of the given directory.
+     *
+     * @param dir the listed directory
+     * @param children the names of all children of the directory
+     * @param stamp the modification stamp obtained before listing the directory
+     */
+    public void addListing(final Path dir, final Collection<String> children, final long stamp) {
+        if (isEnabled() && stamp == getModificationStamp()) {
+            m_directories.put(getKey(dir), new Directory(children));
+            added();
+        }
+    }
+
+    /**
+     * Notifies the cache that the given file is about to be written. Until {@link #writeFinished(Path)} is called, the
+     * existence of the file is unknown.
+     *
+     * @param file the file being written
+     */
+    public void writeStarted(final Path file) {
+        if (!isEnabled()) {
+            return;
+        }
+        modified();
+        addedToParents(file);
+        if (file.getParent() != null && file.getFileName() != null) {
+            getDirectory(file.getParent()).ifPresent(d -> d.m_pending.add(getName(file)));
+        }
+    }
+
+    /**
+     * Notifies the cache that the given file has been written.
+     *
+     * @param file the written file
+     */
+    public void writeFinished(final Path file) {
+        if (!isEnabled()) {
+            return;
+        }
+        modified();
+        if (file.getParent() != null && file.getFileName() != null) {
+            final String name = getName(file);
+            getDirectory(file.getParent()).ifPresent(d -> {
+                if (d.m_children != null) {
+                    d.m_children.add(name);
+                }
+                d.m_pending.remove(name);
+            });
+        }
+    }
+
+    /**
+     * Notifies the cache that the given directory has been created, i.e., that it is an empty directory.
+     *
+     * @param dir the created directory
+     */
+    public void directoryCreated(final Path dir) {
+        if (!isEnabled()) {
+            return;
+        }
+        modified();
+        addedToParents(dir);
+        addChild(dir);
+        m_directories.put(getKey(dir), new Directory(Collections.emptySet()));
+        added();
+    }
+
+    /**
+     * Notifies the cache that the given path has been replaced by a copied or moved file or directory, whose contents
+     * are unknown.
+     *
+     * @param path the copy or move target
+     */
+    public void replaced(final Path path) {
+        if (!isEnabled()) {
+            return;
+        }
+        modified();
+        removeDeep(m_directories, getKey(path), path.getFileSystem().getSeparator());
+        addedToParents(path);
+        addChild(path);
+    }
+
+    /**
+     * Notifies the cache that the given path has been deleted, along with everything it contained.
+     *
+     * @param path the deleted path
+     */
+    public void deleted(final Path path) {
+        if (!isEnabled()) {
+            return;
+        }
+        modified();
+        final String key = getKey(path);
+        removeDeep(m_directories, key, path.getFileSystem().getSeparator());
+        if (path.getParent() != null && path.getFileName() != null) {
+            final String name = getName(path);
+            getDirectory(path.getParent()).ifPresent(d -> {
+                if (d.m_children != null) {
+                    d.m_children.remove(name);
+                }
+            });
+        }
+        m_missing.put(key, System.currentTimeMillis());
+        added();
+    }
+
+    /**
+     * Clears all data from the cache.
+     */
+    public void clearCache() {
+        modified();
+        m_directories.clear();
+        m_missing.clear();
+    }
+
+    private void added() {
+        if (m_added.incrementAndGet() >= Math.max(1, m_maxEntries / 10)) {
+            evict();
+        }
+    }
+
+    /**
+     * Evicts the expired and then the oldest entries. Only one thread evicts at a time, the others carry on since the
+     * cache size is only a soft limit.
+     */
+    private void evict() {
+        if (!m_evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            m_added.set(0);
+            final List<Candidate> candidates = new ArrayList<>();
+            collectCandidates(m_directories, d -> d.m_fetchTime, candidates);
+            collectCandidates(m_missing, Long::longValue, candidates);
+            final int target = (int)(m_maxEntries * (long)EVICTION_TARGET_PERCENT / 100);
+            if (candidates.size() > m_maxEntries) {
+                candidates.sort(Comparator.comparingLong(c -> c.m_fetchTime));
+                for (int i = 0; i < candidates.size() - target; i++) {
+                    candidates.get(i).m_remove.run();
+                }
+            }
+        } finally {
+            m_evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the expired entries of the given map and adds the others to the eviction candidates.
+     */
+    private <V> void collectCandidates(final ConcurrentSkipListMap<String, V> map, final ToLongFunction<V> fetchTime,
+        final List<Candidate> candidates) {
+        for (final Map.Entry<String, V> entry : map.entrySet()) {
+            final String key = entry.getKey();
+            final V value = entry.getValue();
+            final long time = fetchTime.applyAsLong(value);
+            if (isExpired(time)) {
+                map.remove(key, value);
+            } else {
+                // only remove the evicted value, not a fresh value stored concurrently
+                candidates.add(new Candidate(time, () -> map.remove(key, value)));
+            }
+        }
+    }
+
+    private void addChild(final Path path) {
+        if (path.getParent() != null && path.getFileName() != null) {
+            final String name = getName(path);
+            getDirectory(path.getParent()).filter(d -> d.m_children != null).ifPresent(d -> d.m_children.add(name));
+        }
+    }
+
+    /**
+     * Creating a path also creates its missing ancestors on some file systems, e.g. blob stores. Hence the path and its
+     * ancestors are no longer known to be missing, and listings that lack one of the ancestors are outdated.
+     */
+    private void addedToParents(final Path path) {
+        m_missing.remove(getKey(path));
+        Path child = path.getParent();
+        while (child != null && child.getFileName() != null) {
+            m_missing.remove(getKey(child));
+            final String name = getName(child);
+            final Path parent = child.getParent();
+            if (parent != null) {
+                getDirectory(parent).filter(d -> d.m_children != null && !d.m_children.contains(name))
+                    .ifPresent(d -> m_directories.remove(getKey(parent), d));
+            }
+            child = parent;
+        }
+    }
+
+    private static void removeDeep(final ConcurrentSkipListMap<String, ?> map, final String key,
+        final String separator) {
+        map.remove(key);
+        final String prefix = key.endsWith(separator) ? key : (key + separator);
+        final String end = BaseAttributesCache.prefixEnd(prefix);
+        final Map<String, ?> subtree = end == null ? map.tailMap(prefix, true) : map.subMap(prefix, true, end, false);
+        subtree.clear();
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.defaultnodesettings.filechooser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.ThreadPoolUtil;
+
+/**
+ * Walks a file tree like {@link Files#walkFileTree(Path, java.util.Set, int, FileVisitor)} but lists the folders
+ * ahead of the visitor.</br>
+ * When a folder is entered, the listings of its subfolders are submitted to a bounded pool, so that sibling folders
+ * are listed concurrently while the visitor is still busy with the current one. A listing also reads the attributes
+ * of all its entries, which fills the attribute cache of file systems that have one, i.e., later attribute lookups
+ * for the visited paths don't cause further round-trips.</br>
+ * The visitor is only invoked by the calling thread. Folders are visited depth first and the entries of each folder
+ * are visited sorted by their path, so the visiting order is deterministic. Symbolic link loops are reported as
+ * {@link FileSystemLoopException} just like {@link Files#walkFileTree(Path, java.util.Set, int, FileVisitor)} does.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ConcurrentFileTreeWalker {
+
+    /** The number of folder listings per worker that are fetched ahead of the visitor. */
+    private static final int PREFETCHED_PER_WORKER = 2;
+
+    private final int m_parallelism;
+
+    private final boolean m_followLinks;
+
+    private final int m_maxDepth;
+
+    private final LinkOption[] m_linkOptions;
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism the maximum number of folders that are listed concurrently, must be positive
+     * @param followLinks whether symbolic links should be followed
+     * @param maxDepth the maximum number of folder levels to visit, see
+     *            {@link Files#walkFileTree(Path, java.util.Set, int, FileVisitor)}
+     */
+    ConcurrentFileTreeWalker(final int parallelism, final boolean followLinks, final int maxDepth) {
+        CheckUtils.checkArgument(parallelism > 0, "The parallelism must be positive.");
+        CheckUtils.checkArgument(maxDepth >= 0, "The maximum depth must not be negative.");
+        m_parallelism = parallelism;
+        m_followLinks = followLinks;
+        m_maxDepth = maxDepth;
+        m_linkOptions = followLinks ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+    }
+
+    /**
+     * Walks the file tree rooted at the given path.
+     *
+     * @param start the root of the file tree
+     * @param visitor the {@link FileVisitor} to invoke for each path
+     * @throws IOException if the visitor throws an {@link IOException}
+     */
+    void walk(final Path start, final FileVisitor<? super Path> visitor) throws IOException {
+        // with a maximum depth below two, there is at most one folder to list
+        final boolean concurrent = m_parallelism > 1 && m_maxDepth > 1;
+        final Walk walk =
+            new Walk(visitor, concurrent ? KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_parallelism) : null);
+        final var interruptedMessage = "Interrupted while listing " + start;
+        try {
+            if (!concurrent) {
+                walk.run(start);
+            } else {
+                ThreadPoolUtil.awaitIO(() -> {
+                    walk.run(start);
+                    return null;
+                }, interruptedMessage);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final var interrupted = new InterruptedIOException(interruptedMessage);
+            interrupted.initCause(ex);
+            throw interrupted;
+        } catch (ExecutionException ex) {
+            throw ThreadPoolUtil.toIOException(ex, interruptedMessage);
+        } finally {
+            walk.cancel();
+        }
+    }
+
+    /**
+     * A path together with its attributes, or the exception raised while reading them. For folders that are going to
+     * be visited, the listing might already be in the works.
+     */
+    private static final class Entry {
+
+        private final Path m_path;
+
+        private final BasicFileAttributes m_attrs;
+
+        private final IOException m_exception;
+
+        private Future<Listing> m_listing;
+
+        Entry(final Path path, final BasicFileAttributes attrs, final IOException exception) {
+            m_path = path;
+            m_attrs = attrs;
+            m_exception = exception;
+        }
+
+        Path getPath() {
+            return m_path;
+        }
+    }
+
+    /**
+     * The sorted entries of a folder. If the folder could not be opened, there are no entries and the exception is
+     * stored, if the iteration failed, the entries read so far are kept along with the exception.
+     */
+    private static final class Listing {
+
+        private final List<Entry> m_entries = new ArrayList<>();
+
+        private IOException m_openException;
+
+        private IOException m_iterationException;
+    }
+
+    private Listing list(final Path dir) {
+        final Listing listing = new Listing();
+        final DirectoryStream<Path> stream;
+        try {
+            stream = Files.newDirectoryStream(dir);
+        } catch (IOException ex) {
+            listing.m_openException = ex;
+            return listing;
+        }
+        try {
+            for (final Path child : stream) {
+                listing.m_entries.add(readEntry(child));
+            }
+        } catch (DirectoryIteratorException ex) {
+            listing.m_iterationException = ex.getCause();
+        } finally {
+            try {
+                stream.close();
+            } catch (IOException ex) { // NOSONAR like Files.walkFileTree, we don't care
+            }
+        }
+        listing.m_entries.sort(Comparator.comparing(Entry::getPath));
+        return listing;
+    }
+
+    private Entry readEntry(final Path path) {
+        try {
+            return new Entry(path, Files.readAttributes(path, BasicFileAttributes.class, m_linkOptions), null);
+        } catch (IOException ex) {
+            if (!m_followLinks) {
+                return new Entry(path, null, ex);
+            }
+            // the path might be a broken link, which is visited as such
+            try {
+                return new Entry(path,
+                    Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS), null);
+            } catch (IOException ex2) {
+                ex2.addSuppressed(ex);
+                return new Entry(path, null, ex2);
+            }
+        }
+    }
+
+    private boolean isTraversed(final Entry entry, final int depth) {
+        return entry.m_attrs != null && entry.m_attrs.isDirectory() && depth < m_maxDepth;
+    }
+
+    /**
+     * The state of a single walk, i.e., the visitor, the pool listing the folders (if any) and the chain of folders
+     * currently visited.
+     */
+    private final class Walk {
+
+        private final FileVisitor<? super Path> m_visitor;
+
+        private final ThreadPool m_pool;
+
+        /** The listings that have been submitted but not yet consumed. */
+        private final Set<Future<Listing>> m_inFlight = new HashSet<>();
+
+        private final Deque<Entry> m_ancestors = new ArrayDeque<>();
+
+        Walk(final FileVisitor<? super Path> visitor, final ThreadPool pool) {
+            m_visitor = visitor;
+            m_pool = pool;
+        }
+
+        void run(final Path start) throws IOException, InterruptedException, ExecutionException {
+            visit(readEntry(start), 0);
+        }
+
+        void cancel() {
+            m_inFlight.forEach(f -> f.cancel(true));
+            m_inFlight.clear();
+        }
+
+        private FileVisitResult visit(final Entry entry, final int depth)
+            throws IOException, InterruptedException, ExecutionException {
+            final Path path = entry.m_path;
+            if (entry.m_exception != null) {
+                return m_visitor.visitFileFailed(path, entry.m_exception);
+            }
+            if (!isTraversed(entry, depth)) {
+                return m_visitor.visitFile(path, entry.m_attrs);
+            }
+            if (m_followLinks && wouldLoop(entry)) {
+                discardListing(entry);
+                return m_visitor.visitFileFailed(path, new FileSystemLoopException(path.toString()));
+            }
+            final Listing listing = getListing(entry);
+            if (listing.m_openException != null) {
+                return m_visitor.visitFileFailed(path, listing.m_openException);
+            }
+            final FileVisitResult preVisitResult = m_visitor.preVisitDirectory(path, entry.m_attrs);
+            if (preVisitResult != FileVisitResult.CONTINUE) {
+                return preVisitResult;
+            }
+            m_ancestors.push(entry);
+            final List<Entry> children = listing.m_entries;
+            final int window = m_parallelism * PREFETCHED_PER_WORKER;
+            int prefetched = 0;
+            for (int i = 0; i < children.size(); i++) {
+                prefetched = prefetch(children, prefetched, i + window, depth + 1);
+                final FileVisitResult result = visit(children.get(i), depth + 1);
+                if (result == FileVisitResult.TERMINATE) {
+                    return result;
+                } else if (result == FileVisitResult.SKIP_SIBLINGS) {
+                    for (int j = i + 1; j < prefetched; j++) {
+                        discardListing(children.get(j));
+                    }
+                    break;
+                }
+            }
+            m_ancestors.pop();
+            return m_visitor.postVisitDirectory(path, listing.m_iterationException);
+        }
+
+        private int prefetch(final List<Entry> children, final int from, final int to, final int depth) {
+            if (m_pool == null) {
+                return from;
+            }
+            final int end = Math.min(to, children.size());
+            for (int i = from; i < end; i++) {
+                final Entry child = children.get(i);
+                if (isTraversed(child, depth)) {
+                    child.m_listing = m_pool.enqueue(() -> list(child.m_path));
+                    m_inFlight.add(child.m_listing);
+                }
+            }
+            return Math.max(from, end);
+        }
+
+        private Listing getListing(final Entry entry) throws InterruptedException, ExecutionException {
+            if (entry.m_listing == null) {
+                return list(entry.m_path);
+            }
+            m_inFlight.remove(entry.m_listing);
+            final Listing listing = entry.m_listing.get();
+            // drop the reference, the listing is not needed once the folder has been visited
+            entry.m_listing = null;
+            return listing;
+        }
+
+        private void discardListing(final Entry entry) {
+            if (entry.m_listing != null) {
+                entry.m_listing.cancel(true);
+                m_inFlight.remove(entry.m_listing);
+                entry.m_listing = null;
+            }
+        }
+
+        private boolean wouldLoop(final Entry entry) throws IOException {
+            final Object key = entry.m_attrs.fileKey();
+            for (final Entry ancestor : m_ancestors) {
+                final Object ancestorKey = ancestor.m_attrs.fileKey();
+                if (key != null && ancestorKey != null) {
+                    if (key.equals(ancestorKey)) {
+                        return true;
+                    }
+                } else if (Files.isSameFile(entry.m_path, ancestor.m_path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
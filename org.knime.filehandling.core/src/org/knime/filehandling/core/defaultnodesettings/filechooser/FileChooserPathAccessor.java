@@ -49,18 +49,16 @@
 package org.knime.filehandling.core.defaultnodesettings.filechooser;
 
 import java.io.IOException;
-import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Consumer;
 
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.filehandling.core.connections.FSConnection;
 import org.knime.filehandling.core.connections.FSFileSystem;
@@ -241,9 +239,9 @@ private List<FSPath> walkFileTree(final Path rootPath) throws IOException, Inval
         final FilterVisitor visitor = createVisitor(rootPath);
         final boolean includeSubfolders = m_settings.getFilterModeModel().isIncludeSubfolders();
         final boolean followLinks = m_settings.getFilterModeModel().isFollowLinks();
-        final Set<FileVisitOption> linkOptions =
-            followLinks ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : EnumSet.noneOf(FileVisitOption.class);
-        Files.walkFileTree(rootPath, linkOptions, includeSubfolders ? Integer.MAX_VALUE : 1, visitor);
+        // sibling folders are listed concurrently, which pays off for remote file systems
+        new ConcurrentFileTreeWalker(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads(), followLinks,
+            includeSubfolders ? Integer.MAX_VALUE : 1).walk(rootPath, visitor);
         m_fileFilterStatistic = visitor.getFileFilterStatistic();
         final List<?> paths = visitor.getPaths();
         @SuppressWarnings("unchecked") // we know it better
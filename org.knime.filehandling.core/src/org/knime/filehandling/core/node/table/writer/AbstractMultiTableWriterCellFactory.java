@@ -53,6 +53,13 @@
 import java.io.OutputStream;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileAlreadyExistsException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPOutputStream;
 
 import org.knime.core.data.DataCell;
@@ -62,16 +69,29 @@
 import org.knime.core.data.MissingCell;
 import org.knime.core.data.container.AbstractCellFactory;
 import org.knime.core.data.def.StringCell.StringCellFactory;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.data.location.cell.MultiSimpleFSLocationCellFactory;
 import org.knime.filehandling.core.data.location.cell.SimpleFSLocationCell;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
+import org.knime.filehandling.core.util.ThreadPoolUtil;
 
 /**
  * Factory that extends {@link AbstractCellFactory}, which creates one new column {@link SimpleFSLocationCell} holding
  * the output path of written files. It also handles the writing of files of a specific type <C> to the file system.
  *
+ * <p>
+ * The files are written one after the other in the order of the rows, unless the subclass declares with
+ * {@link #isThreadSafe()} that its {@link #writeFile(OutputStream, DataValue)} can be called concurrently. In that case
+ * the output paths are assigned, checked against the {@link FileOverwritePolicy} and opened in the order of the rows,
+ * while the contents of the files are written on a bounded number of workers; at most as many files are open as there
+ * are workers. Rows that resolve to a file that is still being written by an earlier row are treated as if that file
+ * already existed, and overwriting or appending to it waits until the earlier write has finished. A failed write is
+ * rethrown while processing one of the next rows or by {@link #finishWriting()} at the latest.
+ * </p>
+ *
  * @author Laurin Siefermann, KNIME GmbH, Konstanz, Germany
  * @param <T> the type of {@link DataValue}
  */
@@ -95,6 +115,16 @@
 
     private boolean m_enableCompression = false;
 
+    private final int m_parallelism = KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads();
+
+    /** The writes whose output stream is open, in the order of the rows. */
+    private final Deque<Write> m_pendingWrites = new ArrayDeque<>();
+
+    /** The paths of the pending writes, mapped to their last write. */
+    private final Map<FSPath, Write> m_pendingPaths = new HashMap<>();
+
+    private ThreadPool m_pool;
+
     /**
      * Constructor for a concrete subclass instantiation of {@link AbstractMultiTableWriterCellFactory}.
      *
@@ -130,7 +160,7 @@ public DataCell[] getCells(final DataRow row) {
         final FSPath outputFilePath = createOutputPath(row, fileExtension);
         m_rowIndex++;
 
-        final String fileStatus = write(value, outputFilePath);
+        final String fileStatus = isThreadSafe() ? submitWrite(value, outputFilePath) : write(value, outputFilePath);
         return new DataCell[]{m_multiFSLocationCellFactory.createCell(outputFilePath.toFSLocation()),
             StringCellFactory.create(fileStatus)};
     }
@@ -161,6 +191,177 @@ private String write(final T value, final FSPath outputPath) {
         return status;
     }
 
+    /**
+     * Applies the overwrite policy and enqueues the writing of the file.
+     *
+     * @return the status of the file
+     */
+    private String submitWrite(final T value, final FSPath outputPath) {
+        collectFinishedWrites();
+
+        final var pathKey = (FSPath)outputPath.toAbsolutePath().normalize();
+        final Write previousWrite = m_pendingPaths.get(pathKey);
+        final boolean exists;
+        if (previousWrite != null) {
+            // the file is still being written by an earlier row
+            exists = true;
+        } else {
+            try {
+                exists = FSFiles.exists(outputPath);
+            } catch (AccessDeniedException accessDeniedException) {
+                throw new IllegalStateException(accessDeniedException.getMessage(), accessDeniedException);
+            }
+        }
+
+        if (exists && m_overwritePolicy == FileOverwritePolicy.FAIL) {
+            throw new IllegalStateException(
+                String.format("The file '%s' already exists and must not be overwritten", outputPath.toString()));
+        } else if (exists && m_overwritePolicy == FileOverwritePolicy.IGNORE) {
+            return "unmodified";
+        }
+
+        if (previousWrite != null) {
+            await(previousWrite);
+        }
+        while (m_pendingWrites.size() >= m_parallelism) {
+            awaitFirst();
+        }
+        final OutputStream outputStream;
+        try {
+            // the file is opened on this thread, so that the status reflects whether it could be created
+            outputStream = getOutputStream(outputPath);
+        } catch (FileAlreadyExistsException fileAlreadyExistsException) {
+            if (m_overwritePolicy == FileOverwritePolicy.FAIL) {
+                throw new IllegalStateException(
+                    String.format("The file '%s' already exists and must not be overwritten", outputPath.toString()),
+                    fileAlreadyExistsException);
+            }
+            return "unmodified";
+        } catch (IOException openException) {
+            throw new IllegalStateException(
+                String.format("An IOException occured while writing '%s'", outputPath.toString()), openException);
+        }
+        if (m_pool == null) {
+            m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_parallelism);
+        }
+        final var write = new Write(value, outputPath, pathKey, outputStream);
+        write.m_future = m_pool.enqueue(write);
+        m_pendingWrites.add(write);
+        m_pendingPaths.put(pathKey, write);
+        return exists ? "overwritten" : "created";
+    }
+
+    /**
+     * The writing of a single file, whose output stream has already been opened.
+     */
+    private final class Write implements Callable<Void> {
+
+        /** The value to write, released once the file has been written. */
+        private T m_value;
+
+        private final FSPath m_outputPath;
+
+        private final FSPath m_pathKey;
+
+        private final OutputStream m_outputStream;
+
+        /** Whether the output stream has been taken over by the worker or has been discarded. */
+        private final AtomicBoolean m_started = new AtomicBoolean();
+
+        private Future<Void> m_future;
+
+        Write(final T value, final FSPath outputPath, final FSPath pathKey, final OutputStream outputStream) {
+            m_value = value;
+            m_outputPath = outputPath;
+            m_pathKey = pathKey;
+            m_outputStream = outputStream;
+        }
+
+        @Override
+        public Void call() {
+            if (!m_started.compareAndSet(false, true)) {
+                return null;
+            }
+            try (final var outputStream = m_outputStream) {
+                writeFile(outputStream, m_value);
+            } catch (IOException writeImageException) {
+                throw new IllegalStateException(
+                    String.format("An IOException occured while writing '%s'", m_outputPath.toString()),
+                    writeImageException);
+            } finally {
+                m_value = null;
+            }
+            return null;
+        }
+
+        /**
+         * Closes the output stream if the worker has not started to write the file.
+         */
+        void discard() {
+            if (m_started.compareAndSet(false, true)) {
+                m_value = null;
+                try {
+                    m_outputStream.close();
+                } catch (IOException ex) { // NOSONAR the write is canceled anyway
+                }
+            }
+        }
+    }
+
+    /**
+     * Rethrows the failure of writes that have already finished, so that failures surface early.
+     */
+    private void collectFinishedWrites() {
+        while (!m_pendingWrites.isEmpty() && m_pendingWrites.peekFirst().m_future.isDone()) {
+            awaitFirst();
+        }
+    }
+
+    /**
+     * Waits for the oldest pending write; once it has finished its file exists and it no longer needs to be tracked.
+     */
+    private void awaitFirst() {
+        final Write write = m_pendingWrites.removeFirst();
+        m_pendingPaths.remove(write.m_pathKey, write);
+        await(write);
+    }
+
+    private void await(final Write write) {
+        try {
+            ThreadPoolUtil.awaitIO(write.m_future::get, "Interrupted while writing files");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Waits until all files have been written and prepares the factory for the next execution.
+     *
+     * @throws IllegalStateException if a file could not be written
+     */
+    void finishWriting() {
+        try {
+            while (!m_pendingWrites.isEmpty()) {
+                awaitFirst();
+            }
+        } finally {
+            cancelWriting();
+        }
+    }
+
+    /**
+     * Cancels all pending writes, e.g. because the execution failed or has been canceled, and prepares the factory for
+     * the next execution.
+     */
+    void cancelWriting() {
+        for (final Write write : m_pendingWrites) {
+            write.m_future.cancel(true);
+            write.discard();
+        }
+        m_pendingWrites.clear();
+        m_pendingPaths.clear();
+    }
+
     private OutputStream getOutputStream(final FSPath outputPath) throws IOException {
         if (m_enableCompression) {
             return new GZIPOutputStream(
@@ -200,7 +401,19 @@ private FSPath createOutputPath(final DataRow row, final String fileExtension) {
     }
 
     /**
-     * Writes a file to a given outputStream.
+     * Whether {@link #writeFile(OutputStream, DataValue)} can be called concurrently for different rows. If so, the
+     * files are written on several threads, otherwise one after the other in the order of the rows.
+     *
+     * @return {@code true} if the files can be written concurrently, {@code false} by default
+     * @since 4.6
+     */
+    protected boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * Writes a file to a given outputStream. This method is called concurrently for different rows if
+     * {@link #isThreadSafe()} returns {@code true} and must be thread-safe in that case.
      *
      * <pre>
      * // example for images
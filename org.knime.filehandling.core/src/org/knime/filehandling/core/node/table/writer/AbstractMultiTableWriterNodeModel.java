@@ -320,7 +320,14 @@ protected BufferedDataTable[] execute(final PortObject[] inObjects, final Execut
             createOutputDirIfRequired(outputPath);
             updateCellFactory(dataTableSpec, outputPath);
 
-            final BufferedDataTable out = exec.createColumnRearrangeTable(inputDataTable, m_columnRearranger, exec);
+            final BufferedDataTable out;
+            try {
+                out = exec.createColumnRearrangeTable(inputDataTable, m_columnRearranger, exec);
+                m_multiFileWriterCellFactory.finishWriting();
+            } finally {
+                // no-op if all files have been written
+                m_multiFileWriterCellFactory.cancelWriting();
+            }
 
             if (m_multiFileWriterCellFactory.getMissingCellCount() > 0) {
                 setWarningMessage(
@@ -412,20 +419,33 @@ public void init(final ExecutionContext ctx) throws Exception {
             public void finish() {
                 wrappedFunction.finish();
                 try {
-                    writePathAccessor.close();
-                } catch (IOException ex) {
-                    throw new IllegalStateException("An IOException occured while closing the WritePathAccessor.", ex);
+                    m_multiFileWriterCellFactory.finishWriting();
+                } finally {
+                    closeWritePathAccessor(writePathAccessor);
                 }
             }
 
             @Override
             public DataRow compute(final DataRow input) throws Exception {
-                return wrappedFunction.compute(input);
+                try {
+                    return wrappedFunction.compute(input);
+                } catch (Exception | Error ex) { // NOSONAR rethrown after canceling the pending writes
+                    m_multiFileWriterCellFactory.cancelWriting();
+                    throw ex;
+                }
             }
         };
 
     }
 
+    private static void closeWritePathAccessor(final WritePathAccessor writePathAccessor) {
+        try {
+            writePathAccessor.close();
+        } catch (IOException ex) {
+            throw new IllegalStateException("An IOException occured while closing the WritePathAccessor.", ex);
+        }
+    }
+
     @Override
     public InputPortRole[] getInputPortRoles() {
         final InputPortRole[] inputPortRoles = super.getInputPortRoles();
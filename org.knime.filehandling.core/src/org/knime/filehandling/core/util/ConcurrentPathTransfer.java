@@ -0,0 +1,237 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.connections.FSFiles;
+
+/**
+ * Runs a list of independent path transfers, e.g. file copies, on a bounded number of workers.
+ *
+ * <p>
+ * The results are returned in the order of the transfers, regardless of the order in which the workers finish them.
+ * At most a small multiple of the parallelism is in flight at any time, so arbitrarily long transfer lists do not
+ * flood the thread pool. The first failing transfer cancels all pending ones and its exception is rethrown. With a
+ * parallelism of one, all transfers are run in order on the calling thread.
+ * </p>
+ *
+ * <p>
+ * Transfers that write into the same folders should not create these folders themselves, since this is racy and
+ * creates every folder once per file. Use {@link #createParentDirectories(Iterable)} to create them upfront instead.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ * @noreference non-public API
+ */
+public final class ConcurrentPathTransfer {
+
+    /** The number of transfers per worker that are queued at most. */
+    private static final int QUEUED_PER_WORKER = 4;
+
+    /** The interval in milliseconds in which progress and cancellation are checked while waiting. */
+    private static final long POLL_INTERVAL = 200;
+
+    private static final String INTERRUPTED_MESSAGE = "Interrupted while transferring files";
+
+    private final int m_parallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism the maximum number of transfers running concurrently, must be positive
+     */
+    public ConcurrentPathTransfer(final int parallelism) {
+        CheckUtils.checkArgument(parallelism > 0, "The parallelism must be positive, but was %s.", parallelism);
+        m_parallelism = parallelism;
+    }
+
+    /**
+     * Returns the maximum number of transfers running concurrently.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return m_parallelism;
+    }
+
+    /**
+     * Creates the parent folders of the given targets. Each distinct parent is checked only once, in the order of its
+     * first occurrence.
+     *
+     * @param targets the targets whose parents have to exist
+     * @return the folders that did not exist before and have been created by this call
+     * @throws IOException if a folder could not be created
+     */
+    public static Set<Path> createParentDirectories(final Iterable<? extends Path> targets) throws IOException {
+        final Set<Path> checked = new HashSet<>();
+        final Set<Path> created = new HashSet<>();
+        for (final Path target : targets) {
+            final Path parent = target.getParent();
+            if (parent == null || !checked.add(parent) || FSFiles.exists(parent)) {
+                continue;
+            }
+            // remember the missing ancestors, too, since createDirectories creates them along the way
+            Path missing = parent.getParent();
+            while (missing != null && checked.add(missing) && !FSFiles.exists(missing)) {
+                created.add(missing);
+                missing = missing.getParent();
+            }
+            FSFiles.createDirectories(parent);
+            created.add(parent);
+        }
+        return created;
+    }
+
+    /**
+     * Applies the transfer function to all items and returns the results in the order of the items.
+     *
+     * @param <T> the type of the items to transfer
+     * @param <R> the result type of a single transfer
+     * @param items the items to transfer
+     * @param transfer the function transferring a single item
+     * @param exec the monitor used to report progress and to check for cancellation
+     * @return the results of the transfers in the order of the items
+     * @throws IOException if a transfer failed
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    public <T, R> List<R> transfer(final List<T> items, final CheckedExceptionFunction<T, R, IOException> transfer,
+        final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        final int size = items.size();
+        if (m_parallelism == 1 || size < 2) {
+            final List<R> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                exec.checkCanceled();
+                results.add(transfer.apply(items.get(i)));
+                reportProgress(exec, i + 1, size);
+            }
+            return results;
+        }
+
+        final Object[] results = new Object[size];
+        final AtomicInteger done = new AtomicInteger();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_parallelism);
+        final Deque<Future<Void>> pending = new ArrayDeque<>();
+        try {
+            ThreadPoolUtil.runInvisible(() -> {
+                runAll(items, transfer, exec, results, done, pool, pending);
+                return null;
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException(INTERRUPTED_MESSAGE);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ThreadPoolUtil.unwrap(ex);
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException(INTERRUPTED_MESSAGE);
+            }
+            throw ThreadPoolUtil.toIOException(ex, INTERRUPTED_MESSAGE);
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+        @SuppressWarnings("unchecked")
+        final List<R> list = (List<R>)Arrays.asList(results);
+        return Collections.unmodifiableList(list);
+    }
+
+    private <T, R> void runAll(final List<T> items, final CheckedExceptionFunction<T, R, IOException> transfer,
+        final ExecutionMonitor exec, final Object[] results, final AtomicInteger done, final ThreadPool pool,
+        final Deque<Future<Void>> pending)
+        throws InterruptedException, ExecutionException, CanceledExecutionException {
+        final int size = items.size();
+        final int maxQueued = m_parallelism * QUEUED_PER_WORKER;
+        int next = 0;
+        while (next < size || !pending.isEmpty()) {
+            while (next < size && pending.size() < maxQueued) {
+                final int idx = next;
+                pending.add(pool.enqueue(() -> {
+                    results[idx] = transfer.apply(items.get(idx));
+                    done.incrementAndGet();
+                    return null;
+                }));
+                next++;
+            }
+            try {
+                // the results are collected in order, a failure of a later transfer surfaces once we get there
+                pending.peekFirst().get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                pending.removeFirst();
+            } catch (TimeoutException ex) { // NOSONAR just poll progress and cancellation
+            }
+            exec.checkCanceled();
+            reportProgress(exec, done.get(), size);
+        }
+    }
+
+    private static void reportProgress(final ExecutionMonitor exec, final int done, final int size) {
+        exec.setProgress(done / (double)size, () -> String.format("Transferred %d of %d", done, size));
+    }
+
+}
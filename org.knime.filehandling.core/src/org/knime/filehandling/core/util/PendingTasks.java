@@ -0,0 +1,107 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.CanceledExecutionException;
+
+/**
+ * The tasks a computation has submitted to a thread pool and not yet waited for. Waiting for them frees the calling
+ * thread's slot in the global thread pool, see {@link ThreadPoolUtil#awaitAll(java.util.Collection, String)}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ * @noreference non-public API
+ */
+public final class PendingTasks {
+
+    private final List<Future<?>> m_pending = new ArrayList<>();
+
+    private final String m_interruptedMessage;
+
+    /**
+     * @param interruptedMessage the message of the exception thrown if the waiting thread is interrupted
+     */
+    public PendingTasks(final String interruptedMessage) {
+        m_interruptedMessage = interruptedMessage;
+    }
+
+    /**
+     * @param task a submitted task
+     */
+    public void add(final Future<?> task) {
+        m_pending.add(task);
+    }
+
+    /**
+     * Waits for all pending tasks. If one of them fails or the calling thread is interrupted, all of them are
+     * canceled. There are no pending tasks afterwards.
+     *
+     * @throws CanceledExecutionException if the calling thread has been interrupted or a task has been canceled
+     */
+    public void await() throws CanceledExecutionException {
+        try {
+            ThreadPoolUtil.awaitAll(m_pending, m_interruptedMessage);
+        } finally {
+            m_pending.clear();
+        }
+    }
+
+    /**
+     * Cancels all pending tasks, e.g. if the computation failed.
+     */
+    public void cancel() {
+        for (final Future<?> task : m_pending) {
+            task.cancel(true);
+        }
+        m_pending.clear();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.core.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Utility methods for waiting on tasks that have been submitted to a sub pool of the
+ * {@link KNIMEConstants#GLOBAL_THREAD_POOL}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.6
+ * @noreference non-public API
+ */
+public final class ThreadPoolUtil {
+
+    private ThreadPoolUtil() {
+        // utility class
+    }
+
+    /**
+     * Runs the given wait operation, freeing the calling thread's slot in the global thread pool meanwhile. If the
+     * calling thread has not been started by a thread pool, the operation is simply run.
+     *
+     * @param <T> the result type of the operation
+     * @param wait the operation, typically waiting for the results of other tasks
+     * @return the result of the operation
+     * @throws InterruptedException if the calling thread has been interrupted
+     * @throws ExecutionException if the operation has thrown an exception
+     */
+    public static <T> T runInvisible(final Callable<T> wait) throws InterruptedException, ExecutionException {
+        try {
+            return KNIMEConstants.GLOBAL_THREAD_POOL.runInvisible(wait);
+        } catch (IllegalThreadStateException ex) { // NOSONAR
+            // this thread has not been started by a thread pool
+            try {
+                return wait.call();
+            } catch (InterruptedException | ExecutionException e) { // NOSONAR rethrown as is
+                throw e;
+            } catch (Exception e) { // NOSONAR as thrown by ThreadPool#runInvisible
+                throw new ExecutionException(e);
+            }
+        }
+    }
+
+    /**
+     * Waits for all futures while the calling thread's slot in the global thread pool is freed. If one of them fails
+     * or the calling thread is interrupted, all futures are canceled.
+     *
+     * @param futures the futures to wait for
+     * @param interruptedMessage the message of the exception thrown if the calling thread is interrupted
+     * @throws CanceledExecutionException if the calling thread has been interrupted or a task has been canceled
+     */
+    public static void awaitAll(final Collection<? extends Future<?>> futures, final String interruptedMessage)
+        throws CanceledExecutionException {
+        if (futures.isEmpty()) {
+            return;
+        }
+        try {
+            runInvisible(() -> {
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+                return null;
+            });
+        } catch (InterruptedException ex) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException(interruptedMessage);
+        } catch (ExecutionException ex) {
+            cancelAll(futures);
+            final Throwable cause = unwrap(ex);
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException(interruptedMessage);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Runs the given wait operation like {@link #runInvisible(Callable)} and rethrows its failures as
+     * {@link IOException}.
+     *
+     * @param <T> the result type of the operation
+     * @param wait the operation, typically waiting for the results of other tasks
+     * @param interruptedMessage the message of the exception thrown if the calling thread is interrupted
+     * @return the result of the operation
+     * @throws IOException if the operation failed, or an {@link InterruptedIOException} if the calling thread has
+     *             been interrupted
+     */
+    public static <T> T awaitIO(final Callable<T> wait, final String interruptedMessage) throws IOException {
+        try {
+            return runInvisible(wait);
+        } catch (InterruptedException ex) {
+            throw interrupted(ex, interruptedMessage);
+        } catch (ExecutionException ex) {
+            throw toIOException(ex, interruptedMessage);
+        }
+    }
+
+    /**
+     * Converts the cause of a possibly nested {@link ExecutionException} into an {@link IOException}. Unchecked
+     * causes are rethrown as they are.
+     *
+     * @param ex the exception to convert
+     * @param interruptedMessage the message of the exception returned if the task has been interrupted
+     * @return the {@link IOException} causing the exception, or one wrapping its cause
+     */
+    public static IOException toIOException(final ExecutionException ex, final String interruptedMessage) {
+        final Throwable cause = unwrap(ex);
+        if (cause instanceof IOException) {
+            return (IOException)cause;
+        } else if (cause instanceof InterruptedException) {
+            return interrupted((InterruptedException)cause, interruptedMessage);
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        } else if (cause instanceof Error) {
+            throw (Error)cause;
+        }
+        return new IOException(cause.getMessage(), cause);
+    }
+
+    /**
+     * Returns the cause of a possibly nested {@link ExecutionException}.
+     *
+     * @param ex the exception to unwrap
+     * @return the innermost cause that is not an {@link ExecutionException}, or the exception itself if it has no cause
+     */
+    public static Throwable unwrap(final ExecutionException ex) {
+        Throwable cause = ex;
+        while (cause instanceof ExecutionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static InterruptedIOException interrupted(final InterruptedException ex, final String message) {
+        Thread.currentThread().interrupt();
+        final var interrupted = new InterruptedIOException(message);
+        interrupted.initCause(ex);
+        return interrupted;
+    }
+
+    private static void cancelAll(final Collection<? extends Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link ParallelGzipOutputStream} and {@link ParallelBZip2OutputStream}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class BlockParallelOutputStreamTest {
+
+    /** Sizes around the block boundaries of both streams. */
+    private static final int[] SIZES = {0, 1, 1000, 128 * 1024, 128 * 1024 + 1, 700_000, 700_001, 2_000_000};
+
+    @Test
+    public void testGzipRoundTrip() throws IOException {
+        for (final int size : SIZES) {
+            final byte[] data = createData(size);
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (final OutputStream out = new ParallelGzipOutputStream(compressed, 4)) {
+                writeInChunks(out, data);
+            }
+            // a single gzip member, i.e., no need to decompress concatenated streams
+            try (final InputStream in =
+                new GzipCompressorInputStream(new ByteArrayInputStream(compressed.toByteArray()), false)) {
+                assertArrayEquals("Size " + size, data, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testBZip2RoundTrip() throws IOException {
+        for (final int size : SIZES) {
+            final byte[] data = createData(size);
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (final OutputStream out = new ParallelBZip2OutputStream(compressed, 4)) {
+                writeInChunks(out, data);
+            }
+            // a single bzip2 stream, i.e., no need to decompress concatenated streams
+            try (final InputStream in =
+                new BZip2CompressorInputStream(new ByteArrayInputStream(compressed.toByteArray()), false)) {
+                assertArrayEquals("Size " + size, data, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testOutputIndependentOfParallelism() throws IOException {
+        final byte[] data = createData(1_500_000);
+        final ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        try (final OutputStream out = new ParallelGzipOutputStream(sequential, 1)) {
+            out.write(data);
+        }
+        final ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        try (final OutputStream out = new ParallelGzipOutputStream(parallel, 8)) {
+            writeInChunks(out, data);
+        }
+        assertArrayEquals(sequential.toByteArray(), parallel.toByteArray());
+    }
+
+    private static void writeInChunks(final OutputStream out, final byte[] data) throws IOException {
+        for (int off = 0; off < data.length; off += 7777) {
+            out.write(data, off, Math.min(7777, data.length - off));
+        }
+    }
+
+    /** Creates compressible data with some long runs. */
+    private static byte[] createData(final int size) {
+        final Random random = new Random(size);
+        final byte[] data = new byte[size];
+        final String alphabet = "abcdefgh ";
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte)alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        Arrays.fill(data, size / 3, size / 3 + Math.min(5000, size / 3), (byte)'x');
+        return data;
+    }
+
+}
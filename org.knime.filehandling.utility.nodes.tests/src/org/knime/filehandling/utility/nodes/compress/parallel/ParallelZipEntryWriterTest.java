@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Contains tests for {@link ParallelZipEntryWriter} and {@link SpillBuffer}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ParallelZipEntryWriterTest {
+
+    /** Sizes around the memory threshold, the random files among them are spilled when deflated. */
+    private static final int[] SIZES = {0, 1, 1000, 64 * 1024, (1 << 20) - 1, 1 << 20, (1 << 20) + 1, 3_000_000};
+
+    @Rule
+    public TemporaryFolder m_temp = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final List<String> names = new ArrayList<>();
+        final List<byte[]> contents = new ArrayList<>();
+        final List<Path> files = new ArrayList<>();
+        for (final int size : SIZES) {
+            // compressible and incompressible variants of each size
+            addFile("text_" + size + ".txt", createData(size), names, contents, files);
+            addFile("random_" + size + ".bin", createRandomData(size), names, contents, files);
+            addFile("dir_" + size + "/", null, names, contents, files);
+        }
+        final byte[] archive = writeArchive(names, files, 4);
+        try (final ZipFile zip = new ZipFile(new SeekableInMemoryByteChannel(archive))) {
+            final List<ZipArchiveEntry> entries = Collections.list(zip.getEntriesInPhysicalOrder());
+            assertEquals(names.size(), entries.size());
+            for (int i = 0; i < names.size(); i++) {
+                final ZipArchiveEntry entry = entries.get(i);
+                assertEquals("Entry order", names.get(i), entry.getName());
+                final byte[] expected = contents.get(i);
+                if (expected == null) {
+                    assertTrue(entry.getName(), entry.isDirectory());
+                    continue;
+                }
+                assertEquals(entry.getName(), ZipArchiveEntry.DEFLATED, entry.getMethod());
+                assertEquals(entry.getName(), expected.length, entry.getSize());
+                final CRC32 crc = new CRC32();
+                crc.update(expected);
+                assertEquals(entry.getName(), crc.getValue(), entry.getCrc());
+                try (final InputStream in = zip.getInputStream(entry)) {
+                    assertArrayEquals(entry.getName(), expected, in.readAllBytes());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutputIndependentOfParallelism() throws IOException {
+        final List<String> names = new ArrayList<>();
+        final List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final int size = (i * 37_000) % 1_500_000;
+            addFile("file_" + i, i % 2 == 0 ? createData(size) : createRandomData(size), names, new ArrayList<>(),
+                files);
+        }
+        assertArrayEquals(writeArchive(names, files, 1), writeArchive(names, files, 8));
+    }
+
+    @Test
+    public void testSpillBuffer() throws IOException {
+        for (final int size : new int[]{0, 99, 100, 101, 10_000}) {
+            final byte[] data = createRandomData(size);
+            try (final SpillBuffer buffer = new SpillBuffer(100)) {
+                // single bytes and chunks crossing the threshold
+                for (int off = 0; off < data.length; off += 33) {
+                    if (off % 2 == 0) {
+                        buffer.write(data[off]);
+                        buffer.write(data, off + 1, Math.min(32, data.length - off - 1));
+                    } else {
+                        buffer.write(data, off, Math.min(33, data.length - off));
+                    }
+                }
+                assertEquals("Size " + size, size, buffer.size());
+                try (final InputStream in = buffer.newInputStream()) {
+                    assertArrayEquals("Size " + size, data, in.readAllBytes());
+                }
+            }
+        }
+    }
+
+    private void addFile(final String name, final byte[] data, final List<String> names, final List<byte[]> contents,
+        final List<Path> files) throws IOException {
+        names.add(name);
+        contents.add(data);
+        if (data == null) {
+            files.add(null);
+        } else {
+            final Path file = m_temp.newFile().toPath();
+            Files.write(file, data);
+            files.add(file);
+        }
+    }
+
+    private static byte[] writeArchive(final List<String> names, final List<Path> files, final int parallelism)
+        throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ZipArchiveOutputStream out = new ZipArchiveOutputStream(bytes);
+                final ParallelZipEntryWriter writer = new ParallelZipEntryWriter(out, parallelism)) {
+            for (int i = 0; i < names.size(); i++) {
+                final ZipArchiveEntry entry = new ZipArchiveEntry(names.get(i));
+                // fixed times, otherwise the archives of two runs differ
+                entry.setTime(0);
+                writer.write(files.get(i), entry);
+            }
+            writer.finish();
+            out.finish();
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Creates compressible data with some long runs. */
+    private static byte[] createData(final int size) {
+        final Random random = new Random(size);
+        final byte[] data = new byte[size];
+        final String alphabet = "abcdefgh ";
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte)alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        Arrays.fill(data, size / 3, size / 3 + Math.min(5000, size / 3), (byte)'x');
+        return data;
+    }
+
+    /** Creates incompressible data, i.e., its deflated size exceeds its size. */
+    private static byte[] createRandomData(final int size) {
+        final byte[] data = new byte[size];
+        new Random(-size).nextBytes(data);
+        return data;
+    }
+
+}
@@ -0,0 +1,354 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.decompress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.StringValue;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.context.ports.PortsConfiguration;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSCategory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSLocation;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.data.location.cell.SimpleFSLocationCell;
+import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
+
+/**
+ * Unit tests for {@link Decompressor}. Uncompressed zip archives are extracted concurrently via their central
+ * directory, all other archives are streamed. The tests extract the same entries once as zip and once as tar archive
+ * and expect the same rows from both.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class DecompressorTest {
+
+    /** More than twice the number of zip entries that are extracted concurrently. */
+    private static final int MANY_FILES = 2500;
+
+    /** Temporary folder holding the archives and the extracted files. */
+    @Rule
+    public TemporaryFolder m_temp = new TemporaryFolder();
+
+    private FSConnection m_connection;
+
+    /**
+     * Creates the local file system connection.
+     */
+    @Before
+    public void setUp() {
+        m_connection = DefaultFSConnectionFactory.createLocalFSConnection();
+    }
+
+    /**
+     * Closes the file system connection.
+     */
+    @After
+    public void tearDown() {
+        m_connection.close();
+    }
+
+    /**
+     * Tests that the files of a zip archive with more entries than are extracted concurrently are written and that
+     * the rows follow the order of the entries, i.e., are the same as the rows of the streamed archive.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testManyEntries() throws Exception {
+        final List<String[]> entries = new ArrayList<>();
+        for (int i = 0; i < MANY_FILES; i++) {
+            if (i == MANY_FILES / 2) {
+                entries.add(directory("empty_dir/"));
+            }
+            // empty files and files in the root folder in between
+            final String content = i % 100 == 0 ? "" : ("content" + i);
+            entries.add(file(i % 10 == 0 ? ("file" + i + ".txt") : ("dir" + (i % 7) + "/file" + i + ".txt"), content));
+        }
+        final List<String> rows = assertSameRows(entries, FileOverwritePolicy.FAIL, null);
+        // one row per file, per folder containing files and for the empty folder
+        assertEquals(MANY_FILES + 7 + 1, rows.size());
+        for (final String[] entry : entries) {
+            if (entry[1] != null) {
+                assertEquals(entry[1], readFile("zip", entry[0]));
+            }
+        }
+        assertTrue(Files.isDirectory(m_temp.getRoot().toPath().resolve("zip").resolve("empty_dir")));
+    }
+
+    /**
+     * Tests that entries writing the same file overwrite it in the order of the entries.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDuplicateNamesOverwrite() throws Exception {
+        final List<String> rows = assertSameRows(createDuplicateEntries(), FileOverwritePolicy.OVERWRITE, null);
+        assertEquals(getRows("a.txt", "created", "overwritten", "overwritten"), filterRows(rows, "a.txt"));
+        assertEquals("a2", readFile("zip", "a.txt"));
+        assertEquals("c1", readFile("zip", "b/c.txt"));
+    }
+
+    /**
+     * Tests that entries writing the same file leave the file of the first entry unmodified.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDuplicateNamesIgnore() throws Exception {
+        final List<String> rows = assertSameRows(createDuplicateEntries(), FileOverwritePolicy.IGNORE, null);
+        assertEquals(getRows("a.txt", "created", "unmodified", "unmodified"), filterRows(rows, "a.txt"));
+        assertEquals("a0", readFile("zip", "a.txt"));
+        assertEquals("c0", readFile("zip", "b/c.txt"));
+    }
+
+    /**
+     * Tests that entries writing the same file fail if existing files must not be overwritten.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDuplicateNamesFail() throws Exception {
+        for (final String format : new String[]{"zip", "tar"}) {
+            try {
+                decompress(writeArchive(format, createDuplicateEntries()), format, FileOverwritePolicy.FAIL, null);
+                fail("Duplicate entries must not be extracted from the " + format + " archive");
+            } catch (FileAlreadyExistsException e) { // NOSONAR expected
+            }
+        }
+    }
+
+    /**
+     * Tests that only the entries matching the entry filter are extracted, together with their folders.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEntryFilter() throws Exception {
+        final List<String[]> entries = new ArrayList<>();
+        entries.add(directory("txt_only/"));
+        for (int i = 0; i < MANY_FILES; i++) {
+            final String extension = i % 3 == 0 ? ".csv" : ".txt";
+            final String folder = i % 3 == 0 ? ("csv" + (i % 4) + "/") : "txt_only/";
+            entries.add(file(folder + "file" + i + extension, "content" + i));
+        }
+        final List<String> rows = assertSameRows(entries, FileOverwritePolicy.FAIL, "*.csv");
+        // the csv files and their four folders
+        assertEquals((MANY_FILES + 2) / 3 + 4, rows.size());
+        for (final String row : rows) {
+            assertFalse(row, row.startsWith("txt_only"));
+        }
+        final Path extracted = m_temp.getRoot().toPath().resolve("zip");
+        for (final String[] entry : entries) {
+            assertEquals(entry[0], entry[0].endsWith(".csv"), Files.exists(extracted.resolve(entry[0])));
+        }
+    }
+
+    private static List<String[]> createDuplicateEntries() {
+        final List<String[]> entries = new ArrayList<>();
+        entries.add(file("a.txt", "a0"));
+        entries.add(file("b/c.txt", "c0"));
+        entries.add(file("a.txt", "a1"));
+        entries.add(file("a.txt", "a2"));
+        entries.add(file("b/c.txt", "c1"));
+        return entries;
+    }
+
+    private static String[] file(final String name, final String content) {
+        return new String[]{name, content};
+    }
+
+    private static String[] directory(final String name) {
+        return new String[]{name, null};
+    }
+
+    private static List<String> getRows(final String name, final String... statuses) {
+        final List<String> rows = new ArrayList<>();
+        for (final String status : statuses) {
+            rows.add(name + ";false;" + status);
+        }
+        return rows;
+    }
+
+    private static List<String> filterRows(final List<String> rows, final String name) {
+        final List<String> filtered = new ArrayList<>();
+        for (final String row : rows) {
+            if (row.startsWith(name + ";")) {
+                filtered.add(row);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Extracts the entries once from a zip and once from a tar archive and checks that both produce the same rows.
+     */
+    private List<String> assertSameRows(final List<String[]> entries, final FileOverwritePolicy policy,
+        final String entryFilter) throws Exception {
+        final List<String> zipRows = decompress(writeArchive("zip", entries), "zip", policy, entryFilter);
+        final List<String> tarRows = decompress(writeArchive("tar", entries), "tar", policy, entryFilter);
+        assertEquals(tarRows, zipRows);
+        return zipRows;
+    }
+
+    private Path writeArchive(final String format, final List<String[]> entries) throws IOException {
+        final Path archive = m_temp.getRoot().toPath().resolve("archive." + format);
+        try (final OutputStream out = Files.newOutputStream(archive);
+                final ArchiveOutputStream archiveOut =
+                    "zip".equals(format) ? new ZipArchiveOutputStream(out) : new TarArchiveOutputStream(out)) {
+            for (final String[] entry : entries) {
+                final byte[] content = entry[1] == null ? new byte[0] : entry[1].getBytes(StandardCharsets.UTF_8);
+                final ArchiveEntry archiveEntry;
+                if ("zip".equals(format)) {
+                    archiveEntry = new ZipArchiveEntry(entry[0]);
+                } else {
+                    final TarArchiveEntry tarEntry = new TarArchiveEntry(entry[0]);
+                    tarEntry.setSize(content.length);
+                    archiveEntry = tarEntry;
+                }
+                archiveOut.putArchiveEntry(archiveEntry);
+                archiveOut.write(content);
+                archiveOut.closeArchiveEntry();
+            }
+            archiveOut.finish();
+        }
+        return archive;
+    }
+
+    /**
+     * Extracts the archive into a folder of the given name and returns the rows as strings consisting of the path
+     * relative to that folder, the directory flag and the status.
+     */
+    private List<String> decompress(final Path archive, final String folderName, final FileOverwritePolicy policy,
+        final String entryFilter) throws Exception {
+        final FSPath source = m_connection.getFileSystem().getPath(archive.toAbsolutePath().toString());
+        final Path destination = m_temp.newFolder(folderName).toPath();
+        final FSPath fsDestination = m_connection.getFileSystem().getPath(destination.toAbsolutePath().toString());
+
+        final PortsConfiguration portsConfig = mock(PortsConfiguration.class);
+        when(portsConfig.getInputPortLocation()).thenReturn(Collections.emptyMap());
+        final DecompressNodeConfig config = new DecompressNodeConfig(portsConfig);
+        config.getOutputDirChooserModel()
+            .setLocation(new FSLocation(FSCategory.LOCAL, destination.toAbsolutePath().toString()));
+        config.getOutputDirChooserModel().setFileOverwritePolicy(policy);
+        if (entryFilter != null) {
+            config.getFilterEntriesModel().setBooleanValue(true);
+            config.getEntryFilterModel().setStringValue(entryFilter);
+        }
+
+        final ExecutionContext exec = mock(ExecutionContext.class);
+        when(exec.createSubProgress(anyDouble())).thenReturn(new ExecutionMonitor());
+        final CollectingRowOutput output = new CollectingRowOutput();
+        new Decompressor(config, output, exec).decompress(source, fsDestination);
+
+        final List<String> rows = new ArrayList<>();
+        for (int i = 0; i < output.m_rows.size(); i++) {
+            final DataRow row = output.m_rows.get(i);
+            assertEquals("Row" + i, row.getKey().getString());
+            final String path = ((SimpleFSLocationCell)row.getCell(0)).getFSLocation().getPath();
+            final String relativePath =
+                fsDestination.relativize(m_connection.getFileSystem().getPath(path)).toString().replace('\\', '/');
+            rows.add(relativePath + ";" + ((BooleanValue)row.getCell(1)).getBooleanValue() + ";"
+                + ((StringValue)row.getCell(2)).getStringValue());
+        }
+        return rows;
+    }
+
+    private String readFile(final String folderName, final String name) throws IOException {
+        final byte[] content = Files.readAllBytes(m_temp.getRoot().toPath().resolve(folderName).resolve(name));
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static final class CollectingRowOutput extends RowOutput {
+
+        private final List<DataRow> m_rows = new ArrayList<>();
+
+        @Override
+        public void push(final DataRow row) {
+            m_rows.add(row);
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+}
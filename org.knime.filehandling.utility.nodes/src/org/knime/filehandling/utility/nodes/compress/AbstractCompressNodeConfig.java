@@ -90,6 +90,8 @@
 
     private static final String CFG_COMPRESSION = "compression";
 
+    private static final String CFG_PARALLEL_COMPRESSION = "parallel_compression";
+
     private final SettingsModelWriterFileChooser m_destinationFileChooserModel;
 
     private final SettingsModelString m_compressionModel;
@@ -98,6 +100,9 @@
 
     private final SettingsModelBoolean m_includeEmptyFolders;
 
+    private final SettingsModelBoolean m_parallelCompression =
+        new SettingsModelBoolean(CFG_PARALLEL_COMPRESSION, false);
+
     static final String BZ2_EXTENSION = "bz2";
 
     static final String GZ_EXTENSION = "gz";
@@ -153,6 +158,10 @@ final void validateSettingsForModel(final NodeSettingsRO settings) throws Invali
         m_truncationSettings.validateSettingsForModel(settings);
         m_includeEmptyFolders.validateSettings(settings);
         m_compressPolicyModel.validateSettings(settings);
+        // introduced with 4.6
+        if (settings.containsKey(CFG_PARALLEL_COMPRESSION)) {
+            m_parallelCompression.validateSettings(settings);
+        }
     }
 
     /**
@@ -170,6 +179,12 @@ final void loadSettingsForModel(final NodeSettingsRO settings) throws InvalidSet
         m_truncationSettings.loadSettingsForModel(settings);
         m_includeEmptyFolders.loadSettingsFrom(settings);
         m_compressPolicyModel.loadSettingsFrom(settings);
+        // introduced with 4.6, older workflows compress sequentially
+        if (settings.containsKey(CFG_PARALLEL_COMPRESSION)) {
+            m_parallelCompression.loadSettingsFrom(settings);
+        } else {
+            m_parallelCompression.setBooleanValue(false);
+        }
     }
 
     /**
@@ -187,6 +202,7 @@ final void saveSettingsForModel(final NodeSettingsWO settings) {
         m_truncationSettings.saveSettingsForModel(settings);
         m_includeEmptyFolders.saveSettingsTo(settings);
         m_compressPolicyModel.saveSettingsTo(settings);
+        m_parallelCompression.saveSettingsTo(settings);
     }
 
     /**
@@ -232,6 +248,15 @@ final SettingsModelBoolean includeEmptyFoldersModel() {
         return m_includeEmptyFolders;
     }
 
+    /**
+     * Returns the {@link SettingsModelBoolean} storing the parallel compression flag.
+     *
+     * @return the {@link SettingsModelBoolean} storing the parallel compression flag
+     */
+    final SettingsModelBoolean getParallelCompressionModel() {
+        return m_parallelCompression;
+    }
+
     /**
      * Returns the settings model storing the selected {@link CompressPolicy}.
      *
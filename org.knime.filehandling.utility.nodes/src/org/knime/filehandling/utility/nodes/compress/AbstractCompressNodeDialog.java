@@ -105,6 +105,8 @@
 
     private final DialogComponentBoolean m_includeEmptyFolders;
 
+    private final DialogComponentBoolean m_parallelCompression;
+
     private final T m_config;
 
     private boolean m_isLoading;
@@ -126,6 +128,9 @@ protected AbstractCompressNodeDialog(final PortsConfiguration portsConfig, final
 
         m_includeEmptyFolders = new DialogComponentBoolean(config.includeEmptyFoldersModel(), "Include empty folders");
 
+        m_parallelCompression =
+            new DialogComponentBoolean(config.getParallelCompressionModel(), "Compress in parallel");
+
         final FlowVariableModel writeFvm = createFlowVariableModel(destinationFileChooserModel.getKeysForFSLocation(),
             FSLocationVariableType.INSTANCE);
 
@@ -243,6 +248,7 @@ private JPanel createOptionsPanel() {
         final GBCBuilder gbc = new GBCBuilder().resetX().resetY().anchorLineStart().setWeightX(0).fillNone();
         panel.add(m_compressionSelection.getComponentPanel(), gbc.build());
         panel.add(m_includeEmptyFolders.getComponentPanel(), gbc.incY().build());
+        panel.add(m_parallelCompression.getComponentPanel(), gbc.incY().build());
         panel.add(new JPanel(), gbc.insetTop(0).resetX().setHeight(1).incY().setWeightX(1).fillHorizontal().build());
         return panel;
     }
@@ -275,6 +281,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_truncationPanel.saveSettingsTo(settings);
         m_compressionSelection.saveSettingsTo(settings);
         m_includeEmptyFolders.saveSettingsTo(settings);
+        m_parallelCompression.saveSettingsTo(settings);
     }
 
     @Override
@@ -307,6 +314,7 @@ protected void loadSettings(final NodeSettingsRO settings, final PortObjectSpec[
         m_compressionSelection.loadSettingsFrom(settings, specs);
         m_truncationPanel.loadSettings(settings, specs);
         m_includeEmptyFolders.loadSettingsFrom(settings, specs);
+        m_parallelCompression.loadSettingsFrom(settings, specs);
     }
 
     /**
@@ -64,12 +64,14 @@
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
 import org.apache.commons.compress.archivers.ar.ArArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -83,11 +85,15 @@
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.WritePathAccessor;
 import org.knime.filehandling.core.defaultnodesettings.status.NodeModelStatusConsumer;
 import org.knime.filehandling.core.defaultnodesettings.status.StatusMessage.MessageType;
+import org.knime.filehandling.core.util.CheckedExceptionBiConsumer;
 import org.knime.filehandling.utility.nodes.compress.archiver.ArchiveEntryCreator;
 import org.knime.filehandling.utility.nodes.compress.archiver.ArchiveEntryFactory;
 import org.knime.filehandling.utility.nodes.compress.iterator.CompressEntry;
 import org.knime.filehandling.utility.nodes.compress.iterator.CompressIterator;
 import org.knime.filehandling.utility.nodes.compress.iterator.CompressPair;
+import org.knime.filehandling.utility.nodes.compress.parallel.ParallelBZip2OutputStream;
+import org.knime.filehandling.utility.nodes.compress.parallel.ParallelGzipOutputStream;
+import org.knime.filehandling.utility.nodes.compress.parallel.ParallelZipEntryWriter;
 import org.knime.filehandling.utility.nodes.truncator.TruncationException;
 
 /**
@@ -207,13 +213,16 @@ private void compress(final ExecutionContext exec, final CompressIterator filesT
         throws IOException, CanceledExecutionException, InvalidSettingsException {
 
         final String compression = m_config.getCompressionModel().getStringValue().toLowerCase();
+        final int parallelism = m_config.getParallelCompressionModel().getBooleanValue()
+            ? KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads() : 1;
         if (overwritePolicy == FileOverwritePolicy.FAIL && FSFiles.exists(outputPath)) {
             throw new FileAlreadyExistsException(
                 String.format("The file '%s' already exists and must not be overwritten", outputPath));
         }
         try (final OutputStream outputStream = FSFiles.newOutputStream(outputPath, overwritePolicy.getOpenOptions())) {
-            try (final OutputStream compressorStream = openCompressorStream(outputStream, compression)) {
-                compress(exec, outputPath.toFSLocation(), filesToCompress, compressorStream, compression);
+            try (final OutputStream compressorStream = openCompressorStream(outputStream, compression, parallelism)) {
+                compress(exec, outputPath.toFSLocation(), filesToCompress, compressorStream, compression,
+                    parallelism);
             } catch (CompressorException e) {
                 throw new InvalidSettingsException("Unsupported compression type", e);
             }
@@ -221,8 +230,8 @@ private void compress(final ExecutionContext exec, final CompressIterator filesT
     }
 
     private void compress(final ExecutionContext exec, final FSLocation outputLocation,
-        final CompressIterator filesToCompress, final OutputStream compressorStream, final String compression)
-        throws IOException, CanceledExecutionException, InvalidSettingsException {
+        final CompressIterator filesToCompress, final OutputStream compressorStream, final String compression,
+        final int parallelism) throws IOException, CanceledExecutionException, InvalidSettingsException {
         final String archiver = getArchiver(compression);
         try (ArchiveOutputStream archiveStream =
             new ArchiveStreamFactory().createArchiveOutputStream(archiver, compressorStream)) {
@@ -234,10 +243,21 @@ private void compress(final ExecutionContext exec, final FSLocation outputLocati
             final ArchiveEntryCreator entryCreator = ArchiveEntryFactory.getArchiveEntryCreator(archiver);
             final long numOfFiles = filesToCompress.size();
 
-            final Map<String, String> createdEntries = new HashMap<>();
-            while (filesToCompress.hasNext()) {
-                final ExecutionContext subExec = exec.createSubExecutionContext(1d / numOfFiles);
-                compress(subExec, outputLocation, filesToCompress.next(), archiveStream, entryCreator, createdEntries);
+            // jar archives are excluded as their first entry has to be marked, which raw entries are not
+            try (final ParallelZipEntryWriter zipWriter =
+                parallelism > 1 && archiver.equals(ArchiveStreamFactory.ZIP)
+                    ? new ParallelZipEntryWriter((ZipArchiveOutputStream)archiveStream, parallelism) : null) {
+                final CheckedExceptionBiConsumer<Path, ArchiveEntry, IOException> entryWriter = zipWriter != null
+                    ? zipWriter::write : (path, entry) -> createArchiveEntry(archiveStream, path, entry);
+                final Map<String, String> createdEntries = new HashMap<>();
+                while (filesToCompress.hasNext()) {
+                    final ExecutionContext subExec = exec.createSubExecutionContext(1d / numOfFiles);
+                    compress(subExec, outputLocation, filesToCompress.next(), entryWriter, entryCreator,
+                        createdEntries);
+                }
+                if (zipWriter != null) {
+                    zipWriter.finish();
+                }
             }
         } catch (ArchiveException e) {
             throw new IllegalArgumentException("Unsupported archive type", e);
@@ -257,7 +277,8 @@ private static String getArchiver(final String compression) {
     }
 
     private void compress(final ExecutionContext exec, final FSLocation outputLocation,
-        final CompressEntry compressEntry, final ArchiveOutputStream archiveStream,
+        final CompressEntry compressEntry,
+        final CheckedExceptionBiConsumer<Path, ArchiveEntry, IOException> entryWriter,
         final ArchiveEntryCreator entryCreator, final Map<String, String> createdEntries)
         throws CanceledExecutionException, IOException, InvalidSettingsException {
         try {
@@ -268,7 +289,7 @@ private void compress(final ExecutionContext exec, final FSLocation outputLocati
                 exec.setProgress((fileCounter / numOfFiles), () -> ("Compressing file: " + pathToCompress.toString()));
                 exec.checkCanceled();
                 if (!pathToCompress.getPathToCompress().toFSLocation().equals(outputLocation)) {
-                    addEntry(archiveStream, entryCreator, createdEntries, pathToCompress);
+                    addEntry(entryWriter, entryCreator, createdEntries, pathToCompress);
                 } else {
                     setWarningMessage(String.format("Skipping the compression of '%s' as this is the archive itself",
                         pathToCompress.getPathToCompress().toString()));
@@ -280,14 +301,15 @@ private void compress(final ExecutionContext exec, final FSLocation outputLocati
         }
     }
 
-    private static void addEntry(final ArchiveOutputStream archiveStream, final ArchiveEntryCreator entryCreator,
-        final Map<String, String> createdEntries, final CompressPair pathToCompress) throws IOException {
+    private static void addEntry(final CheckedExceptionBiConsumer<Path, ArchiveEntry, IOException> entryWriter,
+        final ArchiveEntryCreator entryCreator, final Map<String, String> createdEntries,
+        final CompressPair pathToCompress) throws IOException {
         final FSPath path = pathToCompress.getPathToCompress();
         final String archiveEntryName = pathToCompress.getArchiveEntryName();
         if (!createdEntries.containsKey(archiveEntryName)) {
             entryCreator.validate(path, archiveEntryName);
             final ArchiveEntry archiveEntry = entryCreator.apply(path, archiveEntryName); //NOSONAR no expansion
-            createArchiveEntry(archiveStream, path, archiveEntry);
+            entryWriter.accept(path, archiveEntry);
         } else {
             throw new IllegalArgumentException(
                 String.format(NAME_COLLISION_ERROR_TEMPLATE, createdEntries.get(archiveEntryName), path.toString()));
@@ -308,11 +330,15 @@ private static void createArchiveEntry(final ArchiveOutputStream archiveStream,
     }
 
     @SuppressWarnings("resource") // closing the stream is the responsibility of the caller
-    private static OutputStream openCompressorStream(final OutputStream outputStream, final String compression)
-        throws CompressorException {
+    private static OutputStream openCompressorStream(final OutputStream outputStream, final String compression,
+        final int parallelism) throws CompressorException, IOException {
         final OutputStream compressorStream;
 
-        if (compression.endsWith(AbstractCompressNodeConfig.BZ2_EXTENSION)) {
+        if (parallelism > 1 && compression.endsWith(AbstractCompressNodeConfig.BZ2_EXTENSION)) {
+            compressorStream = new ParallelBZip2OutputStream(outputStream, parallelism);
+        } else if (parallelism > 1 && compression.endsWith(AbstractCompressNodeConfig.GZ_EXTENSION)) {
+            compressorStream = new ParallelGzipOutputStream(outputStream, parallelism);
+        } else if (compression.endsWith(AbstractCompressNodeConfig.BZ2_EXTENSION)) {
             compressorStream =
                 new CompressorStreamFactory().createCompressorOutputStream(CompressorStreamFactory.BZIP2, outputStream);
         } else if (compression.endsWith(AbstractCompressNodeConfig.GZ_EXTENSION)) {
@@ -0,0 +1,209 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that splits the written data into fixed-size blocks and compresses these blocks concurrently. The
+ * compressed blocks are written to the underlying stream in the order in which they have been filled, hence the output
+ * only depends on the data and the block size, but not on the number of threads.
+ *
+ * <p>
+ * At most a small multiple of the parallelism many blocks are held in memory at any time. Closing the stream compresses
+ * the remaining data, writes the trailer and closes the underlying stream.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @param <B> the type of a compressed block
+ */
+abstract class BlockParallelOutputStream<B> extends OutputStream {
+
+    private final OutputStream m_out;
+
+    private final int m_blockSize;
+
+    private final OrderedTasks<B> m_tasks;
+
+    private byte[] m_block;
+
+    private int m_blockLength;
+
+    /** The previously submitted block, which must not be modified anymore. */
+    private byte[] m_previous;
+
+    private int m_previousLength;
+
+    private boolean m_closed;
+
+    /**
+     * Constructor.
+     *
+     * @param out the underlying stream
+     * @param blockSize the number of uncompressed bytes per block
+     * @param parallelism the maximum number of blocks compressed concurrently
+     */
+    BlockParallelOutputStream(final OutputStream out, final int blockSize, final int parallelism) {
+        m_out = out;
+        m_blockSize = blockSize;
+        m_tasks = new OrderedTasks<>(parallelism, b -> writeBlock(b, m_out), b -> {
+        });
+        m_block = new byte[blockSize];
+    }
+
+    /**
+     * Compresses a single block. This method is called concurrently and must not modify the passed arrays.
+     *
+     * @param data the uncompressed block
+     * @param length the number of valid bytes in the block
+     * @param previous the previous block or {@code null} if this is the first block
+     * @param previousLength the number of valid bytes in the previous block
+     * @param last {@code true} if this is the last block, which may be empty
+     * @return the compressed block
+     * @throws IOException if the block cannot be compressed
+     */
+    abstract B compress(byte[] data, int length, byte[] previous, int previousLength, boolean last)
+        throws IOException;
+
+    /**
+     * Called in order for every block before it is compressed.
+     *
+     * @param data the uncompressed block
+     * @param length the number of valid bytes in the block
+     */
+    void update(final byte[] data, final int length) {
+        // nothing to do by default
+    }
+
+    /**
+     * Writes a compressed block. This method is called in the order of the blocks.
+     *
+     * @param block the compressed block
+     * @param out the underlying stream
+     * @throws IOException if the block cannot be written
+     */
+    abstract void writeBlock(B block, OutputStream out) throws IOException;
+
+    /**
+     * Writes the trailer after all blocks have been written.
+     *
+     * @param out the underlying stream
+     * @throws IOException if the trailer cannot be written
+     */
+    abstract void writeTrailer(OutputStream out) throws IOException;
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        m_block[m_blockLength++] = (byte)b;
+        if (m_blockLength == m_blockSize) {
+            submit(false);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            final int n = Math.min(len, m_blockSize - m_blockLength);
+            System.arraycopy(b, off, m_block, m_blockLength, n);
+            m_blockLength += n;
+            off += n;
+            len -= n;
+            if (m_blockLength == m_blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (m_closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submit(final boolean last) throws IOException {
+        final byte[] block = m_block;
+        final int length = m_blockLength;
+        final byte[] previous = m_previous;
+        final int previousLength = m_previousLength;
+        update(block, length);
+        m_tasks.submit(() -> compress(block, length, previous, previousLength, last));
+        m_previous = block;
+        m_previousLength = length;
+        m_block = last ? null : new byte[m_blockSize];
+        m_blockLength = 0;
+    }
+
+    /**
+     * Flushes the underlying stream. Data of the current block is not compressed before the block is full, since this
+     * would change the output.
+     */
+    @Override
+    public void flush() throws IOException {
+        m_out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (m_closed) {
+            return;
+        }
+        m_closed = true;
+        try (final OutputStream out = m_out) {
+            submit(true);
+            m_tasks.drain();
+            writeTrailer(out);
+        } catch (IOException | RuntimeException e) { // NOSONAR we rethrow
+            m_tasks.cancel();
+            throw e;
+        }
+    }
+
+}
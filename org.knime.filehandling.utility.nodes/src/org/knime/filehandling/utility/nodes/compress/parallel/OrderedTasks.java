@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.util.CheckedExceptionConsumer;
+import org.knime.filehandling.core.util.ThreadPoolUtil;
+
+/**
+ * A bounded queue of compression tasks running on the KNIME thread pool whose results are consumed in the order the
+ * tasks have been submitted.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @param <T> the result type of the tasks
+ */
+final class OrderedTasks<T> {
+
+    /** The number of tasks per thread that may be pending at most. */
+    private static final int PENDING_PER_THREAD = 2;
+
+    private final ThreadPool m_pool;
+
+    private final int m_maxPending;
+
+    private final Deque<Future<T>> m_pending = new ArrayDeque<>();
+
+    private final CheckedExceptionConsumer<T, IOException> m_consumer;
+
+    private final CheckedExceptionConsumer<T, IOException> m_discard;
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism the maximum number of tasks running concurrently
+     * @param consumer consumes the results in submission order
+     * @param discard releases the resources held by a result that is not going to be consumed
+     */
+    OrderedTasks(final int parallelism, final CheckedExceptionConsumer<T, IOException> consumer,
+        final CheckedExceptionConsumer<T, IOException> discard) {
+        m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(parallelism);
+        m_maxPending = PENDING_PER_THREAD * parallelism;
+        m_consumer = consumer;
+        m_discard = discard;
+    }
+
+    /**
+     * Submits a task. If too many tasks are pending, the results of the oldest ones are consumed first.
+     *
+     * @param task the task to submit
+     * @throws IOException if a task failed or the consumer threw an exception
+     */
+    void submit(final Callable<T> task) throws IOException {
+        while (m_pending.size() >= m_maxPending) {
+            consumeOldest();
+        }
+        m_pending.add(m_pool.enqueue(task));
+    }
+
+    /**
+     * Waits for all pending tasks and consumes their results.
+     *
+     * @throws IOException if a task failed or the consumer threw an exception
+     */
+    void drain() throws IOException {
+        while (!m_pending.isEmpty()) {
+            consumeOldest();
+        }
+    }
+
+    /**
+     * Cancels all pending tasks and discards the results of those that have already finished.
+     */
+    void cancel() {
+        for (final Future<T> future : m_pending) {
+            if (!future.cancel(true) && !future.isCancelled()) {
+                try {
+                    m_discard.accept(future.get());
+                } catch (InterruptedException e) { // NOSONAR the future is done
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException | IOException e) { // NOSONAR nothing to discard
+                }
+            }
+        }
+        m_pending.clear();
+    }
+
+    private void consumeOldest() throws IOException {
+        final T result = await(m_pending.peekFirst());
+        m_pending.removeFirst();
+        m_consumer.accept(result);
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException {
+        return ThreadPoolUtil.awaitIO(future::get, "Interrupted while compressing");
+    }
+
+}
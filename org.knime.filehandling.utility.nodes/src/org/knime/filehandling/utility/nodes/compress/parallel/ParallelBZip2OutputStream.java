@@ -0,0 +1,241 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+
+/**
+ * A bzip2 output stream that compresses its blocks concurrently.
+ *
+ * <p>
+ * bzip2 already compresses its input in independent blocks. Each block of input is compressed into a separate
+ * single-block bzip2 stream. The compressed block is then cut out of that stream on the bit level and appended to the
+ * output. The stream checksum is combined from the block checksums. Unlike pbzip2, which concatenates whole streams,
+ * the output is a single bzip2 stream. Decompressors that stop after the first stream can therefore read it, too.
+ * </p>
+ *
+ * <p>
+ * A block holds 700,000 bytes of input. The run-length encoding applied before the block sorting expands data by at
+ * most a factor of 5/4, so a block always fits into the 900k block of the highest compression level.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ParallelBZip2OutputStream extends BlockParallelOutputStream<ParallelBZip2OutputStream.Block> {
+
+    private static final int BLOCK_SIZE = 700_000;
+
+    private static final int BLOCK_SIZE_100K = BZip2CompressorOutputStream.MAX_BLOCKSIZE;
+
+    private static final byte[] HEADER = {'B', 'Z', 'h', (byte)('0' + BLOCK_SIZE_100K)};
+
+    private static final long BLOCK_MAGIC = 0x314159265359L;
+
+    private static final long END_OF_STREAM_MAGIC = 0x177245385090L;
+
+    /** The length of the header, the block magic and the block checksum in bytes. */
+    private static final int BLOCK_CRC_END = HEADER.length + 6 + 4;
+
+    /** The number of bits written after the last block, i.e., the end of stream magic and the stream checksum. */
+    private static final int TRAILER_BITS = 48 + 32;
+
+    private final BitWriter m_bits;
+
+    private int m_streamCrc;
+
+    /**
+     * Constructor.
+     *
+     * @param out the underlying stream
+     * @param parallelism the maximum number of blocks compressed concurrently
+     * @throws IOException if the header cannot be written
+     */
+    public ParallelBZip2OutputStream(final OutputStream out, final int parallelism) throws IOException {
+        super(out, BLOCK_SIZE, parallelism);
+        m_bits = new BitWriter(out);
+        out.write(HEADER);
+    }
+
+    @Override
+    Block compress(final byte[] data, final int length, final byte[] previous, final int previousLength,
+        final boolean last) throws IOException {
+        if (length == 0) {
+            return null;
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+        try (final BZip2CompressorOutputStream bzip2 = new BZip2CompressorOutputStream(out, BLOCK_SIZE_100K)) {
+            bzip2.write(data, 0, length);
+        }
+        return Block.of(out.toByteArray());
+    }
+
+    @Override
+    void writeBlock(final Block block, final OutputStream out) throws IOException {
+        if (block != null) {
+            m_bits.write(block.m_stream, HEADER.length * 8L, block.m_endBit);
+            m_streamCrc = Integer.rotateLeft(m_streamCrc, 1) ^ block.m_crc;
+        }
+    }
+
+    @Override
+    void writeTrailer(final OutputStream out) throws IOException {
+        m_bits.write(END_OF_STREAM_MAGIC, 48);
+        m_bits.write(m_streamCrc & 0xFFFFFFFFL, 32);
+        m_bits.finish();
+    }
+
+    /**
+     * A compressed block, i.e., a single-block bzip2 stream together with the position where its block ends.
+     */
+    static final class Block {
+
+        private final byte[] m_stream;
+
+        private final long m_endBit;
+
+        private final int m_crc;
+
+        private Block(final byte[] stream, final long endBit, final int crc) {
+            m_stream = stream;
+            m_endBit = endBit;
+            m_crc = crc;
+        }
+
+        private static Block of(final byte[] stream) throws IOException {
+            if (stream.length < BLOCK_CRC_END || readBits(stream, HEADER.length * 8L, 48) != BLOCK_MAGIC) {
+                throw new IOException("Unexpected bzip2 stream layout");
+            }
+            final int crc = (int)readBits(stream, BLOCK_CRC_END * 8L - 32, 32);
+            // the stream is padded to a full byte, find the trailer following the block
+            for (int padding = 0; padding < 8; padding++) {
+                final long trailerStart = stream.length * 8L - padding - TRAILER_BITS;
+                if (readBits(stream, trailerStart, 48) == END_OF_STREAM_MAGIC
+                    && (int)readBits(stream, trailerStart + 48, 32) == crc) {
+                    return new Block(stream, trailerStart, crc);
+                }
+            }
+            // the stream contains more than one block
+            throw new IOException("Unexpected bzip2 stream layout");
+        }
+
+        private static long readBits(final byte[] data, final long start, final int count) {
+            long value = 0;
+            for (long i = start; i < start + count; i++) {
+                value = (value << 1) | ((data[(int)(i >>> 3)] >>> (7 - (i & 7))) & 1);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Writes bit sequences that do not start on byte boundaries.
+     */
+    private static final class BitWriter {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final OutputStream m_out;
+
+        private final byte[] m_buffer = new byte[BUFFER_SIZE];
+
+        private int m_bufferLength;
+
+        /** The pending bits, right-aligned. */
+        private long m_pending;
+
+        private int m_pendingCount;
+
+        BitWriter(final OutputStream out) {
+            m_out = out;
+        }
+
+        /** Writes the lowest {@code count} bits of the value, where {@code count <= 56}. */
+        void write(final long value, final int count) throws IOException {
+            m_pending = (m_pending << count) | (value & ((1L << count) - 1));
+            m_pendingCount += count;
+            while (m_pendingCount >= 8) {
+                m_pendingCount -= 8;
+                writeByte((int)(m_pending >>> m_pendingCount));
+            }
+        }
+
+        /** Writes the bits {@code [start, end)} of the data, where {@code start} is a multiple of 8. */
+        void write(final byte[] data, final long start, final long end) throws IOException {
+            final int fullBytesEnd = (int)(end >>> 3);
+            for (int i = (int)(start >>> 3); i < fullBytesEnd; i++) {
+                write(data[i], 8);
+            }
+            final int remaining = (int)(end & 7);
+            if (remaining > 0) {
+                write((data[fullBytesEnd] & 0xFF) >>> (8 - remaining), remaining);
+            }
+        }
+
+        private void writeByte(final int b) throws IOException {
+            if (m_bufferLength == m_buffer.length) {
+                m_out.write(m_buffer, 0, m_bufferLength);
+                m_bufferLength = 0;
+            }
+            m_buffer[m_bufferLength++] = (byte)b;
+        }
+
+        /** Pads the pending bits with zeros to a full byte and writes the buffer. */
+        void finish() throws IOException {
+            if (m_pendingCount > 0) {
+                write(0, 8 - m_pendingCount);
+            }
+            m_out.write(m_buffer, 0, m_bufferLength);
+            m_bufferLength = 0;
+        }
+    }
+
+}
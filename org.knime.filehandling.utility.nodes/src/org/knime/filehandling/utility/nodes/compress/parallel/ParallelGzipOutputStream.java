@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A gzip output stream that deflates blocks of 128 KiB concurrently, the way pigz does.
+ *
+ * <p>
+ * Every block is deflated with the last 32 KiB of the previous block as preset dictionary and ends with a sync flush,
+ * i.e., on a byte boundary. Hence the concatenated blocks form a single deflate stream and the output is a single gzip
+ * member that can be read by any gzip implementation. The checksum is computed while the blocks are submitted.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ParallelGzipOutputStream extends BlockParallelOutputStream<byte[]> {
+
+    private static final int BLOCK_SIZE = 128 * 1024;
+
+    /** The size of the deflate window. */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    /** The operating system field of the header, same as written by commons-compress. */
+    private static final int OS_UNKNOWN = 255;
+
+    private final int m_level;
+
+    private final CRC32 m_crc = new CRC32();
+
+    private long m_size;
+
+    /**
+     * Constructor using the default compression level.
+     *
+     * @param out the underlying stream
+     * @param parallelism the maximum number of blocks deflated concurrently
+     * @throws IOException if the header cannot be written
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final int parallelism) throws IOException {
+        this(out, Deflater.DEFAULT_COMPRESSION, parallelism);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param out the underlying stream
+     * @param level the compression level
+     * @param parallelism the maximum number of blocks deflated concurrently
+     * @throws IOException if the header cannot be written
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final int level, final int parallelism)
+        throws IOException {
+        super(out, BLOCK_SIZE, parallelism);
+        m_level = level;
+        writeHeader(out);
+    }
+
+    private void writeHeader(final OutputStream out) throws IOException {
+        final int extraFlags;
+        if (m_level == Deflater.BEST_COMPRESSION) {
+            extraFlags = 2;
+        } else if (m_level == Deflater.BEST_SPEED) {
+            extraFlags = 4;
+        } else {
+            extraFlags = 0;
+        }
+        out.write(new byte[]{(byte)GZIP_MAGIC, (byte)(GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0,
+            (byte)extraFlags, (byte)OS_UNKNOWN});
+    }
+
+    @Override
+    void update(final byte[] data, final int length) {
+        m_crc.update(data, 0, length);
+        m_size += length;
+    }
+
+    @Override
+    byte[] compress(final byte[] data, final int length, final byte[] previous, final int previousLength,
+        final boolean last) {
+        final Deflater deflater = new Deflater(m_level, true);
+        try {
+            if (previous != null) {
+                final int dictionaryLength = Math.min(DICTIONARY_SIZE, previousLength);
+                deflater.setDictionary(previous, previousLength - dictionaryLength, dictionaryLength);
+            }
+            deflater.setInput(data, 0, length);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    void writeBlock(final byte[] block, final OutputStream out) throws IOException {
+        out.write(block);
+    }
+
+    @Override
+    void writeTrailer(final OutputStream out) throws IOException {
+        writeInt(out, m_crc.getValue());
+        writeInt(out, m_size);
+    }
+
+    private static void writeInt(final OutputStream out, final long value) throws IOException {
+        out.write(new byte[]{(byte)value, (byte)(value >> 8), (byte)(value >> 16), (byte)(value >> 24)});
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * Writes zip archive entries whose content is deflated concurrently.
+ *
+ * <p>
+ * The files are deflated into buffers, similar to commons-compress' {@code ParallelScatterZipCreator}. Unlike the
+ * latter, the deflated entries are added to the archive in the order they have been submitted, so the archive does not
+ * depend on the number of threads. At most a small multiple of the parallelism many entries are buffered at any time.
+ * Each of them keeps at most 1 MiB in memory and is spilled to a temporary file beyond that.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ParallelZipEntryWriter implements Closeable {
+
+    private static final int MEMORY_THRESHOLD = 1 << 20;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderedTasks<DeflatedEntry> m_tasks;
+
+    /**
+     * Constructor.
+     *
+     * @param out the archive stream the entries are added to
+     * @param parallelism the maximum number of files deflated concurrently
+     */
+    public ParallelZipEntryWriter(final ZipArchiveOutputStream out, final int parallelism) {
+        m_tasks = new OrderedTasks<>(parallelism, e -> e.writeTo(out), DeflatedEntry::close);
+    }
+
+    /**
+     * Submits an entry. Its content is deflated concurrently and it is added to the archive after all previously
+     * submitted entries.
+     *
+     * @param file the file to compress
+     * @param entry the zip archive entry describing the file
+     * @throws IOException if an entry cannot be deflated or written
+     */
+    public void write(final Path file, final ArchiveEntry entry) throws IOException {
+        final ZipArchiveEntry zipEntry = (ZipArchiveEntry)entry;
+        if (zipEntry.isDirectory()) {
+            m_tasks.submit(() -> new DeflatedEntry(zipEntry, null));
+        } else {
+            m_tasks.submit(() -> deflate(file, zipEntry));
+        }
+    }
+
+    /**
+     * Waits until all submitted entries have been added to the archive.
+     *
+     * @throws IOException if an entry cannot be deflated or written
+     */
+    public void finish() throws IOException {
+        m_tasks.drain();
+    }
+
+    /**
+     * Cancels all entries that have not been added to the archive yet and releases their buffers.
+     */
+    @Override
+    public void close() {
+        m_tasks.cancel();
+    }
+
+    private static DeflatedEntry deflate(final Path file, final ZipArchiveEntry entry) throws IOException {
+        final SpillBuffer buffer = new SpillBuffer(MEMORY_THRESHOLD);
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (final CheckedInputStream in = new CheckedInputStream(Files.newInputStream(file), new CRC32())) {
+            final byte[] bytes = new byte[BUFFER_SIZE];
+            long size = 0;
+            // closing the deflater stream would release the buffer
+            final DeflaterOutputStream out = new DeflaterOutputStream(buffer, deflater, BUFFER_SIZE); //NOSONAR
+            int n;
+            while ((n = in.read(bytes)) >= 0) {
+                out.write(bytes, 0, n);
+                size += n;
+            }
+            out.finish();
+            entry.setMethod(ZipArchiveEntry.DEFLATED);
+            entry.setSize(size);
+            entry.setCompressedSize(buffer.size());
+            entry.setCrc(in.getChecksum().getValue());
+            return new DeflatedEntry(entry, buffer);
+        } catch (IOException | RuntimeException e) { // NOSONAR we rethrow
+            buffer.close();
+            throw e;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * A zip archive entry together with its deflated content.
+     */
+    private static final class DeflatedEntry {
+
+        private final ZipArchiveEntry m_entry;
+
+        private final SpillBuffer m_data;
+
+        DeflatedEntry(final ZipArchiveEntry entry, final SpillBuffer data) {
+            m_entry = entry;
+            m_data = data;
+        }
+
+        void writeTo(final ZipArchiveOutputStream out) throws IOException {
+            if (m_data == null) {
+                out.putArchiveEntry(m_entry);
+                out.closeArchiveEntry();
+                return;
+            }
+            try (final InputStream in = m_data.newInputStream()) {
+                out.addRawArchiveEntry(m_entry, in);
+            } finally {
+                close();
+            }
+        }
+
+        void close() throws IOException {
+            if (m_data != null) {
+                m_data.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH): created
+ */
+package org.knime.filehandling.utility.nodes.compress.parallel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.knime.core.util.FileUtil;
+
+/**
+ * An output stream that keeps its data in memory up to a threshold and spills it to a temporary file beyond that.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class SpillBuffer extends OutputStream {
+
+    private final int m_threshold;
+
+    private ByteArrayOutputStream m_memory = new ByteArrayOutputStream();
+
+    private File m_file;
+
+    private OutputStream m_fileStream;
+
+    private long m_size;
+
+    /**
+     * Constructor.
+     *
+     * @param threshold the number of bytes kept in memory at most
+     */
+    SpillBuffer(final int threshold) {
+        m_threshold = threshold;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte)b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (m_fileStream == null && m_memory.size() + len > m_threshold) {
+            m_file = FileUtil.createTempFile("knime_compress_", ".tmp");
+            m_fileStream = Files.newOutputStream(m_file.toPath());
+            m_memory.writeTo(m_fileStream);
+            m_memory = null;
+        }
+        if (m_fileStream != null) {
+            m_fileStream.write(b, off, len);
+        } else {
+            m_memory.write(b, off, len);
+        }
+        m_size += len;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return the number of bytes written
+     */
+    long size() {
+        return m_size;
+    }
+
+    /**
+     * Closes the buffer for writing and returns a stream reading the written data.
+     *
+     * @return a stream reading the written data
+     * @throws IOException if the temporary file cannot be read
+     */
+    InputStream newInputStream() throws IOException {
+        if (m_fileStream == null) {
+            return new ByteArrayInputStream(m_memory.toByteArray());
+        }
+        m_fileStream.close();
+        return Files.newInputStream(m_file.toPath());
+    }
+
+    /**
+     * Releases the data, i.e., deletes the temporary file if there is one.
+     */
+    @Override
+    public void close() throws IOException {
+        m_memory = null;
+        if (m_fileStream != null) {
+            m_fileStream.close();
+            Files.deleteIfExists(m_file.toPath());
+        }
+    }
+
+}
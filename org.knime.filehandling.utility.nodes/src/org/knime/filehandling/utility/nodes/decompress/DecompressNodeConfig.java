@@ -56,6 +56,8 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.context.ports.PortsConfiguration;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.filehandling.core.connections.FSCategory;
 import org.knime.filehandling.core.defaultnodesettings.EnumConfig;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.reader.SettingsModelReaderFileChooser;
@@ -74,10 +76,18 @@ final class DecompressNodeConfig {
 
     private static final String CFG_OUTPUT_LOCATION = "destination_location";
 
+    private static final String CFG_FILTER_ENTRIES = "filter_entries";
+
+    private static final String CFG_ENTRY_FILTER = "entry_filter";
+
     private SettingsModelReaderFileChooser m_inputFileChooserModel;
 
     private SettingsModelWriterFileChooser m_outputDirChooserModel;
 
+    private final SettingsModelBoolean m_filterEntriesModel = new SettingsModelBoolean(CFG_FILTER_ENTRIES, false);
+
+    private final SettingsModelString m_entryFilterModel = new SettingsModelString(CFG_ENTRY_FILTER, "*");
+
     private static final String BZ2_EXTENSION = "bz2";
 
     private static final String GZIP_EXTENSION = "gzip";
@@ -107,21 +117,58 @@ public DecompressNodeConfig(final PortsConfiguration portsConfig) {
             DecompressNodeFactory.CONNECTION_OUTPUT_DIR_PORT_GRP_NAME, EnumConfig.create(FilterMode.FOLDER),
             EnumConfig.create(FileOverwritePolicy.IGNORE, FileOverwritePolicy.OVERWRITE, FileOverwritePolicy.FAIL),
             EnumSet.of(FSCategory.LOCAL, FSCategory.MOUNTPOINT, FSCategory.RELATIVE));
+
+        m_entryFilterModel.setEnabled(false);
+        m_filterEntriesModel
+            .addChangeListener(l -> m_entryFilterModel.setEnabled(m_filterEntriesModel.getBooleanValue()));
     }
 
     void validateSettingsForModel(final NodeSettingsRO settings) throws InvalidSettingsException {
         m_inputFileChooserModel.validateSettings(settings);
         m_outputDirChooserModel.validateSettings(settings);
+        // introduced with 4.6
+        if (settings.containsKey(CFG_FILTER_ENTRIES)) {
+            m_filterEntriesModel.validateSettings(settings);
+            m_entryFilterModel.validateSettings(settings);
+        }
     }
 
     void loadSettingsForModel(final NodeSettingsRO settings) throws InvalidSettingsException {
         m_inputFileChooserModel.loadSettingsFrom(settings);
         m_outputDirChooserModel.loadSettingsFrom(settings);
+        // introduced with 4.6, older workflows extract all entries
+        if (settings.containsKey(CFG_FILTER_ENTRIES)) {
+            m_filterEntriesModel.loadSettingsFrom(settings);
+            m_entryFilterModel.loadSettingsFrom(settings);
+        } else {
+            m_filterEntriesModel.setBooleanValue(false);
+        }
     }
 
     void saveSettingsForModel(final NodeSettingsWO settings) {
         m_inputFileChooserModel.saveSettingsTo(settings);
         m_outputDirChooserModel.saveSettingsTo(settings);
+        m_filterEntriesModel.saveSettingsTo(settings);
+        m_entryFilterModel.saveSettingsTo(settings);
+    }
+
+    /**
+     * Returns the {@link SettingsModelBoolean} storing whether only the entries matching the entry filter are
+     * extracted.
+     *
+     * @return the {@link SettingsModelBoolean} storing the filter entries flag
+     */
+    SettingsModelBoolean getFilterEntriesModel() {
+        return m_filterEntriesModel;
+    }
+
+    /**
+     * Returns the {@link SettingsModelString} storing the wildcard pattern the extracted entries have to match.
+     *
+     * @return the {@link SettingsModelString} storing the entry filter
+     */
+    SettingsModelString getEntryFilterModel() {
+        return m_entryFilterModel;
     }
 
     /**
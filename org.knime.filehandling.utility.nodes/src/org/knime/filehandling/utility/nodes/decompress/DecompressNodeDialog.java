@@ -59,6 +59,8 @@
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.NotConfigurableException;
 import org.knime.core.node.context.ports.PortsConfiguration;
+import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
+import org.knime.core.node.defaultnodesettings.DialogComponentString;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.filehandling.core.data.location.variable.FSLocationVariableType;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.reader.DialogComponentReaderFileChooser;
@@ -78,6 +80,10 @@ final class DecompressNodeDialog extends NodeDialogPane {
 
     private final DialogComponentWriterFileChooser m_outputDirChooserPanel;
 
+    private final DialogComponentBoolean m_filterEntries;
+
+    private final DialogComponentString m_entryFilter;
+
     private final DecompressNodeConfig m_config;
 
     DecompressNodeDialog(final PortsConfiguration portsConfig) {
@@ -95,6 +101,9 @@ final class DecompressNodeDialog extends NodeDialogPane {
 
         m_config.getInputFileChooserModel().addChangeListener(l -> m_outputDirChooserPanel.updateComponent());
 
+        m_filterEntries = new DialogComponentBoolean(m_config.getFilterEntriesModel(), "Extract only entries matching");
+        m_entryFilter = new DialogComponentString(m_config.getEntryFilterModel(), null, true, 30);
+
         addTab("Settings", initLayout());
     }
 
@@ -105,6 +114,8 @@ private JPanel initLayout() {
         panel.add(createInputFilePanel(), gbc.build());
         gbc.incY();
         panel.add(createOutputDirPanel(), gbc.build());
+        gbc.incY();
+        panel.add(createOptionsPanel(), gbc.build());
         gbc.incY().setWeightY(1);
         panel.add(new JPanel(), gbc.build());
 
@@ -133,10 +144,22 @@ private JPanel createOutputDirPanel() {
         return filePanel;
     }
 
+    private JPanel createOptionsPanel() {
+        final JPanel optionsPanel = new JPanel(new GridBagLayout());
+        final GBCBuilder gbc = new GBCBuilder().resetX().resetY().anchorLineStart();
+        optionsPanel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), "Options"));
+        optionsPanel.add(m_filterEntries.getComponentPanel(), gbc.build());
+        optionsPanel.add(m_entryFilter.getComponentPanel(), gbc.incX().build());
+        optionsPanel.add(new JPanel(), gbc.incX().fillHorizontal().setWeightX(1).build());
+        return optionsPanel;
+    }
+
     @Override
     protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSettingsException {
         m_inputFileChooserPanel.saveSettingsTo(settings);
         m_outputDirChooserPanel.saveSettingsTo(settings);
+        m_filterEntries.saveSettingsTo(settings);
+        m_entryFilter.saveSettingsTo(settings);
     }
 
     @Override
@@ -144,5 +167,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         throws NotConfigurableException {
         m_inputFileChooserPanel.loadSettingsFrom(settings, specs);
         m_outputDirChooserPanel.loadSettingsFrom(settings, specs);
+        m_filterEntries.loadSettingsFrom(settings, specs);
+        m_entryFilter.loadSettingsFrom(settings, specs);
     }
 }
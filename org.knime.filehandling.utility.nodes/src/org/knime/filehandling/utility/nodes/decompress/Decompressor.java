@@ -52,22 +52,34 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.RowKey;
@@ -75,19 +87,29 @@
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.StringCell.StringCellFactory;
 import org.knime.core.data.util.CancellableReportingInputStream;
+import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.streamable.RowOutput;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.data.location.cell.SimpleFSLocationCellFactory;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
+import org.knime.filehandling.core.util.ConcurrentPathTransfer;
+import org.knime.filehandling.core.util.WildcardToRegexUtil;
 import org.knime.filehandling.utility.nodes.utils.FileStatus;
 
 /**
  * Decompresses and unarchives a source file to a specified destination.
  *
+ * <p>
+ * Uncompressed zip archives are not streamed but read via their central directory, which allows to extract the
+ * entries concurrently. All other formats are extracted sequentially from a single stream. In both cases the rows
+ * are pushed in the order of the entries in the archive.
+ * </p>
+ *
  * @author Lars Schweikardt, KNIME GmbH, Konstanz, Germany
  */
 final class Decompressor {
@@ -100,6 +122,9 @@ final class Decompressor {
 
     private static final int STATUS_CELL_IDX = 2;
 
+    /** The maximum number of zip file entries that are extracted concurrently before their rows are pushed. */
+    private static final int ZIP_BATCH_SIZE = 1024;
+
     private boolean m_isCompressed = false;
 
     private boolean m_isArchived = false;
@@ -114,12 +139,29 @@ final class Decompressor {
 
     private final SimpleFSLocationCellFactory m_locationCellFactory;
 
+    private final Predicate<String> m_entryFilter;
+
+    /** The rows not yet pushed, {@code null} elements are placeholders for files that are still being extracted. */
+    private final List<DataCell[]> m_pendingRows = new ArrayList<>();
+
+    private long m_rowId = 0;
+
     Decompressor(final DecompressNodeConfig config, final RowOutput rowOutput, final ExecutionContext exec) {
         m_config = config;
         m_rowOutput = rowOutput;
         m_exec = exec;
         m_writeFileFunction = getWriteFileFunction(m_config.getOutputDirChooserModel().getFileOverwritePolicy());
         m_locationCellFactory = new SimpleFSLocationCellFactory(m_config.getOutputDirChooserModel().getLocation());
+        m_entryFilter = createEntryFilter(m_config);
+    }
+
+    private static Predicate<String> createEntryFilter(final DecompressNodeConfig config) {
+        if (!config.getFilterEntriesModel().getBooleanValue()) {
+            return name -> true;
+        }
+        final Pattern pattern =
+            Pattern.compile(WildcardToRegexUtil.wildcardToRegex(config.getEntryFilterModel().getStringValue()));
+        return name -> pattern.matcher(name).matches();
     }
 
     /**
@@ -130,9 +172,15 @@ final class Decompressor {
      * @throws IOException
      * @throws InterruptedException
      * @throws InvalidSettingsException
+     * @throws CanceledExecutionException
      */
     void decompress(final FSPath sourcePath, final FSPath destinationPath)
-        throws IOException, InterruptedException, InvalidSettingsException {
+        throws IOException, InterruptedException, InvalidSettingsException, CanceledExecutionException {
+        if (isZipArchive(sourcePath)) {
+            createParentDirIfRequired(destinationPath);
+            decompressZip(sourcePath, destinationPath);
+            return;
+        }
         final long fileSize = Files.readAttributes(sourcePath, BasicFileAttributes.class).size();
         try (final InputStream sourceStream =
             new CancellableReportingInputStream(Files.newInputStream(sourcePath), m_exec, fileSize)) {
@@ -150,6 +198,25 @@ void decompress(final FSPath sourcePath, final FSPath destinationPath)
         }
     }
 
+    /**
+     * Checks whether the source is an uncompressed, non-split zip archive, i.e., starts with a local file header or is
+     * an empty archive.
+     *
+     * @param sourcePath the source {@link FSPath} of the file
+     * @return {@code true} if the source can be read as {@link ZipFile}
+     * @throws IOException
+     */
+    private static boolean isZipArchive(final FSPath sourcePath) throws IOException {
+        final byte[] signature = new byte[ZipArchiveOutputStream.LFH_SIG.length];
+        try (final InputStream in = Files.newInputStream(sourcePath)) {
+            if (IOUtils.readFully(in, signature) < signature.length) {
+                return false;
+            }
+        }
+        return Arrays.equals(signature, ZipArchiveOutputStream.LFH_SIG)
+            || Arrays.equals(signature, ZipArchiveOutputStream.EOCD_SIG);
+    }
+
     /**
      * Creates destination directory if needed.
      *
@@ -260,21 +327,101 @@ private InputStream openUncompressStream(final InputStream source) {
     private void decompressArchive(final ArchiveInputStream archiveInputStream, final FSPath destinationPath)
         throws IOException, InterruptedException {
         final Set<String> processedDirs = new HashSet<>();
-        long rowId = 0;
         ArchiveEntry entry;
 
         // Process each archive entry
         while ((entry = archiveInputStream.getNextEntry()) != null) {
+            if (!m_entryFilter.test(entry.getName())) {
+                continue;
+            }
             final Path outputFilePath = destinationPath.resolve(entry.getName());
             final boolean isDirectory = entry.isDirectory();
             m_exec.setMessage("Decompressing " + outputFilePath);
-            rowId = createDirectories(destinationPath, rowId, processedDirs, outputFilePath, isDirectory);
+            createDirectories(destinationPath, processedDirs, outputFilePath, isDirectory);
             if (!isDirectory) {
                 final FileStatus status = m_writeFileFunction.apply(archiveInputStream, outputFilePath);
-                pushRow(rowId, outputFilePath, status, false);
-                rowId++;
+                addRow(outputFilePath, status, false);
+            }
+            pushPendingRows();
+        }
+    }
+
+    /**
+     * Decompresses an uncompressed zip archive by reading its central directory and extracting the files
+     * concurrently. The entries are processed in the order in which they are stored in the archive.
+     *
+     * @param sourcePath the source {@link FSPath} of the zip archive
+     * @param destinationPath the {@link FSPath} to the destination
+     * @throws IOException
+     * @throws InterruptedException
+     * @throws CanceledExecutionException
+     */
+    private void decompressZip(final FSPath sourcePath, final FSPath destinationPath)
+        throws IOException, InterruptedException, CanceledExecutionException {
+        final ConcurrentPathTransfer transfer =
+            new ConcurrentPathTransfer(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads());
+        try (final SeekableByteChannel channel = Files.newByteChannel(sourcePath);
+                final ZipFile zipFile =
+                    new ZipFile(channel, sourcePath.toString(), StandardCharsets.UTF_8.name(), true)) {
+            final List<ZipArchiveEntry> entries = new ArrayList<>();
+            for (final ZipArchiveEntry entry : Collections.list(zipFile.getEntriesInPhysicalOrder())) {
+                if (m_entryFilter.test(entry.getName())) {
+                    entries.add(entry);
+                }
+            }
+            final double entryFraction = 1d / Math.max(entries.size(), 1);
+            final Set<String> processedDirs = new HashSet<>();
+            final Set<Path> batchFiles = new HashSet<>();
+            final List<ZipArchiveEntry> batch = new ArrayList<>();
+            long processed = 0;
+            for (final ZipArchiveEntry entry : entries) {
+                m_exec.checkCanceled();
+                final Path outputFilePath = destinationPath.resolve(entry.getName());
+                final boolean isDirectory = entry.isDirectory();
+                // entries writing the same file must not be extracted concurrently
+                if (!isDirectory && (batch.size() == ZIP_BATCH_SIZE || !batchFiles.add(outputFilePath))) {
+                    extractZipBatch(zipFile, batch, destinationPath, transfer, batch.size() * entryFraction);
+                    batchFiles.clear();
+                    batchFiles.add(outputFilePath);
+                }
+                createDirectories(destinationPath, processedDirs, outputFilePath, isDirectory);
+                if (!isDirectory) {
+                    // placeholder that is replaced once the file has been extracted
+                    m_pendingRows.add(null);
+                    batch.add(entry);
+                }
+                processed++;
+                m_exec.setMessage(String.format("Decompressing entry %d of %d", processed, entries.size()));
+            }
+            extractZipBatch(zipFile, batch, destinationPath, transfer, batch.size() * entryFraction);
+        }
+    }
+
+    /**
+     * Concurrently extracts the files of the batch, fills in their pending rows and pushes all pending rows.
+     */
+    private void extractZipBatch(final ZipFile zipFile, final List<ZipArchiveEntry> batch, final FSPath destinationPath,
+        final ConcurrentPathTransfer transfer, final double fraction)
+        throws IOException, InterruptedException, CanceledExecutionException {
+        final List<FileStatus> statuses = transfer.transfer(batch,
+            e -> extractZipEntry(zipFile, e, destinationPath.resolve(e.getName())), m_exec.createSubProgress(fraction));
+        int fileIdx = 0;
+        for (int i = 0; i < m_pendingRows.size(); i++) {
+            if (m_pendingRows.get(i) == null) {
+                final Path outputFilePath = destinationPath.resolve(batch.get(fileIdx).getName());
+                m_pendingRows.set(i, createRow(outputFilePath, statuses.get(fileIdx), false));
+                fileIdx++;
             }
         }
+        pushPendingRows();
+        batch.clear();
+    }
+
+    private FileStatus extractZipEntry(final ZipFile zipFile, final ZipArchiveEntry entry, final Path outputFilePath)
+        throws IOException {
+        try (final InputStream entryStream = zipFile.getInputStream(entry)) {
+            return m_writeFileFunction.apply(entryStream, outputFilePath);
+        }
     }
 
     /**
@@ -289,50 +436,55 @@ private void decompressFile(final InputStream uncompressInputStream, final FSPat
         final Path outputFilePath = destinationPath.resolve(FilenameUtils.getBaseName(sourcePath.toString()));
         m_exec.setMessage("Decompressing " + outputFilePath);
         final FileStatus status = m_writeFileFunction.apply(uncompressInputStream, outputFilePath);
-        pushRow(0, outputFilePath, status, false);
+        addRow(outputFilePath, status, false);
+        pushPendingRows();
     }
 
-    private long createDirectories(final FSPath destinationPath, long rowId, final Set<String> processedDirs,
-        final Path outputFilePath, final boolean isDirectory) throws IOException, InterruptedException {
+    private void createDirectories(final FSPath destinationPath, final Set<String> processedDirs,
+        final Path outputFilePath, final boolean isDirectory) throws IOException {
         final Path relDestPath = destinationPath.relativize(outputFilePath);
         if (isDirectory) {
-            rowId = createDirectories(processedDirs, rowId, relDestPath, outputFilePath);
+            createDirectories(processedDirs, relDestPath, outputFilePath);
         } else {
-            rowId = createDirectories(processedDirs, rowId, relDestPath.getParent(), outputFilePath.getParent());
+            createDirectories(processedDirs, relDestPath.getParent(), outputFilePath.getParent());
         }
-        return rowId;
     }
 
-    private long createDirectories(final Set<String> processedDirs, final long rowId, final Path relDestPath,
-        final Path destPath) throws IOException, InterruptedException {
-        if (relDestPath == null) {
-            return rowId;
+    private void createDirectories(final Set<String> processedDirs, final Path relDestPath, final Path destPath)
+        throws IOException {
+        if (relDestPath == null || !processedDirs.add(relDestPath.toString())) {
+            return;
+        }
+        //The recursion is necessary since we want to create a row for every folder
+        createDirectories(processedDirs, relDestPath.getParent(), destPath.getParent());
+        final FileStatus status;
+        if (FSFiles.exists(destPath)) {
+            status = FileStatus.ALREADY_EXISTED;
         } else {
-            if (!processedDirs.add(relDestPath.toString())) {
-                return rowId;
-            }
-            final long idx;
-            //The recursion is necessary since we want to create a row for every folder
-            idx = createDirectories(processedDirs, rowId, relDestPath.getParent(), destPath.getParent());
-            final FileStatus status;
-            if (FSFiles.exists(destPath)) {
-                status = FileStatus.ALREADY_EXISTED;
-            } else {
-                FSFiles.createDirectories(destPath);
-                status = FileStatus.CREATED;
-            }
-            pushRow(idx, destPath, status, true);
-            return idx + 1;
+            FSFiles.createDirectories(destPath);
+            status = FileStatus.CREATED;
         }
+        addRow(destPath, status, true);
+    }
+
+    private void addRow(final Path destinationPath, final FileStatus status, final boolean isDirectory) {
+        m_pendingRows.add(createRow(destinationPath, status, isDirectory));
     }
 
-    private void pushRow(final long rowId, final Path destinationPath, final FileStatus status,
-        final boolean isDirectory) throws InterruptedException {
+    private DataCell[] createRow(final Path destinationPath, final FileStatus status, final boolean isDirectory) {
         final DataCell[] row = new DataCell[3];
         row[LOCATION_CELL_IDX] = m_locationCellFactory.createCell(destinationPath.toString());
         row[DIRECTORY_CELL_IDX] = BooleanCellFactory.create(isDirectory);
         row[STATUS_CELL_IDX] = StringCellFactory.create(status.getText());
-        m_rowOutput.push(new DefaultRow(RowKey.createRowKey(rowId), row));
+        return row;
+    }
+
+    private void pushPendingRows() throws InterruptedException {
+        for (final DataCell[] row : m_pendingRows) {
+            m_rowOutput.push(new DefaultRow(RowKey.createRowKey(m_rowId), row));
+            m_rowId++;
+        }
+        m_pendingRows.clear();
     }
 
     /**
@@ -52,6 +52,7 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.SettingsModelWriterFileChooser;
 import org.knime.filehandling.utility.nodes.transfer.policy.TransferPolicy;
@@ -80,6 +81,12 @@ public abstract class AbstractTransferFilesNodeConfig {
     /** Config key for the transfer policy. */
     protected static final String CFG_TRANSFER_POLICY = "transfer_policy";
 
+    /** Config key for the number of concurrent transfers. */
+    private static final String CFG_CONCURRENT_TRANSFERS = "concurrent_transfers";
+
+    /** The maximum number of concurrent transfers. */
+    private static final int MAX_CONCURRENT_TRANSFERS = 64;
+
     /** The file chooser model. */
     private final SettingsModelWriterFileChooser m_destinationFileChooserModel;
 
@@ -100,6 +107,10 @@ public abstract class AbstractTransferFilesNodeConfig {
     /** The verbose output settings model. */
     private final SettingsModelBoolean m_verboseOutputModel;
 
+    /** The number of concurrent transfers settings model. */
+    private final SettingsModelIntegerBounded m_concurrentTransfersModel =
+        new SettingsModelIntegerBounded(CFG_CONCURRENT_TRANSFERS, 1, 1, MAX_CONCURRENT_TRANSFERS);
+
     /**
      * Constructor.
      *
@@ -171,6 +182,15 @@ final SettingsModelBoolean getFailOnDeletionModel() {
         return m_failOnDeletionModel;
     }
 
+    /**
+     * Returns the {@link SettingsModelIntegerBounded} storing the number of concurrent transfers.
+     *
+     * @return the concurrent transfers model
+     */
+    final SettingsModelIntegerBounded getConcurrentTransfersModel() {
+        return m_concurrentTransfersModel;
+    }
+
     /**
      * Returns the flag indicating whether or not to fail if the source file/folder does not exist.
      *
@@ -218,6 +238,10 @@ final void validateSettingsForModel(final NodeSettingsRO settings) throws Invali
         m_truncationSettings.validateSettingsForModel(settings);
         m_verboseOutputModel.validateSettings(settings);
         m_transferPolicyModel.validateSettings(settings);
+        // introduced with 4.6
+        if (settings.containsKey(CFG_CONCURRENT_TRANSFERS)) {
+            m_concurrentTransfersModel.validateSettings(settings);
+        }
         validateAdditionalSettingsForModel(settings);
     }
 
@@ -242,6 +266,7 @@ final void saveSettingsForModel(final NodeSettingsWO settings) {
         m_failOnDeletionModel.saveSettingsTo(settings);
         m_verboseOutputModel.saveSettingsTo(settings);
         m_transferPolicyModel.saveSettingsTo(settings);
+        m_concurrentTransfersModel.saveSettingsTo(settings);
     }
 
     /**
@@ -266,6 +291,12 @@ final void loadSettingsInModel(final NodeSettingsRO settings) throws InvalidSett
         m_verboseOutputModel.loadSettingsFrom(settings);
         m_truncationSettings.loadSettingsForModel(settings);
         m_transferPolicyModel.loadSettingsFrom(settings);
+        // introduced with 4.6, older workflows transfer one file after another
+        if (settings.containsKey(CFG_CONCURRENT_TRANSFERS)) {
+            m_concurrentTransfersModel.loadSettingsFrom(settings);
+        } else {
+            m_concurrentTransfersModel.setIntValue(1);
+        }
     }
 
     /**
@@ -64,6 +64,7 @@
 import org.knime.core.node.NotConfigurableException;
 import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentButtonGroup;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.workflow.VariableType;
 import org.knime.filehandling.core.data.location.variable.FSLocationVariableType;
@@ -97,6 +98,8 @@
 
     private final DialogComponentButtonGroup m_transferPolicy;
 
+    private final DialogComponentNumber m_concurrentTransfers;
+
     private final T m_config;
 
     /**
@@ -126,6 +129,9 @@ protected AbstractTransferFilesNodeDialog(final T config) {
 
         m_verboseOutput = new DialogComponentBoolean(m_config.getVerboseOutputModel(), "Detailed output");
 
+        m_concurrentTransfers =
+            new DialogComponentNumber(m_config.getConcurrentTransfersModel(), "Concurrent transfers", 1, 4);
+
         m_transferPolicy =
             new DialogComponentButtonGroup(m_config.getTransferPolicyModel(), null, false, TransferPolicy.values());
     }
@@ -228,6 +234,9 @@ private JPanel createOptionPanel() {
         gbc.gridy++;
         panel.add(m_verboseOutput.getComponentPanel(), gbc);
 
+        gbc.gridy++;
+        panel.add(m_concurrentTransfers.getComponentPanel(), gbc);
+
         gbc.gridy++;
         addAdditionalOptions(panel, gbc);
 
@@ -321,6 +330,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_deleteSourceFilesCheckbox.saveSettingsTo(settings);
         m_failOnDeletion.saveSettingsTo(settings);
         m_verboseOutput.saveSettingsTo(settings);
+        m_concurrentTransfers.saveSettingsTo(settings);
     }
 
     @Override
@@ -332,6 +342,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         m_failOnDeletion.loadSettingsFrom(settings, specs);
         m_destinationFilePanel.loadSettingsFrom(settings, specs);
         m_transferPolicy.loadSettingsFrom(settings, specs);
+        m_concurrentTransfers.loadSettingsFrom(settings, specs);
         //update the checkbox after loading the settings
         updateFailOnDeletion();
     }
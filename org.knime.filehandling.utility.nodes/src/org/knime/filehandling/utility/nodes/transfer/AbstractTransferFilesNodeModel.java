@@ -227,15 +227,20 @@ protected final PortObject[] execute(final PortObject[] inObjects, final Executi
         final BufferedDataContainer container = exec.createDataContainer(outputSpec);
         final PathCopier2 pathCopier = new PathCopier2(m_config.getTransferPolicy(),
             m_config.getVerboseOutputModel().getBooleanValue(), m_config.getDeleteSourceFilesModel().getBooleanValue(),
-            m_config.getFailOnDeletionModel().getBooleanValue(), m_config.failIfSourceDoesNotExist());
+            m_config.getFailOnDeletionModel().getBooleanValue(), m_config.failIfSourceDoesNotExist(),
+            m_config.getConcurrentTransfersModel().getIntValue());
         try (final TransferIterator iter = getTransferIterator(inObjects)) {
             final long numOfFiles = iter.size();
             long rowIdx = 0;
             final double maxProg = 1d / numOfFiles;
-            while (iter.hasNext()) {
-                exec.checkCanceled();
-                final ExecutionContext subExec = exec.createSubExecutionContext(maxProg);
-                rowIdx = transfer(subExec, container, rowIdx, pathCopier, iter.next());
+            if (pathCopier.isConcurrent()) {
+                transferInBatches(exec, container, pathCopier, iter, maxProg);
+            } else {
+                while (iter.hasNext()) {
+                    exec.checkCanceled();
+                    final ExecutionContext subExec = exec.createSubExecutionContext(maxProg);
+                    rowIdx = transfer(subExec, container, rowIdx, pathCopier, iter.next());
+                }
             }
             container.close();
             return new PortObject[]{container.getTable()};
@@ -268,6 +273,41 @@ private static long transfer(final ExecutionContext exec, final DataContainer co
         return rowIdx;
     }
 
+    /**
+     * Transfers the entries in batches, so that the paths of several entries are transferred concurrently, e.g. if
+     * every entry is a single file.
+     */
+    private static void transferInBatches(final ExecutionContext exec, final DataContainer container,
+        final PathCopier2 pathCopier, final TransferIterator iter, final double maxProg)
+        throws IOException, CanceledExecutionException, InvalidSettingsException {
+        final PathCopier2.TransferBatch batch = pathCopier.createBatch();
+        long rowIdx = 0;
+        while (iter.hasNext()) {
+            exec.checkCanceled();
+            final TransferEntry entry = iter.next();
+            entry.validate();
+            if (!batch.add(entry)) {
+                rowIdx = transfer(exec.createSubExecutionContext(maxProg * batch.size()), container, rowIdx, batch);
+                // an empty batch accepts every entry
+                batch.add(entry);
+            }
+        }
+        if (batch.size() > 0) {
+            transfer(exec.createSubExecutionContext(maxProg * batch.size()), container, rowIdx, batch);
+        }
+    }
+
+    private static long transfer(final ExecutionContext exec, final DataContainer container, long rowIdx,
+        final PathCopier2.TransferBatch batch) throws IOException, CanceledExecutionException {
+        for (final DataCell[][] rows : batch.transfer(exec)) {
+            for (final DataCell[] row : rows) {
+                container.addRowToTable(new DefaultRow(RowKey.createRowKey(rowIdx), row));
+                rowIdx++;
+            }
+        }
+        return rowIdx;
+    }
+
     @Override
     protected final void loadInternals(final File nodeInternDir, final ExecutionMonitor exec) {
         // nothing to do
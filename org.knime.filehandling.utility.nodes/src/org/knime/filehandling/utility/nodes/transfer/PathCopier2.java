@@ -53,9 +53,13 @@
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.knime.core.data.DataCell;
@@ -65,9 +69,11 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.data.location.cell.MultiSimpleFSLocationCellFactory;
+import org.knime.filehandling.core.util.ConcurrentPathTransfer;
 import org.knime.filehandling.utility.nodes.transfer.iterators.TransferEntry;
 import org.knime.filehandling.utility.nodes.transfer.iterators.TransferPair;
 import org.knime.filehandling.utility.nodes.transfer.policy.TransferPolicy;
@@ -99,6 +105,9 @@ final class PathCopier2 {
 
     private static final int DELETE_COL_IDX = 4;
 
+    /** The number of paths per concurrent transfer after which a batch is transferred. */
+    private static final int BATCH_PATHS_PER_TRANSFER = 64;
+
     private final MultiSimpleFSLocationCellFactory m_sourceFSLocationCellFactory;
 
     private final MultiSimpleFSLocationCellFactory m_destinationFSLocationCellFactory;
@@ -115,8 +124,18 @@ final class PathCopier2 {
 
     private final int m_failIfSrcDoesNotExistIdx;
 
+    private final ConcurrentPathTransfer m_concurrentTransfer;
+
+    /** The folders created upfront by a concurrent transfer, which have not been reported as created yet. */
+    private Set<Path> m_createdDirs = Collections.emptySet();
+
     PathCopier2(final TransferPolicy transferPolicy, final boolean verbose, final boolean delete,
         final boolean failOnDeletion, final boolean failIfSrcDoesNotExist) {
+        this(transferPolicy, verbose, delete, failOnDeletion, failIfSrcDoesNotExist, 1);
+    }
+
+    PathCopier2(final TransferPolicy transferPolicy, final boolean verbose, final boolean delete,
+        final boolean failOnDeletion, final boolean failIfSrcDoesNotExist, final int concurrentTransfers) {
         m_sourceFSLocationCellFactory = new MultiSimpleFSLocationCellFactory();
         m_destinationFSLocationCellFactory = new MultiSimpleFSLocationCellFactory();
         m_transferPolicy = transferPolicy;
@@ -125,14 +144,36 @@ final class PathCopier2 {
         m_failOnUnsuccessfulDeletion = failOnDeletion;
         m_failIfSrcDoesNotExist = failIfSrcDoesNotExist;
         m_failIfSrcDoesNotExistIdx = addDeleteColumn() ? (DELETE_COL_IDX + 1) : DELETE_COL_IDX;
+        m_concurrentTransfer = concurrentTransfers > 1 ? new ConcurrentPathTransfer(concurrentTransfers) : null;
     }
 
     private boolean addDeleteColumn() {
         return m_delete && !m_failOnUnsuccessfulDeletion;
     }
 
+    /**
+     * Whether the paths are transferred concurrently, in which case the entries have to be transferred in batches
+     * created by {@link #createBatch()}.
+     *
+     * @return {@code true} if the paths are transferred concurrently
+     */
+    boolean isConcurrent() {
+        return m_concurrentTransfer != null;
+    }
+
+    /**
+     * Creates an empty batch of entries to transfer concurrently.
+     *
+     * @return the batch
+     */
+    TransferBatch createBatch() {
+        CheckUtils.checkState(isConcurrent(), "Batches require a concurrent transfer.");
+        return new TransferBatch();
+    }
+
     DataCell[][] transfer(final ExecutionContext exec, final TransferEntry entry)
         throws IOException, CanceledExecutionException {
+        CheckUtils.checkState(!isConcurrent(), "Concurrent transfers must be done in batches.");
         final boolean exists = FSFiles.exists(entry.getSource());
         final DataCell[][] rows;
         if (exists) {
@@ -145,11 +186,16 @@ DataCell[][] transfer(final ExecutionContext exec, final TransferEntry entry)
 
     private DataCell[][] handleMissingSrc(final ExecutionContext exec, final TransferEntry entry)
         throws FileNotFoundException {
+        final DataCell[][] rows = createMissingSrcRows(entry);
+        exec.setProgress(1);
+        return rows;
+    }
+
+    private DataCell[][] createMissingSrcRows(final TransferEntry entry) throws FileNotFoundException {
         if (m_failIfSrcDoesNotExist) {
             throw new FileNotFoundException(
                 String.format("The specified file/folder '%s' does not exist", entry.getSource()));
         } else {
-            exec.setProgress(1);
             return new DataCell[][]{createSrcDoesNotExistRow(entry.getSource())};
         }
     }
@@ -169,15 +215,29 @@ private DataCell[][] copyDelete(final ExecutionContext exec, final TransferEntry
         // delete it if necessary
         if (m_delete) {
             subExec = exec.createSubExecutionContext(0.5);
-            delete(subExec, rows, listIterator, entriesToProcess);
-            delete(subExec, rows, 0, entry.getSrcDestPair().getSource(), true, entriesToProcess);
+        }
+        finish(subExec, rows, entry, listIterator);
+        return rows;
+    }
+
+    /**
+     * Deletes the copied sources if necessary and adds the remaining columns.
+     *
+     * @param listIterator the iterator over the paths to copy, positioned behind the last path
+     */
+    private void finish(final ExecutionContext exec, final DataCell[][] rows, final TransferEntry entry,
+        final ListIterator<TransferPair> listIterator) throws IOException, CanceledExecutionException {
+        final int entriesToProcess = listIterator.nextIndex() + 1;
+        // delete it if necessary
+        if (m_delete) {
+            delete(exec, rows, listIterator, entriesToProcess);
+            delete(exec, rows, 0, entry.getSrcDestPair().getSource(), true, entriesToProcess);
         }
 
         // add fail if src does not exists col
         if (!m_failIfSrcDoesNotExist) {
             addFailIfSrcDoesNotExistsCol(rows);
         }
-        return rows;
     }
 
     private void copy(final ExecutionContext exec, final DataCell[][] rows, int idx,
@@ -200,6 +260,158 @@ private int copy(final ExecutionContext exec, final DataCell[][] rows, final int
         return idx + 1;
     }
 
+    /**
+     * Copies the given pairs using the concurrent transfer. The parent folders of all destinations are created upfront,
+     * so that the workers only have to copy files and create empty folders.
+     *
+     * @return the rows of the pairs in the order of the pairs
+     */
+    private List<DataCell[]> copyConcurrently(final ExecutionContext exec, final List<TransferPair> pairs)
+        throws IOException, CanceledExecutionException {
+        final List<FSPath> destinations = new ArrayList<>(pairs.size());
+        for (final TransferPair pair : pairs) {
+            destinations.add(pair.getDestination());
+        }
+        exec.setMessage("Creating folders");
+        m_createdDirs = ConcurrentPathTransfer.createParentDirectories(destinations);
+        final List<DataCell[]> transferred;
+        try {
+            transferred =
+                m_concurrentTransfer.transfer(pairs, p -> transferPath(p.getSource(), p.getDestination()), exec);
+        } finally {
+            m_createdDirs = Collections.emptySet();
+        }
+        // the location cell factories are not thread-safe, hence we create these cells afterwards
+        for (int i = 0; i < pairs.size(); i++) {
+            final TransferPair pair = pairs.get(i);
+            setLocationCells(transferred.get(i), pair.getSource(), pair.getDestination());
+        }
+        return transferred;
+    }
+
+    /**
+     * A batch of entries whose paths are transferred by a single concurrent transfer, so that entries consisting of a
+     * single file are transferred concurrently, too. An entry is only added if it does not write to a path another
+     * entry of the batch reads or writes, and vice versa, so the result is the same as transferring the entries one
+     * after the other.
+     */
+    final class TransferBatch {
+
+        private final List<TransferEntry> m_entries = new ArrayList<>();
+
+        /**
+         * The source/destination pair followed by the paths to copy of each entry, <code>null</code> if the source of
+         * the entry does not exist.
+         */
+        private final List<List<TransferPair>> m_pairs = new ArrayList<>();
+
+        private final Set<FSPath> m_sources = new HashSet<>();
+
+        private final Set<FSPath> m_destinations = new HashSet<>();
+
+        private int m_numPairs;
+
+        private TransferBatch() {
+        }
+
+        /**
+         * Adds the entry to this batch unless the batch is full or the entry conflicts with the entries of this batch.
+         * An empty batch accepts every entry.
+         *
+         * @param entry the entry to add
+         * @return {@code true} if the entry has been added, {@code false} if this batch has to be transferred first
+         * @throws IOException - If the paths of the entry could not be determined
+         */
+        boolean add(final TransferEntry entry) throws IOException {
+            if (!m_entries.isEmpty() && (m_numPairs >= m_concurrentTransfer.getParallelism() * BATCH_PATHS_PER_TRANSFER
+                || m_destinations.contains(entry.getSource()))) {
+                return false;
+            }
+            if (!FSFiles.exists(entry.getSource())) {
+                m_entries.add(entry);
+                m_pairs.add(null);
+                return true;
+            }
+            final List<TransferPair> paths = entry.getPathsToCopy();
+            final List<TransferPair> pairs = new ArrayList<>(paths.size() + 1);
+            pairs.add(entry.getSrcDestPair());
+            pairs.addAll(paths);
+            if (!m_entries.isEmpty() && pairs.stream().anyMatch(this::conflicts)) {
+                return false;
+            }
+            for (final TransferPair pair : pairs) {
+                m_sources.add(pair.getSource());
+                m_destinations.add(pair.getDestination());
+            }
+            m_entries.add(entry);
+            m_pairs.add(pairs);
+            m_numPairs += pairs.size();
+            return true;
+        }
+
+        private boolean conflicts(final TransferPair pair) {
+            return m_destinations.contains(pair.getDestination()) || m_sources.contains(pair.getDestination())
+                || m_destinations.contains(pair.getSource()) || (m_delete && m_sources.contains(pair.getSource()));
+        }
+
+        /**
+         * Returns the number of entries in this batch.
+         *
+         * @return the number of entries
+         */
+        int size() {
+            return m_entries.size();
+        }
+
+        /**
+         * Transfers all entries of this batch and clears it.
+         *
+         * @param exec the execution context
+         * @return the rows of each entry in the order the entries have been added
+         * @throws IOException - If a path could not be transferred or the source of an entry does not exist and this is
+         *             not allowed
+         * @throws CanceledExecutionException - If the execution has been canceled
+         */
+        List<DataCell[][]> transfer(final ExecutionContext exec) throws IOException, CanceledExecutionException {
+            final List<TransferPair> pairs = new ArrayList<>(m_numPairs);
+            for (final List<TransferPair> entryPairs : m_pairs) {
+                if (entryPairs != null) {
+                    pairs.addAll(entryPairs);
+                }
+            }
+            final List<DataCell[]> transferred = copyConcurrently(exec.createSubExecutionContext(m_delete ? 0.5 : 1),
+                pairs);
+            final ExecutionContext deleteExec = exec.createSubExecutionContext(m_delete ? 0.5 : 0);
+            final List<DataCell[][]> result = new ArrayList<>(m_entries.size());
+            int offset = 0;
+            for (int i = 0; i < m_entries.size(); i++) {
+                final TransferEntry entry = m_entries.get(i);
+                final List<TransferPair> entryPairs = m_pairs.get(i);
+                if (entryPairs == null) {
+                    result.add(createMissingSrcRows(entry));
+                    continue;
+                }
+                // the rows are stored in the same order as they would have been by the sequential copy
+                final DataCell[][] rows = new DataCell[!m_verbose ? 1 : entryPairs.size()][];
+                for (int j = 0; j < rows.length; j++) {
+                    rows[j] = transferred.get(offset + j);
+                }
+                offset += entryPairs.size();
+                // the deletion walks backwards starting behind the last path
+                final List<TransferPair> paths = entryPairs.subList(1, entryPairs.size());
+                finish(deleteExec.createSubExecutionContext(1d / m_entries.size()), rows, entry,
+                    paths.listIterator(paths.size()));
+                result.add(rows);
+            }
+            m_entries.clear();
+            m_pairs.clear();
+            m_sources.clear();
+            m_destinations.clear();
+            m_numPairs = 0;
+            return result;
+        }
+    }
+
     private void delete(final ExecutionContext exec, final DataCell[][] rows,
         final ListIterator<TransferPair> listIterator, final int entriesToProcess)
         throws CanceledExecutionException, IOException {
@@ -244,11 +456,29 @@ private DataCell delete(final FSPath source) throws IOException {
      * @throws IOException - If something went wrong while copying the file or creating the folder
      */
     private DataCell[] copyPath(final FSPath src, final FSPath dest) throws IOException {
-        validatePair(src, dest);
+        final DataCell[] cells = transferPath(src, dest);
+        setLocationCells(cells, src, dest);
+        return cells;
+    }
 
-        final DataCell[] cells = new DataCell[NUMBER_OF_DEFAULT_COLS];
+    private void setLocationCells(final DataCell[] cells, final FSPath src, final FSPath dest) {
         cells[SOURCE_COL_IDX] = m_sourceFSLocationCellFactory.createCell(src.toFSLocation());
         cells[DESTINATION_COL_IDX] = m_destinationFSLocationCellFactory.createCell(dest.toFSLocation());
+    }
+
+    /**
+     * Copies a file or folder from a source to a specified destination and creates the row cells except for the
+     * location cells. This method is safe to be called concurrently.
+     *
+     * @param src the source {@link FSPath}
+     * @param dest the destination {@link FSPath}
+     * @return the cells of the row with the location cells still missing
+     * @throws IOException - If something went wrong while copying the file or creating the folder
+     */
+    private DataCell[] transferPath(final FSPath src, final FSPath dest) throws IOException {
+        validatePair(src, dest);
+
+        final DataCell[] cells = new DataCell[NUMBER_OF_DEFAULT_COLS];
         final boolean isDirectory = FSFiles.isDirectory(src);
         cells[IS_DIR_COL_IDX] = BooleanCellFactory.create(isDirectory);
 
@@ -270,8 +500,8 @@ private DataCell[] copyPath(final FSPath src, final FSPath dest) throws IOExcept
      * @param dest the destination {@link FSPath}
      * @throws IOException - If something went wrong during validation
      */
-    private static void validatePair(final FSPath src, final FSPath dest) throws IOException {
-        if (FSFiles.exists(dest)) {
+    private void validatePair(final FSPath src, final FSPath dest) throws IOException {
+        if (FSFiles.exists(dest) && !m_createdDirs.contains(dest)) {
             final boolean srcIsDir = FSFiles.isDirectory(src);
             final boolean destIsDir = FSFiles.isDirectory(dest);
             if (srcIsDir && !destIsDir) {
@@ -291,8 +521,8 @@ private static void validatePair(final FSPath src, final FSPath dest) throws IOE
      * @param rowIdx the current row index
      * @throws IOException
      */
-    private static FileStatus createDirectory(final FSPath dest) throws IOException {
-        final boolean existed = createDirectories(dest);
+    private FileStatus createDirectory(final FSPath dest) throws IOException {
+        final boolean existed = !m_createdDirs.contains(dest) && createDirectories(dest);
         return existed ? FileStatus.ALREADY_EXISTED : FileStatus.CREATED;
     }
 
@@ -305,7 +535,8 @@ private static FileStatus createDirectory(final FSPath dest) throws IOException
      * @throws IOException
      */
     private FileStatus copyFile(final FSPath src, final FSPath dest) throws IOException {
-        if (dest.getParent() != null) {
+        // the concurrent transfer creates all parent folders upfront
+        if (m_concurrentTransfer == null && dest.getParent() != null) {
             createDirectories(dest.getParent());
         }
         try {